@@ -45,6 +45,20 @@ public final class PropertyConstants {
 
 	public static final String MEDIAN_REPSONSE_TIME = "median response time";
 
+	public static final String P90_RESPONSE_TIME = "90th percentile response time";
+
+	public static final String P99_RESPONSE_TIME = "99th percentile response time";
+
+	public static final String P999_RESPONSE_TIME = "99.9th percentile response time";
+
+	public static final String LAST_INTERVAL_MEDIAN_RESPONSE_TIME = "last interval median response time";
+
+	public static final String LAST_INTERVAL_P90_RESPONSE_TIME = "last interval 90th percentile response time";
+
+	public static final String LAST_INTERVAL_P99_RESPONSE_TIME = "last interval 99th percentile response time";
+
+	public static final String LAST_INTERVAL_P999_RESPONSE_TIME = "last interval 99.9th percentile response time";
+
 	public static final String TOTAL_RESPONSE_TIME = "total response time";
 
 	public static final String TIME_UNIT = "time unit";
@@ -45,6 +45,9 @@ public class ResponseTimeDecorator {
 		vertex.setPropertyIfAbsent(PropertyConstants.TOTAL_RESPONSE_TIME, this.getStatisticValue(object, PropertyConstants.TOTAL_RESPONSE_TIME));
 		vertex.setPropertyIfAbsent(PropertyConstants.MEAN_REPSONSE_TIME, this.getStatisticValue(object, PropertyConstants.MEAN_REPSONSE_TIME));
 		vertex.setPropertyIfAbsent(PropertyConstants.MEDIAN_REPSONSE_TIME, this.getStatisticValue(object, PropertyConstants.MEDIAN_REPSONSE_TIME));
+		vertex.setPropertyIfAbsent(PropertyConstants.P90_RESPONSE_TIME, this.getStatisticValue(object, PropertyConstants.P90_RESPONSE_TIME));
+		vertex.setPropertyIfAbsent(PropertyConstants.P99_RESPONSE_TIME, this.getStatisticValue(object, PropertyConstants.P99_RESPONSE_TIME));
+		vertex.setPropertyIfAbsent(PropertyConstants.P999_RESPONSE_TIME, this.getStatisticValue(object, PropertyConstants.P999_RESPONSE_TIME));
 		vertex.setPropertyIfAbsent(PropertyConstants.TIME_UNIT, this.timeUnit);
 	}
 
@@ -15,6 +15,10 @@
  ***************************************************************************/
 package kieker.analysis.architecture.recovery;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.EMap;
 import org.eclipse.emf.common.util.UniqueEList;
@@ -32,13 +36,25 @@ public abstract class AbstractSourceModelAssembler { // NOPMD should be abstract
 
 	private final SourceModel sourceModel;
 	private final String sourceLabel;
+	/** model elements which have already been labeled by this assembler. */
+	private final Set<EObject> recordedObjects = Collections.newSetFromMap(new IdentityHashMap<EObject, Boolean>());
 
 	public AbstractSourceModelAssembler(final SourceModel sourceModel, final String sourceLabel) {
 		this.sourceModel = sourceModel;
 		this.sourceLabel = sourceLabel;
 	}
 
+	/**
+	 * Add the source label of this assembler to the given model element. Elements already labeled by this assembler
+	 * are skipped without accessing the source model.
+	 *
+	 * @param object
+	 *            model element
+	 */
 	public void updateSourceModel(final EObject object) {
+		if (!this.recordedObjects.add(object)) {
+			return;
+		}
 		final EMap<EObject, EList<String>> sources = this.sourceModel.getSources();
 		EList<String> sourceIds = sources.get(object);
 		if (sourceIds == null) {
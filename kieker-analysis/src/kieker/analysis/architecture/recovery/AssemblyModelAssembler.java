@@ -37,6 +37,7 @@ public class AssemblyModelAssembler extends AbstractSourceModelAssembler {
 
 	private final TypeModel typeModel;
 	private final AssemblyModel assemblyModel;
+	private final ModelElementCache<AssemblyOperation> operationCache = new ModelElementCache<>();
 
 	public AssemblyModelAssembler(final TypeModel typeModel, final AssemblyModel assemblyModel, final SourceModel sourceModel, final String sourceLabel) {
 		super(sourceModel, sourceLabel);
@@ -52,8 +53,11 @@ public class AssemblyModelAssembler extends AbstractSourceModelAssembler {
 	}
 
 	public void addOperation(final String componentSignature, final String operationSignature) {
-		final AssemblyComponent component = this.addAssemblyComponent(componentSignature);
-		this.addAssemblyOperation(component, operationSignature);
+		if (this.operationCache.get(componentSignature, operationSignature) == null) {
+			final AssemblyComponent component = this.addAssemblyComponent(componentSignature);
+			final AssemblyOperation operation = this.addAssemblyOperation(component, operationSignature);
+			this.operationCache.put(componentSignature, operationSignature, operation);
+		}
 	}
 
 	private AssemblyComponent addAssemblyComponent(final String componentSignature) {
@@ -36,6 +36,7 @@ import teetime.stage.basic.AbstractTransformation;
 public class CallEvent2OperationCallStage extends AbstractTransformation<CallEvent, OperationCallDurationEvent> {
 
 	private final DeploymentModel deploymentModel;
+	private final ModelElementCache<DeployedOperation> operationCache = new ModelElementCache<>();
 
 	public CallEvent2OperationCallStage(final DeploymentModel deploymentModel) {
 		this.deploymentModel = deploymentModel;
@@ -50,9 +51,18 @@ public class CallEvent2OperationCallStage extends AbstractTransformation<CallEve
 	}
 
 	private DeployedOperation findDeployedOperation(final OperationEvent operationEvent) {
-		final DeploymentContext context = this.deploymentModel.getContexts().get(operationEvent.getHostname());
-		final DeployedComponent component = context.getComponents().get(operationEvent.getComponentSignature());
-		final DeployedOperation operation = component.getOperations().get(operationEvent.getOperationSignature());
+		final String hostname = operationEvent.getHostname();
+		final String componentSignature = operationEvent.getComponentSignature();
+		final String operationSignature = operationEvent.getOperationSignature();
+		DeployedOperation operation = this.operationCache.get(hostname, componentSignature, operationSignature);
+		if (operation == null) {
+			final DeploymentContext context = this.deploymentModel.getContexts().get(hostname);
+			final DeployedComponent component = context.getComponents().get(componentSignature);
+			operation = component.getOperations().get(operationSignature);
+			if (operation != null) {
+				this.operationCache.put(hostname, componentSignature, operationSignature, operation);
+			}
+		}
 
 		return operation;
 	}
@@ -37,6 +37,7 @@ public class DeploymentModelAssembler extends AbstractSourceModelAssembler {
 	private final DeploymentFactory factory = DeploymentFactory.eINSTANCE;
 	private final AssemblyModel assemblyModel;
 	private final DeploymentModel deploymentModel;
+	private final ModelElementCache<DeployedOperation> operationCache = new ModelElementCache<>();
 
 	public DeploymentModelAssembler(final AssemblyModel assemblyModel, final DeploymentModel deploymentModel, final SourceModel sourceModel,
 			final String sourceLabel) {
@@ -54,9 +55,12 @@ public class DeploymentModelAssembler extends AbstractSourceModelAssembler {
 	}
 
 	private void addOperation(final String hostname, final String componentSignature, final String operationSignature) {
-		final DeploymentContext deploymentContext = this.findOrAddDeploymentContext(hostname);
-		final DeployedComponent component = this.findOrAddDeployedComponent(deploymentContext, componentSignature);
-		this.addDeployedOperation(component, operationSignature);
+		if (this.operationCache.get(hostname, componentSignature, operationSignature) == null) {
+			final DeploymentContext deploymentContext = this.findOrAddDeploymentContext(hostname);
+			final DeployedComponent component = this.findOrAddDeployedComponent(deploymentContext, componentSignature);
+			final DeployedOperation operation = this.addDeployedOperation(component, operationSignature);
+			this.operationCache.put(hostname, componentSignature, operationSignature, operation);
+		}
 	}
 
 	private DeploymentContext findOrAddDeploymentContext(final String hostname) {
@@ -17,9 +17,11 @@
 package kieker.analysis.architecture.recovery;
 
 import kieker.analysis.architecture.recovery.events.OperationCallDurationEvent;
+import kieker.model.analysismodel.deployment.DeployedOperation;
 import kieker.model.analysismodel.execution.ExecutionFactory;
 import kieker.model.analysismodel.execution.ExecutionModel;
 import kieker.model.analysismodel.execution.Invocation;
+import kieker.model.analysismodel.execution.Tuple;
 import kieker.model.analysismodel.source.SourceModel;
 
 /**
@@ -34,6 +36,7 @@ public class ExecutionModelAssembler extends AbstractSourceModelAssembler implem
 	private final ExecutionFactory factory = ExecutionFactory.eINSTANCE;
 
 	private final ExecutionModel executionModel;
+	private final ModelElementCache<Invocation> invocationCache = new ModelElementCache<>();
 
 	public ExecutionModelAssembler(final ExecutionModel executionModel, final SourceModel sourceModel, final String sourceLabel) {
 		super(sourceModel, sourceLabel);
@@ -42,14 +45,19 @@ public class ExecutionModelAssembler extends AbstractSourceModelAssembler implem
 
 	@Override
 	public void addOperationCall(final OperationCallDurationEvent operationCall) {
-		if (!this.executionModel.getAggregatedInvocations().containsKey(operationCall.getOperationCall())) {
-			final Invocation invocation = this.factory.createInvocation();
-			invocation.setCaller(operationCall.getOperationCall().getFirst());
-			invocation.setCallee(operationCall.getOperationCall().getSecond());
+		final Tuple<DeployedOperation, DeployedOperation> call = operationCall.getOperationCall();
+		if (this.invocationCache.get(call.getFirst(), call.getSecond()) == null) {
+			Invocation invocation = this.executionModel.getAggregatedInvocations().get(call);
+			if (invocation == null) {
+				invocation = this.factory.createInvocation();
+				invocation.setCaller(call.getFirst());
+				invocation.setCallee(call.getSecond());
 
-			this.updateSourceModel(invocation);
+				this.updateSourceModel(invocation);
 
-			this.executionModel.getAggregatedInvocations().put(operationCall.getOperationCall(), invocation);
+				this.executionModel.getAggregatedInvocations().put(call, invocation);
+			}
+			this.invocationCache.put(call.getFirst(), call.getSecond(), invocation);
 		}
 	}
 
@@ -0,0 +1,109 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.architecture.recovery;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache from up to three lookup values, e.g., host name, component signature and operation signature, to an
+ * already resolved model element. The assemblers use it to skip the EMF map lookups for elements they have
+ * already added to their models. Lookups use a reusable probe key and do not allocate.
+ *
+ * <p>
+ * The cache is not thread-safe and must only be used by the owning assembler.
+ * </p>
+ *
+ * @param <T>
+ *            type of the cached model element
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+final class ModelElementCache<T> {
+
+	private final Map<Key, T> elements = new HashMap<>();
+	private final Key probe = new Key();
+
+	public T get(final Object first, final Object second) {
+		return this.get(first, second, null);
+	}
+
+	public T get(final Object first, final Object second, final Object third) {
+		this.probe.set(first, second, third);
+		return this.elements.get(this.probe);
+	}
+
+	public void put(final Object first, final Object second, final T element) {
+		this.put(first, second, null, element);
+	}
+
+	public void put(final Object first, final Object second, final Object third, final T element) {
+		final Key key = new Key();
+		key.set(first, second, third);
+		this.elements.put(key, element);
+	}
+
+	public int size() {
+		return this.elements.size();
+	}
+
+	/**
+	 * Composite key. Model elements do not override equals, therefore, they are compared by identity.
+	 */
+	private static final class Key {
+
+		private Object first;
+		private Object second;
+		private Object third;
+		private int hash;
+
+		public void set(final Object first, final Object second, final Object third) {
+			this.first = first;
+			this.second = second;
+			this.third = third;
+			this.hash = (((Key.hash(first) * 31) + Key.hash(second)) * 31) + Key.hash(third);
+		}
+
+		private static int hash(final Object value) {
+			return value == null ? 0 : value.hashCode(); // NOCS (inline conditional)
+		}
+
+		private static boolean same(final Object left, final Object right) {
+			return (left == right) || ((left != null) && left.equals(right)); // NOPMD (identity check is a fast path)
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if (this == object) {
+				return true;
+			}
+			if (!(object instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) object;
+			return (this.hash == other.hash) && Key.same(this.first, other.first) && Key.same(this.second, other.second)
+					&& Key.same(this.third, other.third);
+		}
+	}
+}
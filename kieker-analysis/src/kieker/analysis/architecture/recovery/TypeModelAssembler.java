@@ -37,6 +37,7 @@ public class TypeModelAssembler extends AbstractSourceModelAssembler {
 	private final IOperationSignatureExtractor operationSignatureExtractor;
 
 	private final TypeModel typeModel;
+	private final ModelElementCache<OperationType> operationTypeCache = new ModelElementCache<>();
 
 	public TypeModelAssembler(final TypeModel typeModel, final SourceModel sourceModel, final String sourceLabel,
 			final IComponentSignatureExtractor componentSignatureExtractor,
@@ -52,8 +53,11 @@ public class TypeModelAssembler extends AbstractSourceModelAssembler {
 		final String componentSignature = event.getComponentSignature();
 		final String operationSignature = event.getOperationSignature();
 
-		final ComponentType componentType = this.addComponentType(componentSignature);
-		this.addOperationType(componentType, operationSignature);
+		if (this.operationTypeCache.get(componentSignature, operationSignature) == null) {
+			final ComponentType componentType = this.addComponentType(componentSignature);
+			final OperationType operationType = this.addOperationType(componentType, operationSignature);
+			this.operationTypeCache.put(componentSignature, operationSignature, operationType);
+		}
 	}
 
 	private ComponentType addComponentType(final String componentSignature) {
@@ -18,7 +18,6 @@ package kieker.analysis.architecture.trace.aggregation;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import com.google.common.base.Equivalence;
@@ -64,12 +63,7 @@ public class OperationCallEquivalence extends Equivalence<OperationCall> {
 
 	@Override
 	protected int doHash(final OperationCall operationCall) {
-		final List<Integer> childrenHashs = operationCall.getChildren().stream().map(c -> this.hash(c)).collect(Collectors.toList());
-		if (this.considerFailed) {
-			return Objects.hash(operationCall.getOperation(), operationCall.isFailed(), operationCall.getFailedCause(), childrenHashs);
-		} else {
-			return Objects.hash(operationCall.getOperation(), childrenHashs);
-		}
+		return OperationCallFingerprint.toHashCode(OperationCallFingerprint.compute(operationCall, this.considerFailed));
 	}
 
 	private boolean equivalent(final List<OperationCall> listA, final List<OperationCall> listB) {
@@ -0,0 +1,94 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.architecture.trace.aggregation;
+
+import java.util.List;
+import java.util.Objects;
+
+import kieker.model.analysismodel.trace.OperationCall;
+
+/**
+ * Computes structural fingerprints of {@link OperationCall} trees. The fingerprint of a call is derived from its
+ * {@link kieker.model.analysismodel.deployment.DeployedOperation}, optionally its failed state and cause, and the
+ * fingerprints of its children in order. Hence, calls considered equal by {@link OperationCallEquivalence} have the
+ * same fingerprint, and a tree is fingerprinted in a single bottom-up pass.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public final class OperationCallFingerprint {
+
+	private static final long SEED = 0x9E3779B97F4A7C15L;
+
+	private OperationCallFingerprint() {
+		// utility class
+	}
+
+	/**
+	 * Compute the fingerprint of an operation call tree.
+	 *
+	 * @param operationCall
+	 *            root of the tree, may be null
+	 * @param considerFailed
+	 *            include failed state and failed cause in the fingerprint
+	 * @return the fingerprint
+	 */
+	public static long compute(final OperationCall operationCall, final boolean considerFailed) {
+		if (operationCall == null) {
+			return 0;
+		}
+		long hash = OperationCallFingerprint.mix(SEED, Objects.hashCode(operationCall.getOperation()));
+		if (considerFailed) {
+			hash = OperationCallFingerprint.mix(hash, operationCall.isFailed() ? 1 : 0); // NOCS (inline conditional)
+			hash = OperationCallFingerprint.mix(hash, Objects.hashCode(operationCall.getFailedCause()));
+		}
+		final List<OperationCall> children = operationCall.getChildren();
+		final int size = children.size();
+		hash = OperationCallFingerprint.mix(hash, size);
+		for (int i = 0; i < size; i++) {
+			hash = OperationCallFingerprint.mix(hash, OperationCallFingerprint.compute(children.get(i), considerFailed));
+		}
+		return OperationCallFingerprint.finish(hash);
+	}
+
+	/**
+	 * Fold a fingerprint to an int hash code.
+	 *
+	 * @param fingerprint
+	 *            fingerprint
+	 * @return hash code
+	 */
+	public static int toHashCode(final long fingerprint) {
+		return (int) (fingerprint ^ (fingerprint >>> 32));
+	}
+
+	private static long mix(final long hash, final long value) {
+		return (hash ^ value) * SEED;
+	}
+
+	/** 64 bit finalizer of MurmurHash3. */
+	private static long finish(final long hash) {
+		long result = hash;
+		result ^= result >>> 33;
+		result *= 0xff51afd7ed558ccdL;
+		result ^= result >>> 33;
+		result *= 0xc4ceb9fe1a85ec53L;
+		result ^= result >>> 33;
+		return result;
+	}
+}
@@ -19,8 +19,6 @@ package kieker.analysis.architecture.trace.aggregation;
 import java.util.HashMap;
 import java.util.Map;
 
-import com.google.common.base.Equivalence;
-
 import kieker.model.analysismodel.trace.OperationCall;
 import kieker.model.analysismodel.trace.Trace;
 import kieker.model.analysismodel.trace.TraceFactory;
@@ -39,7 +37,7 @@ public class TraceAggregator {
 	private final boolean considerFailed;
 	private final TraceEquivalence traceEquivalence;
 	// BETTER use own class for aggregated traces
-	private final Map<Equivalence.Wrapper<Trace>, Trace> aggregatedTraces = new HashMap<>(); // NOPMD (class not designed for concurrent access)
+	private final Map<TraceKey, Trace> aggregatedTraces = new HashMap<>(); // NOPMD (class not designed for concurrent access)
 
 	public TraceAggregator(final boolean considerFailed) {
 		this.considerFailed = considerFailed;
@@ -47,12 +45,12 @@ public class TraceAggregator {
 	}
 
 	public AggregatedTraceWrapper handleTrace(final Trace trace) {
-		final Equivalence.Wrapper<Trace> equalityWrappedTrace = this.traceEquivalence.wrap(trace);
-		Trace aggregatedTrace = this.aggregatedTraces.get(equalityWrappedTrace);
+		final TraceKey key = new TraceKey(trace, OperationCallFingerprint.compute(trace.getRootOperationCall(), this.considerFailed));
+		Trace aggregatedTrace = this.aggregatedTraces.get(key);
 		boolean isFirst = false;
 		if (aggregatedTrace == null) {
 			aggregatedTrace = this.createAggregatedTrace(trace);
-			this.aggregatedTraces.put(equalityWrappedTrace, aggregatedTrace);
+			this.aggregatedTraces.put(key, aggregatedTrace);
 			isFirst = true;
 		}
 		return new AggregatedTraceWrapper(aggregatedTrace, trace, isFirst);
@@ -67,6 +65,7 @@ public class TraceAggregator {
 
 	private OperationCall createAggregatedOperationCall(final OperationCall call) {
 		final OperationCall aggregatedCall = this.traceFactory.createOperationCall();
+		aggregatedCall.setOperation(call.getOperation());
 		if (this.considerFailed) {
 			aggregatedCall.setFailed(call.isFailed());
 			aggregatedCall.setFailedCause(call.getFailedCause());
@@ -75,4 +74,36 @@ public class TraceAggregator {
 		return aggregatedCall;
 	}
 
+	/**
+	 * Map key of an aggregated trace. The structural fingerprint is computed once per trace; the deep comparison of
+	 * the {@link TraceEquivalence} is only used to confirm a fingerprint match.
+	 */
+	private final class TraceKey {
+
+		private final Trace trace;
+		private final long fingerprint;
+
+		public TraceKey(final Trace trace, final long fingerprint) {
+			this.trace = trace;
+			this.fingerprint = fingerprint;
+		}
+
+		@Override
+		public int hashCode() {
+			return OperationCallFingerprint.toHashCode(this.fingerprint);
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if (this == object) {
+				return true;
+			}
+			if (!(object instanceof TraceKey)) {
+				return false;
+			}
+			final TraceKey other = (TraceKey) object;
+			return (this.fingerprint == other.fingerprint) && TraceAggregator.this.traceEquivalence.equivalent(this.trace, other.trace);
+		}
+	}
+
 }
@@ -34,7 +34,17 @@ public class TraceAggregatorStage extends CompositeStage implements ITransformat
 	private final OutputPort<Trace> outputPort;
 
 	public TraceAggregatorStage() {
-		final AggregatedTraceCreatorStage aggregatedTraceCreator = new AggregatedTraceCreatorStage(true);
+		this(true);
+	}
+
+	/**
+	 * Create stage.
+	 *
+	 * @param considerFailed
+	 *            if true, traces are only aggregated if their failed states and causes match
+	 */
+	public TraceAggregatorStage(final boolean considerFailed) {
+		final AggregatedTraceCreatorStage aggregatedTraceCreator = new AggregatedTraceCreatorStage(considerFailed);
 		// BETTER Statistics stages here
 		final AggregatedTraceUnwrapperStage aggregatedTraceUnwrapper = new AggregatedTraceUnwrapperStage();
 
@@ -16,8 +16,6 @@
 
 package kieker.analysis.architecture.trace.aggregation;
 
-import java.util.Objects;
-
 import com.google.common.base.Equivalence;
 
 import kieker.model.analysismodel.trace.OperationCall;
@@ -55,7 +53,7 @@ public class TraceEquivalence extends Equivalence<Trace> {
 
 	@Override
 	protected int doHash(final Trace trace) {
-		return Objects.hash(trace);
+		return this.operationCallEquivalence.hash(trace.getRootOperationCall());
 	}
 
 }
@@ -24,6 +24,8 @@ import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -64,6 +66,8 @@ import teetime.framework.OutputPort;
  * @since 1.6
  */
 public abstract class AbstractEventRecordTraceReconstructionStage extends AbstractStage {
+	private static final int MIN_COMPACTION_SIZE = 1024;
+
 	/** Output port delivering the valid traces. */
 	private final OutputPort<TraceEventRecords> validTracesOutputPort = this.createOutputPort(TraceEventRecords.class);
 
@@ -82,6 +86,11 @@ public abstract class AbstractEventRecordTraceReconstructionStage extends Abstra
 
 	private final Map<Long, TraceBuffer> traceId2trace;
 
+	/** Expiry index ordered by the minimal logging timestamp of each trace, used for the max trace duration. */
+	private final Queue<TimeoutEntry> durationQueue;
+	/** Expiry index ordered by the maximal logging timestamp of each trace, used for the max trace timeout. */
+	private final Queue<TimeoutEntry> timeoutQueue;
+
 	/**
 	 * Creates a new instance of this class using the given parameters.
 	 *
@@ -109,6 +118,8 @@ public abstract class AbstractEventRecordTraceReconstructionStage extends Abstra
 			this.timestampsInputPort = null;
 		}
 		this.traceId2trace = new ConcurrentHashMap<>();
+		this.durationQueue = (this.maxTraceDuration != Long.MAX_VALUE) ? new PriorityQueue<>(TimeoutEntry.COMPARATOR) : null;
+		this.timeoutQueue = (this.maxTraceTimeout != Long.MAX_VALUE) ? new PriorityQueue<>(TimeoutEntry.COMPARATOR) : null;
 	}
 
 	@Override
@@ -161,11 +172,50 @@ public abstract class AbstractEventRecordTraceReconstructionStage extends Abstra
 		if (traceBuffer.isFinished()) {
 			synchronized (this) { // has to be synchronized because of timeout cleanup
 				this.traceId2trace.remove(traceId);
+				traceBuffer.setClosed();
 			}
 			this.validTracesOutputPort.send(traceBuffer.toTraceEvents());
 		}
 	}
 
+	/**
+	 * Registers the trace buffer in the expiry indices. A trace is only added again to the
+	 * duration index when its minimal logging timestamp decreased. The timeout index contains
+	 * one entry per trace which is rescheduled lazily when it is polled.
+	 */
+	private void scheduleTimeout(final TraceBuffer traceBuffer, final long traceId) {
+		if (this.hasTimeout) {
+			synchronized (this) {
+				if (traceBuffer.isClosed()) {
+					return;
+				}
+				if (this.durationQueue != null) {
+					final long minLoggingTimestamp = traceBuffer.getMinLoggingTimestamp();
+					if (minLoggingTimestamp < traceBuffer.getIndexedMinLoggingTimestamp()) {
+						traceBuffer.setIndexedMinLoggingTimestamp(minLoggingTimestamp);
+						this.durationQueue.add(new TimeoutEntry(minLoggingTimestamp, traceId, traceBuffer));
+						this.compactQueue(this.durationQueue);
+					}
+				}
+				if ((this.timeoutQueue != null) && !traceBuffer.isIndexedByTimeout()) {
+					traceBuffer.setIndexedByTimeout();
+					this.timeoutQueue.add(new TimeoutEntry(traceBuffer.getMaxLoggingTimestamp(), traceId, traceBuffer));
+					this.compactQueue(this.timeoutQueue);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Entries of traces which have been completed remain in the indices until they are polled.
+	 * Purge them when they clearly outnumber the open traces.
+	 */
+	private void compactQueue(final Queue<TimeoutEntry> queue) {
+		if (queue.size() > ((2 * this.traceId2trace.size()) + MIN_COMPACTION_SIZE)) {
+			queue.removeIf(entry -> entry.getTraceBuffer().isClosed());
+		}
+	}
+
 	private void handleTimeoutQueue(final long loggingTimestamp) {
 		if (this.hasTimeout) {
 			synchronized (this) {
@@ -194,6 +244,7 @@ public abstract class AbstractEventRecordTraceReconstructionStage extends Abstra
 		}
 		traceBuffer.setTrace(record);
 		this.handleTrace(traceBuffer, traceId);
+		this.scheduleTimeout(traceBuffer, traceId);
 		this.handleTimeoutQueue(-1);
 	}
 
@@ -212,6 +263,7 @@ public abstract class AbstractEventRecordTraceReconstructionStage extends Abstra
 		}
 		traceBuffer.insertEvent(event);
 		this.handleTrace(traceBuffer, traceId);
+		this.scheduleTimeout(traceBuffer, traceId);
 		this.handleTimeoutQueue(event.getTimestamp());
 	}
 
@@ -246,24 +298,58 @@ public abstract class AbstractEventRecordTraceReconstructionStage extends Abstra
 		final long duration = timestamp - this.maxTraceDuration;
 		final long traceTimeout = timestamp - this.maxTraceTimeout;
 
-		final Collection<Long> sortedTraceIds = this.getSortedTraceIds(this.traceId2trace.keySet());
+		List<TimeoutEntry> expiredEntries = null;
+
+		if (this.durationQueue != null) {
+			// the minimal logging timestamp of a trace never increases, hence an entry below the limit is always expired
+			while (!this.durationQueue.isEmpty() && (this.durationQueue.peek().getTimestamp() <= duration)) { // max duration is gone
+				final TimeoutEntry entry = this.durationQueue.poll();
+				if (!entry.getTraceBuffer().isClosed()) {
+					entry.getTraceBuffer().setClosed();
+					expiredEntries = this.addExpiredEntry(expiredEntries, entry);
+				}
+			}
+		}
 
-		for (final Long traceId : sortedTraceIds) {
-			final TraceBuffer traceBuffer = this.traceId2trace.get(traceId);
-			if ((traceBuffer.getMaxLoggingTimestamp() <= traceTimeout) // long time no see
-					|| (traceBuffer.getMinLoggingTimestamp() <= duration)) { // max duration is gone
+		if (this.timeoutQueue != null) {
+			// the maximal logging timestamp of a trace may have increased since the entry has been added
+			while (!this.timeoutQueue.isEmpty() && (this.timeoutQueue.peek().getTimestamp() <= traceTimeout)) {
+				final TimeoutEntry entry = this.timeoutQueue.poll();
+				final TraceBuffer traceBuffer = entry.getTraceBuffer();
+				if (!traceBuffer.isClosed()) {
+					final long maxLoggingTimestamp = traceBuffer.getMaxLoggingTimestamp();
+					if (maxLoggingTimestamp <= traceTimeout) { // long time no see
+						traceBuffer.setClosed();
+						expiredEntries = this.addExpiredEntry(expiredEntries, entry);
+					} else {
+						this.timeoutQueue.add(new TimeoutEntry(maxLoggingTimestamp, entry.getTraceId(), traceBuffer));
+					}
+				}
+			}
+		}
 
+		if (expiredEntries != null) {
+			// sort by trace id to keep the output deterministic
+			expiredEntries.sort(TimeoutEntry.TRACE_ID_COMPARATOR);
+			for (final TimeoutEntry entry : expiredEntries) {
+				final TraceBuffer traceBuffer = entry.getTraceBuffer();
 				if (traceBuffer.isInvalid()) {
 					this.invalidTracesOutputPort.send(traceBuffer.toTraceEvents());
 				} else {
 					this.validTracesOutputPort.send(traceBuffer.toTraceEvents());
 				}
 
-				this.traceId2trace.remove(traceId);
+				this.traceId2trace.remove(entry.getTraceId());
 			}
 		}
 	}
 
+	private List<TimeoutEntry> addExpiredEntry(final List<TimeoutEntry> expiredEntries, final TimeoutEntry entry) {
+		final List<TimeoutEntry> result = (expiredEntries != null) ? expiredEntries : new ArrayList<>(); // NOPMD
+		result.add(entry);
+		return result;
+	}
+
 	/**
 	 * HACK: We sort the trace ids to get a deterministic result when plotting the
 	 * traces to the dot format.
@@ -304,6 +390,11 @@ public abstract class AbstractEventRecordTraceReconstructionStage extends Abstra
 		private boolean beforeEventStackEmptyAtTermination;
 		private boolean repairEventBasedTracesEnabled;
 
+		// state of the expiry indices, only accessed while holding the stage lock
+		private long indexedMinLoggingTimestamp = Long.MAX_VALUE;
+		private boolean indexedByTimeout;
+		private boolean closed;
+
 		private final Deque<BeforeOperationEvent> beforeEventStack = new LinkedList<>();
 		private final Deque<AbstractTraceEvent> eventQueue = new LinkedList<>();
 
@@ -540,6 +631,30 @@ public abstract class AbstractEventRecordTraceReconstructionStage extends Abstra
 			return this.beforeEventStack;
 		}
 
+		public long getIndexedMinLoggingTimestamp() {
+			return this.indexedMinLoggingTimestamp;
+		}
+
+		public void setIndexedMinLoggingTimestamp(final long indexedMinLoggingTimestamp) {
+			this.indexedMinLoggingTimestamp = indexedMinLoggingTimestamp;
+		}
+
+		public boolean isIndexedByTimeout() {
+			return this.indexedByTimeout;
+		}
+
+		public void setIndexedByTimeout() {
+			this.indexedByTimeout = true;
+		}
+
+		public boolean isClosed() {
+			return this.closed;
+		}
+
+		public void setClosed() {
+			this.closed = true;
+		}
+
 		/**
 		 * @author Jan Waller
 		 */
@@ -560,4 +675,35 @@ public abstract class AbstractEventRecordTraceReconstructionStage extends Abstra
 		}
 	}
 
+	/**
+	 * Entry of the expiry indices referring to a trace buffer by a logging timestamp.
+	 *
+	 * @author Kieker Project
+	 */
+	private static final class TimeoutEntry {
+		public static final Comparator<TimeoutEntry> COMPARATOR = Comparator.comparingLong(TimeoutEntry::getTimestamp);
+		public static final Comparator<TimeoutEntry> TRACE_ID_COMPARATOR = Comparator.comparingLong(TimeoutEntry::getTraceId);
+
+		private final long timestamp;
+		private final long traceId;
+		private final TraceBuffer traceBuffer;
+
+		public TimeoutEntry(final long timestamp, final long traceId, final TraceBuffer traceBuffer) {
+			this.timestamp = timestamp;
+			this.traceId = traceId;
+			this.traceBuffer = traceBuffer;
+		}
+
+		public long getTimestamp() {
+			return this.timestamp;
+		}
+
+		public long getTraceId() {
+			return this.traceId;
+		}
+
+		public TraceBuffer getTraceBuffer() {
+			return this.traceBuffer;
+		}
+	}
 }
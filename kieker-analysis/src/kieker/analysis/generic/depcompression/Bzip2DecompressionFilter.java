@@ -49,7 +49,8 @@ public class Bzip2DecompressionFilter extends AbstractDecompressionFilter {
 	 */
 	@Override
 	public InputStream chainInputStream(final InputStream inputStream) throws IOException {
-		return new BufferedInputStream(new BZip2CompressorInputStream(inputStream), BUFFER_SIZE);
+		/** decompress concatenated streams, as written by the parallel block compression. */
+		return new BufferedInputStream(new BZip2CompressorInputStream(inputStream, true), BUFFER_SIZE);
 	}
 
 	/*
@@ -28,7 +28,8 @@ import com.google.common.graph.MutableNetwork;
 public interface IGraph {
 
 	/**
-	 * Get the underlying google graph (network).
+	 * Get the underlying google graph (network). The graph must be modified via this network only, as
+	 * implementations may index its nodes and edges for {@link #findNode(String)} and {@link #findEdge(String)}.
 	 *
 	 * @return return the graph
 	 */
@@ -24,19 +24,20 @@ import kieker.analysis.generic.graph.IGraph;
 import kieker.analysis.generic.graph.INode;
 
 /**
- * Graph with label.
+ * Graph with label. Nodes and edges are indexed by id, as long as the graph is modified via {@link #getGraph()}.
  *
  * @author Reiner Jung
  * @since 2.0.0
  */
 public class GraphImpl implements IGraph {
 
-	private final MutableNetwork<INode, IEdge> graph;
+	private final IdIndexedNetwork graph;
 	private String label;
 
 	public GraphImpl(final String label, final MutableNetwork<INode, IEdge> graph) {
 		this.label = label;
-		this.graph = graph;
+		/** share the index when wrapping the network of another graph, otherwise the indices diverge. */
+		this.graph = graph instanceof IdIndexedNetwork ? (IdIndexedNetwork) graph : new IdIndexedNetwork(graph); // NOCS inline conditional
 	}
 
 	@Override
@@ -56,11 +57,11 @@ public class GraphImpl implements IGraph {
 
 	@Override
 	public Optional<INode> findNode(final String id) {
-		return this.graph.nodes().stream().filter(node -> id.equals(node.getId())).findFirst();
+		return this.graph.findNode(id);
 	}
 
 	@Override
 	public Optional<IEdge> findEdge(final String id) {
-		return this.graph.edges().stream().filter(edge -> id.equals(edge.getId())).findFirst();
+		return this.graph.findEdge(id);
 	}
 }
@@ -0,0 +1,299 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.generic.graph.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.google.common.graph.ElementOrder;
+import com.google.common.graph.EndpointPair;
+import com.google.common.graph.Graph;
+import com.google.common.graph.MutableNetwork;
+
+import kieker.analysis.generic.graph.IEdge;
+import kieker.analysis.generic.graph.IElement;
+import kieker.analysis.generic.graph.INode;
+
+/**
+ * Mutable network which maintains an index of its nodes and edges by id. All queries and modifications are
+ * delegated to the wrapped network, modifications also update the index. Therefore, the wrapped network must
+ * only be modified via this network.
+ *
+ * <p>
+ * In case multiple elements share an id, the index refers to the element added first.
+ * </p>
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+class IdIndexedNetwork implements MutableNetwork<INode, IEdge> {
+
+	private final MutableNetwork<INode, IEdge> network;
+	private final Map<String, INode> nodeIndex = new HashMap<>();
+	private final Map<String, IEdge> edgeIndex = new HashMap<>();
+
+	/**
+	 * Create an index for the given network. Nodes and edges already present in the network are indexed.
+	 *
+	 * @param network
+	 *            the wrapped network
+	 */
+	IdIndexedNetwork(final MutableNetwork<INode, IEdge> network) {
+		this.network = network;
+		for (final INode node : network.nodes()) {
+			this.nodeIndex.putIfAbsent(node.getId(), node);
+		}
+		for (final IEdge edge : network.edges()) {
+			this.edgeIndex.putIfAbsent(edge.getId(), edge);
+		}
+	}
+
+	public Optional<INode> findNode(final String id) {
+		return Optional.ofNullable(this.nodeIndex.get(id));
+	}
+
+	public Optional<IEdge> findEdge(final String id) {
+		return Optional.ofNullable(this.edgeIndex.get(id));
+	}
+
+	@Override
+	public boolean addNode(final INode node) {
+		final boolean added = this.network.addNode(node);
+		if (added) {
+			this.nodeIndex.putIfAbsent(node.getId(), node);
+		}
+		return added;
+	}
+
+	@Override
+	public boolean addEdge(final INode nodeU, final INode nodeV, final IEdge edge) {
+		final boolean added = this.network.addEdge(nodeU, nodeV, edge);
+		if (added) {
+			/** nodes are added implicitly by the network. */
+			this.nodeIndex.putIfAbsent(nodeU.getId(), nodeU);
+			this.nodeIndex.putIfAbsent(nodeV.getId(), nodeV);
+			this.edgeIndex.putIfAbsent(edge.getId(), edge);
+		}
+		return added;
+	}
+
+	@Override
+	public boolean addEdge(final EndpointPair<INode> endpoints, final IEdge edge) {
+		final boolean added = this.network.addEdge(endpoints, edge);
+		if (added) {
+			this.nodeIndex.putIfAbsent(endpoints.nodeU().getId(), endpoints.nodeU());
+			this.nodeIndex.putIfAbsent(endpoints.nodeV().getId(), endpoints.nodeV());
+			this.edgeIndex.putIfAbsent(edge.getId(), edge);
+		}
+		return added;
+	}
+
+	@Override
+	public boolean removeNode(final INode node) {
+		if (!this.network.nodes().contains(node)) {
+			return false;
+		}
+		/** the network removes incident edges implicitly. */
+		final List<IEdge> incidentEdges = new ArrayList<>(this.network.incidentEdges(node));
+		this.network.removeNode(node);
+		this.unindex(this.nodeIndex, node, this.network.nodes());
+		for (final IEdge edge : incidentEdges) {
+			this.unindex(this.edgeIndex, edge, this.network.edges());
+		}
+		return true;
+	}
+
+	@Override
+	public boolean removeEdge(final IEdge edge) {
+		final boolean removed = this.network.removeEdge(edge);
+		if (removed) {
+			this.unindex(this.edgeIndex, edge, this.network.edges());
+		}
+		return removed;
+	}
+
+	/**
+	 * Remove an element from the index. If another element with the same id exists, it replaces the removed one.
+	 */
+	private <T extends IElement> void unindex(final Map<String, T> index, final T element, final Set<T> remainingElements) {
+		if (index.remove(element.getId(), element)) {
+			for (final T remainingElement : remainingElements) {
+				if (element.getId().equals(remainingElement.getId())) {
+					index.put(remainingElement.getId(), remainingElement);
+					return;
+				}
+			}
+		}
+	}
+
+	@Override
+	public Set<INode> nodes() {
+		return this.network.nodes();
+	}
+
+	@Override
+	public Set<IEdge> edges() {
+		return this.network.edges();
+	}
+
+	@Override
+	public Graph<INode> asGraph() {
+		return this.network.asGraph();
+	}
+
+	@Override
+	public boolean isDirected() {
+		return this.network.isDirected();
+	}
+
+	@Override
+	public boolean allowsParallelEdges() {
+		return this.network.allowsParallelEdges();
+	}
+
+	@Override
+	public boolean allowsSelfLoops() {
+		return this.network.allowsSelfLoops();
+	}
+
+	@Override
+	public ElementOrder<INode> nodeOrder() {
+		return this.network.nodeOrder();
+	}
+
+	@Override
+	public ElementOrder<IEdge> edgeOrder() {
+		return this.network.edgeOrder();
+	}
+
+	@Override
+	public Set<INode> adjacentNodes(final INode node) {
+		return this.network.adjacentNodes(node);
+	}
+
+	@Override
+	public Set<INode> predecessors(final INode node) {
+		return this.network.predecessors(node);
+	}
+
+	@Override
+	public Set<INode> successors(final INode node) {
+		return this.network.successors(node);
+	}
+
+	@Override
+	public Set<IEdge> incidentEdges(final INode node) {
+		return this.network.incidentEdges(node);
+	}
+
+	@Override
+	public Set<IEdge> inEdges(final INode node) {
+		return this.network.inEdges(node);
+	}
+
+	@Override
+	public Set<IEdge> outEdges(final INode node) {
+		return this.network.outEdges(node);
+	}
+
+	@Override
+	public int degree(final INode node) {
+		return this.network.degree(node);
+	}
+
+	@Override
+	public int inDegree(final INode node) {
+		return this.network.inDegree(node);
+	}
+
+	@Override
+	public int outDegree(final INode node) {
+		return this.network.outDegree(node);
+	}
+
+	@Override
+	public EndpointPair<INode> incidentNodes(final IEdge edge) {
+		return this.network.incidentNodes(edge);
+	}
+
+	@Override
+	public Set<IEdge> adjacentEdges(final IEdge edge) {
+		return this.network.adjacentEdges(edge);
+	}
+
+	@Override
+	public Set<IEdge> edgesConnecting(final INode nodeU, final INode nodeV) {
+		return this.network.edgesConnecting(nodeU, nodeV);
+	}
+
+	@Override
+	public Set<IEdge> edgesConnecting(final EndpointPair<INode> endpoints) {
+		return this.network.edgesConnecting(endpoints);
+	}
+
+	@Override
+	public Optional<IEdge> edgeConnecting(final INode nodeU, final INode nodeV) {
+		return this.network.edgeConnecting(nodeU, nodeV);
+	}
+
+	@Override
+	public Optional<IEdge> edgeConnecting(final EndpointPair<INode> endpoints) {
+		return this.network.edgeConnecting(endpoints);
+	}
+
+	@Override
+	public IEdge edgeConnectingOrNull(final INode nodeU, final INode nodeV) {
+		return this.network.edgeConnectingOrNull(nodeU, nodeV);
+	}
+
+	@Override
+	public IEdge edgeConnectingOrNull(final EndpointPair<INode> endpoints) {
+		return this.network.edgeConnectingOrNull(endpoints);
+	}
+
+	@Override
+	public boolean hasEdgeConnecting(final INode nodeU, final INode nodeV) {
+		return this.network.hasEdgeConnecting(nodeU, nodeV);
+	}
+
+	@Override
+	public boolean hasEdgeConnecting(final EndpointPair<INode> endpoints) {
+		return this.network.hasEdgeConnecting(endpoints);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (obj instanceof IdIndexedNetwork) {
+			return this.network.equals(((IdIndexedNetwork) obj).network);
+		}
+		return this.network.equals(obj);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.network.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return this.network.toString();
+	}
+}
@@ -18,6 +18,7 @@ package kieker.analysis.generic.source.file;
 import java.io.IOException;
 import java.io.InputStream;
 
+import kieker.analysis.generic.source.IRecordReceivedListener;
 import kieker.common.record.IMonitoringRecord;
 import kieker.common.registry.reader.ReaderRegistry;
 
@@ -56,6 +57,22 @@ public abstract class AbstractEventDeserializer {
 	 *             on input stream errors
 	 *
 	 */
-	public abstract void processDataStream(InputStream chainInputStream, OutputPort<IMonitoringRecord> outputPort) throws IOException;
+	public void processDataStream(final InputStream chainInputStream, final OutputPort<IMonitoringRecord> outputPort) throws IOException {
+		this.processDataStream(chainInputStream, outputPort::send);
+	}
+
+	/**
+	 * Read an input stream of data, deserialize it and pass the monitoring records to a listener.
+	 *
+	 * @param chainInputStream
+	 *            the input stream
+	 * @param listener
+	 *            the listener receiving the records
+	 * @throws IOException
+	 *             on input stream errors
+	 *
+	 * @since 2.0.0
+	 */
+	public abstract void processDataStream(InputStream chainInputStream, IRecordReceivedListener listener) throws IOException;
 
 }
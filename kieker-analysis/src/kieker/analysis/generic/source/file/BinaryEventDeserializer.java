@@ -19,10 +19,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import kieker.analysis.generic.source.IRecordReceivedListener;
 import kieker.common.exception.RecordInstantiationException;
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
@@ -32,8 +38,6 @@ import kieker.common.record.io.BinaryValueDeserializer;
 import kieker.common.record.io.IValueDeserializer;
 import kieker.common.registry.reader.ReaderRegistry;
 
-import teetime.framework.OutputPort;
-
 /**
  * This deserializer reads a binary input stream and deserializes them into IMonitoringRecords.
  *
@@ -47,6 +51,9 @@ public class BinaryEventDeserializer extends AbstractEventDeserializer {
 
 	public static final int DEFAULT_BUFFER_SIZE = 102400;
 
+	/** Maximal size of the part of a file which is mapped at once. */
+	public static final int MAPPING_WINDOW_SIZE = 1 << 30;
+
 	private static final Logger LOGGER = LoggerFactory.getLogger(BinaryEventDeserializer.class);
 
 	private static final int LONG_BYTES = AbstractMonitoringRecord.TYPE_SIZE_LONG;
@@ -55,13 +62,115 @@ public class BinaryEventDeserializer extends AbstractEventDeserializer {
 
 	private final ByteBuffer buffer;
 
+	private final int mappingWindowSize;
+
 	public BinaryEventDeserializer(final Integer bufferSize, final ReaderRegistry<String> registry) {
+		this(bufferSize, registry, MAPPING_WINDOW_SIZE);
+	}
+
+	/**
+	 * Create a deserializer with a specific mapping window size.
+	 *
+	 * @param bufferSize
+	 *            size of the buffer for stream input
+	 * @param registry
+	 *            string registry
+	 * @param mappingWindowSize
+	 *            maximal size of the part of a file which is mapped at once, must be larger than the largest record
+	 *
+	 * @since 2.0.0
+	 */
+	public BinaryEventDeserializer(final Integer bufferSize, final ReaderRegistry<String> registry, final int mappingWindowSize) {
 		super(registry);
 		this.buffer = ByteBuffer.allocate(bufferSize == null ? DEFAULT_BUFFER_SIZE : bufferSize); // NOCS
+		this.mappingWindowSize = mappingWindowSize;
+	}
+
+	/**
+	 * Read an uncompressed binary log file. The file is memory mapped and the records are deserialized directly
+	 * from the mapping, without copying the data into an intermediate buffer. Files larger than the mapping window
+	 * are mapped in consecutive windows, each starting at the first record not read from the previous window.
+	 *
+	 * @param logFile
+	 *            the log file
+	 * @param listener
+	 *            the listener receiving the records
+	 * @throws IOException
+	 *             on file errors
+	 *
+	 * @since 2.0.0
+	 */
+	public void processMappedFile(final Path logFile, final IRecordReceivedListener listener) throws IOException {
+		try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+			final long fileSize = channel.size();
+			long windowStart = 0;
+			while (windowStart < fileSize) {
+				final long windowSize = Math.min(fileSize - windowStart, this.mappingWindowSize);
+				final boolean lastWindow = (windowStart + windowSize) == fileSize;
+				final MappedByteBuffer window = channel.map(MapMode.READ_ONLY, windowStart, windowSize);
+
+				final int bytesRead = this.processWindow(window, listener);
+				if (bytesRead < 0) {
+					return; // error has already been logged
+				} else if (lastWindow) {
+					if (bytesRead < windowSize) {
+						LOGGER.warn("Incomplete record at the end of {}. Skipping {} bytes.", logFile, windowSize - bytesRead);
+					}
+					return;
+				} else if (bytesRead == 0) {
+					LOGGER.error("Record at position {} of {} is larger than the mapping window.", windowStart, logFile);
+					return;
+				}
+				windowStart += bytesRead;
+			}
+		}
+	}
+
+	/**
+	 * Deserialize all complete records of the window.
+	 *
+	 * @return the number of bytes of all complete records, -1 on unrecoverable errors
+	 */
+	private int processWindow(final ByteBuffer window, final IRecordReceivedListener listener) {
+		final BinaryValueDeserializer deserializer = BinaryValueDeserializer.create(window, this.registry);
+
+		/** Needs at least a record id and a logging timestamp. */
+		while (window.remaining() >= (4 + LONG_BYTES)) {
+			final int recordStart = window.position();
+			final int clazzId = window.getInt();
+			final long loggingTimestamp = window.getLong();
+
+			final String eventTypeName = this.registry.get(clazzId);
+			if (eventTypeName == null) {
+				LOGGER.error("Missing classname mapping for record type id '{}'", clazzId);
+				return -1; // we can't easily recover on errors
+			}
+			final IRecordFactory<? extends IMonitoringRecord> eventTypeFactory = this.recordFactories.get(eventTypeName);
+			if (eventTypeFactory == null) {
+				LOGGER.error("Class type {} was not found. Cannot instantiate event type.", eventTypeName);
+				return -1;
+			}
+			if (window.remaining() < eventTypeFactory.getRecordSizeInBytes()) {
+				window.position(recordStart);
+				break;
+			}
+
+			try {
+				final IMonitoringRecord record = eventTypeFactory.create(deserializer);
+				record.setLoggingTimestamp(loggingTimestamp);
+				listener.onRecordReceived(record);
+			} catch (final RecordInstantiationException | BufferUnderflowException ex) { // NOPMD (record crosses the window)
+				// records with arrays may be incomplete, even though the fixed size is available
+				window.position(recordStart);
+				break;
+			}
+		}
+
+		return window.position();
 	}
 
 	@Override
-	public void processDataStream(final InputStream chainInputStream, final OutputPort<IMonitoringRecord> outputPort) throws IOException {
+	public void processDataStream(final InputStream chainInputStream, final IRecordReceivedListener listener) throws IOException {
 		final BinaryValueDeserializer deserializer = BinaryValueDeserializer.create(this.buffer, this.registry);
 
 		boolean endOfStreamReached = false;
@@ -80,7 +189,7 @@ public class BinaryEventDeserializer extends AbstractEventDeserializer {
 				endOfStreamReached = true;
 			}
 
-			this.processBuffer(deserializer, outputPort);
+			this.processBuffer(deserializer, listener);
 
 			if (endOfStreamReached) {
 				chainInputStream.close();
@@ -89,7 +198,7 @@ public class BinaryEventDeserializer extends AbstractEventDeserializer {
 	}
 
 	private void processBuffer(final IValueDeserializer deserializer,
-			final OutputPort<IMonitoringRecord> outputPort) throws IOException {
+			final IRecordReceivedListener listener) throws IOException {
 		this.buffer.flip();
 
 		try {
@@ -100,7 +209,7 @@ public class BinaryEventDeserializer extends AbstractEventDeserializer {
 				if (record == null) {
 					return;
 				} else {
-					outputPort.send(record);
+					listener.onRecordReceived(record);
 				}
 			}
 			this.buffer.mark();
@@ -22,6 +22,7 @@ import java.nio.CharBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import kieker.analysis.generic.source.IRecordReceivedListener;
 import kieker.common.exception.MonitoringRecordException;
 import kieker.common.exception.UnknownRecordTypeException;
 import kieker.common.record.IMonitoringRecord;
@@ -30,8 +31,6 @@ import kieker.common.record.factory.IRecordFactory;
 import kieker.common.record.io.TextValueDeserializer;
 import kieker.common.registry.reader.ReaderRegistry;
 
-import teetime.framework.OutputPort;
-
 /**
  * @author Reiner Jung
  *
@@ -59,7 +58,7 @@ public class DatEventDeserializer extends AbstractEventDeserializer {
 	}
 
 	@Override
-	public void processDataStream(final InputStream inputStream, final OutputPort<IMonitoringRecord> outputPort) throws IOException {
+	public void processDataStream(final InputStream inputStream, final IRecordReceivedListener listener) throws IOException {
 		final byte[] buffer = new byte[this.charBuffer.length() * 2]; // NOPMD
 
 		boolean endOfFile = false;
@@ -71,7 +70,7 @@ public class DatEventDeserializer extends AbstractEventDeserializer {
 				endOfFile = true;
 			} else {
 				final int numOfBufferedBytes = numOfReadBytes + offset;
-				final int mark = this.processBuffer(buffer, offset, numOfBufferedBytes, outputPort);
+				final int mark = this.processBuffer(buffer, offset, numOfBufferedBytes, listener);
 				/** move remaining left. */
 				for (int j = mark + 1; j < numOfBufferedBytes; j++) {
 					buffer[j - mark - 1] = buffer[j];
@@ -80,7 +79,7 @@ public class DatEventDeserializer extends AbstractEventDeserializer {
 			}
 		}
 		if (this.charBuffer.position() > 0) {
-			this.createRecord(outputPort);
+			this.createRecord(listener);
 		}
 	}
 
@@ -93,8 +92,8 @@ public class DatEventDeserializer extends AbstractEventDeserializer {
 	 *            byte buffer offset
 	 * @param numOfBufferedBytes
 	 *            number of read bytes from the last read operation
-	 * @param outputPort
-	 *            output port to be used for deserialized records
+	 * @param listener
+	 *            listener receiving the deserialized records
 	 *
 	 * @return mark in the buffer
 	 *
@@ -106,21 +105,21 @@ public class DatEventDeserializer extends AbstractEventDeserializer {
 	 *             record type is unknown
 	 */
 	private int processBuffer(final byte[] buffer, final int offset,
-			final int numOfBufferedBytes, final OutputPort<IMonitoringRecord> outputPort) {
+			final int numOfBufferedBytes, final IRecordReceivedListener listener) {
 		int i = offset;
 		int mark = 0;
 		while (i < numOfBufferedBytes) {
 			final char ch = (char) buffer[i];
 			if (ch == '\n') {
 				this.lineNumber++;
-				this.createRecord(outputPort);
+				this.createRecord(listener);
 				mark = i;
 			} else if (ch == '\r') {
 				if (buffer[i + 1] == '\n') {
 					i++;
 				}
 				this.lineNumber++;
-				this.createRecord(outputPort);
+				this.createRecord(listener);
 				mark = i;
 			} else {
 				this.charBuffer.append(ch);
@@ -131,7 +130,7 @@ public class DatEventDeserializer extends AbstractEventDeserializer {
 		return mark;
 	}
 
-	private void createRecord(final OutputPort<IMonitoringRecord> outputPort) {
+	private void createRecord(final IRecordReceivedListener listener) {
 		this.charBuffer.flip();
 		final char lead = this.charBuffer.get();
 		if (lead == '$') {
@@ -145,7 +144,7 @@ public class DatEventDeserializer extends AbstractEventDeserializer {
 				final IRecordFactory<? extends IMonitoringRecord> recordFactory = this.recordFactories.get(classname);
 				final IMonitoringRecord event = recordFactory.create(deserializer);
 				event.setLoggingTimestamp(loggingTimestamp);
-				outputPort.send(event);
+				listener.onRecordReceived(event);
 				this.charBuffer.clear();
 			}
 		} else {
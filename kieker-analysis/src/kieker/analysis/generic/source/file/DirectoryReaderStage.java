@@ -23,6 +23,14 @@ import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import kieker.analysis.generic.depcompression.AbstractDecompressionFilter;
@@ -32,6 +40,7 @@ import kieker.analysis.generic.depcompression.GZipDecompressionFilter;
 import kieker.analysis.generic.depcompression.NoneDecompressionFilter;
 import kieker.analysis.generic.depcompression.XZDecompressionFilter;
 import kieker.analysis.generic.depcompression.ZipDecompressionFilter;
+import kieker.analysis.generic.source.IRecordReceivedListener;
 import kieker.analysis.util.FSReaderUtil;
 import kieker.common.record.IMonitoringRecord;
 import kieker.common.registry.reader.ReaderRegistry;
@@ -43,19 +52,87 @@ import teetime.stage.basic.AbstractTransformation;
  * Read a kieker log directory. The filter receives a directory as input and
  * outputs all events collected in the directory.
  *
+ * <p>
+ * Log files can be decoded in parallel on a pool of worker threads. The records of the files
+ * are then merged, either in the order of the files, which is the same order as in sequential
+ * reading, or by logging timestamp. As at most parallelism files are decoded at once, the
+ * timestamp merge only reorders records between these files. This suffices for rotated log
+ * files, where the time ranges of files only overlap with their neighbors.
+ * </p>
+ *
  * @author Reiner Jung
  *
  * @since 1.15
  */
 public class DirectoryReaderStage extends AbstractTransformation<File, IMonitoringRecord> {
 
+	/** Number of records handed over from a worker to the stage at once. */
+	private static final int RECORD_BATCH_SIZE = 1024;
+
+	/** Number of batches a worker may decode ahead of the stage. */
+	private static final int RECORD_BATCH_QUEUE_CAPACITY = 16;
+
 	private final FilenameFilter mapFilter = new MapFileFilter();
 	private final Integer dataBufferSize;
 	private final boolean verbose;
+	private final boolean memoryMapped;
+	private final int parallelism;
+	private final RecordOrder recordOrder;
 
+	/**
+	 * Create a directory reader reading all log files via streams.
+	 *
+	 * @param verbose
+	 *            report each log file on info level
+	 * @param dataBufferSize
+	 *            buffer size for reading log file streams
+	 */
 	public DirectoryReaderStage(final boolean verbose, final int dataBufferSize) {
+		this(verbose, dataBufferSize, false);
+	}
+
+	/**
+	 * Create a directory reader.
+	 *
+	 * @param verbose
+	 *            report each log file on info level
+	 * @param dataBufferSize
+	 *            buffer size for reading log file streams
+	 * @param memoryMapped
+	 *            read uncompressed binary log files via memory mapping instead of streams
+	 *
+	 * @since 2.0.0
+	 */
+	public DirectoryReaderStage(final boolean verbose, final int dataBufferSize, final boolean memoryMapped) {
+		this(verbose, dataBufferSize, memoryMapped, 1, RecordOrder.FILE);
+	}
+
+	/**
+	 * Create a directory reader decoding multiple log files in parallel.
+	 *
+	 * @param verbose
+	 *            report each log file on info level
+	 * @param dataBufferSize
+	 *            buffer size for reading log file streams
+	 * @param memoryMapped
+	 *            read uncompressed binary log files via memory mapping instead of streams
+	 * @param parallelism
+	 *            number of log files decoded at once, 1 reads the files sequentially in the stage thread
+	 * @param recordOrder
+	 *            order in which the records of parallel decoded files are emitted
+	 *
+	 * @since 2.0.0
+	 */
+	public DirectoryReaderStage(final boolean verbose, final int dataBufferSize, final boolean memoryMapped, final int parallelism,
+			final RecordOrder recordOrder) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be at least 1, but is " + parallelism);
+		}
 		this.verbose = verbose;
 		this.dataBufferSize = dataBufferSize;
+		this.memoryMapped = memoryMapped;
+		this.parallelism = parallelism;
+		this.recordOrder = recordOrder;
 	}
 
 	@Override
@@ -76,20 +153,110 @@ public class DirectoryReaderStage extends AbstractTransformation<File, IMonitori
 			}
 
 			/** read log files. */
+			final List<Path> logFiles;
 			try (Stream<Path> stream = Files.list(directory.toPath())) {
-				stream.sorted().forEach(logFilePath -> {
-					final File logFile = logFilePath.toFile();
-					final String logFileName = logFile.getName();
-					try (InputStream inputStream = Files.newInputStream(logFile.toPath(), StandardOpenOption.READ)) {
-						this.readLogFile(inputStream, logFileName, registry);
-					} catch (final IOException e) {
-						this.logger.error("Cannot find log file {}.", logFileName);
-					}
-				});
+				logFiles = stream.sorted().collect(Collectors.toList());
 			} catch (final IOException e1) {
 				this.logger.error("Cannot process directory {}", directory.getAbsolutePath());
+				return;
+			}
+
+			if ((this.parallelism > 1) && (logFiles.size() > 1)) {
+				this.readLogFilesInParallel(directory, logFiles, registry);
+			} else {
+				for (final Path logFilePath : logFiles) {
+					this.readLogFile(logFilePath, registry, this.outputPort::send);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Decode the log files on a worker pool and merge their records into the output port.
+	 *
+	 * @param directory
+	 *            the log directory used for user feedback
+	 * @param logFiles
+	 *            sorted list of files in the directory
+	 * @param registry
+	 *            string registry, must not be modified while reading
+	 */
+	private void readLogFilesInParallel(final File directory, final List<Path> logFiles, final ReaderRegistry<String> registry) {
+		final ExecutorService executor = Executors.newFixedThreadPool(this.parallelism);
+		try {
+			final List<LogFileCursor> cursors = new ArrayList<>(logFiles.size());
+			for (final Path logFilePath : logFiles) {
+				final LogFileCursor cursor = new LogFileCursor(cursors.size(), RECORD_BATCH_SIZE, RECORD_BATCH_QUEUE_CAPACITY);
+				cursors.add(cursor);
+				/** workers start in file order, which the merge relies on. */
+				executor.execute(() -> {
+					try {
+						this.readLogFile(logFilePath, registry, cursor);
+					} catch (final CancellationException e) { // NOPMD (stage stopped reading)
+						this.logger.debug("Reading log file {} has been cancelled.", logFilePath.getFileName());
+					} finally {
+						cursor.finish();
+					}
+				});
+			}
+			this.mergeLogFiles(cursors);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			this.logger.error("Reading log directory {} has been interrupted.", directory.getAbsolutePath());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Merge the records of the log files. Only the first parallelism unfinished files take part in the merge,
+	 * as these are the files being decoded. Hence, the merge never waits for a file which has not been started.
+	 *
+	 * @param cursors
+	 *            cursors of all log files in file order
+	 * @throws InterruptedException
+	 *             when interrupted while waiting for a worker
+	 */
+	private void mergeLogFiles(final List<LogFileCursor> cursors) throws InterruptedException {
+		final PriorityQueue<LogFileCursor> heads = new PriorityQueue<>(this.parallelism, this.recordOrder.getComparator());
+		int nextCursor = 0;
+		while ((nextCursor < cursors.size()) || !heads.isEmpty()) {
+			while ((heads.size() < this.parallelism) && (nextCursor < cursors.size())) {
+				final LogFileCursor cursor = cursors.get(nextCursor++);
+				if (cursor.advance()) {
+					heads.add(cursor);
+				}
+			}
+			final LogFileCursor cursor = heads.poll();
+			if (cursor != null) {
+				this.outputPort.send(cursor.getHead());
+				if (cursor.advance()) {
+					heads.add(cursor);
+				}
 			}
+		}
+	}
 
+	/**
+	 * Read one log file and pass its records to the listener.
+	 *
+	 * @param logFilePath
+	 *            the log file
+	 * @param registry
+	 *            string registry
+	 * @param listener
+	 *            listener receiving the records
+	 */
+	private void readLogFile(final Path logFilePath, final ReaderRegistry<String> registry, final IRecordReceivedListener listener) {
+		final String logFileName = logFilePath.getFileName().toString();
+		if (this.memoryMapped && FSUtil.BINARY_FILE_EXTENSION.equals(FSReaderUtil.getExtension(logFileName))) {
+			this.readMappedLogFile(logFilePath, registry, listener);
+		} else {
+			try (InputStream inputStream = Files.newInputStream(logFilePath, StandardOpenOption.READ)) {
+				this.readLogFile(inputStream, logFileName, registry, listener);
+			} catch (final IOException e) {
+				this.logger.error("Cannot find log file {}.", logFileName);
+			}
 		}
 	}
 
@@ -146,6 +313,31 @@ public class DirectoryReaderStage extends AbstractTransformation<File, IMonitori
 		}
 	}
 
+	/**
+	 * Read an uncompressed binary log file via memory mapping and produce Kieker events.
+	 *
+	 * @param logFilePath
+	 *            the log file
+	 * @param registry
+	 *            string registry
+	 * @param listener
+	 *            listener receiving the records
+	 */
+	private void readMappedLogFile(final Path logFilePath, final ReaderRegistry<String> registry, final IRecordReceivedListener listener) {
+		if (this.verbose) {
+			this.logger.info("Reading log file {}", logFilePath.getFileName());
+		} else {
+			this.logger.debug("Reading log file {}", logFilePath.getFileName());
+		}
+
+		try {
+			// the stream buffer is not used for mapped files
+			new BinaryEventDeserializer(0, registry).processMappedFile(logFilePath, listener);
+		} catch (final IOException e) {
+			this.logger.error("Reading log file {} failed.", logFilePath.getFileName());
+		}
+	}
+
 	/**
 	 * Read a log file stream and produce Kieker events.
 	 *
@@ -155,8 +347,11 @@ public class DirectoryReaderStage extends AbstractTransformation<File, IMonitori
 	 *            the name of the log file used for user feedback
 	 * @param registry
 	 *            string registry
+	 * @param listener
+	 *            listener receiving the records
 	 */
-	private void readLogFile(final InputStream inputStream, final String logFileName, final ReaderRegistry<String> registry) {
+	private void readLogFile(final InputStream inputStream, final String logFileName, final ReaderRegistry<String> registry,
+			final IRecordReceivedListener listener) {
 		final AbstractDecompressionFilter decompressionFilter = this.findDecompressionFilterByExtension(logFileName);
 		if (this.verbose) {
 			this.logger.info("Reading log file {}", logFileName);
@@ -179,7 +374,7 @@ public class DirectoryReaderStage extends AbstractTransformation<File, IMonitori
 					final AbstractEventDeserializer deserializer = deserializerClass.getConstructor(Integer.class, ReaderRegistry.class)
 							.newInstance(this.dataBufferSize, registry);
 
-					deserializer.processDataStream(chainedInputStream, this.outputPort);
+					deserializer.processDataStream(chainedInputStream, listener);
 				} catch (InstantiationException | IllegalAccessException | IllegalArgumentException
 						| InvocationTargetException | NoSuchMethodException | SecurityException e) {
 					this.logger.error("Cannot instantiate filter {} for decompression.", deserializerClass.getName());
@@ -192,4 +387,28 @@ public class DirectoryReaderStage extends AbstractTransformation<File, IMonitori
 		}
 	}
 
+	/**
+	 * Order of the records of log files which are decoded in parallel.
+	 *
+	 * @author Kieker Project
+	 *
+	 * @since 2.0.0
+	 */
+	public enum RecordOrder {
+		/** Emit all records of a file before the records of the next file. */
+		FILE(Comparator.comparingInt(LogFileCursor::getIndex)),
+		/** Emit records by logging timestamp, records with the same timestamp in file order. */
+		LOGGING_TIMESTAMP(Comparator.<LogFileCursor> comparingLong(cursor -> cursor.getHead().getLoggingTimestamp())
+				.thenComparingInt(LogFileCursor::getIndex));
+
+		private final Comparator<LogFileCursor> comparator;
+
+		RecordOrder(final Comparator<LogFileCursor> comparator) {
+			this.comparator = comparator;
+		}
+
+		Comparator<LogFileCursor> getComparator() {
+			return this.comparator;
+		}
+	}
 }
@@ -0,0 +1,131 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.generic.source.file;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+
+import kieker.analysis.generic.source.IRecordReceivedListener;
+import kieker.common.record.IMonitoringRecord;
+
+/**
+ * Hands the records of one log file from the decoding worker thread to the merging stage thread. Records are passed
+ * in batches to keep the synchronization cost per record low. The number of pending batches is bounded, i.e., a
+ * worker blocks when the stage does not keep up.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+final class LogFileCursor implements IRecordReceivedListener {
+
+	private static final List<IMonitoringRecord> END_OF_FILE = Collections.emptyList();
+
+	private final int index;
+	private final int batchSize;
+	private final BlockingQueue<List<IMonitoringRecord>> batches;
+
+	/** used by the worker thread. */
+	private List<IMonitoringRecord> pendingBatch;
+
+	/** used by the stage thread. */
+	private List<IMonitoringRecord> currentBatch = END_OF_FILE;
+	private int currentPosition;
+	private IMonitoringRecord head;
+
+	/**
+	 * Create a cursor.
+	 *
+	 * @param index
+	 *            position of the log file in the directory
+	 * @param batchSize
+	 *            number of records handed over at once
+	 * @param queueCapacity
+	 *            maximal number of batches waiting for the stage
+	 */
+	LogFileCursor(final int index, final int batchSize, final int queueCapacity) {
+		this.index = index;
+		this.batchSize = batchSize;
+		this.batches = new ArrayBlockingQueue<>(queueCapacity);
+		this.pendingBatch = new ArrayList<>(batchSize);
+	}
+
+	@Override
+	public void onRecordReceived(final IMonitoringRecord record) {
+		this.pendingBatch.add(record);
+		if (this.pendingBatch.size() == this.batchSize) {
+			this.publish(this.pendingBatch);
+			this.pendingBatch = new ArrayList<>(this.batchSize);
+		}
+	}
+
+	/**
+	 * Publish the remaining records and mark the end of the log file. Must be called by the worker thread once the
+	 * file has been processed, also on errors.
+	 */
+	public void finish() {
+		try {
+			if (!this.pendingBatch.isEmpty()) {
+				this.publish(this.pendingBatch);
+			}
+			this.batches.put(END_OF_FILE);
+		} catch (final InterruptedException | CancellationException e) { // NOPMD (reading has been cancelled)
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void publish(final List<IMonitoringRecord> batch) {
+		try {
+			this.batches.put(batch);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CancellationException("Reading log file has been cancelled.");
+		}
+	}
+
+	/**
+	 * Move to the next record of the log file. Blocks until the record has been decoded.
+	 *
+	 * @return true if a record is available via {@link #getHead()}, false at the end of the log file
+	 * @throws InterruptedException
+	 *             when interrupted while waiting for the worker
+	 */
+	public boolean advance() throws InterruptedException {
+		if (this.currentPosition == this.currentBatch.size()) {
+			this.currentBatch = this.batches.take();
+			this.currentPosition = 0;
+			if (this.currentBatch == END_OF_FILE) { // NOPMD (identity of the marker is intended)
+				this.head = null;
+				return false;
+			}
+		}
+		this.head = this.currentBatch.get(this.currentPosition++);
+		return true;
+	}
+
+	public IMonitoringRecord getHead() {
+		return this.head;
+	}
+
+	public int getIndex() {
+		return this.index;
+	}
+}
@@ -16,10 +16,7 @@
 package kieker.analysis.generic.source.rewriter;
 
 import java.io.IOException;
-import java.net.InetSocketAddress;
-import java.net.SocketAddress;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import kieker.analysis.generic.source.tcp.Connection;
@@ -34,19 +31,42 @@ import teetime.framework.OutputPort;
  * This rewriter rewrites trace ids and ignores {@link ITraceRecord}s which are not preceded by a
  * {@link TraceMetadata} record.
  *
+ * The mapping of received to rewritten trace ids is kept per connection in a bounded {@link TraceIdMap}.
+ * Mappings are evicted in least recently used order when the map is full and when they have not been used
+ * for the maximal age, measured in logging timestamps. Trace records of evicted traces are ignored.
+ *
  * @author Reiner Jung
  * @since 1.15
  */
 public class PlainTraceMetadataRewriter implements ITraceMetadataRewriter {
 
-	private volatile AtomicLong traceId = new AtomicLong();
-	private final Map<String, Map<Long, TraceMetadata>> metadatamap = new HashMap<>(); // NOPMD no concurrent use of this class
+	/** default maximal number of active traces per connection. */
+	public static final int DEFAULT_CAPACITY = 64 * 1024;
+	/** default maximal age of a trace mapping in nanoseconds. */
+	public static final long DEFAULT_MAX_AGE = TimeUnit.MINUTES.toNanos(10);
+
+	private final AtomicLong traceId = new AtomicLong();
+	private final int capacity;
+	private final long maxAge;
 
 	/**
 	 * Create the plain trace rewriter.
 	 */
 	public PlainTraceMetadataRewriter() {
-		// empty default constructor
+		this(DEFAULT_CAPACITY, DEFAULT_MAX_AGE);
+	}
+
+	/**
+	 * Create the plain trace rewriter.
+	 *
+	 * @param capacity
+	 *            maximal number of trace mappings per connection
+	 * @param maxAge
+	 *            maximal time a trace mapping is kept after its last use, in logging timestamp units
+	 */
+	public PlainTraceMetadataRewriter(final int capacity, final long maxAge) {
+		this.capacity = capacity;
+		this.maxAge = maxAge;
 	}
 
 	/**
@@ -66,25 +86,19 @@ public class PlainTraceMetadataRewriter implements ITraceMetadataRewriter {
 		record.setLoggingTimestamp(loggingTimestamp);
 		if (record instanceof TraceMetadata) {
 			final TraceMetadata traceMetadata = (TraceMetadata) record;
-			traceMetadata.setTraceId(this.traceId.get());
-			Map<Long, TraceMetadata> map = this.metadatamap.get(traceMetadata.getHostname());
-			if (map == null) {
-				map = new HashMap<>();
-				this.metadatamap.put(traceMetadata.getHostname(), map);
-			}
-			map.put(traceMetadata.getTraceId(), traceMetadata);
-			this.traceId.incrementAndGet();
+			final long rewrittenTraceId = this.traceId.getAndIncrement();
+			this.getTraceIdMap(connection).put(traceMetadata.getTraceId(), rewrittenTraceId, loggingTimestamp);
+			traceMetadata.setTraceId(rewrittenTraceId);
 			outputPort.send(traceMetadata);
 		} else if (record instanceof ITraceRecord) {
-			final SocketAddress remoteAddress = connection.getChannel().getRemoteAddress();
-			final String ip = this.getIP(remoteAddress);
-			final long inputTraceId = ((ITraceRecord) record).getTraceId();
-			final Map<Long, TraceMetadata> map = this.metadatamap.get(ip);
+			final TraceIdMap map = connection.getTraceIdMap();
 			if (map != null) {
-				final TraceMetadata metaData = map.get(inputTraceId);
-				((ITraceRecord) record).setTraceId(metaData.getTraceId());
+				final long rewrittenTraceId = map.get(((ITraceRecord) record).getTraceId(), loggingTimestamp);
+				if (rewrittenTraceId != TraceIdMap.NO_ENTRY) {
+					((ITraceRecord) record).setTraceId(rewrittenTraceId);
 
-				outputPort.send(record);
+					outputPort.send(record);
+				}
 			}
 		} else if (record instanceof KiekerMetadataRecord) { // NOCS NOPMD explicitly ignore
 																// metadata record
@@ -95,10 +109,13 @@ public class PlainTraceMetadataRewriter implements ITraceMetadataRewriter {
 		}
 	}
 
-	private String getIP(final SocketAddress remoteAddress) {
-		final InetSocketAddress sockaddr = (InetSocketAddress) remoteAddress;
-
-		return sockaddr.getHostString();
+	private TraceIdMap getTraceIdMap(final Connection connection) {
+		TraceIdMap map = connection.getTraceIdMap();
+		if (map == null) {
+			map = new TraceIdMap(this.capacity, this.maxAge);
+			connection.setTraceIdMap(map);
+		}
+		return map;
 	}
 
 }
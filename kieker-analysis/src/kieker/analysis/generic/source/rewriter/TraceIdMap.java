@@ -0,0 +1,227 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.generic.source.rewriter;
+
+import java.util.Arrays;
+
+/**
+ * Bounded map from trace ids received on a connection to rewritten trace ids. Keys and values are kept in
+ * primitive arrays. Entries are evicted in least recently used order when the map is full, and when their
+ * last use lies more than the maximal age behind the watermark, i.e., the latest logging timestamp seen by
+ * the map.
+ *
+ * <p>
+ * The map is not thread-safe.
+ * </p>
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public final class TraceIdMap {
+
+	/** value returned by {@link #get(long, long)} for unknown trace ids. */
+	public static final long NO_ENTRY = -1;
+
+	private static final int NONE = -1;
+
+	/** open addressing table of entry indices + 1, 0 marks an empty slot. */
+	private final int[] table;
+	private final int mask;
+
+	private final long[] keys;
+	private final long[] values;
+	private final long[] lastUsed;
+	/** doubly linked LRU list of entries, head is the least recently used entry. */
+	private final int[] previous;
+	private final int[] next;
+	private int head = NONE;
+	private int tail = NONE;
+
+	private int freeList = NONE;
+	private int allocated;
+	private int size;
+
+	private final long maxAge;
+	private long watermark = Long.MIN_VALUE;
+
+	/**
+	 * Create a trace id map.
+	 *
+	 * @param capacity
+	 *            maximal number of entries, at least 1
+	 * @param maxAge
+	 *            maximal time between the last use of an entry and the watermark, in logging timestamp units
+	 */
+	public TraceIdMap(final int capacity, final long maxAge) {
+		final int entries = Math.max(1, capacity);
+		final int tableSize = Integer.highestOneBit(Math.max(2, entries * 2 - 1)) << 1;
+		this.table = new int[tableSize];
+		this.mask = tableSize - 1;
+		this.keys = new long[entries];
+		this.values = new long[entries];
+		this.lastUsed = new long[entries];
+		this.previous = new int[entries];
+		this.next = new int[entries];
+		this.maxAge = maxAge;
+	}
+
+	/**
+	 * Add or replace a mapping.
+	 *
+	 * @param traceId
+	 *            trace id received on the connection
+	 * @param rewrittenTraceId
+	 *            trace id used for the rewritten records
+	 * @param loggingTimestamp
+	 *            logging timestamp of the record defining the mapping
+	 */
+	public void put(final long traceId, final long rewrittenTraceId, final long loggingTimestamp) {
+		this.advanceWatermark(loggingTimestamp);
+		int slot = this.findSlot(traceId);
+		int entry = this.table[slot] - 1;
+		if (entry == NONE) {
+			if (this.size == this.keys.length) {
+				this.remove(this.head);
+				slot = this.findSlot(traceId);
+			}
+			entry = this.allocate();
+			this.table[slot] = entry + 1;
+			this.keys[entry] = traceId;
+			this.size++;
+		} else {
+			this.unlink(entry);
+		}
+		this.values[entry] = rewrittenTraceId;
+		this.lastUsed[entry] = loggingTimestamp;
+		this.append(entry);
+	}
+
+	/**
+	 * Look up the rewritten trace id and mark the entry as used.
+	 *
+	 * @param traceId
+	 *            trace id received on the connection
+	 * @param loggingTimestamp
+	 *            logging timestamp of the record using the mapping
+	 * @return the rewritten trace id or {@link #NO_ENTRY} if the trace id is unknown or has been evicted
+	 */
+	public long get(final long traceId, final long loggingTimestamp) {
+		this.advanceWatermark(loggingTimestamp);
+		final int entry = this.table[this.findSlot(traceId)] - 1;
+		if (entry == NONE) {
+			return NO_ENTRY;
+		}
+		if (entry != this.tail) {
+			this.unlink(entry);
+			this.append(entry);
+		}
+		if (loggingTimestamp > this.lastUsed[entry]) {
+			this.lastUsed[entry] = loggingTimestamp;
+		}
+		return this.values[entry];
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public void clear() {
+		Arrays.fill(this.table, 0);
+		this.head = NONE;
+		this.tail = NONE;
+		this.freeList = NONE;
+		this.allocated = 0;
+		this.size = 0;
+	}
+
+	private void advanceWatermark(final long loggingTimestamp) {
+		if (loggingTimestamp > this.watermark) {
+			this.watermark = loggingTimestamp;
+			final long expired = loggingTimestamp - this.maxAge;
+			while ((this.head != NONE) && (this.lastUsed[this.head] < expired)) {
+				this.remove(this.head);
+			}
+		}
+	}
+
+	private int findSlot(final long traceId) {
+		int slot = TraceIdMap.hash(traceId) & this.mask;
+		while ((this.table[slot] != 0) && (this.keys[this.table[slot] - 1] != traceId)) {
+			slot = (slot + 1) & this.mask;
+		}
+		return slot;
+	}
+
+	private void remove(final int entry) {
+		this.unlink(entry);
+		// backward shift deletion keeps the probe sequences intact
+		int slot = this.findSlot(this.keys[entry]);
+		int nextSlot = (slot + 1) & this.mask;
+		while (this.table[nextSlot] != 0) {
+			final int home = TraceIdMap.hash(this.keys[this.table[nextSlot] - 1]) & this.mask;
+			if (((nextSlot - home) & this.mask) >= ((nextSlot - slot) & this.mask)) {
+				this.table[slot] = this.table[nextSlot];
+				slot = nextSlot;
+			}
+			nextSlot = (nextSlot + 1) & this.mask;
+		}
+		this.table[slot] = 0;
+		this.next[entry] = this.freeList;
+		this.freeList = entry;
+		this.size--;
+	}
+
+	private int allocate() {
+		if (this.freeList != NONE) {
+			final int entry = this.freeList;
+			this.freeList = this.next[entry];
+			return entry;
+		}
+		return this.allocated++;
+	}
+
+	private void unlink(final int entry) {
+		final int previousEntry = this.previous[entry];
+		final int nextEntry = this.next[entry];
+		if (previousEntry == NONE) {
+			this.head = nextEntry;
+		} else {
+			this.next[previousEntry] = nextEntry;
+		}
+		if (nextEntry == NONE) {
+			this.tail = previousEntry;
+		} else {
+			this.previous[nextEntry] = previousEntry;
+		}
+	}
+
+	private void append(final int entry) {
+		this.previous[entry] = this.tail;
+		this.next[entry] = NONE;
+		if (this.tail == NONE) {
+			this.head = entry;
+		} else {
+			this.next[this.tail] = entry;
+		}
+		this.tail = entry;
+	}
+
+	private static int hash(final long key) {
+		final long mixed = key * 0x9E3779B97F4A7C15L;
+		return (int) (mixed ^ (mixed >>> 32));
+	}
+}
@@ -15,9 +15,12 @@
  ***************************************************************************/
 package kieker.analysis.generic.source.tcp;
 
+import java.io.IOException;
+import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 
+import kieker.analysis.generic.source.rewriter.TraceIdMap;
 import kieker.common.record.io.BinaryValueDeserializer;
 import kieker.common.record.io.IValueDeserializer;
 import kieker.common.registry.reader.ReaderRegistry;
@@ -36,9 +39,14 @@ public class Connection {
 	private final SocketChannel channel;
 	/** Byte buffer for reading the channel. */
 	private final ByteBuffer buffer;
+	/** Remote address, kept as the channel may already be closed when its last records are processed. */
+	private final SocketAddress remoteAddress;
 	/** Deserializer setup. */
 	private final IValueDeserializer deserializer;
 
+	/** Trace id mapping of the records received on this connection, created by the rewriter. */
+	private TraceIdMap traceIdMap;
+
 	/** Is true when there was an unrecoverable error with the stream. */
 	private boolean error;
 
@@ -52,6 +60,7 @@ public class Connection {
 	 */
 	public Connection(final SocketChannel channel, final int bufferSize) {
 		this.channel = channel;
+		this.remoteAddress = Connection.lookupRemoteAddress(channel);
 		this.buffer = ByteBuffer.allocateDirect(bufferSize);
 		this.deserializer = BinaryValueDeserializer.create(this.buffer, this.registry);
 		this.error = false;
@@ -65,6 +74,13 @@ public class Connection {
 		return this.channel;
 	}
 
+	/**
+	 * @return the remote address of the connection or null if the channel was not connected on creation
+	 */
+	public SocketAddress getRemoteAddress() {
+		return this.remoteAddress;
+	}
+
 	public ByteBuffer getBuffer() {
 		return this.buffer;
 	}
@@ -73,6 +89,17 @@ public class Connection {
 		return this.deserializer;
 	}
 
+	/**
+	 * @return the trace id mapping of this connection or null if no rewriter has assigned one
+	 */
+	public TraceIdMap getTraceIdMap() {
+		return this.traceIdMap;
+	}
+
+	public void setTraceIdMap(final TraceIdMap traceIdMap) {
+		this.traceIdMap = traceIdMap;
+	}
+
 	public void setError(final boolean error) {
 		this.error = error;
 	}
@@ -81,4 +108,12 @@ public class Connection {
 		return this.error;
 	}
 
+	private static SocketAddress lookupRemoteAddress(final SocketChannel channel) {
+		try {
+			return channel.getRemoteAddress();
+		} catch (final IOException e) {
+			return null;
+		}
+	}
+
 }
@@ -19,10 +19,10 @@ import java.io.IOException;
 import java.net.BindException;
 import java.net.InetSocketAddress;
 import java.nio.channels.ClosedByInterruptException;
-import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
 
 import kieker.analysis.generic.source.rewriter.ITraceMetadataRewriter;
 import kieker.common.record.IMonitoringRecord;
@@ -30,22 +30,35 @@ import kieker.common.record.IMonitoringRecord;
 import teetime.framework.AbstractProducerStage;
 
 /**
- * This is a multi connection tcp source stage.
+ * This is a multi connection tcp source stage. Connections are distributed over a configurable number
+ * of reader threads, each serving its own selector and decoding the records of its connections. The
+ * decoded records are merged in a lock-free queue and rewritten and sent by the stage thread. Records
+ * of one connection keep their order.
  *
  * @author Reiner Jung
  * @since 1.15
  */
 public class MultipleConnectionTcpSourceStage extends AbstractProducerStage<IMonitoringRecord> {
 
+	/** default number of reader threads. */
+	public static final int DEFAULT_READER_THREADS = 1;
+
+	/** number of decoded records after which the reader threads wait for the stage. */
+	private static final int MERGE_QUEUE_CAPACITY = 64 * 1024;
+	/** maximal wait time of the stage for new records or connections. */
+	private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
 	/** server input port. */
 	private final int inputPort;
 	private final int bufferSize;
+	private final int readerThreadCount;
 
 	private final ITraceMetadataRewriter recordRewriter;
 
-	private ReaderThread reader;
+	private ReaderThread[] readers;
+	private RecordMergeQueue mergeQueue;
 
-	private boolean allowNewConnection;
+	private volatile boolean allowNewConnection;
 
 	/**
 	 * Create a single threaded multi connection tcp reader stage.
@@ -59,39 +72,53 @@ public class MultipleConnectionTcpSourceStage extends AbstractProducerStage<IMon
 	 */
 	public MultipleConnectionTcpSourceStage(final int inputPort, final int bufferSize,
 			final ITraceMetadataRewriter recordRewriter) {
+		this(inputPort, bufferSize, recordRewriter, DEFAULT_READER_THREADS);
+	}
+
+	/**
+	 * Create a multi connection tcp reader stage.
+	 *
+	 * @param inputPort
+	 *            used to accept <code>IMonitoringRecord</code>s and string registry entries.
+	 * @param bufferSize
+	 *            capacity of the receiving buffer
+	 * @param recordRewriter
+	 *            rewriting records, it is only called by the stage thread
+	 * @param readerThreadCount
+	 *            number of threads reading and decoding the connections, at least one
+	 */
+	public MultipleConnectionTcpSourceStage(final int inputPort, final int bufferSize,
+			final ITraceMetadataRewriter recordRewriter, final int readerThreadCount) {
 		this.inputPort = inputPort;
 		this.bufferSize = bufferSize;
 		this.recordRewriter = recordRewriter;
+		this.readerThreadCount = Math.max(1, readerThreadCount);
 	}
 
 	@Override
 	protected void execute() {
-		try {
-			final ServerSocketChannel serverSocket = ServerSocketChannel.open();
+		try (ServerSocketChannel serverSocket = ServerSocketChannel.open()) {
 			serverSocket.bind(new InetSocketAddress(this.inputPort));
-			serverSocket.configureBlocking(true);
-			final Selector readSelector = Selector.open();
-			this.reader = new ReaderThread(this.logger, readSelector, this.recordRewriter, this.outputPort);
-			this.reader.start();
+			serverSocket.configureBlocking(false);
+			this.mergeQueue = new RecordMergeQueue(MERGE_QUEUE_CAPACITY, Thread.currentThread());
+			this.readers = new ReaderThread[this.readerThreadCount];
+			for (int i = 0; i < this.readers.length; i++) {
+				this.readers[i] = new ReaderThread(this.logger, Selector.open(), this.mergeQueue);
+				this.readers[i].setName(this.getId() + "-reader-" + i);
+				this.readers[i].start();
+			}
 
 			this.allowNewConnection = true;
 
 			while (this.allowNewConnection && !this.shouldBeTerminated()) {
-				final SocketChannel socketChannel = serverSocket.accept();
-
-				if (socketChannel != null) {
-					this.logger.debug("Connection from {}.", socketChannel.getRemoteAddress().toString());
-					// add socketChannel to list of channels
-					socketChannel.configureBlocking(false);
-
-					readSelector.wakeup();
-					final SelectionKey key = socketChannel.register(readSelector, SelectionKey.OP_READ);
-					final Connection connection = new Connection(socketChannel, this.bufferSize);
-					key.attach(connection);
+				final boolean accepted = this.acceptConnection(serverSocket);
+				final boolean received = this.sendReceivedRecords();
+				if (!accepted && !received) {
+					this.mergeQueue.await(IDLE_WAIT_NANOS);
 				}
 			}
-			this.reader.terminate();
-			this.reader.join();
+			this.terminateReaders();
+			this.sendReceivedRecords();
 		} catch (final ClosedByInterruptException e) {
 			this.logger.info("External shutdown called");
 		} catch (final BindException e) {
@@ -105,6 +132,47 @@ public class MultipleConnectionTcpSourceStage extends AbstractProducerStage<IMon
 		}
 	}
 
+	private boolean acceptConnection(final ServerSocketChannel serverSocket) throws IOException {
+		final SocketChannel socketChannel = serverSocket.accept();
+		if (socketChannel == null) {
+			return false;
+		}
+		this.logger.debug("Connection from {}.", socketChannel.getRemoteAddress());
+		socketChannel.configureBlocking(false);
+
+		// assign the connection to the reader with the fewest open connections
+		ReaderThread reader = this.readers[0];
+		for (int i = 1; i < this.readers.length; i++) {
+			if (this.readers[i].getConnectionCount() < reader.getConnectionCount()) {
+				reader = this.readers[i];
+			}
+		}
+		reader.addConnection(new Connection(socketChannel, this.bufferSize));
+		return true;
+	}
+
+	private boolean sendReceivedRecords() throws IOException {
+		RecordMergeQueue.ReceivedRecord received = this.mergeQueue.poll();
+		if (received == null) {
+			return false;
+		}
+		do {
+			this.recordRewriter.rewrite(received.getConnection(), received.getRecord(), received.getLoggingTimestamp(), this.outputPort);
+			received = this.mergeQueue.poll();
+		} while (received != null);
+		return true;
+	}
+
+	private void terminateReaders() throws InterruptedException {
+		this.mergeQueue.close();
+		for (final ReaderThread reader : this.readers) {
+			reader.terminate();
+		}
+		for (final ReaderThread reader : this.readers) {
+			reader.join();
+		}
+	}
+
 	public void rejectNewConnection() {
 		this.allowNewConnection = false;
 	}
@@ -112,10 +180,9 @@ public class MultipleConnectionTcpSourceStage extends AbstractProducerStage<IMon
 	@Override
 	protected void onTerminating() {
 		this.rejectNewConnection();
-		if (this.reader.isAlive()) {
-			this.reader.terminate();
+		if (this.readers != null) {
 			try {
-				this.reader.join();
+				this.terminateReaders();
 			} catch (final InterruptedException e) {
 				this.logger.warn("Reader termination was interrupted.");
 			}
@@ -25,21 +25,22 @@ import java.nio.channels.SocketChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 
-import kieker.analysis.generic.source.rewriter.ITraceMetadataRewriter;
 import kieker.common.exception.RecordInstantiationException;
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
 import kieker.common.record.factory.CachedRecordFactoryCatalog;
 import kieker.common.record.factory.IRecordFactory;
 
-import teetime.framework.OutputPort;
-
 /**
- * This is the reader for the MultipleConnectionTcpSourceStage.
+ * This is a reader for the MultipleConnectionTcpSourceStage. Each reader serves its own selector and
+ * decodes the records of its connections into the shared {@link RecordMergeQueue}.
  *
  * @author Reiner Jung
  * @since 1.15
@@ -55,9 +56,11 @@ final class ReaderThread extends Thread {
 	private final Selector readSelector;
 	private final Logger logger;
 
-	private final ITraceMetadataRewriter recordRewriter;
-	private final OutputPort<IMonitoringRecord> outputPort;
-	private boolean active;
+	private final RecordMergeQueue mergeQueue;
+	/** connections accepted by the stage, which are registered by the reader thread itself. */
+	private final Queue<Connection> pendingConnections = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger connectionCount = new AtomicInteger();
+	private volatile boolean active;
 
 	/**
 	 * Create a multi stream reader thread.
@@ -67,24 +70,40 @@ final class ReaderThread extends Thread {
 	 *
 	 * @param readSelector
 	 *            channel selector
-	 * @param recordRewriter
-	 *            record rewriter
-	 * @param outputPort
-	 *            output port
+	 * @param mergeQueue
+	 *            queue receiving the decoded records
 	 */
-	public ReaderThread(final Logger logger, final Selector readSelector, final ITraceMetadataRewriter recordRewriter,
-			final OutputPort<IMonitoringRecord> outputPort) {
+	public ReaderThread(final Logger logger, final Selector readSelector, final RecordMergeQueue mergeQueue) {
 		this.readSelector = readSelector;
 		this.logger = logger;
-		this.recordRewriter = recordRewriter;
-		this.outputPort = outputPort;
+		this.mergeQueue = mergeQueue;
+		this.active = true;
+	}
+
+	/**
+	 * Hand over a connection to this reader. The channel is registered with the selector by the reader thread.
+	 *
+	 * @param connection
+	 *            connection with a non-blocking channel
+	 */
+	public void addConnection(final Connection connection) {
+		this.connectionCount.incrementAndGet();
+		this.pendingConnections.offer(connection);
+		this.readSelector.wakeup();
+	}
+
+	/**
+	 * @return number of open connections served by this reader
+	 */
+	public int getConnectionCount() {
+		return this.connectionCount.get();
 	}
 
 	@Override
 	public void run() {
-		this.active = true;
-		while (this.isAlive() && this.active) {
+		while (this.active) {
 			try {
+				this.registerPendingConnections();
 				final int readReady = this.readSelector.select();
 
 				if (readReady > 0) {
@@ -94,25 +113,52 @@ final class ReaderThread extends Thread {
 					while (keyIterator.hasNext()) {
 						final SelectionKey key = keyIterator.next();
 
-						this.readFromSocket(key);
+						try {
+							this.readFromSocket(key);
+						} catch (final IOException e) {
+							this.logger.info("IO error while reading from connection.");
+							this.closeConnection(key);
+						}
 
 						keyIterator.remove();
 					}
 
 					selectedKeys.clear();
-				} else {
-					Thread.sleep(100); // wait for the registration of the new key in MultipleConnectionTypSourceStage
+					this.mergeQueue.signal();
 				}
 			} catch (final ClosedSelectorException e1) {
 				this.logger.error("Selector has already been closed.", e1);
+				this.active = false;
 			} catch (final IOException e2) {
-				this.logger.info("IO error while reading from connection.");
-			} catch (final InterruptedException e) {
-				this.logger.warn("Thread.sleep was interrupted.");
+				this.logger.info("IO error while selecting connections.");
+			}
+		}
+		try {
+			for (final SelectionKey key : this.readSelector.keys()) {
+				key.channel().close();
 			}
+			this.readSelector.close();
+		} catch (final IOException e) {
+			this.logger.warn("Cannot close selector.");
 		}
 	}
 
+	private void registerPendingConnections() throws IOException {
+		Connection connection = this.pendingConnections.poll();
+		while (connection != null) {
+			final SelectionKey key = connection.getChannel().register(this.readSelector, SelectionKey.OP_READ);
+			key.attach(connection);
+			connection = this.pendingConnections.poll();
+		}
+	}
+
+	private void closeConnection(final SelectionKey key) throws IOException {
+		key.attach(null);
+		key.cancel();
+		key.channel().close();
+		this.connectionCount.decrementAndGet();
+	}
+
 	private void readFromSocket(final SelectionKey key) throws IOException {
 		boolean endOfStreamReached = false;
 		final Connection connection = (Connection) key.attachment();
@@ -130,10 +176,8 @@ final class ReaderThread extends Thread {
 		this.processBuffer(connection);
 
 		if (endOfStreamReached || connection.isError()) {
-			this.logger.debug("Socket closed: " + socketChannel.getRemoteAddress().toString());
-			key.attach(null);
-			key.cancel();
-			key.channel().close();
+			this.logger.debug("Socket closed: {}", connection.getRemoteAddress());
+			this.closeConnection(key);
 		}
 	}
 
@@ -232,7 +276,7 @@ final class ReaderThread extends Thread {
 					try {
 						final IMonitoringRecord record = recordFactory.create(connection.getValueDeserializer());
 
-						this.recordRewriter.rewrite(connection, record, loggingTimestamp, this.outputPort);
+						this.mergeQueue.offer(connection, record, loggingTimestamp);
 						return true;
 					} catch (final RecordInstantiationException ex) {
 						this.logger.error("Failed to create: " + recordClassName, ex);
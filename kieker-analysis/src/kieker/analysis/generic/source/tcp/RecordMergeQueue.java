@@ -0,0 +1,146 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.generic.source.tcp;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import kieker.common.record.IMonitoringRecord;
+
+/**
+ * Lock-free queue merging the records decoded by several {@link ReaderThread}s for the single consuming
+ * {@link MultipleConnectionTcpSourceStage}. Each connection is served by exactly one reader thread, and
+ * the queue is FIFO. Therefore, the order of the records of one connection is preserved.
+ *
+ * <p>
+ * The queue is bounded: producers wait while it holds {@code capacity} or more records, so a slow
+ * downstream pipeline pushes back on the socket reads as it did with a single reader thread.
+ * </p>
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+final class RecordMergeQueue {
+
+	private static final long PRODUCER_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+	private final Queue<ReceivedRecord> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger size = new AtomicInteger();
+	private final int capacity;
+	private final Thread consumer;
+	private volatile boolean closed;
+
+	/**
+	 * Create a merge queue.
+	 *
+	 * @param capacity
+	 *            number of records after which producers wait for the consumer
+	 * @param consumer
+	 *            the consuming thread, which is unparked when records are available
+	 */
+	public RecordMergeQueue(final int capacity, final Thread consumer) {
+		this.capacity = capacity;
+		this.consumer = consumer;
+	}
+
+	/**
+	 * Add a decoded record. Waits while the queue is full and has not been closed.
+	 *
+	 * @param connection
+	 *            connection the record has been received from
+	 * @param record
+	 *            the record
+	 * @param loggingTimestamp
+	 *            logging timestamp of the record
+	 */
+	public void offer(final Connection connection, final IMonitoringRecord record, final long loggingTimestamp) {
+		while ((this.size.get() >= this.capacity) && !this.closed) {
+			LockSupport.unpark(this.consumer);
+			LockSupport.parkNanos(this, PRODUCER_WAIT_NANOS);
+		}
+		this.queue.offer(new ReceivedRecord(connection, record, loggingTimestamp));
+		this.size.incrementAndGet();
+	}
+
+	/**
+	 * Notify the consumer that records are available.
+	 */
+	public void signal() {
+		LockSupport.unpark(this.consumer);
+	}
+
+	/**
+	 * @return the oldest record or null if the queue is empty
+	 */
+	public ReceivedRecord poll() {
+		final ReceivedRecord record = this.queue.poll();
+		if (record != null) {
+			this.size.decrementAndGet();
+		}
+		return record;
+	}
+
+	/**
+	 * Wait until a producer signals new records or the timeout elapsed. Must only be called by the consumer.
+	 *
+	 * @param timeoutNanos
+	 *            maximal time to wait
+	 */
+	public void await(final long timeoutNanos) {
+		if (this.queue.isEmpty()) {
+			LockSupport.parkNanos(this, timeoutNanos);
+		}
+	}
+
+	/**
+	 * Release all waiting producers. Records offered afterwards are still queued.
+	 */
+	public void close() {
+		this.closed = true;
+	}
+
+	/**
+	 * Record together with the connection it has been received from.
+	 */
+	static final class ReceivedRecord {
+
+		private final Connection connection;
+		private final IMonitoringRecord record;
+		private final long loggingTimestamp;
+
+		ReceivedRecord(final Connection connection, final IMonitoringRecord record, final long loggingTimestamp) {
+			this.connection = connection;
+			this.record = record;
+			this.loggingTimestamp = loggingTimestamp;
+		}
+
+		public Connection getConnection() {
+			return this.connection;
+		}
+
+		public IMonitoringRecord getRecord() {
+			return this.record;
+		}
+
+		public long getLoggingTimestamp() {
+			return this.loggingTimestamp;
+		}
+	}
+}
@@ -16,7 +16,6 @@
 
 package kieker.analysis.plugin;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
@@ -37,6 +36,7 @@ import kieker.analysis.AnalysisController;
 import kieker.analysis.IProjectContext;
 import kieker.analysis.analysisComponent.AbstractAnalysisComponent;
 import kieker.analysis.exception.AnalysisConfigurationException;
+import kieker.analysis.plugin.OutputPortRoutingTable.InputPortInvoker;
 import kieker.analysis.plugin.annotation.InputPort;
 import kieker.analysis.plugin.annotation.OutputPort;
 import kieker.analysis.plugin.annotation.Plugin;
@@ -63,6 +63,7 @@ public abstract class AbstractPlugin extends AbstractAnalysisComponent implement
 	private static final Logger LOGGER = LoggerFactory.getLogger(AbstractPlugin.class.getCanonicalName());
 
 	private final ConcurrentHashMap<String, List<PluginInputPortReference>> registeredMethods;
+	private final ConcurrentHashMap<String, OutputPortRoutingTable> routingTables;
 	private final ConcurrentHashMap<String, AbstractRepository> registeredRepositories;
 	private final Map<OutputPort, Class<?>[]> outputPortTypes; // NOCS
 	private final Map<String, RepositoryPort> repositoryPorts;
@@ -148,9 +149,13 @@ public abstract class AbstractPlugin extends AbstractAnalysisComponent implement
 
 		// Now create a linked queue for every output port of the class, to store the registered methods.
 		this.registeredMethods = new ConcurrentHashMap<>();
+		this.routingTables = new ConcurrentHashMap<>();
 		for (final OutputPort outputPort : annotation.outputPorts()) {
 			this.registeredMethods.put(outputPort.name(), new ArrayList<PluginInputPortReference>(1));
 		}
+		for (final OutputPort outputPort : this.outputPorts.values()) {
+			this.routingTables.put(outputPort.name(), new OutputPortRoutingTable(outputPort, this.outputPortTypes.get(outputPort)));
+		}
 		// and a List for every incoming and outgoing plugin
 		this.incomingPlugins = new ArrayList<>(1); // usually only one incoming
 		this.outgoingPlugins = new ArrayList<>(1); // usually only one outgoing
@@ -175,56 +180,29 @@ public abstract class AbstractPlugin extends AbstractAnalysisComponent implement
 			return true;
 		}
 
-		// First step: Get the output port.
-		final OutputPort outputPort = this.outputPorts.get(outputPortName);
-		if (outputPort == null) {
+		// First step: Get the routing table of the output port.
+		final OutputPortRoutingTable routingTable = this.routingTables.get(outputPortName);
+		if (routingTable == null) {
 			return false;
 		}
 
-		// Second step: Check whether the data fits the event types.
-		final Class<?>[] outTypes = this.outputPortTypes.get(outputPort);
-		boolean outTypeMatch = false;
-		for (final Class<?> eventType : outTypes) {
-			if (eventType.isInstance(data)) {
-				outTypeMatch = true;
-				break; // for
-			}
-		}
-		if (!outTypeMatch) {
+		// Second step: Get the receiving input ports. There are none if the data does not fit the event types.
+		final InputPortInvoker[] receivers = routingTable.route(data.getClass());
+		if (receivers == null) {
 			return false;
 		}
 
-		// Third step: Send everything to the registered ports.
-		final List<PluginInputPortReference> registeredPortMethods = this.registeredMethods.get(outputPortName);
-
-		for (final PluginInputPortReference pluginInputPortReference : registeredPortMethods) {
-			// Check whether the data fits the event types.
-			Class<?>[] eventTypes = pluginInputPortReference.getEventTypes();
-			if (eventTypes.length == 0) {
-				eventTypes = new Class<?>[] { Object.class };
-			}
-			for (final Class<?> eventType : eventTypes) {
-				if (eventType.isAssignableFrom(data.getClass())) { // data instanceof eventType
-					try {
-						pluginInputPortReference.getInputPortMethod().invoke(pluginInputPortReference.getPlugin(), data);
-					} catch (final InvocationTargetException e) {
-						// This is an exception wrapped by invoke
-						final Throwable cause = e.getCause();
-						if (cause instanceof Error) {
-							// This is a severe case and there is little chance to terminate appropriately
-							throw (Error) cause;
-						} else {
-							this.logger.warn("Caught exception when sending data from {}: OutputPort {} to {}'s InputPort {}", this.getClass().getName(),
-									outputPort.name(), pluginInputPortReference.getPlugin().getClass().getName(),
-									pluginInputPortReference.getInputPortMethod().getName(), cause);
-						}
-					} catch (final Exception e) { // NOPMD NOCS (catch multiple)
-						// This is an exception wrapped by invoke
-						this.logger.error("Caught exception when invoking {}'s InputPort {}", pluginInputPortReference.getPlugin().getClass().getName(),
-								pluginInputPortReference.getInputPortMethod().getName(), e);
-					}
-					break; // for
-				}
+		// Third step: Send everything to the receiving ports.
+		for (final InputPortInvoker receiver : receivers) {
+			try {
+				receiver.invoke(data);
+			} catch (final Error e) { // NOPMD (rethrow)
+				// This is a severe case and there is little chance to terminate appropriately
+				throw e;
+			} catch (final Throwable e) { // NOPMD NOCS (the input port may throw anything)
+				final PluginInputPortReference reference = receiver.getReference();
+				this.logger.warn("Caught exception when sending data from {}: OutputPort {} to {}'s InputPort {}", this.getClass().getName(),
+						routingTable.getOutputPort().name(), reference.getPlugin().getClass().getName(), reference.getInputPortMethod().getName(), e);
 			}
 		}
 		return true;
@@ -292,7 +270,9 @@ public abstract class AbstractPlugin extends AbstractAnalysisComponent implement
 						return null;
 					}
 				});
-				src.registeredMethods.get(outputPortName).add(new PluginInputPortReference(dst, inputPortName, m, dst.inputPorts.get(inputPortName).eventTypes()));
+				final PluginInputPortReference reference = new PluginInputPortReference(dst, inputPortName, m, dst.inputPorts.get(inputPortName).eventTypes());
+				src.routingTables.get(outputPortName).addInputPort(reference);
+				src.registeredMethods.get(outputPortName).add(reference);
 				src.outgoingPlugins.add(dst);
 				dst.incomingPlugins.add(src);
 
@@ -0,0 +1,178 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import kieker.analysis.exception.AnalysisConfigurationException;
+import kieker.analysis.plugin.IPlugin.PluginInputPortReference;
+import kieker.analysis.plugin.annotation.OutputPort;
+
+/**
+ * Routing table of one output port. For every concrete class of delivered data, the table determines once
+ * whether the output port accepts the data and which connected input ports receive it. The input port methods
+ * are bound as method handles when the ports are connected, which avoids reflective invocation per event.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+@SuppressWarnings("deprecation")
+final class OutputPortRoutingTable {
+
+	/** Marker for data classes not accepted by the output port. */
+	private static final InputPortInvoker[] REJECTED = new InputPortInvoker[0];
+
+	private static final MethodType INPUT_PORT_TYPE = MethodType.methodType(void.class, Object.class);
+
+	private final OutputPort outputPort;
+	private final Class<?>[] outputTypes;
+	private final List<InputPortInvoker> invokers = new ArrayList<>(1);
+	private final ConcurrentHashMap<Class<?>, InputPortInvoker[]> routes = new ConcurrentHashMap<>();
+
+	/**
+	 * Create an empty routing table.
+	 *
+	 * @param outputPort
+	 *            the output port
+	 * @param outputTypes
+	 *            event types accepted by the output port
+	 */
+	OutputPortRoutingTable(final OutputPort outputPort, final Class<?>[] outputTypes) {
+		this.outputPort = outputPort;
+		this.outputTypes = outputTypes;
+	}
+
+	public OutputPort getOutputPort() {
+		return this.outputPort;
+	}
+
+	/**
+	 * Add a connected input port.
+	 *
+	 * @param reference
+	 *            the input port, its method must be accessible
+	 * @throws AnalysisConfigurationException
+	 *             if the input port method cannot be bound
+	 */
+	public synchronized void addInputPort(final PluginInputPortReference reference) throws AnalysisConfigurationException {
+		final MethodHandle handle;
+		try {
+			handle = MethodHandles.lookup().unreflect(reference.getInputPortMethod()).bindTo(reference.getPlugin()).asType(INPUT_PORT_TYPE);
+		} catch (final IllegalAccessException e) {
+			throw new AnalysisConfigurationException("Cannot access input port " + reference.getInputPortName() + " of plugin "
+					+ reference.getPlugin().getName(), e);
+		}
+		this.invokers.add(new InputPortInvoker(reference, handle));
+		this.routes.clear();
+	}
+
+	/**
+	 * Get the input ports receiving data of the given class.
+	 *
+	 * @param dataClass
+	 *            concrete class of the delivered data
+	 * @return the receiving input ports in connection order, null if the output port does not accept the data
+	 */
+	public InputPortInvoker[] route(final Class<?> dataClass) {
+		InputPortInvoker[] route = this.routes.get(dataClass);
+		if (route == null) {
+			route = this.computeRoute(dataClass);
+		}
+		return route == REJECTED ? null : route; // NOPMD NOCS (identity of the marker is intended)
+	}
+
+	/**
+	 * Compute and cache the route of the given class. The route is cached under the same lock which guards
+	 * {@link #addInputPort(PluginInputPortReference)}, so a route computed before a new input port is added cannot be
+	 * cached after the routes have been cleared.
+	 */
+	private synchronized InputPortInvoker[] computeRoute(final Class<?> dataClass) {
+		final InputPortInvoker[] cachedRoute = this.routes.get(dataClass);
+		if (cachedRoute != null) {
+			return cachedRoute;
+		}
+		final InputPortInvoker[] route;
+		if (OutputPortRoutingTable.isAssignable(this.outputTypes, dataClass)) {
+			final List<InputPortInvoker> receivers = new ArrayList<>(this.invokers.size());
+			for (final InputPortInvoker invoker : this.invokers) {
+				if (OutputPortRoutingTable.isAssignable(invoker.getReference().getEventTypes(), dataClass)) {
+					receivers.add(invoker);
+				}
+			}
+			route = receivers.toArray(new InputPortInvoker[receivers.size()]);
+		} else {
+			route = REJECTED;
+		}
+		this.routes.put(dataClass, route);
+		return route;
+	}
+
+	/**
+	 * @return true if the data class is assignable to one of the event types, or no event types are declared.
+	 */
+	private static boolean isAssignable(final Class<?>[] eventTypes, final Class<?> dataClass) {
+		if (eventTypes.length == 0) {
+			return true;
+		}
+		for (final Class<?> eventType : eventTypes) {
+			if (eventType.isAssignableFrom(dataClass)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Input port method bound to its plugin.
+	 *
+	 * @author Kieker Project
+	 *
+	 * @since 2.0.0
+	 */
+	static final class InputPortInvoker {
+
+		private final PluginInputPortReference reference;
+		private final MethodHandle handle;
+
+		InputPortInvoker(final PluginInputPortReference reference, final MethodHandle handle) {
+			this.reference = reference;
+			this.handle = handle;
+		}
+
+		public PluginInputPortReference getReference() {
+			return this.reference;
+		}
+
+		/**
+		 * Pass data to the input port.
+		 *
+		 * @param data
+		 *            the data
+		 * @throws Throwable
+		 *             any exception thrown by the input port method
+		 */
+		public void invoke(final Object data) throws Throwable { // NOPMD NOCS (rethrows what the port throws)
+			this.handle.invokeExact(data);
+		}
+	}
+}
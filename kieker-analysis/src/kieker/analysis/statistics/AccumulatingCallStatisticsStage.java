@@ -0,0 +1,53 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.statistics;
+
+import kieker.analysis.architecture.dependency.PropertyConstants;
+import kieker.analysis.architecture.recovery.ModelObjectFromOperationCallAccessorUtils;
+import kieker.analysis.architecture.recovery.events.OperationCallDurationEvent;
+import kieker.model.analysismodel.execution.ExecutionModel;
+import kieker.model.analysismodel.statistics.StatisticsModel;
+
+/**
+ * Aggregates calls into execution model like {@link CallStatisticsStage}, but accumulates the number of calls in
+ * primitive counters and writes them to the statistics model only every configurable number of calls and on
+ * termination.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class AccumulatingCallStatisticsStage extends AccumulatingStatisticsStage<OperationCallDurationEvent> {
+
+	/**
+	 * Create an accumulating call statistics stage.
+	 *
+	 * @param statisticsModel
+	 *            model receiving the statistics
+	 * @param executionModel
+	 *            execution model containing the aggregated invocations
+	 * @param materializationInterval
+	 *            number of calls after which the statistics are written to the model, 0 to write them only on
+	 *            termination
+	 */
+	public AccumulatingCallStatisticsStage(final StatisticsModel statisticsModel, final ExecutionModel executionModel,
+			final int materializationInterval) {
+		super(new StatisticsAccumulator(statisticsModel, PropertyConstants.CALLS, null, null, null, null), null,
+				ModelObjectFromOperationCallAccessorUtils.findAggregatedInvocation4OperationTuple(executionModel), materializationInterval);
+	}
+
+}
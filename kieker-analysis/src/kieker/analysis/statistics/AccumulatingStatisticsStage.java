@@ -0,0 +1,94 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.statistics;
+
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.eclipse.emf.ecore.EObject;
+
+import teetime.stage.basic.AbstractFilter;
+
+/**
+ * Accumulates statistics of elements in a {@link StatisticsAccumulator} and writes them to the statistics model
+ * every configurable number of elements and on termination. With a materialization interval larger than one, the
+ * statistic records are, in contrast to {@link StatisticsDecoratorStage}, not accessed for every element.
+ *
+ * @param <T>
+ *            Type of elements
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class AccumulatingStatisticsStage<T> extends AbstractFilter<T> {
+
+	/** default number of elements between two materializations, i.e., the model is updated for every element. */
+	public static final int DEFAULT_MATERIALIZATION_INTERVAL = 1;
+
+	private final StatisticsAccumulator accumulator;
+	private final ToLongFunction<T> valueAccessor;
+	private final Function<T, EObject> objectAccessor;
+	private final int materializationInterval;
+	private int elementsSinceMaterialization;
+
+	/**
+	 * Create an accumulating statistics stage.
+	 *
+	 * @param accumulator
+	 *            accumulator defining the computed properties
+	 * @param valueAccessor
+	 *            accessor for the value of an element, null to only count the elements
+	 * @param objectAccessor
+	 *            accessor for the model object of an element
+	 * @param materializationInterval
+	 *            number of elements after which the statistics are written to the model, 0 to write them only on
+	 *            termination
+	 */
+	public AccumulatingStatisticsStage(final StatisticsAccumulator accumulator, final ToLongFunction<T> valueAccessor,
+			final Function<T, EObject> objectAccessor, final int materializationInterval) {
+		this.accumulator = accumulator;
+		this.valueAccessor = valueAccessor;
+		this.objectAccessor = objectAccessor;
+		this.materializationInterval = materializationInterval;
+	}
+
+	@Override
+	protected void execute(final T element) {
+		final EObject modelObject = this.objectAccessor.apply(element);
+		if (this.valueAccessor == null) {
+			this.accumulator.increment(modelObject);
+		} else {
+			this.accumulator.add(modelObject, this.valueAccessor.applyAsLong(element));
+		}
+		if ((this.materializationInterval > 0) && (++this.elementsSinceMaterialization >= this.materializationInterval)) {
+			this.accumulator.materialize();
+			this.elementsSinceMaterialization = 0;
+		}
+		this.outputPort.send(element);
+	}
+
+	@Override
+	protected void onTerminating() {
+		this.accumulator.materialize();
+		super.onTerminating();
+	}
+
+	public StatisticsAccumulator getAccumulator() {
+		return this.accumulator;
+	}
+}
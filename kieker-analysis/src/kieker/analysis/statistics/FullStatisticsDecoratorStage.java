@@ -21,12 +21,7 @@ import java.util.function.Function;
 import org.eclipse.emf.ecore.EObject;
 
 import kieker.analysis.architecture.dependency.PropertyConstants;
-import kieker.analysis.statistics.calculating.CountCalculator;
-import kieker.analysis.statistics.calculating.MaxCalculator;
-import kieker.analysis.statistics.calculating.MeanCalculator;
-import kieker.analysis.statistics.calculating.MedianCalculator;
-import kieker.analysis.statistics.calculating.MinCalculator;
-import kieker.analysis.statistics.calculating.TotalCalculator;
+import kieker.analysis.statistics.calculating.QuantileCalculator;
 import kieker.model.analysismodel.statistics.StatisticsModel;
 
 import teetime.framework.CompositeStage;
@@ -45,40 +40,65 @@ import teetime.framework.OutputPort;
  */
 public class FullStatisticsDecoratorStage<T> extends CompositeStage {
 
-	private final StatisticsDecoratorStage<T> countStatistics;
-	private final StatisticsDecoratorStage<T> medianStatistics;
+	private static final String[] QUANTILE_PROPERTIES = { PropertyConstants.MEDIAN_REPSONSE_TIME, PropertyConstants.P90_RESPONSE_TIME,
+		PropertyConstants.P99_RESPONSE_TIME, PropertyConstants.P999_RESPONSE_TIME };
+	private static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
 
+	private final AccumulatingStatisticsStage<T> accumulatingStatistics;
+	private final QuantileStatisticsStage<T> quantileStatistics;
+
+	/**
+	 * Create a full statistics stage which writes the statistics to the model for every element.
+	 *
+	 * @param statisticsModel
+	 *            model receiving the statistics
+	 * @param property
+	 *            property of the elements
+	 * @param valueAccessor
+	 *            accessor for the value of an element
+	 * @param objectAccesor
+	 *            accessor for the model object of an element
+	 */
 	public FullStatisticsDecoratorStage(final StatisticsModel statisticsModel, final String property, final Function<T, Long> valueAccessor,
 			final Function<T, EObject> objectAccesor) {
+		this(statisticsModel, property, valueAccessor, objectAccesor, AccumulatingStatisticsStage.DEFAULT_MATERIALIZATION_INTERVAL);
+	}
 
-		this.countStatistics = new StatisticsDecoratorStage<>(statisticsModel, new CountCalculator<>(PropertyConstants.CALLS), objectAccesor);
-		final StatisticsDecoratorStage<T> totalStatistics = new StatisticsDecoratorStage<>(statisticsModel,
-				new TotalCalculator<>(PropertyConstants.TOTAL_RESPONSE_TIME, valueAccessor),
-				objectAccesor);
-		final StatisticsDecoratorStage<T> minStatistics = new StatisticsDecoratorStage<>(statisticsModel,
-				new MinCalculator<>(PropertyConstants.MIN_REPSONSE_TIME, valueAccessor),
-				objectAccesor);
-		final StatisticsDecoratorStage<T> maxStatistics = new StatisticsDecoratorStage<>(statisticsModel,
-				new MaxCalculator<>(PropertyConstants.MAX_REPSONSE_TIME, valueAccessor),
-				objectAccesor);
-		final StatisticsDecoratorStage<T> averageStatistics = new StatisticsDecoratorStage<>(statisticsModel,
-				new MeanCalculator<>(PropertyConstants.MEAN_REPSONSE_TIME, PropertyConstants.TOTAL_RESPONSE_TIME, PropertyConstants.CALLS), objectAccesor);
-		this.medianStatistics = new StatisticsDecoratorStage<>(statisticsModel, new MedianCalculator<>(PropertyConstants.MEDIAN_REPSONSE_TIME, valueAccessor),
-				objectAccesor);
+	/**
+	 * Create a full statistics stage. Count, total, minimum, maximum and mean are accumulated in primitive counters, the
+	 * quantiles in sketches. Both are written to the statistics model every materialization interval and on
+	 * termination.
+	 *
+	 * @param statisticsModel
+	 *            model receiving the statistics
+	 * @param property
+	 *            property of the elements
+	 * @param valueAccessor
+	 *            accessor for the value of an element
+	 * @param objectAccesor
+	 *            accessor for the model object of an element
+	 * @param materializationInterval
+	 *            number of elements after which the statistics are written to the model, 1 to write them for every
+	 *            element, 0 to write them only on termination
+	 */
+	public FullStatisticsDecoratorStage(final StatisticsModel statisticsModel, final String property, final Function<T, Long> valueAccessor,
+			final Function<T, EObject> objectAccesor, final int materializationInterval) {
+		final StatisticsAccumulator accumulator = new StatisticsAccumulator(statisticsModel, PropertyConstants.CALLS, PropertyConstants.TOTAL_RESPONSE_TIME,
+				PropertyConstants.MIN_REPSONSE_TIME, PropertyConstants.MAX_REPSONSE_TIME, PropertyConstants.MEAN_REPSONSE_TIME);
+		this.accumulatingStatistics = new AccumulatingStatisticsStage<>(accumulator, element -> valueAccessor.apply(element), objectAccesor,
+				materializationInterval);
+		this.quantileStatistics = new QuantileStatisticsStage<>(statisticsModel, new QuantileCalculator<>(QUANTILE_PROPERTIES, QUANTILES, valueAccessor),
+				objectAccesor, materializationInterval);
 
-		super.connectPorts(this.countStatistics.getOutputPort(), totalStatistics.getInputPort());
-		super.connectPorts(totalStatistics.getOutputPort(), minStatistics.getInputPort());
-		super.connectPorts(minStatistics.getOutputPort(), maxStatistics.getInputPort());
-		super.connectPorts(maxStatistics.getOutputPort(), averageStatistics.getInputPort());
-		super.connectPorts(averageStatistics.getOutputPort(), this.medianStatistics.getInputPort());
+		super.connectPorts(this.accumulatingStatistics.getOutputPort(), this.quantileStatistics.getInputPort());
 	}
 
 	public InputPort<T> getInputPort() {
-		return this.countStatistics.getInputPort();
+		return this.accumulatingStatistics.getInputPort();
 	}
 
 	public OutputPort<T> getOutputPort() {
-		return this.medianStatistics.getOutputPort();
+		return this.quantileStatistics.getOutputPort();
 	}
 
 }
@@ -0,0 +1,124 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.statistics;
+
+import java.util.function.Function;
+
+import org.eclipse.emf.ecore.EObject;
+
+import kieker.analysis.architecture.dependency.PropertyConstants;
+import kieker.common.record.controlflow.OperationExecutionAggregationRecord;
+import kieker.model.analysismodel.statistics.StatisticRecord;
+import kieker.model.analysismodel.statistics.StatisticsFactory;
+import kieker.model.analysismodel.statistics.StatisticsModel;
+
+import teetime.stage.basic.AbstractFilter;
+
+/**
+ * Feeds the operation execution aggregates produced by the monitoring in aggregation mode into the statistics model.
+ * Count, total, minimum, maximum and mean are merged over all aggregates of a model object in a
+ * {@link StatisticsAccumulator}. As the aggregates only carry percentiles and not the underlying histograms,
+ * percentiles cannot be merged. They are stored under the separate last interval properties, e.g.,
+ * {@link PropertyConstants#LAST_INTERVAL_MEDIAN_RESPONSE_TIME}, and hold the values of the latest aggregate only.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class OperationExecutionAggregationStatisticsStage extends AbstractFilter<OperationExecutionAggregationRecord> {
+
+	private final StatisticsModel statisticsModel;
+	private final StatisticsAccumulator accumulator;
+	private final Function<OperationExecutionAggregationRecord, EObject> objectAccessor;
+	private final int materializationInterval;
+	private int recordsSinceMaterialization;
+
+	/**
+	 * Create an aggregation statistics stage which writes the merged statistics to the model for every record.
+	 *
+	 * @param statisticsModel
+	 *            model receiving the statistics
+	 * @param objectAccessor
+	 *            accessor for the model object of an aggregate, e.g., the deployed operation
+	 */
+	public OperationExecutionAggregationStatisticsStage(final StatisticsModel statisticsModel,
+			final Function<OperationExecutionAggregationRecord, EObject> objectAccessor) {
+		this(statisticsModel, objectAccessor, AccumulatingStatisticsStage.DEFAULT_MATERIALIZATION_INTERVAL);
+	}
+
+	/**
+	 * Create an aggregation statistics stage.
+	 *
+	 * @param statisticsModel
+	 *            model receiving the statistics
+	 * @param objectAccessor
+	 *            accessor for the model object of an aggregate, e.g., the deployed operation
+	 * @param materializationInterval
+	 *            number of records after which the merged statistics are written to the model, 0 to write them only
+	 *            on termination
+	 */
+	public OperationExecutionAggregationStatisticsStage(final StatisticsModel statisticsModel,
+			final Function<OperationExecutionAggregationRecord, EObject> objectAccessor, final int materializationInterval) {
+		this.statisticsModel = statisticsModel;
+		this.accumulator = new StatisticsAccumulator(statisticsModel, PropertyConstants.CALLS, PropertyConstants.TOTAL_RESPONSE_TIME,
+				PropertyConstants.MIN_REPSONSE_TIME, PropertyConstants.MAX_REPSONSE_TIME, PropertyConstants.MEAN_REPSONSE_TIME);
+		this.objectAccessor = objectAccessor;
+		this.materializationInterval = materializationInterval;
+	}
+
+	@Override
+	protected void execute(final OperationExecutionAggregationRecord element) {
+		final EObject modelObject = this.objectAccessor.apply(element);
+		if (modelObject != null) {
+			this.accumulator.merge(modelObject, element.getCount(), element.getTotalResponseTime(), element.getMinResponseTime(),
+					element.getMaxResponseTime());
+
+			final StatisticRecord statistic = this.getStatisticRecord(modelObject);
+			statistic.getProperties().put(PropertyConstants.LAST_INTERVAL_MEDIAN_RESPONSE_TIME, element.getMedianResponseTime());
+			statistic.getProperties().put(PropertyConstants.LAST_INTERVAL_P90_RESPONSE_TIME, element.getP90ResponseTime());
+			statistic.getProperties().put(PropertyConstants.LAST_INTERVAL_P99_RESPONSE_TIME, element.getP99ResponseTime());
+			statistic.getProperties().put(PropertyConstants.LAST_INTERVAL_P999_RESPONSE_TIME, element.getP999ResponseTime());
+
+			if ((this.materializationInterval > 0) && (++this.recordsSinceMaterialization >= this.materializationInterval)) {
+				this.accumulator.materialize();
+				this.recordsSinceMaterialization = 0;
+			}
+		} else {
+			this.logger.warn("No model object for operation {} on host {}", element.getOperationSignature(), element.getHostname());
+		}
+		this.outputPort.send(element);
+	}
+
+	@Override
+	protected void onTerminating() {
+		this.accumulator.materialize();
+		super.onTerminating();
+	}
+
+	private StatisticRecord getStatisticRecord(final EObject modelObject) {
+		StatisticRecord statistic = this.statisticsModel.getStatistics().get(modelObject);
+		if (statistic == null) {
+			statistic = StatisticsFactory.eINSTANCE.createStatisticRecord();
+			this.statisticsModel.getStatistics().put(modelObject, statistic);
+		}
+		return statistic;
+	}
+
+	public StatisticsAccumulator getAccumulator() {
+		return this.accumulator;
+	}
+}
@@ -0,0 +1,85 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.statistics;
+
+import java.util.function.Function;
+
+import org.eclipse.emf.ecore.EObject;
+
+import kieker.analysis.statistics.calculating.QuantileCalculator;
+import kieker.model.analysismodel.statistics.StatisticsModel;
+
+import teetime.stage.basic.AbstractFilter;
+
+/**
+ * Records the values of elements in a {@link QuantileCalculator} and writes the quantiles to the statistics model
+ * every configurable number of elements and on termination.
+ *
+ * @param <T>
+ *            Type of elements
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class QuantileStatisticsStage<T> extends AbstractFilter<T> {
+
+	private final StatisticsDecorator<T> statisticsDecorator;
+	private final QuantileCalculator<T> calculator;
+	private final int materializationInterval;
+	private int elementsSinceMaterialization;
+
+	/**
+	 * Create a quantile statistics stage.
+	 *
+	 * @param statisticsModel
+	 *            model receiving the statistics
+	 * @param calculator
+	 *            calculator defining the computed quantiles
+	 * @param objectAccessor
+	 *            accessor for the model object of an element
+	 * @param materializationInterval
+	 *            number of elements after which the quantiles are written to the model, 0 to write them only on
+	 *            termination
+	 */
+	public QuantileStatisticsStage(final StatisticsModel statisticsModel, final QuantileCalculator<T> calculator,
+			final Function<T, EObject> objectAccessor, final int materializationInterval) {
+		this.statisticsDecorator = new StatisticsDecorator<>(statisticsModel, calculator, objectAccessor);
+		this.calculator = calculator;
+		this.materializationInterval = materializationInterval;
+	}
+
+	@Override
+	protected void execute(final T element) {
+		this.statisticsDecorator.decorate(element);
+		if ((this.materializationInterval > 0) && (++this.elementsSinceMaterialization >= this.materializationInterval)) {
+			this.calculator.materialize();
+			this.elementsSinceMaterialization = 0;
+		}
+		this.outputPort.send(element);
+	}
+
+	@Override
+	protected void onTerminating() {
+		this.calculator.materialize();
+		super.onTerminating();
+	}
+
+	public QuantileCalculator<T> getCalculator() {
+		return this.calculator;
+	}
+}
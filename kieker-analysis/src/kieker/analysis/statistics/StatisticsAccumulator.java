@@ -0,0 +1,271 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.statistics;
+
+import java.util.Arrays;
+
+import org.eclipse.emf.ecore.EObject;
+
+import kieker.model.analysismodel.statistics.StatisticRecord;
+import kieker.model.analysismodel.statistics.StatisticsFactory;
+import kieker.model.analysismodel.statistics.StatisticsModel;
+
+/**
+ * Accumulates count, total, minimum, maximum and mean of values per model object in primitive arrays. Model objects
+ * are mapped to dense slots with an open-addressing table based on object identity, so accumulating a value neither
+ * allocates nor accesses the {@link StatisticsModel}. The values are written to the statistic records of the model
+ * only by {@link #materialize()}.
+ *
+ * <p>
+ * When a model object is seen for the first time, the accumulator continues the values already present in its
+ * statistic record. Properties with a null name are not written. The class is not thread-safe.
+ * </p>
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class StatisticsAccumulator {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private final StatisticsModel statisticsModel;
+	private final String countName;
+	private final String totalName;
+	private final String minName;
+	private final String maxName;
+	private final String meanName;
+
+	/** open-addressing table holding slot + 1, 0 marks an empty entry; length is a power of two. */
+	private int[] table = new int[INITIAL_CAPACITY * 2];
+	private EObject[] objects = new EObject[INITIAL_CAPACITY];
+	private long[] counts = new long[INITIAL_CAPACITY];
+	private long[] totals = new long[INITIAL_CAPACITY];
+	private long[] mins = new long[INITIAL_CAPACITY];
+	private long[] maxs = new long[INITIAL_CAPACITY];
+	private boolean[] dirty = new boolean[INITIAL_CAPACITY];
+	private int[] dirtySlots = new int[INITIAL_CAPACITY];
+	private int numDirtySlots;
+	private int size;
+
+	/**
+	 * Create an accumulator.
+	 *
+	 * @param statisticsModel
+	 *            model receiving the statistics
+	 * @param countName
+	 *            property name of the number of values, or null
+	 * @param totalName
+	 *            property name of the sum of the values, or null
+	 * @param minName
+	 *            property name of the minimum, or null
+	 * @param maxName
+	 *            property name of the maximum, or null
+	 * @param meanName
+	 *            property name of the mean, or null
+	 */
+	public StatisticsAccumulator(final StatisticsModel statisticsModel, final String countName, final String totalName, final String minName,
+			final String maxName, final String meanName) {
+		this.statisticsModel = statisticsModel;
+		this.countName = countName;
+		this.totalName = totalName;
+		this.minName = minName;
+		this.maxName = maxName;
+		this.meanName = meanName;
+	}
+
+	/**
+	 * Add a value of the given model object.
+	 *
+	 * @param modelObject
+	 *            the associated model object
+	 * @param value
+	 *            the value
+	 */
+	public void add(final EObject modelObject, final long value) {
+		final int slot = this.slotOf(modelObject);
+		this.counts[slot]++;
+		this.totals[slot] += value;
+		if (value < this.mins[slot]) {
+			this.mins[slot] = value;
+		}
+		if (value > this.maxs[slot]) {
+			this.maxs[slot] = value;
+		}
+		this.markDirty(slot);
+	}
+
+	/**
+	 * Add values which have already been aggregated elsewhere, e.g., by the monitoring, to the given model object.
+	 *
+	 * @param modelObject
+	 *            the associated model object
+	 * @param count
+	 *            number of aggregated values
+	 * @param total
+	 *            sum of the aggregated values
+	 * @param min
+	 *            minimum of the aggregated values
+	 * @param max
+	 *            maximum of the aggregated values
+	 */
+	public void merge(final EObject modelObject, final long count, final long total, final long min, final long max) {
+		final int slot = this.slotOf(modelObject);
+		this.counts[slot] += count;
+		this.totals[slot] += total;
+		if (min < this.mins[slot]) {
+			this.mins[slot] = min;
+		}
+		if (max > this.maxs[slot]) {
+			this.maxs[slot] = max;
+		}
+		this.markDirty(slot);
+	}
+
+	/**
+	 * Count an occurrence of the given model object without a value.
+	 *
+	 * @param modelObject
+	 *            the associated model object
+	 */
+	public void increment(final EObject modelObject) {
+		final int slot = this.slotOf(modelObject);
+		this.counts[slot]++;
+		this.markDirty(slot);
+	}
+
+	/**
+	 * Write the statistics of all model objects changed since the last materialization to the statistics model.
+	 */
+	public void materialize() {
+		for (int i = 0; i < this.numDirtySlots; i++) {
+			final int slot = this.dirtySlots[i];
+			this.dirty[slot] = false;
+			final StatisticRecord statistic = this.getStatisticRecord(this.objects[slot]);
+			final long count = this.counts[slot];
+			this.putProperty(statistic, this.countName, count);
+			if (count > 0) {
+				this.putProperty(statistic, this.totalName, this.totals[slot]);
+				this.putProperty(statistic, this.minName, this.mins[slot]);
+				this.putProperty(statistic, this.maxName, this.maxs[slot]);
+				this.putProperty(statistic, this.meanName, this.totals[slot] / count);
+			}
+		}
+		this.numDirtySlots = 0;
+	}
+
+	/**
+	 * @return number of model objects known to the accumulator
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	private void putProperty(final StatisticRecord statistic, final String name, final long value) {
+		if (name != null) {
+			statistic.getProperties().put(name, value);
+		}
+	}
+
+	private StatisticRecord getStatisticRecord(final EObject modelObject) {
+		StatisticRecord statistic = this.statisticsModel.getStatistics().get(modelObject);
+		if (statistic == null) {
+			statistic = StatisticsFactory.eINSTANCE.createStatisticRecord();
+			this.statisticsModel.getStatistics().put(modelObject, statistic);
+		}
+		return statistic;
+	}
+
+	private void markDirty(final int slot) {
+		if (!this.dirty[slot]) {
+			this.dirty[slot] = true;
+			this.dirtySlots[this.numDirtySlots++] = slot;
+		}
+	}
+
+	private int slotOf(final EObject modelObject) {
+		final int mask = this.table.length - 1;
+		int index = StatisticsAccumulator.hash(modelObject) & mask;
+		while (this.table[index] != 0) {
+			final int slot = this.table[index] - 1;
+			if (this.objects[slot] == modelObject) {
+				return slot;
+			}
+			index = (index + 1) & mask;
+		}
+		return this.createSlot(modelObject, index);
+	}
+
+	private int createSlot(final EObject modelObject, final int index) {
+		if (this.size == this.objects.length) {
+			this.grow();
+			return this.slotOf(modelObject);
+		}
+		final int slot = this.size++;
+		this.table[index] = slot + 1;
+		this.objects[slot] = modelObject;
+		this.counts[slot] = 0;
+		this.totals[slot] = 0;
+		this.mins[slot] = Long.MAX_VALUE;
+		this.maxs[slot] = Long.MIN_VALUE;
+
+		final StatisticRecord statistic = this.statisticsModel.getStatistics().get(modelObject);
+		if (statistic != null) {
+			this.counts[slot] = this.getProperty(statistic, this.countName, 0);
+			this.totals[slot] = this.getProperty(statistic, this.totalName, 0);
+			this.mins[slot] = this.getProperty(statistic, this.minName, Long.MAX_VALUE);
+			this.maxs[slot] = this.getProperty(statistic, this.maxName, Long.MIN_VALUE);
+		}
+		return slot;
+	}
+
+	private long getProperty(final StatisticRecord statistic, final String name, final long defaultValue) {
+		if (name != null) {
+			final Long value = (Long) statistic.getProperties().get(name);
+			if (value != null) {
+				return value;
+			}
+		}
+		return defaultValue;
+	}
+
+	private void grow() {
+		final int capacity = this.objects.length * 2;
+		this.objects = Arrays.copyOf(this.objects, capacity);
+		this.counts = Arrays.copyOf(this.counts, capacity);
+		this.totals = Arrays.copyOf(this.totals, capacity);
+		this.mins = Arrays.copyOf(this.mins, capacity);
+		this.maxs = Arrays.copyOf(this.maxs, capacity);
+		this.dirty = Arrays.copyOf(this.dirty, capacity);
+		this.dirtySlots = Arrays.copyOf(this.dirtySlots, capacity);
+
+		this.table = new int[capacity * 2];
+		final int mask = this.table.length - 1;
+		for (int slot = 0; slot < this.size; slot++) {
+			int index = StatisticsAccumulator.hash(this.objects[slot]) & mask;
+			while (this.table[index] != 0) {
+				index = (index + 1) & mask;
+			}
+			this.table[index] = slot + 1;
+		}
+	}
+
+	private static int hash(final EObject modelObject) {
+		final int hash = System.identityHashCode(modelObject);
+		return hash ^ (hash >>> 16);
+	}
+}
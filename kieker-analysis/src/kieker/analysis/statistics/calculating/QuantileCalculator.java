@@ -0,0 +1,131 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.statistics.calculating;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.emf.ecore.EObject;
+
+import kieker.analysis.util.QuantileSketch;
+import kieker.model.analysismodel.statistics.StatisticRecord;
+
+/**
+ * Computes several quantiles, e.g., median and tail percentiles, of the values of a model object. In contrast to
+ * {@link MedianCalculator}, the values are recorded in a {@link QuantileSketch} with fixed memory per model object.
+ * The sketches of a calculator can be merged with sketches of other analysis instances.
+ *
+ * <p>
+ * Computing the quantiles of a sketch is expensive compared to adding a value. Therefore, {@link #calculate} only
+ * records the value and the quantiles are written to the statistic records of the changed model objects by
+ * {@link #materialize()}.
+ * </p>
+ *
+ * @param <T>
+ *            Type of elements
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class QuantileCalculator<T> extends AbstractCalculator<T> {
+
+	private final Map<EObject, QuantileSketch> sketches = new HashMap<>(); // NOPMD (class not designed for concurrent access)
+	/** statistic records of the model objects changed since the last materialization. */
+	private final Map<EObject, StatisticRecord> dirtyStatistics = new LinkedHashMap<>(); // NOPMD (class not designed for concurrent access)
+	private final Map<EObject, StatisticRecord> statistics = new HashMap<>(); // NOPMD (class not designed for concurrent access)
+	private final Function<T, Long> valueAccessor;
+	private final String[] propertyNames;
+	private final double[] quantiles;
+	private final long[] values;
+
+	/**
+	 * Create a quantile calculator.
+	 *
+	 * @param propertyNames
+	 *            names of the properties receiving the quantiles
+	 * @param quantiles
+	 *            ascending quantiles between 0 and 1, one for each property name
+	 * @param valueAccessor
+	 *            accessor for the value of an element
+	 */
+	public QuantileCalculator(final String[] propertyNames, final double[] quantiles, final Function<T, Long> valueAccessor) {
+		super(propertyNames[0]);
+		if (propertyNames.length != quantiles.length) {
+			throw new IllegalArgumentException("Expected one property name per quantile");
+		}
+		for (int i = 0; i < quantiles.length; i++) {
+			if ((quantiles[i] < 0) || (quantiles[i] > 1) || ((i > 0) && (quantiles[i] < quantiles[i - 1]))) {
+				throw new IllegalArgumentException("Quantiles must be ascending values between 0 and 1");
+			}
+		}
+		this.propertyNames = propertyNames.clone();
+		this.quantiles = quantiles.clone();
+		this.values = new long[quantiles.length];
+		this.valueAccessor = valueAccessor;
+	}
+
+	@Override
+	public void calculate(final StatisticRecord statistic, final T input, final EObject modelObject) {
+		final QuantileSketch sketch = this.sketches.computeIfAbsent(modelObject, o -> new QuantileSketch());
+		sketch.add(this.valueAccessor.apply(input));
+		this.dirtyStatistics.put(modelObject, statistic);
+	}
+
+	/**
+	 * Write the quantiles of all model objects changed since the last materialization to their statistic records.
+	 */
+	public void materialize() {
+		for (final Map.Entry<EObject, StatisticRecord> entry : this.dirtyStatistics.entrySet()) {
+			this.sketches.get(entry.getKey()).getQuantiles(this.quantiles, this.values);
+			final StatisticRecord statistic = entry.getValue();
+			for (int i = 0; i < this.propertyNames.length; i++) {
+				statistic.getProperties().put(this.propertyNames[i], this.values[i]);
+			}
+			this.statistics.put(entry.getKey(), statistic);
+		}
+		this.dirtyStatistics.clear();
+	}
+
+	/**
+	 * Add the values of a partial statistic, e.g., computed by another analysis instance, to the sketch of the given
+	 * model object. The statistic record is updated with the next materialization after a calculation for the model
+	 * object.
+	 *
+	 * @param modelObject
+	 *            the associated model object
+	 * @param sketch
+	 *            sketch with the default precision
+	 */
+	public void merge(final EObject modelObject, final QuantileSketch sketch) {
+		this.sketches.computeIfAbsent(modelObject, o -> new QuantileSketch()).merge(sketch);
+		final StatisticRecord statistic = this.statistics.get(modelObject);
+		if (statistic != null) {
+			this.dirtyStatistics.put(modelObject, statistic);
+		}
+	}
+
+	/**
+	 * @return the sketches of all model objects
+	 */
+	public Map<EObject, QuantileSketch> getSketches() {
+		return Collections.unmodifiableMap(this.sketches);
+	}
+}
@@ -0,0 +1,288 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Fixed-memory sketch of the distribution of non-negative long values, e.g., response times. Values are counted in
+ * logarithmic buckets which are linearly subdivided into 2^precision sub-buckets, like in HdrHistogram. Values below
+ * 2^precision are counted exactly, larger values are reported with a relative error of at most 2^-(precision + 1).
+ *
+ * <p>
+ * The memory of a sketch only depends on the largest recorded value and is bounded by (64 - precision) *
+ * 2^precision counters. Sketches of the same precision can be merged, e.g., to combine the statistics of several
+ * analysis instances, and serialized with {@link #write(ByteBuffer)}. The class is not thread-safe.
+ * </p>
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class QuantileSketch {
+
+	/** default precision, relative error below 0.8%. */
+	public static final int DEFAULT_PRECISION = 6;
+
+	private static final int MIN_PRECISION = 1;
+	private static final int MAX_PRECISION = 16;
+
+	private final int precision;
+	private final int subBuckets;
+	/** counts per bucket, grown up to the highest recorded bucket. */
+	private long[] counts;
+	private int minIndex = Integer.MAX_VALUE;
+	private int maxIndex = -1;
+	private long count;
+	private long min = Long.MAX_VALUE;
+	private long max = Long.MIN_VALUE;
+
+	/**
+	 * Create a sketch with the default precision.
+	 */
+	public QuantileSketch() {
+		this(DEFAULT_PRECISION);
+	}
+
+	/**
+	 * Create a sketch.
+	 *
+	 * @param precision
+	 *            number of bits used to subdivide each power of two, between 1 and 16
+	 */
+	public QuantileSketch(final int precision) {
+		if ((precision < MIN_PRECISION) || (precision > MAX_PRECISION)) {
+			throw new IllegalArgumentException("Precision must be between " + MIN_PRECISION + " and " + MAX_PRECISION + ", but is " + precision);
+		}
+		this.precision = precision;
+		this.subBuckets = 1 << precision;
+		this.counts = new long[this.subBuckets];
+	}
+
+	/**
+	 * Record a value.
+	 *
+	 * @param value
+	 *            non-negative value
+	 */
+	public void add(final long value) {
+		this.add(value, 1);
+	}
+
+	/**
+	 * Record a value several times.
+	 *
+	 * @param value
+	 *            non-negative value
+	 * @param times
+	 *            number of occurrences, must be positive
+	 */
+	public void add(final long value, final long times) {
+		if (value < 0) {
+			throw new IllegalArgumentException("Only non-negative values can be recorded, but value is " + value);
+		}
+		if (times <= 0) {
+			throw new IllegalArgumentException("Number of occurrences must be positive, but is " + times);
+		}
+		final int index = this.indexOf(value);
+		this.ensureCapacity(index);
+		this.counts[index] += times;
+		this.count += times;
+		this.minIndex = Math.min(this.minIndex, index);
+		this.maxIndex = Math.max(this.maxIndex, index);
+		this.min = Math.min(this.min, value);
+		this.max = Math.max(this.max, value);
+	}
+
+	/**
+	 * Add all values recorded by another sketch to this sketch.
+	 *
+	 * @param other
+	 *            sketch with the same precision
+	 */
+	public void merge(final QuantileSketch other) {
+		if (other.precision != this.precision) {
+			throw new IllegalArgumentException("Cannot merge sketches with precision " + this.precision + " and " + other.precision);
+		}
+		if (other.count == 0) {
+			return;
+		}
+		this.ensureCapacity(other.maxIndex);
+		for (int i = other.minIndex; i <= other.maxIndex; i++) {
+			this.counts[i] += other.counts[i];
+		}
+		this.count += other.count;
+		this.minIndex = Math.min(this.minIndex, other.minIndex);
+		this.maxIndex = Math.max(this.maxIndex, other.maxIndex);
+		this.min = Math.min(this.min, other.min);
+		this.max = Math.max(this.max, other.max);
+	}
+
+	/**
+	 * Compute a quantile. The result is the representative value of the bucket containing the value with rank
+	 * ceil(quantile * count), i.e., the lower median for an even number of values.
+	 *
+	 * @param quantile
+	 *            quantile between 0 and 1
+	 * @return the estimated value
+	 */
+	public long getQuantile(final double quantile) {
+		final long[] result = new long[1];
+		this.getQuantiles(new double[] { quantile }, result);
+		return result[0];
+	}
+
+	/**
+	 * Compute several quantiles in one pass over the buckets.
+	 *
+	 * @param quantiles
+	 *            quantiles between 0 and 1 in ascending order
+	 * @param result
+	 *            array receiving the estimated values, must have the same length as quantiles
+	 */
+	public void getQuantiles(final double[] quantiles, final long[] result) {
+		if (this.count == 0) {
+			throw new IllegalStateException("There are no present values for this sketch.");
+		}
+		int index = this.minIndex;
+		long seen = this.counts[index];
+		for (int i = 0; i < quantiles.length; i++) {
+			final double quantile = quantiles[i];
+			if ((quantile < 0) || (quantile > 1) || ((i > 0) && (quantile < quantiles[i - 1]))) {
+				throw new IllegalArgumentException("Quantiles must be ascending values between 0 and 1");
+			}
+			final long rank = Math.max(1, (long) Math.ceil(quantile * this.count));
+			while (seen < rank) {
+				index++;
+				seen += this.counts[index];
+			}
+			result[i] = Math.max(this.min, Math.min(this.max, this.representativeValue(index)));
+		}
+	}
+
+	public long getMedian() {
+		return this.getQuantile(0.5);
+	}
+
+	public long getCount() {
+		return this.count;
+	}
+
+	public long getMin() {
+		return this.min;
+	}
+
+	public long getMax() {
+		return this.max;
+	}
+
+	public int getPrecision() {
+		return this.precision;
+	}
+
+	/**
+	 * Serialize the sketch. Only the range of non-empty buckets is written.
+	 *
+	 * @param buffer
+	 *            buffer receiving the sketch, must have at least {@link #getSerializedSize()} remaining bytes
+	 */
+	public void write(final ByteBuffer buffer) {
+		buffer.put((byte) this.precision);
+		buffer.putLong(this.count);
+		if (this.count > 0) {
+			buffer.putLong(this.min);
+			buffer.putLong(this.max);
+			buffer.putInt(this.minIndex);
+			buffer.putInt(this.maxIndex);
+			for (int i = this.minIndex; i <= this.maxIndex; i++) {
+				buffer.putLong(this.counts[i]);
+			}
+		}
+	}
+
+	/**
+	 * @return number of bytes written by {@link #write(ByteBuffer)}
+	 */
+	public int getSerializedSize() {
+		if (this.count > 0) {
+			return 1 + (3 * Long.BYTES) + (2 * Integer.BYTES) + ((this.maxIndex - this.minIndex + 1) * Long.BYTES);
+		} else {
+			return 1 + Long.BYTES;
+		}
+	}
+
+	/**
+	 * Read a sketch written by {@link #write(ByteBuffer)}.
+	 *
+	 * @param buffer
+	 *            buffer containing the sketch
+	 * @return the sketch
+	 */
+	public static QuantileSketch read(final ByteBuffer buffer) {
+		final QuantileSketch sketch = new QuantileSketch(buffer.get());
+		final long count = buffer.getLong();
+		if (count > 0) {
+			final long min = buffer.getLong();
+			final long max = buffer.getLong();
+			final int minIndex = buffer.getInt();
+			final int maxIndex = buffer.getInt();
+			if ((minIndex < 0) || (maxIndex < minIndex) || (maxIndex >= sketch.getMaxBuckets())) {
+				throw new IllegalArgumentException("Invalid bucket range [" + minIndex + ", " + maxIndex + "] in serialized sketch");
+			}
+			sketch.ensureCapacity(maxIndex);
+			for (int i = minIndex; i <= maxIndex; i++) {
+				sketch.counts[i] = buffer.getLong();
+			}
+			sketch.count = count;
+			sketch.min = min;
+			sketch.max = max;
+			sketch.minIndex = minIndex;
+			sketch.maxIndex = maxIndex;
+		}
+		return sketch;
+	}
+
+	private int indexOf(final long value) {
+		if (value < this.subBuckets) {
+			return (int) value;
+		}
+		final int shift = (63 - Long.numberOfLeadingZeros(value)) - this.precision;
+		return (shift << this.precision) + (int) (value >>> shift);
+	}
+
+	/**
+	 * @return the middle of the value range counted by the given bucket
+	 */
+	private long representativeValue(final int index) {
+		if (index < this.subBuckets) {
+			return index;
+		}
+		final int shift = (index >>> this.precision) - 1;
+		final long lowerBound = (long) (index - (shift << this.precision)) << shift;
+		return lowerBound + (((1L << shift) - 1) >>> 1);
+	}
+
+	private void ensureCapacity(final int index) {
+		if (index >= this.counts.length) {
+			this.counts = Arrays.copyOf(this.counts, Math.min(this.getMaxBuckets(), Math.max(index + 1, this.counts.length * 2)));
+		}
+	}
+
+	private int getMaxBuckets() {
+		return (64 - this.precision) << this.precision;
+	}
+}
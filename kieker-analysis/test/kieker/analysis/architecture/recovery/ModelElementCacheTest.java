@@ -0,0 +1,56 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.architecture.recovery;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class ModelElementCacheTest { // NOCS test do not need constructors
+
+	private static final String HOSTNAME = "test-host";
+	private static final String COMPONENT_SIGNATURE = "component.name";
+	private static final String OPERATION_SIGNATURE = "int function(Parameter a)";
+
+	@Test
+	public void testLookupWithEqualSignatures() {
+		final ModelElementCache<Object> cache = new ModelElementCache<>();
+		final Object element = new Object();
+		cache.put(HOSTNAME, COMPONENT_SIGNATURE, OPERATION_SIGNATURE, element);
+
+		Assert.assertSame("Element not found", element, cache.get(new String(HOSTNAME), new String(COMPONENT_SIGNATURE), // NOPMD
+				new String(OPERATION_SIGNATURE))); // NOPMD create distinct strings
+		Assert.assertNull("Host must be part of the key", cache.get("other-host", COMPONENT_SIGNATURE, OPERATION_SIGNATURE));
+		Assert.assertNull("Missing key parts must not match", cache.get(COMPONENT_SIGNATURE, OPERATION_SIGNATURE));
+	}
+
+	@Test
+	public void testTwoPartKeys() {
+		final ModelElementCache<Object> cache = new ModelElementCache<>();
+		final Object first = new Object();
+		final Object second = new Object();
+		cache.put(COMPONENT_SIGNATURE, OPERATION_SIGNATURE, first);
+		cache.put(OPERATION_SIGNATURE, COMPONENT_SIGNATURE, second);
+
+		Assert.assertEquals("Wrong number of elements", 2, cache.size());
+		Assert.assertSame("Wrong element", first, cache.get(COMPONENT_SIGNATURE, OPERATION_SIGNATURE));
+		Assert.assertSame("Wrong element", second, cache.get(OPERATION_SIGNATURE, COMPONENT_SIGNATURE));
+	}
+}
@@ -0,0 +1,104 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.architecture.trace.aggregation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.model.analysismodel.deployment.DeployedOperation;
+import kieker.model.analysismodel.deployment.DeploymentFactory;
+import kieker.model.analysismodel.trace.OperationCall;
+import kieker.model.analysismodel.trace.Trace;
+import kieker.model.analysismodel.trace.TraceFactory;
+
+/**
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class TraceAggregatorTest { // NOCS test do not need constructors
+
+	private final DeployedOperation operationA = DeploymentFactory.eINSTANCE.createDeployedOperation();
+	private final DeployedOperation operationB = DeploymentFactory.eINSTANCE.createDeployedOperation();
+
+	@Test
+	public void testAggregateEquivalentTraces() {
+		final TraceAggregator aggregator = new TraceAggregator(false);
+
+		final AggregatedTraceWrapper first = aggregator.handleTrace(this.createTrace(this.operationB, false));
+		final AggregatedTraceWrapper second = aggregator.handleTrace(this.createTrace(this.operationB, true));
+		final AggregatedTraceWrapper third = aggregator.handleTrace(this.createTrace(this.operationA, false));
+
+		Assert.assertTrue("First trace must create an aggregated trace", first.isFirst());
+		Assert.assertFalse("Equivalent trace must not create an aggregated trace", second.isFirst());
+		Assert.assertSame("Equivalent traces must share the aggregated trace", first.getAggregatedTrace(), second.getAggregatedTrace());
+		Assert.assertTrue("Different trace must create an aggregated trace", third.isFirst());
+		Assert.assertSame("Aggregated call must refer to the operation", this.operationA,
+				first.getAggregatedTrace().getRootOperationCall().getOperation());
+	}
+
+	@Test
+	public void testConsiderFailed() {
+		final TraceAggregator aggregator = new TraceAggregator(true);
+
+		final AggregatedTraceWrapper first = aggregator.handleTrace(this.createTrace(this.operationB, false));
+		final AggregatedTraceWrapper second = aggregator.handleTrace(this.createTrace(this.operationB, true));
+		final AggregatedTraceWrapper third = aggregator.handleTrace(this.createTrace(this.operationB, true));
+
+		Assert.assertTrue("Failed trace must create an aggregated trace", second.isFirst());
+		Assert.assertNotSame("Failed and successful traces must not be aggregated", first.getAggregatedTrace(), second.getAggregatedTrace());
+		Assert.assertSame("Failed traces must share the aggregated trace", second.getAggregatedTrace(), third.getAggregatedTrace());
+	}
+
+	@Test
+	public void testFingerprintHonorsChildOrder() {
+		final OperationCall root1 = this.createCall(this.operationA, false);
+		root1.getChildren().add(this.createCall(this.operationA, false));
+		root1.getChildren().add(this.createCall(this.operationB, false));
+		final OperationCall root2 = this.createCall(this.operationA, false);
+		root2.getChildren().add(this.createCall(this.operationB, false));
+		root2.getChildren().add(this.createCall(this.operationA, false));
+
+		Assert.assertNotEquals("Child order must change the fingerprint", OperationCallFingerprint.compute(root1, false),
+				OperationCallFingerprint.compute(root2, false));
+		Assert.assertTrue("Equivalent calls must have the same hash",
+				new OperationCallEquivalence(false).hash(root1) == new OperationCallEquivalence(false).hash(this.copy(root1)));
+	}
+
+	private Trace createTrace(final DeployedOperation childOperation, final boolean failed) {
+		final OperationCall root = this.createCall(this.operationA, false);
+		root.getChildren().add(this.createCall(childOperation, failed));
+		final Trace trace = TraceFactory.eINSTANCE.createTrace();
+		trace.setRootOperationCall(root);
+		return trace;
+	}
+
+	private OperationCall createCall(final DeployedOperation operation, final boolean failed) {
+		final OperationCall call = TraceFactory.eINSTANCE.createOperationCall();
+		call.setOperation(operation);
+		call.setFailed(failed);
+		if (failed) {
+			call.setFailedCause("error");
+		}
+		return call;
+	}
+
+	private OperationCall copy(final OperationCall call) {
+		final OperationCall copy = this.createCall(call.getOperation(), call.isFailed());
+		call.getChildren().forEach(child -> copy.getChildren().add(this.copy(child)));
+		return copy;
+	}
+}
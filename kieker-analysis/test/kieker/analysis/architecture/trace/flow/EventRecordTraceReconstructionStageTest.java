@@ -123,4 +123,39 @@ public class EventRecordTraceReconstructionStageTest { // NOCS test do not need
 		}
 	}
 
+	@Test
+	public void testTimeoutTraceWithTimeInput() {
+		final boolean repairEventBasedTraces = false;
+		final long maxTraceDuration = Long.MAX_VALUE;
+		final long maxTraceTimeout = 100;
+		final EventRecordTraceReconstructionStage stage = new EventRecordTraceReconstructionStage(TimeUnit.NANOSECONDS, repairEventBasedTraces,
+				maxTraceDuration, maxTraceTimeout);
+
+		final TraceEventRecords incompleteTrace = BookstoreEventRecordFactory.validSyncTraceBeforeAfterEvents(0, 1, "test-session", "test-host");
+		final TraceEventRecords laterTrace = BookstoreEventRecordFactory.validSyncTraceBeforeAfterEvents(1000, 2, "test-session", "test-host");
+
+		final AbstractTraceEvent[] incompleteEvents = incompleteTrace.getTraceEvents();
+		final AbstractTraceEvent[] laterEvents = laterTrace.getTraceEvents();
+
+		final IFlowRecord[] elements = new IFlowRecord[incompleteEvents.length + laterEvents.length + 1];
+		final AbstractTraceEvent[] resultEvents = new AbstractTraceEvent[incompleteEvents.length - 1];
+		int i = 0;
+		elements[i++] = incompleteTrace.getTraceMetadata();
+		for (int j = 0; j < incompleteEvents.length - 1; j++) {
+			elements[i++] = incompleteEvents[j];
+			resultEvents[j] = incompleteEvents[j];
+		}
+		elements[i++] = laterTrace.getTraceMetadata();
+		for (final AbstractTraceEvent event : laterEvents) {
+			elements[i++] = event;
+		}
+
+		final TraceEventRecords resultTraceEvents = new TraceEventRecords(incompleteTrace.getTraceMetadata(), resultEvents);
+
+		StageTester.test(stage).send(elements).to(stage.getTraceRecordsInputPort()).and().send(new Long[0]).to(stage.getTimestampsInputPort()).start();
+
+		Assert.assertThat(stage.getInvalidTracesOutputPort(), StageTester.produces(resultTraceEvents));
+		Assert.assertThat(stage.getValidTracesOutputPort(), StageTester.produces(laterTrace));
+	}
+
 }
@@ -0,0 +1,85 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.generic.depcompression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.common.configuration.Configuration;
+import kieker.monitoring.core.configuration.ConfigurationFactory;
+import kieker.monitoring.writer.compression.BZip2CompressionFilter;
+import kieker.monitoring.writer.compression.ParallelBlockCompressionFilter;
+
+/**
+ * Test for the {@link Bzip2DecompressionFilter}.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class Bzip2DecompressionFilterTest {
+
+	private static final int BLOCK_SIZE = 1000;
+
+	public Bzip2DecompressionFilterTest() {
+		// nothing to do
+	}
+
+	@Test
+	public void testReadParallelCompressedBlocks() throws IOException {
+		final byte[] data = this.createData();
+		final Configuration configuration = ConfigurationFactory.createDefaultConfiguration();
+		configuration.setProperty(ParallelBlockCompressionFilter.CONFIG_COMPRESSION_FILTER, BZip2CompressionFilter.class.getName());
+		configuration.setProperty(ParallelBlockCompressionFilter.CONFIG_BLOCK_SIZE, BLOCK_SIZE);
+		configuration.setProperty(ParallelBlockCompressionFilter.CONFIG_THREADS, 3);
+
+		final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (OutputStream stream = new ParallelBlockCompressionFilter(configuration).chainOutputStream(compressed, Paths.get("test.dat"))) {
+			stream.write(data);
+		}
+
+		final InputStream inputStream = new Bzip2DecompressionFilter().chainInputStream(new ByteArrayInputStream(compressed.toByteArray()));
+		Assert.assertArrayEquals("Decompressed data differs", data, this.readFully(inputStream));
+	}
+
+	private byte[] createData() {
+		final StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			builder.append("$0;").append(i).append(";public void kieker.Example.operation").append(i % 17).append("();host\n");
+		}
+		return builder.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private byte[] readFully(final InputStream inputStream) throws IOException {
+		final ByteArrayOutputStream result = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[4096];
+		int length;
+		while ((length = inputStream.read(buffer)) != -1) { // NOPMD assignment in operand
+			result.write(buffer, 0, length);
+		}
+		inputStream.close();
+		return result.toByteArray();
+	}
+}
@@ -0,0 +1,116 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.generic.graph.impl;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.graph.MutableNetwork;
+import com.google.common.graph.NetworkBuilder;
+
+import kieker.analysis.generic.graph.GraphFactory;
+import kieker.analysis.generic.graph.IEdge;
+import kieker.analysis.generic.graph.IGraph;
+import kieker.analysis.generic.graph.INode;
+
+/**
+ * Checks that the id index of {@link GraphImpl} follows modifications of the network.
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class GraphImplTest {
+
+	private IGraph graph;
+	private INode nodeA;
+	private INode nodeB;
+	private IEdge edge;
+
+	@Before
+	public void setUp() {
+		this.graph = GraphFactory.createGraph("test");
+		this.nodeA = GraphFactory.createNode("a");
+		this.nodeB = GraphFactory.createNode("b");
+		this.edge = GraphFactory.createEdge("a-b");
+	}
+
+	@Test
+	public void testAddNode() {
+		Assert.assertFalse(this.graph.findNode("a").isPresent());
+		this.graph.getGraph().addNode(this.nodeA);
+		Assert.assertSame(this.nodeA, this.graph.findNode("a").get());
+	}
+
+	@Test
+	public void testAddEdgeAddsNodes() {
+		this.graph.getGraph().addEdge(this.nodeA, this.nodeB, this.edge);
+		Assert.assertSame(this.edge, this.graph.findEdge("a-b").get());
+		Assert.assertSame(this.nodeA, this.graph.findNode("a").get());
+		Assert.assertSame(this.nodeB, this.graph.findNode("b").get());
+	}
+
+	@Test
+	public void testRemoveNodeRemovesEdges() {
+		this.graph.getGraph().addEdge(this.nodeA, this.nodeB, this.edge);
+		this.graph.getGraph().removeNode(this.nodeB);
+		Assert.assertFalse(this.graph.findNode("b").isPresent());
+		Assert.assertFalse(this.graph.findEdge("a-b").isPresent());
+		Assert.assertSame(this.nodeA, this.graph.findNode("a").get());
+	}
+
+	@Test
+	public void testRemoveEdge() {
+		this.graph.getGraph().addEdge(this.nodeA, this.nodeB, this.edge);
+		this.graph.getGraph().removeEdge(this.edge);
+		Assert.assertFalse(this.graph.findEdge("a-b").isPresent());
+		Assert.assertTrue(this.graph.findNode("b").isPresent());
+	}
+
+	@Test
+	public void testDuplicateIds() {
+		final INode otherA = GraphFactory.createNode("a");
+		this.graph.getGraph().addNode(this.nodeA);
+		this.graph.getGraph().addNode(otherA);
+		Assert.assertSame(this.nodeA, this.graph.findNode("a").get());
+		this.graph.getGraph().removeNode(this.nodeA);
+		Assert.assertSame(otherA, this.graph.findNode("a").get());
+	}
+
+	@Test
+	public void testExistingNetwork() {
+		final MutableNetwork<INode, IEdge> network = NetworkBuilder.directed().build();
+		network.addEdge(this.nodeA, this.nodeB, this.edge);
+		final IGraph wrappingGraph = GraphFactory.createGraph("existing", network);
+		Assert.assertSame(this.edge, wrappingGraph.findEdge("a-b").get());
+
+		/** graphs sharing a network share the index. */
+		final IGraph sharingGraph = GraphFactory.createGraph("shared", wrappingGraph.getGraph());
+		sharingGraph.getGraph().removeNode(this.nodeA);
+		Assert.assertFalse(wrappingGraph.findNode("a").isPresent());
+		Assert.assertEquals(network, wrappingGraph.getGraph());
+	}
+
+	@Test
+	public void testChildGraph() {
+		this.graph.getGraph().addNode(this.nodeA);
+		this.nodeA.createChildGraph();
+		this.nodeA.getChildGraph().getGraph().addNode(this.nodeB);
+		Assert.assertSame(this.nodeB, this.nodeA.getChildGraph().findNode("b").get());
+		Assert.assertFalse(this.graph.findNode("b").isPresent());
+	}
+}
@@ -0,0 +1,125 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.generic.source.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import kieker.analysis.generic.source.file.DirectoryReaderStage.RecordOrder;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.controlflow.OperationExecutionRecord;
+import kieker.common.record.io.BinaryValueSerializer;
+import kieker.common.registry.IRegistryListener;
+import kieker.common.registry.writer.WriterRegistry;
+import kieker.common.util.filesystem.FSUtil;
+
+import teetime.framework.test.StageTester;
+
+/**
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class DirectoryReaderStageTest {
+
+	private static final int NUMBER_OF_FILES = 4;
+	private static final int RECORDS_PER_FILE = 3000;
+
+	@Rule
+	public final TemporaryFolder tmpFolder = new TemporaryFolder(); // NOCS recommends that this is private. JUnit test wants this public.
+
+	private File directory;
+
+	private final List<IMonitoringRecord> records = new ArrayList<>();
+
+	/**
+	 * Write log files whose logging timestamps interleave.
+	 */
+	@Before
+	public void setUp() throws IOException {
+		this.directory = this.tmpFolder.newFolder();
+		final List<String> strings = new ArrayList<>();
+		final WriterRegistry writerRegistry = new WriterRegistry(new IRegistryListener<String>() {
+			@Override
+			public void onNewRegistryEntry(final String value, final int id) {
+				strings.add("$" + id + "=" + value);
+			}
+		});
+
+		for (int file = 0; file < NUMBER_OF_FILES; file++) {
+			final ByteBuffer buffer = ByteBuffer.allocate(RECORDS_PER_FILE * (4 + 8 + OperationExecutionRecord.SIZE));
+			final BinaryValueSerializer serializer = BinaryValueSerializer.create(buffer, writerRegistry);
+			for (int i = 0; i < RECORDS_PER_FILE; i++) {
+				final OperationExecutionRecord record = new OperationExecutionRecord("op" + file + "()", "SESS-ID", i, i, i + 1, "host", i, 0);
+				record.setLoggingTimestamp(((long) i * NUMBER_OF_FILES) + (NUMBER_OF_FILES - file));
+				this.records.add(record);
+
+				final String recordClassName = record.getClass().getName();
+				writerRegistry.register(recordClassName);
+				buffer.putInt(writerRegistry.getId(recordClassName));
+				buffer.putLong(record.getLoggingTimestamp());
+				record.serialize(serializer);
+			}
+			Files.write(this.directory.toPath().resolve("kieker-" + file + FSUtil.BINARY_FILE_EXTENSION),
+					Arrays.copyOf(buffer.array(), buffer.position()));
+		}
+		Files.write(this.directory.toPath().resolve(FSUtil.MAP_FILENAME), strings, StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testSequentialReading() {
+		Assert.assertEquals(this.records, this.readDirectory(new DirectoryReaderStage(false, 8192, true, 1, RecordOrder.FILE)));
+	}
+
+	@Test
+	public void testParallelReadingInFileOrder() {
+		Assert.assertEquals(this.records, this.readDirectory(new DirectoryReaderStage(false, 8192, true, 3, RecordOrder.FILE)));
+	}
+
+	@Test
+	public void testParallelReadingInTimestampOrder() {
+		final List<IMonitoringRecord> result = this.readDirectory(
+				new DirectoryReaderStage(false, 8192, false, NUMBER_OF_FILES, RecordOrder.LOGGING_TIMESTAMP));
+
+		Assert.assertEquals(this.records.size(), result.size());
+		Assert.assertTrue(new HashSet<>(result).containsAll(this.records));
+		for (int i = 1; i < result.size(); i++) {
+			Assert.assertTrue("Records out of order at " + i,
+					result.get(i - 1).getLoggingTimestamp() < result.get(i).getLoggingTimestamp());
+		}
+	}
+
+	private List<IMonitoringRecord> readDirectory(final DirectoryReaderStage reader) {
+		final List<IMonitoringRecord> result = new ArrayList<>();
+		StageTester.test(reader).and().send(this.directory).to(reader.getInputPort()).and().receive(result).from(reader.getOutputPort())
+				.start();
+		return result;
+	}
+}
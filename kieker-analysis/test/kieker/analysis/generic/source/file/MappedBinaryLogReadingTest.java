@@ -0,0 +1,139 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.generic.source.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.controlflow.OperationExecutionRecord;
+import kieker.common.record.io.BinaryValueSerializer;
+import kieker.common.registry.IRegistryListener;
+import kieker.common.registry.reader.ReaderRegistry;
+import kieker.common.registry.writer.WriterRegistry;
+import kieker.common.util.filesystem.FSUtil;
+
+import teetime.framework.AbstractProducerStage;
+import teetime.framework.test.StageTester;
+
+/**
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class MappedBinaryLogReadingTest {
+
+	private static final int NUMBER_OF_RECORDS = 100;
+
+	@Rule
+	public final TemporaryFolder tmpFolder = new TemporaryFolder(); // NOCS recommends that this is private. JUnit test wants this public.
+
+	private final List<IMonitoringRecord> records = new ArrayList<>();
+
+	public MappedBinaryLogReadingTest() {
+		for (int i = 0; i < NUMBER_OF_RECORDS; i++) {
+			this.records.add(new OperationExecutionRecord("op" + (i % 7) + "()", "SESS-ID", 1, i, i + 1, "host", i, 0));
+		}
+	}
+
+	/**
+	 * Reading a log directory via memory mapping and via streams must produce the same records.
+	 */
+	@Test
+	public void testMappedAndStreamReadingAreEqual() throws IOException {
+		final File directory = this.writeLogDirectory();
+
+		final List<IMonitoringRecord> mappedRecords = this.readDirectory(directory, true);
+		final List<IMonitoringRecord> streamRecords = this.readDirectory(directory, false);
+
+		Assert.assertEquals(this.records, mappedRecords);
+		Assert.assertEquals(this.records, streamRecords);
+	}
+
+	/**
+	 * Records crossing the boundary of a mapping window must be read from the next window.
+	 */
+	@Test
+	public void testRecordsCrossingMappingWindows() throws IOException {
+		final File directory = this.writeLogDirectory();
+		final ReaderRegistry<String> registry = new ReaderRegistry<>();
+		try (java.io.InputStream mapStream = Files.newInputStream(directory.toPath().resolve(FSUtil.MAP_FILENAME))) {
+			new TextMapDeserializer().processDataStream(mapStream, registry, FSUtil.MAP_FILENAME);
+		}
+		final Path logFile = directory.toPath().resolve("kieker-test" + FSUtil.BINARY_FILE_EXTENSION);
+
+		// a window holds one complete record and a part of the next record
+		final int windowSize = (3 * (4 + 8 + OperationExecutionRecord.SIZE)) / 2;
+		final AbstractProducerStage<IMonitoringRecord> producer = new AbstractProducerStage<IMonitoringRecord>() {
+			@Override
+			protected void execute() throws Exception {
+				new BinaryEventDeserializer(0, registry, windowSize).processMappedFile(logFile, this.outputPort::send);
+				this.workCompleted();
+			}
+		};
+
+		final List<IMonitoringRecord> mappedRecords = new ArrayList<>();
+		StageTester.test(producer).and().receive(mappedRecords).from(producer.getOutputPort()).start();
+
+		Assert.assertEquals(this.records, mappedRecords);
+	}
+
+	private List<IMonitoringRecord> readDirectory(final File directory, final boolean memoryMapped) {
+		final DirectoryReaderStage reader = new DirectoryReaderStage(false, 8192, memoryMapped);
+		final List<IMonitoringRecord> result = new ArrayList<>();
+		StageTester.test(reader).and().send(directory).to(reader.getInputPort()).and().receive(result).from(reader.getOutputPort())
+				.start();
+		return result;
+	}
+
+	private File writeLogDirectory() throws IOException {
+		final File directory = this.tmpFolder.newFolder();
+		final List<String> strings = new ArrayList<>();
+		final WriterRegistry writerRegistry = new WriterRegistry(new IRegistryListener<String>() {
+			@Override
+			public void onNewRegistryEntry(final String value, final int id) {
+				strings.add("$" + id + "=" + value);
+			}
+		});
+
+		final ByteBuffer buffer = ByteBuffer.allocate(NUMBER_OF_RECORDS * (4 + 8 + OperationExecutionRecord.SIZE));
+		final BinaryValueSerializer serializer = BinaryValueSerializer.create(buffer, writerRegistry);
+		for (final IMonitoringRecord record : this.records) {
+			final String recordClassName = record.getClass().getName();
+			writerRegistry.register(recordClassName);
+			buffer.putInt(writerRegistry.getId(recordClassName));
+			buffer.putLong(record.getLoggingTimestamp());
+			record.serialize(serializer);
+		}
+
+		Files.write(directory.toPath().resolve(FSUtil.MAP_FILENAME), strings, StandardCharsets.UTF_8);
+		Files.write(directory.toPath().resolve("kieker-test" + FSUtil.BINARY_FILE_EXTENSION), Arrays.copyOf(buffer.array(), buffer.position()));
+		return directory;
+	}
+}
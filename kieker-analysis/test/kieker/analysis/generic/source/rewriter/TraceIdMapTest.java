@@ -0,0 +1,92 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.generic.source.rewriter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class TraceIdMapTest extends AbstractKiekerTest {
+
+	public TraceIdMapTest() {
+		super();
+	}
+
+	@Test
+	public void testPutAndGet() {
+		final TraceIdMap map = new TraceIdMap(1000, Long.MAX_VALUE);
+		for (long i = 0; i < 1000; i++) {
+			map.put(i * 7919, i, i);
+		}
+		Assert.assertEquals("Wrong size", 1000, map.size());
+		for (long i = 0; i < 1000; i++) {
+			Assert.assertEquals("Wrong mapping", i, map.get(i * 7919, 1000));
+		}
+		Assert.assertEquals("Unknown id must not be found", TraceIdMap.NO_ENTRY, map.get(-5, 1000));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEviction() {
+		final TraceIdMap map = new TraceIdMap(3, Long.MAX_VALUE);
+		map.put(1, 10, 0);
+		map.put(2, 20, 0);
+		map.put(3, 30, 0);
+		map.get(1, 0); // 2 is now the least recently used entry
+		map.put(4, 40, 0);
+
+		Assert.assertEquals("Wrong size", 3, map.size());
+		Assert.assertEquals("Least recently used entry must be evicted", TraceIdMap.NO_ENTRY, map.get(2, 0));
+		Assert.assertEquals("Wrong mapping", 10, map.get(1, 0));
+		Assert.assertEquals("Wrong mapping", 30, map.get(3, 0));
+		Assert.assertEquals("Wrong mapping", 40, map.get(4, 0));
+	}
+
+	@Test
+	public void testAgeEviction() {
+		final TraceIdMap map = new TraceIdMap(100, 100);
+		map.put(1, 10, 0);
+		map.put(2, 20, 50);
+		map.get(1, 90); // keeps 1 alive
+
+		map.put(3, 30, 160); // expires 2
+
+		Assert.assertEquals("Expired entry must be evicted", TraceIdMap.NO_ENTRY, map.get(2, 160));
+		Assert.assertEquals("Wrong mapping", 10, map.get(1, 160));
+		Assert.assertEquals("Wrong size", 2, map.size());
+		map.put(4, 40, 1000);
+		Assert.assertEquals("All older entries must be expired", 1, map.size());
+	}
+
+	@Test
+	public void testChurnKeepsMapBounded() {
+		final TraceIdMap map = new TraceIdMap(64, 1000);
+		for (long i = 0; i < 100000; i++) {
+			map.put(i, i + 1, i);
+			Assert.assertEquals("Wrong mapping", i + 1, map.get(i, i));
+		}
+		Assert.assertEquals("Wrong size", 64, map.size());
+		for (long i = 100000 - 64; i < 100000; i++) {
+			Assert.assertEquals("Entry within capacity must be present", i + 1, map.get(i, 100000));
+		}
+		Assert.assertEquals("Entry beyond capacity must be evicted", TraceIdMap.NO_ENTRY, map.get(100000 - 65, 100000));
+	}
+}
@@ -0,0 +1,98 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.generic.source.tcp;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.common.record.misc.EmptyRecord;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Test the merge queue of the {@link MultipleConnectionTcpSourceStage}.
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class RecordMergeQueueTest extends AbstractKiekerTest {
+
+	private static final int PRODUCERS = 4;
+	private static final int RECORDS_PER_PRODUCER = 10000;
+	private static final int CAPACITY = 16;
+
+	public RecordMergeQueueTest() {
+		super();
+	}
+
+	@Test
+	public void testPerConnectionOrder() throws IOException, InterruptedException {
+		final RecordMergeQueue queue = new RecordMergeQueue(CAPACITY, Thread.currentThread());
+		final Map<Connection, Long> lastTimestamps = new HashMap<>();
+		final Thread[] producers = new Thread[PRODUCERS];
+		for (int i = 0; i < PRODUCERS; i++) {
+			final Connection connection = new Connection(SocketChannel.open(), 16);
+			lastTimestamps.put(connection, -1L);
+			producers[i] = new Thread(() -> {
+				for (long timestamp = 0; timestamp < RECORDS_PER_PRODUCER; timestamp++) {
+					queue.offer(connection, new EmptyRecord(), timestamp);
+				}
+				queue.signal();
+			});
+			producers[i].start();
+		}
+
+		int received = 0;
+		while (received < (PRODUCERS * RECORDS_PER_PRODUCER)) {
+			final RecordMergeQueue.ReceivedRecord record = queue.poll();
+			if (record == null) {
+				queue.await(TimeUnit.MILLISECONDS.toNanos(10));
+			} else {
+				final long last = lastTimestamps.get(record.getConnection());
+				Assert.assertEquals("Records of a connection must keep their order", last + 1, record.getLoggingTimestamp());
+				lastTimestamps.put(record.getConnection(), record.getLoggingTimestamp());
+				received++;
+			}
+		}
+		for (final Thread producer : producers) {
+			producer.join();
+		}
+		Assert.assertNull("Queue must be empty", queue.poll());
+	}
+
+	@Test
+	public void testCloseReleasesProducers() throws IOException, InterruptedException {
+		final RecordMergeQueue queue = new RecordMergeQueue(1, Thread.currentThread());
+		final Connection connection = new Connection(SocketChannel.open(), 16);
+		final Thread producer = new Thread(() -> {
+			queue.offer(connection, new EmptyRecord(), 0);
+			queue.offer(connection, new EmptyRecord(), 1);
+		});
+		producer.start();
+		queue.close();
+		producer.join();
+
+		Assert.assertEquals("Wrong first record", 0, queue.poll().getLoggingTimestamp());
+		Assert.assertEquals("Wrong second record", 1, queue.poll().getLoggingTimestamp());
+	}
+}
@@ -0,0 +1,123 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.statistics;
+
+import org.eclipse.emf.ecore.EObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.analysis.architecture.dependency.PropertyConstants;
+import kieker.model.analysismodel.statistics.StatisticRecord;
+import kieker.model.analysismodel.statistics.StatisticsFactory;
+import kieker.model.analysismodel.statistics.StatisticsModel;
+import kieker.model.analysismodel.type.TypeFactory;
+
+/**
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class StatisticsAccumulatorTest {
+
+	private final StatisticsModel statisticsModel = StatisticsFactory.eINSTANCE.createStatisticsModel();
+
+	public StatisticsAccumulatorTest() {
+		// empty default constructor
+	}
+
+	@Test
+	public void testAccumulateAndMaterialize() {
+		final StatisticsAccumulator accumulator = this.createAccumulator();
+		final EObject[] objects = new EObject[200];
+		for (int i = 0; i < objects.length; i++) {
+			objects[i] = TypeFactory.eINSTANCE.createComponentType();
+		}
+		for (int round = 1; round <= 3; round++) {
+			for (int i = 0; i < objects.length; i++) {
+				accumulator.add(objects[i], i * round);
+			}
+		}
+
+		Assert.assertTrue("statistics must not be written before materialization", this.statisticsModel.getStatistics().isEmpty());
+		accumulator.materialize();
+
+		Assert.assertEquals(objects.length, accumulator.size());
+		for (int i = 0; i < objects.length; i++) {
+			final StatisticRecord statistic = this.statisticsModel.getStatistics().get(objects[i]);
+			Assert.assertEquals(3L, statistic.getProperties().get(PropertyConstants.CALLS));
+			Assert.assertEquals(6L * i, statistic.getProperties().get(PropertyConstants.TOTAL_RESPONSE_TIME));
+			Assert.assertEquals((long) i, statistic.getProperties().get(PropertyConstants.MIN_REPSONSE_TIME));
+			Assert.assertEquals(3L * i, statistic.getProperties().get(PropertyConstants.MAX_REPSONSE_TIME));
+			Assert.assertEquals(2L * i, statistic.getProperties().get(PropertyConstants.MEAN_REPSONSE_TIME));
+		}
+	}
+
+	@Test
+	public void testContinueExistingStatistics() {
+		final EObject object = TypeFactory.eINSTANCE.createComponentType();
+		final StatisticRecord existing = StatisticsFactory.eINSTANCE.createStatisticRecord();
+		existing.getProperties().put(PropertyConstants.CALLS, 2L);
+		existing.getProperties().put(PropertyConstants.TOTAL_RESPONSE_TIME, 30L);
+		existing.getProperties().put(PropertyConstants.MIN_REPSONSE_TIME, 10L);
+		existing.getProperties().put(PropertyConstants.MAX_REPSONSE_TIME, 20L);
+		this.statisticsModel.getStatistics().put(object, existing);
+
+		final StatisticsAccumulator accumulator = this.createAccumulator();
+		accumulator.add(object, 5);
+		accumulator.materialize();
+
+		Assert.assertEquals(3L, existing.getProperties().get(PropertyConstants.CALLS));
+		Assert.assertEquals(35L, existing.getProperties().get(PropertyConstants.TOTAL_RESPONSE_TIME));
+		Assert.assertEquals(5L, existing.getProperties().get(PropertyConstants.MIN_REPSONSE_TIME));
+		Assert.assertEquals(20L, existing.getProperties().get(PropertyConstants.MAX_REPSONSE_TIME));
+	}
+
+	@Test
+	public void testCountOnly() {
+		final StatisticsAccumulator accumulator = new StatisticsAccumulator(this.statisticsModel, PropertyConstants.CALLS, null, null, null, null);
+		final EObject object = TypeFactory.eINSTANCE.createComponentType();
+		accumulator.increment(object);
+		accumulator.increment(object);
+		accumulator.materialize();
+
+		final StatisticRecord statistic = this.statisticsModel.getStatistics().get(object);
+		Assert.assertEquals(2L, statistic.getProperties().get(PropertyConstants.CALLS));
+		Assert.assertEquals(1, statistic.getProperties().size());
+	}
+
+	@Test
+	public void testMergeAggregates() {
+		final StatisticsAccumulator accumulator = this.createAccumulator();
+		final EObject object = TypeFactory.eINSTANCE.createComponentType();
+		accumulator.merge(object, 4, 100, 10, 40);
+		accumulator.add(object, 50);
+		accumulator.merge(object, 5, 50, 5, 20);
+		accumulator.materialize();
+
+		final StatisticRecord statistic = this.statisticsModel.getStatistics().get(object);
+		Assert.assertEquals(10L, statistic.getProperties().get(PropertyConstants.CALLS));
+		Assert.assertEquals(200L, statistic.getProperties().get(PropertyConstants.TOTAL_RESPONSE_TIME));
+		Assert.assertEquals(5L, statistic.getProperties().get(PropertyConstants.MIN_REPSONSE_TIME));
+		Assert.assertEquals(50L, statistic.getProperties().get(PropertyConstants.MAX_REPSONSE_TIME));
+		Assert.assertEquals(20L, statistic.getProperties().get(PropertyConstants.MEAN_REPSONSE_TIME));
+	}
+
+	private StatisticsAccumulator createAccumulator() {
+		return new StatisticsAccumulator(this.statisticsModel, PropertyConstants.CALLS, PropertyConstants.TOTAL_RESPONSE_TIME,
+				PropertyConstants.MIN_REPSONSE_TIME, PropertyConstants.MAX_REPSONSE_TIME, PropertyConstants.MEAN_REPSONSE_TIME);
+	}
+}
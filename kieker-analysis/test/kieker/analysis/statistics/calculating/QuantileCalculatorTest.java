@@ -0,0 +1,79 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.statistics.calculating;
+
+import org.eclipse.emf.ecore.EObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.analysis.architecture.dependency.PropertyConstants;
+import kieker.model.analysismodel.statistics.StatisticRecord;
+import kieker.model.analysismodel.statistics.StatisticsFactory;
+import kieker.model.analysismodel.type.TypeFactory;
+
+/**
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class QuantileCalculatorTest {
+
+	private static final String[] PROPERTIES = { PropertyConstants.MEDIAN_REPSONSE_TIME, PropertyConstants.P99_RESPONSE_TIME };
+	private static final double[] QUANTILES = { 0.5, 0.99 };
+
+	public QuantileCalculatorTest() {
+		// empty default constructor
+	}
+
+	@Test
+	public void testQuantilesWrittenOnMaterialization() {
+		final QuantileCalculator<Long> calculator = new QuantileCalculator<>(PROPERTIES, QUANTILES, value -> value);
+		final EObject object = TypeFactory.eINSTANCE.createComponentType();
+		final StatisticRecord statistic = StatisticsFactory.eINSTANCE.createStatisticRecord();
+		for (long value = 1; value <= 100; value++) {
+			calculator.calculate(statistic, value, object);
+		}
+
+		Assert.assertTrue("quantiles must not be written before materialization", statistic.getProperties().isEmpty());
+		calculator.materialize();
+		Assert.assertEquals(50L, statistic.getProperties().get(PropertyConstants.MEDIAN_REPSONSE_TIME));
+		Assert.assertEquals(99L, statistic.getProperties().get(PropertyConstants.P99_RESPONSE_TIME));
+
+		statistic.getProperties().clear();
+		calculator.materialize();
+		Assert.assertTrue("unchanged model objects must not be written again", statistic.getProperties().isEmpty());
+	}
+
+	@Test
+	public void testMergeMarksStatisticDirty() {
+		final QuantileCalculator<Long> calculator = new QuantileCalculator<>(PROPERTIES, QUANTILES, value -> value);
+		final EObject object = TypeFactory.eINSTANCE.createComponentType();
+		final StatisticRecord statistic = StatisticsFactory.eINSTANCE.createStatisticRecord();
+		calculator.calculate(statistic, 10L, object);
+		calculator.materialize();
+		Assert.assertEquals(10L, statistic.getProperties().get(PropertyConstants.P99_RESPONSE_TIME));
+
+		final QuantileCalculator<Long> other = new QuantileCalculator<>(PROPERTIES, QUANTILES, value -> value);
+		final StatisticRecord otherStatistic = StatisticsFactory.eINSTANCE.createStatisticRecord();
+		for (int i = 0; i < 10; i++) {
+			other.calculate(otherStatistic, 1000L, object);
+		}
+		calculator.merge(object, other.getSketches().get(object));
+		calculator.materialize();
+		Assert.assertEquals(1000L, statistic.getProperties().get(PropertyConstants.P99_RESPONSE_TIME));
+	}
+}
@@ -0,0 +1,117 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class QuantileSketchTest {
+
+	private static final double[] QUANTILES = { 0.0, 0.5, 0.9, 0.99, 0.999, 1.0 };
+
+	public QuantileSketchTest() {
+		// empty default constructor
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testEmptySketch() {
+		new QuantileSketch().getMedian();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeValue() {
+		new QuantileSketch().add(-1);
+	}
+
+	@Test
+	public void testSmallValuesAreExact() {
+		final QuantileSketch sketch = new QuantileSketch();
+		for (final long value : new long[] { 15, 5, 50, 5, 4, 10, 1, 20, 60 }) {
+			sketch.add(value);
+		}
+		Assert.assertEquals(10, sketch.getMedian());
+		Assert.assertEquals(1, sketch.getQuantile(0));
+		Assert.assertEquals(60, sketch.getQuantile(1));
+		Assert.assertEquals(9, sketch.getCount());
+	}
+
+	@Test
+	public void testRelativeError() {
+		final Random random = new Random(4711); // NOPMD (deterministic test data)
+		final QuantileSketch sketch = new QuantileSketch();
+		final long[] values = new long[100_000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = (long) Math.exp(12 + (2 * random.nextGaussian())); // response times in ns
+			sketch.add(values[i]);
+		}
+		Arrays.sort(values);
+
+		final long[] estimates = new long[QUANTILES.length];
+		sketch.getQuantiles(QUANTILES, estimates);
+		for (int i = 0; i < QUANTILES.length; i++) {
+			final long expected = values[(int) Math.max(0, Math.ceil(QUANTILES[i] * values.length) - 1)];
+			final double error = Math.abs(estimates[i] - expected) / (double) expected;
+			Assert.assertTrue("quantile " + QUANTILES[i] + " error " + error, error <= Math.pow(2, -(QuantileSketch.DEFAULT_PRECISION + 1)));
+		}
+		Assert.assertEquals(values[0], estimates[0]);
+		Assert.assertEquals(values[values.length - 1], estimates[QUANTILES.length - 1]);
+	}
+
+	@Test
+	public void testMergeAndSerialization() {
+		final Random random = new Random(42); // NOPMD (deterministic test data)
+		final QuantileSketch all = new QuantileSketch();
+		final QuantileSketch first = new QuantileSketch();
+		final QuantileSketch second = new QuantileSketch();
+		for (int i = 0; i < 10_000; i++) {
+			final long value = (long) (random.nextDouble() * 1_000_000);
+			all.add(value);
+			if ((i % 3) == 0) {
+				first.add(value);
+			} else {
+				second.add(value);
+			}
+		}
+
+		final ByteBuffer buffer = ByteBuffer.allocate(second.getSerializedSize());
+		second.write(buffer);
+		Assert.assertFalse(buffer.hasRemaining());
+		buffer.flip();
+		first.merge(QuantileSketch.read(buffer));
+
+		final long[] expected = new long[QUANTILES.length];
+		final long[] actual = new long[QUANTILES.length];
+		all.getQuantiles(QUANTILES, expected);
+		first.getQuantiles(QUANTILES, actual);
+		Assert.assertArrayEquals(expected, actual);
+		Assert.assertEquals(all.getCount(), first.getCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMergeDifferentPrecision() {
+		new QuantileSketch(4).merge(new QuantileSketch(8));
+	}
+}
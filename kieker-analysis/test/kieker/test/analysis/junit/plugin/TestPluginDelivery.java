@@ -0,0 +1,154 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.analysis.junit.plugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.analysis.AnalysisController;
+import kieker.analysis.IAnalysisController;
+import kieker.analysis.IProjectContext;
+import kieker.analysis.exception.AnalysisConfigurationException;
+import kieker.analysis.plugin.annotation.InputPort;
+import kieker.analysis.plugin.annotation.OutputPort;
+import kieker.analysis.plugin.annotation.Plugin;
+import kieker.analysis.plugin.filter.AbstractFilterPlugin;
+import kieker.analysis.plugin.reader.AbstractReaderPlugin;
+import kieker.common.configuration.Configuration;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * This is a test to make sure that delivered data is routed to the input ports matching its type.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ * @deprecated since 1.15 can be remove with old pipe-and-filter infrastructure
+ */
+@Deprecated
+public final class TestPluginDelivery extends AbstractKiekerTest {
+
+	private static final List<Object> DATA = Arrays.asList(1, 2.5, "not a number", 3);
+
+	/**
+	 * Default constructor.
+	 */
+	public TestPluginDelivery() {
+		// nothing to do...
+	}
+
+	/**
+	 * Data is only delivered to input ports accepting its type, also when another input port fails.
+	 *
+	 * @throws IllegalStateException
+	 *             If the analysis is in an invalid state (should not happen).
+	 * @throws AnalysisConfigurationException
+	 *             If there is a configuration error in the analysis (should not happen).
+	 */
+	@Test
+	public void testRoutingByType() throws IllegalStateException, AnalysisConfigurationException {
+		final IAnalysisController ctrl = new AnalysisController();
+		final DeliveryReader reader = new DeliveryReader(new Configuration(), ctrl);
+		final CollectingFilter failingFilter = new CollectingFilter(new Configuration(), ctrl, true);
+		final CollectingFilter integerFilter = new CollectingFilter(new Configuration(), ctrl, false);
+		final CollectingFilter anyFilter = new CollectingFilter(new Configuration(), ctrl, false);
+
+		ctrl.connect(reader, DeliveryReader.OUTPUT_PORT_NAME, failingFilter, CollectingFilter.INPUT_PORT_NAME_ANY);
+		ctrl.connect(reader, DeliveryReader.OUTPUT_PORT_NAME, integerFilter, CollectingFilter.INPUT_PORT_NAME_INTEGERS);
+		ctrl.connect(reader, DeliveryReader.OUTPUT_PORT_NAME, anyFilter, CollectingFilter.INPUT_PORT_NAME_ANY);
+		ctrl.run();
+
+		Assert.assertEquals(Arrays.asList(true, true, false, true), reader.results);
+		Assert.assertEquals(Arrays.asList(1, 3), integerFilter.events);
+		Assert.assertEquals(Arrays.asList(1, 2.5, 3), anyFilter.events);
+		Assert.assertEquals(Arrays.asList(1, 2.5, 3), failingFilter.events);
+		Assert.assertEquals(AnalysisController.STATE.TERMINATED, ctrl.getState());
+	}
+
+	/**
+	 * @author Kieker Project
+	 */
+	@Plugin(programmaticOnly = true, outputPorts = { @OutputPort(name = DeliveryReader.OUTPUT_PORT_NAME, eventTypes = { Number.class }) })
+	private static final class DeliveryReader extends AbstractReaderPlugin {
+		public static final String OUTPUT_PORT_NAME = "out";
+
+		final List<Boolean> results = new ArrayList<>(); // NOPMD NOCS package for inner class
+
+		public DeliveryReader(final Configuration configuration, final IProjectContext projectContext) {
+			super(configuration, projectContext);
+		}
+
+		@Override
+		public void terminate(final boolean error) {
+			// nothing to do
+		}
+
+		@Override
+		public Configuration getCurrentConfiguration() {
+			return new Configuration();
+		}
+
+		@Override
+		public boolean read() {
+			for (final Object data : DATA) {
+				this.results.add(super.deliver(OUTPUT_PORT_NAME, data));
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * @author Kieker Project
+	 */
+	@Plugin(programmaticOnly = true)
+	private static final class CollectingFilter extends AbstractFilterPlugin {
+		public static final String INPUT_PORT_NAME_INTEGERS = "integers";
+		public static final String INPUT_PORT_NAME_ANY = "any";
+
+		final List<Object> events = new ArrayList<>(); // NOPMD NOCS package for inner class
+
+		private final boolean failing;
+
+		public CollectingFilter(final Configuration configuration, final IProjectContext projectContext, final boolean failing) {
+			super(configuration, projectContext);
+			this.failing = failing;
+		}
+
+		@Override
+		public Configuration getCurrentConfiguration() {
+			return new Configuration();
+		}
+
+		@InputPort(name = INPUT_PORT_NAME_INTEGERS, eventTypes = { Integer.class })
+		public void inputIntegers(final Integer event) {
+			this.events.add(event);
+		}
+
+		@InputPort(name = INPUT_PORT_NAME_ANY)
+		public void inputAny(final Object event) {
+			this.events.add(event);
+			if (this.failing) {
+				throw new IllegalStateException("Failing input port");
+			}
+		}
+	}
+}
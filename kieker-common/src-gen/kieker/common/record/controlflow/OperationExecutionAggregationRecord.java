@@ -0,0 +1,403 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+package kieker.common.record.controlflow;
+
+import java.nio.BufferOverflowException;
+
+import kieker.common.exception.RecordInstantiationException;
+import kieker.common.record.AbstractMonitoringRecord;
+import kieker.common.record.io.IValueDeserializer;
+import kieker.common.record.io.IValueSerializer;
+
+
+/**
+ * @author Kieker Project
+ * API compatibility: Kieker 1.15.0
+ * 
+ * @since 2.0.0
+ */
+public class OperationExecutionAggregationRecord extends AbstractMonitoringRecord  {			
+	/** Descriptive definition of the serialization size of the record. */
+	public static final int SIZE = TYPE_SIZE_STRING // OperationExecutionAggregationRecord.operationSignature
+			 + TYPE_SIZE_STRING // OperationExecutionAggregationRecord.hostname
+			 + TYPE_SIZE_LONG // OperationExecutionAggregationRecord.timestamp
+			 + TYPE_SIZE_LONG // OperationExecutionAggregationRecord.duration
+			 + TYPE_SIZE_LONG // OperationExecutionAggregationRecord.count
+			 + TYPE_SIZE_LONG // OperationExecutionAggregationRecord.totalResponseTime
+			 + TYPE_SIZE_LONG // OperationExecutionAggregationRecord.minResponseTime
+			 + TYPE_SIZE_LONG // OperationExecutionAggregationRecord.maxResponseTime
+			 + TYPE_SIZE_LONG // OperationExecutionAggregationRecord.medianResponseTime
+			 + TYPE_SIZE_LONG // OperationExecutionAggregationRecord.p90ResponseTime
+			 + TYPE_SIZE_LONG // OperationExecutionAggregationRecord.p99ResponseTime
+			 + TYPE_SIZE_LONG; // OperationExecutionAggregationRecord.p999ResponseTime
+	
+	public static final Class<?>[] TYPES = {
+		String.class, // OperationExecutionAggregationRecord.operationSignature
+		String.class, // OperationExecutionAggregationRecord.hostname
+		long.class, // OperationExecutionAggregationRecord.timestamp
+		long.class, // OperationExecutionAggregationRecord.duration
+		long.class, // OperationExecutionAggregationRecord.count
+		long.class, // OperationExecutionAggregationRecord.totalResponseTime
+		long.class, // OperationExecutionAggregationRecord.minResponseTime
+		long.class, // OperationExecutionAggregationRecord.maxResponseTime
+		long.class, // OperationExecutionAggregationRecord.medianResponseTime
+		long.class, // OperationExecutionAggregationRecord.p90ResponseTime
+		long.class, // OperationExecutionAggregationRecord.p99ResponseTime
+		long.class, // OperationExecutionAggregationRecord.p999ResponseTime
+	};
+	
+	/** user-defined constants. */
+	public static final String NO_HOSTNAME = "<default-host>";
+	public static final String NO_OPERATION_SIGNATURE = "noOperation";
+	/** property name array. */
+	public static final String[] VALUE_NAMES = {
+		"operationSignature",
+		"hostname",
+		"timestamp",
+		"duration",
+		"count",
+		"totalResponseTime",
+		"minResponseTime",
+		"maxResponseTime",
+		"medianResponseTime",
+		"p90ResponseTime",
+		"p99ResponseTime",
+		"p999ResponseTime",
+	};
+	
+	/** default constants. */
+	public static final String OPERATION_SIGNATURE = NO_OPERATION_SIGNATURE;
+	public static final String HOSTNAME = NO_HOSTNAME;
+	public static final long TIMESTAMP = 0L;
+	public static final long DURATION = 0L;
+	public static final long COUNT = 0L;
+	public static final long TOTAL_RESPONSE_TIME = 0L;
+	public static final long MIN_RESPONSE_TIME = 0L;
+	public static final long MAX_RESPONSE_TIME = 0L;
+	public static final long MEDIAN_RESPONSE_TIME = 0L;
+	public static final long P90_RESPONSE_TIME = 0L;
+	public static final long P99_RESPONSE_TIME = 0L;
+	public static final long P999_RESPONSE_TIME = 0L;
+	private static final long serialVersionUID = 4729384712093847120L;
+	
+	/** property declarations. */
+	private final String operationSignature;
+	private final String hostname;
+	private final long timestamp;
+	private final long duration;
+	private final long count;
+	private final long totalResponseTime;
+	private final long minResponseTime;
+	private final long maxResponseTime;
+	private final long medianResponseTime;
+	private final long p90ResponseTime;
+	private final long p99ResponseTime;
+	private final long p999ResponseTime;
+	
+	/**
+	 * Creates a new instance of this class using the given parameters.
+	 * 
+	 * @param operationSignature
+	 *            operationSignature
+	 * @param hostname
+	 *            hostname
+	 * @param timestamp
+	 *            timestamp
+	 * @param duration
+	 *            duration
+	 * @param count
+	 *            count
+	 * @param totalResponseTime
+	 *            totalResponseTime
+	 * @param minResponseTime
+	 *            minResponseTime
+	 * @param maxResponseTime
+	 *            maxResponseTime
+	 * @param medianResponseTime
+	 *            medianResponseTime
+	 * @param p90ResponseTime
+	 *            p90ResponseTime
+	 * @param p99ResponseTime
+	 *            p99ResponseTime
+	 * @param p999ResponseTime
+	 *            p999ResponseTime
+	 */
+	public OperationExecutionAggregationRecord(final String operationSignature, final String hostname, final long timestamp, final long duration, final long count, final long totalResponseTime, final long minResponseTime, final long maxResponseTime, final long medianResponseTime, final long p90ResponseTime, final long p99ResponseTime, final long p999ResponseTime) {
+		this.operationSignature = operationSignature == null?NO_OPERATION_SIGNATURE:operationSignature;
+		this.hostname = hostname == null?NO_HOSTNAME:hostname;
+		this.timestamp = timestamp;
+		this.duration = duration;
+		this.count = count;
+		this.totalResponseTime = totalResponseTime;
+		this.minResponseTime = minResponseTime;
+		this.maxResponseTime = maxResponseTime;
+		this.medianResponseTime = medianResponseTime;
+		this.p90ResponseTime = p90ResponseTime;
+		this.p99ResponseTime = p99ResponseTime;
+		this.p999ResponseTime = p999ResponseTime;
+	}
+
+
+	/**
+	 * @param deserializer
+	 *            The deserializer to use
+	 * @throws RecordInstantiationException 
+	 *            when the record could not be deserialized
+	 */
+	public OperationExecutionAggregationRecord(final IValueDeserializer deserializer) throws RecordInstantiationException {
+		this.operationSignature = deserializer.getString();
+		this.hostname = deserializer.getString();
+		this.timestamp = deserializer.getLong();
+		this.duration = deserializer.getLong();
+		this.count = deserializer.getLong();
+		this.totalResponseTime = deserializer.getLong();
+		this.minResponseTime = deserializer.getLong();
+		this.maxResponseTime = deserializer.getLong();
+		this.medianResponseTime = deserializer.getLong();
+		this.p90ResponseTime = deserializer.getLong();
+		this.p99ResponseTime = deserializer.getLong();
+		this.p999ResponseTime = deserializer.getLong();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) throws BufferOverflowException {
+		serializer.putString(this.getOperationSignature());
+		serializer.putString(this.getHostname());
+		serializer.putLong(this.getTimestamp());
+		serializer.putLong(this.getDuration());
+		serializer.putLong(this.getCount());
+		serializer.putLong(this.getTotalResponseTime());
+		serializer.putLong(this.getMinResponseTime());
+		serializer.putLong(this.getMaxResponseTime());
+		serializer.putLong(this.getMedianResponseTime());
+		serializer.putLong(this.getP90ResponseTime());
+		serializer.putLong(this.getP99ResponseTime());
+		serializer.putLong(this.getP999ResponseTime());
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Class<?>[] getValueTypes() {
+		return TYPES; // NOPMD
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String[] getValueNames() {
+		return VALUE_NAMES; // NOPMD
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getSize() {
+		return SIZE;
+	}
+
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if (obj == null) {
+			return false;
+		}
+		if (obj == this) {
+			return true;
+		}
+		if (obj.getClass() != this.getClass()) {
+			return false;
+		}
+		
+		final OperationExecutionAggregationRecord castedRecord = (OperationExecutionAggregationRecord) obj;
+		if (this.getLoggingTimestamp() != castedRecord.getLoggingTimestamp()) {
+			return false;
+		}
+		if (!this.getOperationSignature().equals(castedRecord.getOperationSignature())) {
+			return false;
+		}
+		if (!this.getHostname().equals(castedRecord.getHostname())) {
+			return false;
+		}
+		if (this.getTimestamp() != castedRecord.getTimestamp()) {
+			return false;
+		}
+		if (this.getDuration() != castedRecord.getDuration()) {
+			return false;
+		}
+		if (this.getCount() != castedRecord.getCount()) {
+			return false;
+		}
+		if (this.getTotalResponseTime() != castedRecord.getTotalResponseTime()) {
+			return false;
+		}
+		if (this.getMinResponseTime() != castedRecord.getMinResponseTime()) {
+			return false;
+		}
+		if (this.getMaxResponseTime() != castedRecord.getMaxResponseTime()) {
+			return false;
+		}
+		if (this.getMedianResponseTime() != castedRecord.getMedianResponseTime()) {
+			return false;
+		}
+		if (this.getP90ResponseTime() != castedRecord.getP90ResponseTime()) {
+			return false;
+		}
+		if (this.getP99ResponseTime() != castedRecord.getP99ResponseTime()) {
+			return false;
+		}
+		if (this.getP999ResponseTime() != castedRecord.getP999ResponseTime()) {
+			return false;
+		}
+		
+		return true;
+	}
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		int code = 0;
+		code += this.getOperationSignature().hashCode();
+		code += this.getHostname().hashCode();
+		code += ((int)this.getTimestamp());
+		code += ((int)this.getDuration());
+		code += ((int)this.getCount());
+		code += ((int)this.getTotalResponseTime());
+		code += ((int)this.getMinResponseTime());
+		code += ((int)this.getMaxResponseTime());
+		code += ((int)this.getMedianResponseTime());
+		code += ((int)this.getP90ResponseTime());
+		code += ((int)this.getP99ResponseTime());
+		code += ((int)this.getP999ResponseTime());
+		
+		return code;
+	}
+	
+	public final String getOperationSignature() {
+		return this.operationSignature;
+	}
+	
+	
+	public final String getHostname() {
+		return this.hostname;
+	}
+	
+	
+	public final long getTimestamp() {
+		return this.timestamp;
+	}
+	
+	
+	public final long getDuration() {
+		return this.duration;
+	}
+	
+	
+	public final long getCount() {
+		return this.count;
+	}
+	
+	
+	public final long getTotalResponseTime() {
+		return this.totalResponseTime;
+	}
+	
+	
+	public final long getMinResponseTime() {
+		return this.minResponseTime;
+	}
+	
+	
+	public final long getMaxResponseTime() {
+		return this.maxResponseTime;
+	}
+	
+	
+	public final long getMedianResponseTime() {
+		return this.medianResponseTime;
+	}
+	
+	
+	public final long getP90ResponseTime() {
+		return this.p90ResponseTime;
+	}
+	
+	
+	public final long getP99ResponseTime() {
+		return this.p99ResponseTime;
+	}
+	
+	
+	public final long getP999ResponseTime() {
+		return this.p999ResponseTime;
+	}
+	
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		String result = "OperationExecutionAggregationRecord: ";
+		result += "operationSignature = ";
+		result += this.getOperationSignature() + ", ";
+		
+		result += "hostname = ";
+		result += this.getHostname() + ", ";
+		
+		result += "timestamp = ";
+		result += this.getTimestamp() + ", ";
+		
+		result += "duration = ";
+		result += this.getDuration() + ", ";
+		
+		result += "count = ";
+		result += this.getCount() + ", ";
+		
+		result += "totalResponseTime = ";
+		result += this.getTotalResponseTime() + ", ";
+		
+		result += "minResponseTime = ";
+		result += this.getMinResponseTime() + ", ";
+		
+		result += "maxResponseTime = ";
+		result += this.getMaxResponseTime() + ", ";
+		
+		result += "medianResponseTime = ";
+		result += this.getMedianResponseTime() + ", ";
+		
+		result += "p90ResponseTime = ";
+		result += this.getP90ResponseTime() + ", ";
+		
+		result += "p99ResponseTime = ";
+		result += this.getP99ResponseTime() + ", ";
+		
+		result += "p999ResponseTime = ";
+		result += this.getP999ResponseTime() + ", ";
+		
+		return result;
+	}
+}
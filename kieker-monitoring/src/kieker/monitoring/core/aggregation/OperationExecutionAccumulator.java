@@ -0,0 +1,241 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.core.aggregation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+import kieker.common.record.controlflow.OperationExecutionAggregationRecord;
+
+/**
+ * Lock-free accumulator for the executions of a single operation. Probes add response times with
+ * {@link #record(long)}, which only updates striped counters and one bucket of a log-bucketed histogram.
+ * The accumulated values are periodically turned into an {@link OperationExecutionAggregationRecord} and reset
+ * by {@link #flush(String, String, long, long)}.
+ *
+ * <p>
+ * Each power of two is split into eight linear sub-buckets, i.e., percentiles derived from the
+ * histogram have a relative error of at most 12.5%. The histogram covers the full range of non-negative long values
+ * with a fixed number of buckets, therefore it never needs to be resized.
+ * </p>
+ *
+ * <p>
+ * Recording and flushing may happen concurrently. Each interval is accumulated in its own set of counters. A flush
+ * atomically swaps in the counters of the next interval and waits until all probes still recording into the retired
+ * counters are done, before it reads them. Therefore, every execution belongs to exactly one interval and all values of
+ * a record stem from the same set of executions. The two sets of counters are reused alternately.
+ * </p>
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public final class OperationExecutionAccumulator {
+
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+
+	/** number of buckets required to cover all non-negative long values. */
+	static final int BUCKET_COUNT = ((Long.SIZE - 1 - SUB_BUCKET_BITS) << SUB_BUCKET_BITS) + SUB_BUCKET_COUNT;
+
+	private static final LongBinaryOperator MIN = new LongBinaryOperator() {
+
+		@Override
+		public long applyAsLong(final long left, final long right) {
+			return Math.min(left, right);
+		}
+	};
+
+	private static final LongBinaryOperator MAX = new LongBinaryOperator() {
+
+		@Override
+		public long applyAsLong(final long left, final long right) {
+			return Math.max(left, right);
+		}
+	};
+
+	/** counters of the current interval, swapped by {@link #flush(String, String, long, long)}. */
+	private final AtomicReference<Interval> current = new AtomicReference<>(new Interval());
+
+	/** counters of the next interval, only used by the flushing thread. */
+	private Interval spare = new Interval();
+
+	/** histogram snapshot, only used by the flushing thread. */
+	private final long[] snapshot = new long[BUCKET_COUNT];
+
+	/**
+	 * Create a new empty accumulator.
+	 */
+	public OperationExecutionAccumulator() {
+		// nothing to be done
+	}
+
+	/**
+	 * Add the response time of one execution. Negative response times, e.g., caused by a non-monotonic time source,
+	 * are counted as zero.
+	 *
+	 * @param responseTime
+	 *            response time of the execution
+	 */
+	public void record(final long responseTime) {
+		final long value = (responseTime < 0) ? 0 : responseTime; // NOCS (inline conditional)
+		while (true) {
+			final Interval interval = this.current.get();
+			interval.enteredWriters.increment();
+			try {
+				// the interval may have been retired before this writer was registered
+				if (interval == this.current.get()) {
+					interval.record(value);
+					return;
+				}
+			} finally {
+				interval.exitedWriters.increment();
+			}
+		}
+	}
+
+	/**
+	 * Create an aggregation record for all executions recorded since the last flush and reset the accumulator. This
+	 * method must not be called by more than one thread at a time.
+	 *
+	 * @param operationSignature
+	 *            signature of the operation
+	 * @param hostname
+	 *            name of the host the operation is executed on
+	 * @param timestamp
+	 *            begin of the interval
+	 * @param duration
+	 *            length of the interval
+	 * @return the aggregation record or null if no execution has been recorded
+	 */
+	public OperationExecutionAggregationRecord flush(final String operationSignature, final String hostname, final long timestamp,
+			final long duration) {
+		final Interval interval = this.current.getAndSet(this.spare);
+		interval.awaitWriters();
+		this.spare = interval;
+
+		final long calls = interval.count.sumThenReset();
+		if (calls == 0) {
+			return null;
+		}
+		final long total = interval.totalResponseTime.sumThenReset();
+		final long max = interval.maxResponseTime.getThenReset();
+		final long min = Math.min(interval.minResponseTime.getThenReset(), max);
+
+		long histogramCount = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			this.snapshot[i] = interval.buckets.getAndSet(i, 0);
+			histogramCount += this.snapshot[i];
+		}
+
+		return new OperationExecutionAggregationRecord(operationSignature, hostname, timestamp, duration, calls, total, min, max,
+				this.percentile(histogramCount, 0.5, min, max),
+				this.percentile(histogramCount, 0.9, min, max),
+				this.percentile(histogramCount, 0.99, min, max),
+				this.percentile(histogramCount, 0.999, min, max));
+	}
+
+	private long percentile(final long histogramCount, final double quantile, final long min, final long max) {
+		final long rank = Math.max(1L, (long) Math.ceil(quantile * histogramCount));
+		long cumulated = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			cumulated += this.snapshot[i];
+			if (cumulated >= rank) {
+				return Math.max(min, Math.min(max, OperationExecutionAccumulator.bucketUpperBound(i)));
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Compute the histogram bucket of a value.
+	 *
+	 * @param value
+	 *            non-negative value
+	 * @return bucket index
+	 */
+	static int bucketIndex(final long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		final int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+		return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+	}
+
+	/**
+	 * Compute the largest value contained in a histogram bucket.
+	 *
+	 * @param index
+	 *            bucket index
+	 * @return largest value of the bucket
+	 */
+	static long bucketUpperBound(final int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		final int shift = (index >>> SUB_BUCKET_BITS) - 1;
+		final long mantissa = (index & SUB_BUCKET_MASK) + SUB_BUCKET_COUNT;
+		return ((mantissa + 1) << shift) - 1;
+	}
+
+	/**
+	 * Counters of one interval. The writer counters are never reset, they only grow, so that a writer delayed across
+	 * several flushes cannot corrupt them.
+	 *
+	 * @author Kieker Project
+	 *
+	 * @since 2.0.0
+	 */
+	private static final class Interval {
+
+		final LongAdder count = new LongAdder(); // NOPMD (package visible for outer class)
+		final LongAdder totalResponseTime = new LongAdder(); // NOPMD (package visible for outer class)
+		final LongAccumulator minResponseTime = new LongAccumulator(MIN, Long.MAX_VALUE); // NOPMD (package visible for outer class)
+		final LongAccumulator maxResponseTime = new LongAccumulator(MAX, 0L); // NOPMD (package visible for outer class)
+		final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT); // NOPMD (package visible for outer class)
+
+		final LongAdder enteredWriters = new LongAdder(); // NOPMD (package visible for outer class)
+		final LongAdder exitedWriters = new LongAdder(); // NOPMD (package visible for outer class)
+
+		public Interval() {
+			// nothing to be done
+		}
+
+		public void record(final long value) {
+			this.count.increment();
+			this.totalResponseTime.add(value);
+			this.minResponseTime.accumulate(value);
+			this.maxResponseTime.accumulate(value);
+			this.buckets.incrementAndGet(OperationExecutionAccumulator.bucketIndex(value));
+		}
+
+		/**
+		 * Wait until no writer records into this interval anymore. Must only be called after the interval has been
+		 * retired. Both counters only grow and the exited writers are summed first, therefore equal sums imply that
+		 * every writer registered before has left. Writers registering later see that the interval has been retired.
+		 */
+		public void awaitWriters() {
+			while (this.exitedWriters.sum() != this.enteredWriters.sum()) {
+				Thread.yield();
+			}
+		}
+	}
+}
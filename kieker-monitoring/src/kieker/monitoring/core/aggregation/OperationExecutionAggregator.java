@@ -0,0 +1,90 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.core.aggregation;
+
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import kieker.common.record.controlflow.OperationExecutionAggregationRecord;
+import kieker.monitoring.core.controller.IMonitoringController;
+import kieker.monitoring.core.sampler.ISampler;
+
+/**
+ * Registry of the {@link OperationExecutionAccumulator}s of all operations, indexed by operation signature. When
+ * sampled, it flushes every accumulator and passes one {@link OperationExecutionAggregationRecord} per executed
+ * operation to the monitoring controller. Operations without executions in an interval do not produce a record.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public final class OperationExecutionAggregator implements ISampler {
+
+	private final ConcurrentMap<String, OperationExecutionAccumulator> accumulators = new ConcurrentHashMap<>();
+
+	private long intervalStart;
+
+	/**
+	 * Create a new aggregator.
+	 *
+	 * @param intervalStart
+	 *            begin of the first interval
+	 */
+	public OperationExecutionAggregator(final long intervalStart) {
+		this.intervalStart = intervalStart;
+	}
+
+	/**
+	 * Return the accumulator of an operation. Probes should cache the returned accumulator, as it remains valid for the
+	 * lifetime of the aggregator.
+	 *
+	 * @param operationSignature
+	 *            signature of the operation
+	 * @return the accumulator, created on first access
+	 */
+	public OperationExecutionAccumulator getAccumulator(final String operationSignature) {
+		final OperationExecutionAccumulator accumulator = this.accumulators.get(operationSignature);
+		if (accumulator != null) {
+			return accumulator;
+		}
+		final OperationExecutionAccumulator newAccumulator = new OperationExecutionAccumulator();
+		final OperationExecutionAccumulator existingAccumulator = this.accumulators.putIfAbsent(operationSignature, newAccumulator);
+		return (existingAccumulator != null) ? existingAccumulator : newAccumulator; // NOCS (inline conditional)
+	}
+
+	/**
+	 * @return number of operations known to the aggregator
+	 */
+	public int size() {
+		return this.accumulators.size();
+	}
+
+	@Override
+	public synchronized void sample(final IMonitoringController monitoringController) throws Exception {
+		final long now = monitoringController.getTimeSource().getTime();
+		final long duration = now - this.intervalStart;
+		final String hostname = monitoringController.getHostname();
+		for (final Entry<String, OperationExecutionAccumulator> entry : this.accumulators.entrySet()) {
+			final OperationExecutionAggregationRecord record = entry.getValue().flush(entry.getKey(), hostname, this.intervalStart, duration);
+			if (record != null) {
+				monitoringController.newMonitoringRecord(record);
+			}
+		}
+		this.intervalStart = now;
+	}
+}
@@ -93,6 +93,12 @@ public final class ConfigurationConstants {
 	public static final String ADAPTIVE_MONITORING_BOUNDED_CACHE_BEHAVIOUR = ConfigurationConstants.PREFIX
 			+ "adaptiveMonitoring.boundedCacheBehaviour";
 
+	// Aggregation Controller
+	public static final String AGGREGATION_ENABLED = ConfigurationConstants.PREFIX
+			+ "aggregation.enabled";
+	public static final String AGGREGATION_INTERVAL = ConfigurationConstants.PREFIX
+			+ "aggregation.interval";
+
 	/**
 	 * Factory class. Avoid instantiation.
 	 */
@@ -86,6 +86,10 @@ public interface Keys { // NOCS
 	String ADAPTIVE_MONITORING_MAX_CACHE_SIZE = PREFIX + "adaptiveMonitoring.maxCacheSize";
 	String ADAPTIVE_MONITORING_BOUNDED_CACHE_BEHAVIOUR = PREFIX + "adaptiveMonitoring.boundedCacheBehaviour";
 
+	// Aggregation Controller
+	String AGGREGATION_ENABLED = PREFIX + "aggregation.enabled";
+	String AGGREGATION_INTERVAL = PREFIX + "aggregation.interval";
+
 	/**
 	 * Method used to fool checkstyle in believing in a proper interface.
 	 *
@@ -0,0 +1,113 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.core.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import kieker.common.configuration.Configuration;
+import kieker.monitoring.core.aggregation.OperationExecutionAccumulator;
+import kieker.monitoring.core.aggregation.OperationExecutionAggregator;
+import kieker.monitoring.core.configuration.ConfigurationConstants;
+import kieker.monitoring.core.sampler.ScheduledSamplerJob;
+
+/**
+ * Controls the pre-aggregation of operation executions. When enabled, the aggregates are written by a periodic
+ * sampler and once more on termination.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public final class AggregationController extends AbstractController implements IAggregationController {
+	private static final Logger LOGGER = LoggerFactory.getLogger(AggregationController.class);
+
+	private final boolean enabled;
+	private final long interval;
+
+	private volatile OperationExecutionAggregator aggregator; // NOPMD (volatile)
+	private ScheduledSamplerJob samplerJob;
+
+	/**
+	 * Creates a new instance of this class using the given configuration to initialize the class.
+	 *
+	 * @param configuration
+	 *            The configuration used to initialize this controller.
+	 */
+	protected AggregationController(final Configuration configuration) {
+		super(configuration);
+		this.enabled = configuration.getBooleanProperty(ConfigurationConstants.AGGREGATION_ENABLED);
+		this.interval = configuration.getLongProperty(ConfigurationConstants.AGGREGATION_INTERVAL);
+	}
+
+	@Override
+	protected void init() {
+		if (this.enabled) {
+			this.aggregator = new OperationExecutionAggregator(this.monitoringController.getTimeSource().getTime());
+			if (this.interval > 0) {
+				this.samplerJob = this.monitoringController.schedulePeriodicSampler(this.aggregator, this.interval, this.interval,
+						TimeUnit.SECONDS);
+			}
+			if (this.samplerJob == null) {
+				LOGGER.warn("Aggregates are not written periodically, they are only written on termination.");
+			}
+		}
+	}
+
+	@Override
+	protected void cleanup() {
+		LOGGER.debug("Shutting down Aggregation Controller");
+		if (this.samplerJob != null) {
+			this.monitoringController.removeScheduledSampler(this.samplerJob);
+		}
+		if (this.aggregator != null) {
+			try {
+				this.aggregator.sample(this.monitoringController);
+			} catch (final Exception e) { // NOPMD NOCS (Exception)
+				LOGGER.warn("Failed to write final aggregates", e);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder(128);
+		sb.append("Aggregation: '");
+		if (this.enabled) {
+			sb.append("enabled'; Interval: '").append(this.interval).append(" s'\n");
+		} else {
+			sb.append("disabled'\n");
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public boolean isAggregationEnabled() {
+		return this.enabled;
+	}
+
+	@Override
+	public OperationExecutionAccumulator getOperationExecutionAccumulator(final String operationSignature) {
+		final OperationExecutionAggregator currentAggregator = this.aggregator;
+		if (currentAggregator == null) {
+			return null;
+		}
+		return currentAggregator.getAccumulator(operationSignature);
+	}
+}
@@ -0,0 +1,55 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.core.controller;
+
+import kieker.monitoring.core.aggregation.OperationExecutionAccumulator;
+
+/**
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public interface IAggregationController {
+
+	/**
+	 * Returns whether operation executions are pre-aggregated instead of being written as one record per execution.
+	 * Controllers not supporting aggregation do not need to override this method.
+	 *
+	 * @return true if aggregation is enabled
+	 *
+	 * @since 2.0.0
+	 */
+	default boolean isAggregationEnabled() {
+		return false;
+	}
+
+	/**
+	 * Returns the accumulator for the executions of the given operation. The accumulator remains valid for the
+	 * lifetime of the controller and should be cached by probes. Controllers not supporting aggregation do not need to
+	 * override this method.
+	 *
+	 * @param operationSignature
+	 *            signature of the operation
+	 *
+	 * @return the accumulator or null if aggregation is disabled
+	 *
+	 * @since 2.0.0
+	 */
+	default OperationExecutionAccumulator getOperationExecutionAccumulator(final String operationSignature) {
+		return null;
+	}
+}
@@ -27,7 +27,8 @@ public interface IMonitoringController extends
 		ISamplingController,
 		IStateController,
 		ITimeSourceController,
-		IWriterController {
+		IWriterController,
+		IAggregationController {
 
 	/**
 	 * This method is used to log the status of the controllers to the console.
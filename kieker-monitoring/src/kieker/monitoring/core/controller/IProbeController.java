@@ -61,6 +61,17 @@ public interface IProbeController {
 	 */
 	boolean isProbeActivated(final String signature);
 
+	/**
+	 * Returns the version of the current pattern list. The version changes whenever
+	 * patterns are added or replaced. Probes may cache the result of
+	 * {@link #isProbeActivated(String)} as long as the version does not change.
+	 *
+	 * @return version of the pattern list, starting with 0
+	 *
+	 * @since 2.0.0
+	 */
+	long getProbePatternVersion();
+
 	/**
 	 * Overwrites the current list of patterns with a new pattern list.
 	 *
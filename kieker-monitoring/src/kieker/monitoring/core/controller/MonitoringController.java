@@ -27,6 +27,7 @@ import kieker.common.configuration.Configuration;
 import kieker.common.record.IMonitoringRecord;
 import kieker.common.record.misc.KiekerMetadataRecord;
 import kieker.common.util.Version;
+import kieker.monitoring.core.aggregation.OperationExecutionAccumulator;
 import kieker.monitoring.core.configuration.ConfigurationConstants;
 import kieker.monitoring.core.configuration.ConfigurationFactory;
 import kieker.monitoring.core.sampler.ISampler;
@@ -56,6 +57,7 @@ public final class MonitoringController extends AbstractController implements IM
 	private final WriterController writerController;
 	private final TimeSourceController timeSourceController;
 	private final ProbeController probeController;
+	private final AggregationController aggregationController;
 	/**
 	 * Whether or not the {@link IMonitoringRecord#setLoggingTimestamp(long)} is
 	 * automatically set.
@@ -73,6 +75,7 @@ public final class MonitoringController extends AbstractController implements IM
 		this.stateController.setStateListener(this);
 		this.timeSourceController = new TimeSourceController(configuration);
 		this.probeController = new ProbeController(configuration);
+		this.aggregationController = new AggregationController(configuration);
 		this.autoSetLoggingTimestamp = configuration.getBooleanProperty(ConfigurationConstants.AUTO_SET_LOGGINGTSTAMP);
 	}
 
@@ -128,6 +131,10 @@ public final class MonitoringController extends AbstractController implements IM
 		if (monitoringController.probeController.isTerminated()) {
 			monitoringController.terminate();
 		}
+		monitoringController.aggregationController.setMonitoringController(monitoringController);
+		if (monitoringController.aggregationController.isTerminated()) {
+			monitoringController.terminate();
+		}
 		monitoringController.setMonitoringController(monitoringController);
 		if (monitoringController.isTerminated()) {
 			return monitoringController;
@@ -198,6 +205,7 @@ public final class MonitoringController extends AbstractController implements IM
 	protected void cleanup() {
 		MonitoringController.LOGGER.info("Shutting down Monitoring Controller ({})", this.getName());
 		// this.saveMetadataAsRecord();
+		this.aggregationController.terminate(); // writes the final aggregates, must precede the writer
 		this.probeController.terminate();
 		this.timeSourceController.terminate();
 		this.writerController.terminate();
@@ -212,7 +220,8 @@ public final class MonitoringController extends AbstractController implements IM
 		final StringBuilder sb = new StringBuilder(2048).append("Current State of kieker.monitoring (")
 				.append(MonitoringController.getVersion()).append(") ").append(this.stateController.toString())
 				.append(this.jmxController.toString()).append(this.timeSourceController.toString())
-				.append(this.probeController.toString()).append(this.writerController.toString())
+				.append(this.probeController.toString()).append(this.aggregationController.toString())
+				.append(this.writerController.toString())
 				.append("\n\tAutomatic assignment of logging timestamps: '").append(this.autoSetLoggingTimestamp)
 				.append("'\n").append(this.samplingController.toString());
 		return sb.toString();
@@ -333,6 +342,16 @@ public final class MonitoringController extends AbstractController implements IM
 		return this.samplingController.removeScheduledSampler(sampler);
 	}
 
+	@Override
+	public boolean isAggregationEnabled() {
+		return this.aggregationController.isAggregationEnabled();
+	}
+
+	@Override
+	public OperationExecutionAccumulator getOperationExecutionAccumulator(final String operationSignature) {
+		return this.aggregationController.getOperationExecutionAccumulator(operationSignature);
+	}
+
 	@Override
 	public ITimeSource getTimeSource() {
 		return this.timeSourceController.getTimeSource();
@@ -358,6 +377,11 @@ public final class MonitoringController extends AbstractController implements IM
 		return this.probeController.isProbeActivated(signature);
 	}
 
+	@Override
+	public long getProbePatternVersion() {
+		return this.probeController.getProbePatternVersion();
+	}
+
 	@Override
 	public void setProbePatternList(final List<String> patternList) {
 		this.probeController.setProbePatternList(patternList);
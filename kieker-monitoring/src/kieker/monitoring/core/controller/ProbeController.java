@@ -76,6 +76,8 @@ public class ProbeController extends AbstractController implements IProbeControl
 	private final ConcurrentMap<String, Boolean> signatureCache;
 	private final List<PatternEntry> patterns = new ArrayList<>(); // only accessed synchronized
 	private final Map<String, Map<String, List<String>>> patternListParameters = new ConcurrentHashMap<>();
+	/** incremented (while synchronized) whenever the signature cache is invalidated. */
+	private volatile long patternVersion; // NOPMD (volatile)
 
 	/**
 	 * Creates a new instance of this class using the given configuration to
@@ -229,6 +231,14 @@ public class ProbeController extends AbstractController implements IProbeControl
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getProbePatternVersion() {
+		return this.patternVersion;
+	}
+
 	/**
 	 * Sets the list of probe patterns.
 	 *
@@ -250,6 +260,7 @@ public class ProbeController extends AbstractController implements IProbeControl
 			for (final String pattern : strPatternList) {
 				this.addToPatternEntryList(pattern);
 			}
+			this.patternVersion++; // NOPMD NOCS (only modified while synchronized)
 			if (updateConfig && this.configFileUpdate) {
 				this.updatePatternFile();
 			}
@@ -434,6 +445,7 @@ public class ProbeController extends AbstractController implements IProbeControl
 				return false;
 			}
 			this.patterns.add(new PatternEntry(strPattern, pattern, activated));
+			this.patternVersion++; // NOPMD NOCS (only modified while synchronized)
 			if (this.configFileUpdate) {
 				this.updatePatternFile();
 			}
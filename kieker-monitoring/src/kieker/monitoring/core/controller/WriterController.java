@@ -29,16 +29,20 @@ import kieker.common.configuration.Configuration;
 import kieker.common.record.IMonitoringRecord;
 import kieker.monitoring.core.configuration.ConfigurationConstants;
 import kieker.monitoring.queue.BlockingQueueDecorator;
+import kieker.monitoring.queue.RingBufferQueue;
 import kieker.monitoring.queue.behavior.BlockOnFailedInsertBehavior;
 import kieker.monitoring.queue.behavior.BypassQueueBehavior;
 import kieker.monitoring.queue.behavior.CountOnFailedInsertBehavior;
 import kieker.monitoring.queue.behavior.DoNotInsertBehavior;
 import kieker.monitoring.queue.behavior.InsertBehavior;
 import kieker.monitoring.queue.behavior.TerminateOnFailedInsertBehavior;
+import kieker.monitoring.queue.behavior.ThreadLocalChunkBehavior;
 import kieker.monitoring.queue.putstrategy.PutStrategy;
 import kieker.monitoring.queue.takestrategy.TakeStrategy;
+import kieker.monitoring.queue.waitstrategy.WaitStrategy;
 import kieker.monitoring.writer.AbstractMonitoringWriter;
 import kieker.monitoring.writer.MonitoringWriterThread;
+import kieker.monitoring.writer.collector.ThreadLocalChunkCollector;
 
 /**
  * @author Andre van Hoorn, Matthias Rohr, Jan Waller, Robert von Massow
@@ -67,6 +71,18 @@ public final class WriterController extends AbstractController implements IWrite
 	/** The fully qualified name of the take strategy */
 	public static final String QUEUE_TAKE_STRATEGY = "QueueTakeStrategy";
 
+	/** The fully qualified name of the wait strategy of the ring buffer (insert behavior 4). */
+	public static final String RING_BUFFER_WAIT_STRATEGY = "RingBufferWaitStrategy";
+
+	/** The maximal number of records passed to the writer at once. */
+	public static final String WRITER_BATCH_SIZE = "WriterBatchSize";
+
+	/** The insert behavior using the pre-allocated ring buffer as writer queue. */
+	private static final int RING_BUFFER_INSERT_BEHAVIOR = 4;
+
+	/** The insert behavior serializing records into thread-local chunks instead of using the writer queue. */
+	private static final int THREAD_LOCAL_CHUNK_INSERT_BEHAVIOR = 6;
+
 	private static final Logger LOGGER = LoggerFactory.getLogger(WriterController.class);
 	/** Monitoring Writer. */
 	private AbstractMonitoringWriter monitoringWriter; // NOPMD (so far, cannot be made final due to the
@@ -87,9 +103,8 @@ public final class WriterController extends AbstractController implements IWrite
 	private InsertBehavior<IMonitoringRecord> insertBehavior; // NOPMD (so far, cannot be made final due to the
 																// MonitoringController)
 
-	// private Disruptor<IMonitoringRecordEvent> disruptor;
-
-	// private RingBuffer<IMonitoringRecordEvent> ringBuffer;
+	/** collector of thread-local chunks, only used by the corresponding insert behavior. */
+	private ThreadLocalChunkCollector chunkCollector; // NOPMD (cannot be made final due to the early return)
 
 	// private int numInsertedRecords;
 
@@ -104,19 +119,42 @@ public final class WriterController extends AbstractController implements IWrite
 		this.logMetadataRecord = configuration.getBooleanProperty(ConfigurationConstants.META_DATA);
 
 		this.queueCapacity = configuration.getIntProperty(WriterController.PREFIX + WriterController.RECORD_QUEUE_SIZE);
-		final String queueFqn = configuration
-				.getStringProperty(WriterController.PREFIX + WriterController.RECORD_QUEUE_FQN);
 
-		final Queue<IMonitoringRecord> queue = this.newQueue(queueFqn, this.queueCapacity);
-		if (queue instanceof BlockingQueue) {
-			this.writerQueue = (BlockingQueue<IMonitoringRecord>) queue;
+		int recordQueueInsertBehavior = configuration
+				.getIntProperty(WriterController.PREFIX + WriterController.RECORD_QUEUE_INSERT_BEHAVIOR);
+		if ((recordQueueInsertBehavior < 0) || (recordQueueInsertBehavior > THREAD_LOCAL_CHUNK_INSERT_BEHAVIOR)) {
+			WriterController.LOGGER.warn("Unknown value '{}' for {}{}; using default value 0",
+					recordQueueInsertBehavior, WriterController.PREFIX, WriterController.RECORD_QUEUE_INSERT_BEHAVIOR);
+			recordQueueInsertBehavior = 0;
+		}
+
+		if (recordQueueInsertBehavior == RING_BUFFER_INSERT_BEHAVIOR) {
+			final String waitStrategyFqn = configuration.getStringProperty(PREFIX + RING_BUFFER_WAIT_STRATEGY,
+					"kieker.monitoring.queue.waitstrategy.ParkWaitStrategy");
+			this.writerQueue = new RingBufferQueue<>(this.queueCapacity, this.newWaitStrategy(waitStrategyFqn));
 		} else {
-			final String takeStrategyFqn = configuration.getStringProperty(PREFIX + QUEUE_TAKE_STRATEGY,
-					"kieker.monitoring.queue.takestrategy.SCBlockingTakeStrategy");
-			final TakeStrategy takeStrategy = newTakeStrategy(takeStrategyFqn);
-			final String putStrategyFqn = configuration.getStringProperty(PREFIX + QUEUE_PUT_STRATEGY, "kieker.monitoring.queue.putstrategy.SPBlockingPutStrategy");
-			final PutStrategy putStrategy = newPutStrategy(putStrategyFqn);
-			this.writerQueue = new BlockingQueueDecorator<>(queue, putStrategy, takeStrategy);
+			final String queueFqn = configuration
+					.getStringProperty(WriterController.PREFIX + WriterController.RECORD_QUEUE_FQN);
+
+			final Queue<IMonitoringRecord> queue = this.newQueue(queueFqn, this.queueCapacity);
+			if (queue instanceof BlockingQueue) {
+				this.writerQueue = (BlockingQueue<IMonitoringRecord>) queue;
+			} else {
+				final String takeStrategyFqn = configuration.getStringProperty(PREFIX + QUEUE_TAKE_STRATEGY,
+						"kieker.monitoring.queue.takestrategy.SCBlockingTakeStrategy");
+				final TakeStrategy takeStrategy = newTakeStrategy(takeStrategyFqn);
+				final String putStrategyFqn = configuration.getStringProperty(PREFIX + QUEUE_PUT_STRATEGY,
+						"kieker.monitoring.queue.putstrategy.SPBlockingPutStrategy");
+				final PutStrategy putStrategy = newPutStrategy(putStrategyFqn);
+				this.writerQueue = new BlockingQueueDecorator<>(queue, putStrategy, takeStrategy);
+			}
+		}
+
+		if (recordQueueInsertBehavior == THREAD_LOCAL_CHUNK_INSERT_BEHAVIOR) {
+			// records are passed as serialized chunks to a raw data writer, the monitoring writer is not used
+			this.chunkCollector = new ThreadLocalChunkCollector(configuration);
+			this.insertBehavior = new ThreadLocalChunkBehavior(this.chunkCollector);
+			return;
 		}
 
 		final String writerClassName = configuration.getStringProperty(ConfigurationConstants.WRITER_CLASSNAME);
@@ -129,15 +167,10 @@ public final class WriterController extends AbstractController implements IWrite
 			// throw new IllegalStateException("monitoringWriter may not be null");
 		}
 
-		this.monitoringWriterThread = new MonitoringWriterThread(this.monitoringWriter, this.writerQueue);
-
-		int recordQueueInsertBehavior = configuration
-				.getIntProperty(WriterController.PREFIX + WriterController.RECORD_QUEUE_INSERT_BEHAVIOR);
-		if ((recordQueueInsertBehavior < 0) || (recordQueueInsertBehavior > 5)) {
-			WriterController.LOGGER.warn("Unknown value '{}' for {}{}; using default value 0",
-					recordQueueInsertBehavior, WriterController.PREFIX, WriterController.RECORD_QUEUE_INSERT_BEHAVIOR);
-			recordQueueInsertBehavior = 0;
-		}
+		final int writerBatchSize = configuration.getIntProperty(PREFIX + WRITER_BATCH_SIZE,
+				MonitoringWriterThread.DEFAULT_BATCH_SIZE);
+		this.monitoringWriterThread = new MonitoringWriterThread(this.monitoringWriter, this.writerQueue,
+				writerBatchSize);
 
 		switch (recordQueueInsertBehavior) {
 		case 1:
@@ -149,14 +182,9 @@ public final class WriterController extends AbstractController implements IWrite
 		case 3:
 			this.insertBehavior = new DoNotInsertBehavior<>();
 			break;
-		case 4:
-			// try {
-			// this.initDisruptor(configuration);
-			// } catch (final IOException e) {
-			// throw new IllegalStateException(e);
-			// }
-			// this.insertBehavior = new
-			// DisruptorInsertBehavior<IMonitoringRecord>(this.ringBuffer);
+		case RING_BUFFER_INSERT_BEHAVIOR:
+			// the ring buffer blocks according to its wait strategy when it is full
+			this.insertBehavior = new BlockOnFailedInsertBehavior<>(this.writerQueue);
 			break;
 		case 5:
 			this.insertBehavior = new BypassQueueBehavior(this.monitoringWriter);
@@ -167,38 +195,6 @@ public final class WriterController extends AbstractController implements IWrite
 		}
 	}
 
-	// private void initDisruptor(final Configuration configuration) throws
-	// IOException {
-	// final EventFactory<IMonitoringRecordEvent> eventFactory = new
-	// NewRecordEventFactory();
-	// final int bufferSize = 1024;
-	// final ThreadFactory threadFactory = new ThreadFactory() {
-	// @Override
-	// public Thread newThread(final Runnable r) {
-	// final Thread thread = new Thread(r);
-	// thread.setDaemon(true);
-	// return thread;
-	// }
-	// };
-	//
-	// this.disruptor = new Disruptor<IMonitoringRecordEvent>(eventFactory,
-	// bufferSize, threadFactory);
-	//
-	// final SharedConnection connection = new SharedConnection(configuration);
-	// final EventHandler<? super IMonitoringRecordEvent> handler1 = new
-	// DisruptorTcpWriter(configuration, connection);
-	// // allowing more than one consumes breaks the assumptions that the records
-	// are sent in order of occurrence
-	// // final EventHandler<? super IMonitoringRecordEvent> handler2 = new
-	// DisruptorTcpWriter(configuration,
-	// connection);
-	//
-	// this.disruptor.handleEventsWith(handler1);
-	// this.disruptor.start();
-	//
-	// this.ringBuffer = this.disruptor.getRingBuffer();
-	// }
-
 	private TakeStrategy newTakeStrategy(final String strategyName) {
 		try {
 			final Class<?> strategyClass = Class.forName(strategyName);
@@ -223,6 +219,18 @@ public final class WriterController extends AbstractController implements IWrite
 		}
 	}
 
+	private WaitStrategy newWaitStrategy(final String strategyName) {
+		try {
+			final Class<?> strategyClass = Class.forName(strategyName);
+			final Constructor<? extends WaitStrategy> constructor = (Constructor<? extends WaitStrategy>) strategyClass.getConstructor();
+			return constructor.newInstance();
+		} catch (ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
+				| NoSuchMethodException | SecurityException e) {
+			LOGGER.warn("An exception occurred", e);
+			throw new IllegalStateException(e);
+		}
+	}
+
 	/**
 	 * @param queueFqn
 	 *            the fully qualified queue name
@@ -260,6 +268,9 @@ public final class WriterController extends AbstractController implements IWrite
 		if (this.monitoringWriterThread != null) {
 			this.monitoringWriterThread.start();
 		}
+		if (this.chunkCollector != null) {
+			this.chunkCollector.start();
+		}
 	}
 
 	@Override
@@ -269,10 +280,9 @@ public final class WriterController extends AbstractController implements IWrite
 		if (this.monitoringWriterThread != null) {
 			this.monitoringWriterThread.terminate();
 		}
-
-		// if (this.disruptor != null) {
-		// this.disruptor.shutdown();
-		// }
+		if (this.chunkCollector != null) {
+			this.chunkCollector.terminate();
+		}
 
 		// LOG.info("block durations: {}" + this.insertBehavior.toString());
 		// System.out.println("block durations: " + this.insertBehavior.toString());
@@ -287,6 +297,8 @@ public final class WriterController extends AbstractController implements IWrite
 				.append('\n');
 		if (this.monitoringWriter != null) {
 			sb.append(this.monitoringWriter.toString());
+		} else if (this.chunkCollector != null) {
+			sb.append(this.chunkCollector.toString());
 		} else {
 			sb.append("\tNo Monitoring Writer available");
 		}
@@ -310,6 +322,9 @@ public final class WriterController extends AbstractController implements IWrite
 		if (this.monitoringWriterThread != null) {
 			this.monitoringWriterThread.join(timeoutInMs);
 		}
+		if (this.chunkCollector != null) {
+			this.chunkCollector.waitForTermination(timeoutInMs);
+		}
 	}
 
 	/**
@@ -0,0 +1,216 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.core.registry;
+
+import java.util.Arrays;
+
+/**
+ * Mutable control flow state of a single thread. It holds the current trace id, execution order index (eoi) and
+ * execution stack size (ess) as primitive values, and a stack of operation frames for probes which cannot keep
+ * their start data in local variables, e.g., before and after advices.
+ *
+ * <p>
+ * The frame stack is array-backed and only grows; entering and leaving a monitored operation does not allocate.
+ * Instances are obtained via {@link ControlFlowRegistry#getThreadLocalContext()} and must only be used by their
+ * owning thread.
+ * </p>
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public final class ControlFlowContext {
+
+	private static final int INITIAL_FRAME_CAPACITY = 16;
+
+	private long traceId = -1;
+	private int eoi;
+	private boolean eoiRegistered;
+	private int ess;
+	private boolean essRegistered;
+
+	private int frameCount;
+	private boolean[] frameEntrypoints = new boolean[INITIAL_FRAME_CAPACITY];
+	private long[] frameTraceIds = new long[INITIAL_FRAME_CAPACITY];
+	private long[] frameTins = new long[INITIAL_FRAME_CAPACITY];
+	private int[] frameEois = new int[INITIAL_FRAME_CAPACITY];
+	private int[] frameEsses = new int[INITIAL_FRAME_CAPACITY];
+	private String[] frameSessionIds = new String[INITIAL_FRAME_CAPACITY];
+
+	ControlFlowContext() {
+		// only created by the control flow registry
+	}
+
+	/**
+	 * @return the trace id of the thread, -1 if no trace id has been registered.
+	 */
+	public long getTraceId() {
+		return this.traceId;
+	}
+
+	public void setTraceId(final long traceId) {
+		this.traceId = traceId;
+	}
+
+	public void unsetTraceId() {
+		this.traceId = -1;
+	}
+
+	public boolean isEoiRegistered() {
+		return this.eoiRegistered;
+	}
+
+	public int getEoi() {
+		return this.eoi;
+	}
+
+	public void setEoi(final int eoi) {
+		this.eoi = eoi;
+		this.eoiRegistered = true;
+	}
+
+	public void unsetEoi() {
+		this.eoiRegistered = false;
+	}
+
+	public boolean isEssRegistered() {
+		return this.essRegistered;
+	}
+
+	public int getEss() {
+		return this.ess;
+	}
+
+	public void setEss(final int ess) {
+		this.ess = ess;
+		this.essRegistered = true;
+	}
+
+	public void unsetEss() {
+		this.essRegistered = false;
+	}
+
+	/**
+	 * Registers the start of a monitored operation. If no trace is active, a new trace is started and the operation
+	 * becomes its entry point. Otherwise, eoi and ess are advanced. In both cases a new frame is pushed holding the
+	 * trace id, eoi and ess of the operation.
+	 *
+	 * @param sessionId
+	 *            session id of the operation
+	 *
+	 * @return false if the operation is part of a trace without registered eoi or ess, true otherwise
+	 */
+	public boolean pushFrame(final String sessionId) {
+		final boolean entrypoint;
+		final int frameEoi; // this is executionOrderIndex-th execution in this trace
+		final int frameEss; // this is the height in the dynamic call tree of this execution
+		if (this.traceId == -1) {
+			entrypoint = true;
+			this.traceId = ControlFlowRegistry.INSTANCE.getUniqueTraceId();
+			this.setEoi(0);
+			this.setEss(1); // next operation is ess + 1
+			frameEoi = 0;
+			frameEss = 0;
+		} else {
+			entrypoint = false;
+			if (this.eoiRegistered) {
+				frameEoi = ++this.eoi;
+			} else {
+				frameEoi = -1;
+			}
+			if (this.essRegistered) {
+				frameEss = this.ess++;
+			} else {
+				frameEss = -1;
+			}
+		}
+
+		if (this.frameCount == this.frameTraceIds.length) {
+			this.growFrames();
+		}
+		final int frame = this.frameCount++;
+		this.frameEntrypoints[frame] = entrypoint;
+		this.frameTraceIds[frame] = this.traceId;
+		this.frameTins[frame] = 0;
+		this.frameEois[frame] = frameEoi;
+		this.frameEsses[frame] = frameEss;
+		this.frameSessionIds[frame] = sessionId;
+
+		return (frameEoi != -1) && (frameEss != -1);
+	}
+
+	/**
+	 * Removes the top frame and restores the control flow state of the enclosing operation. If the frame was the
+	 * entry point of the trace, trace id, eoi and ess are unset.
+	 */
+	public void popFrame() {
+		final int frame = --this.frameCount;
+		this.frameSessionIds[frame] = null; // do not retain session ids of finished operations
+		if (this.frameEntrypoints[frame]) {
+			this.unsetTraceId();
+			this.unsetEoi();
+			this.unsetEss();
+		} else {
+			this.setEss(this.frameEsses[frame]); // next operation is ess
+		}
+	}
+
+	/**
+	 * @return true if a frame has been pushed and not yet popped.
+	 */
+	public boolean hasFrame() {
+		return this.frameCount > 0;
+	}
+
+	public boolean isFrameEntrypoint() {
+		return this.frameEntrypoints[this.frameCount - 1];
+	}
+
+	public long getFrameTraceId() {
+		return this.frameTraceIds[this.frameCount - 1];
+	}
+
+	public long getFrameTin() {
+		return this.frameTins[this.frameCount - 1];
+	}
+
+	public void setFrameTin(final long tin) {
+		this.frameTins[this.frameCount - 1] = tin;
+	}
+
+	public int getFrameEoi() {
+		return this.frameEois[this.frameCount - 1];
+	}
+
+	public int getFrameEss() {
+		return this.frameEsses[this.frameCount - 1];
+	}
+
+	public String getFrameSessionId() {
+		return this.frameSessionIds[this.frameCount - 1];
+	}
+
+	private void growFrames() {
+		final int capacity = this.frameTraceIds.length * 2;
+		this.frameEntrypoints = Arrays.copyOf(this.frameEntrypoints, capacity);
+		this.frameTraceIds = Arrays.copyOf(this.frameTraceIds, capacity);
+		this.frameTins = Arrays.copyOf(this.frameTins, capacity);
+		this.frameEois = Arrays.copyOf(this.frameEois, capacity);
+		this.frameEsses = Arrays.copyOf(this.frameEsses, capacity);
+		this.frameSessionIds = Arrays.copyOf(this.frameSessionIds, capacity);
+	}
+}
@@ -41,9 +41,13 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	// far. Of course, negative values may occur (as a result of an overflow) -- this does not hurt!
 	private final AtomicLong lastThreadId = new AtomicLong(MonitoringController.getInstance().isDebug() ? 0 // NOCS
 			: (long) new Random().nextInt(65536) << (Long.SIZE - 16 - 1));
-	private final transient ThreadLocal<Long> threadLocalTraceId = new ThreadLocal<>();
-	private final transient ThreadLocal<Integer> threadLocalEoi = new ThreadLocal<>();
-	private final transient ThreadLocal<Integer> threadLocalEss = new ThreadLocal<>();
+	/** trace id, eoi and ess of the current thread are kept in one context to require only a single thread local lookup. */
+	private final transient ThreadLocal<ControlFlowContext> threadLocalContext = new ThreadLocal<ControlFlowContext>() {
+		@Override
+		protected ControlFlowContext initialValue() {
+			return new ControlFlowContext();
+		}
+	};
 
 	static {
 		LOGGER.info("First threadId will be {}", INSTANCE.lastThreadId.get());
@@ -72,6 +76,18 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 		}
 	}
 
+	/**
+	 * Returns the control flow context of the current thread. Probes which require trace id, eoi and ess should
+	 * use this context directly instead of the individual accessors of this registry.
+	 *
+	 * @return the control flow context of the current thread
+	 *
+	 * @since 2.0.0
+	 */
+	public final ControlFlowContext getThreadLocalContext() {
+		return this.threadLocalContext.get();
+	}
+
 	/**
 	 * This method returns a thread-local traceid which is globally unique and stored it local for the thread. The thread is responsible for invalidating the stored
 	 * curTraceId using the method unsetThreadLocalTraceId()!
@@ -80,7 +96,7 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 */
 	public final long getAndStoreUniqueThreadLocalTraceId() {
 		final long id = this.getUniqueTraceId();
-		this.threadLocalTraceId.set(id);
+		this.threadLocalContext.get().setTraceId(id);
 		return id;
 	}
 
@@ -91,7 +107,7 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 *            The trace ID to store in a thread-local way.
 	 */
 	public final void storeThreadLocalTraceId(final long traceId) {
-		this.threadLocalTraceId.set(traceId);
+		this.threadLocalContext.get().setTraceId(traceId);
 	}
 
 	/**
@@ -100,18 +116,14 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 * @return the traceid. -1 if no curTraceId has been registered for this thread.
 	 */
 	public final long recallThreadLocalTraceId() {
-		final Long traceIdObj = this.threadLocalTraceId.get();
-		if (traceIdObj == null) {
-			return -1;
-		}
-		return traceIdObj;
+		return this.threadLocalContext.get().getTraceId();
 	}
 
 	/**
 	 * This method unsets a previously registered traceid.
 	 */
 	public final void unsetThreadLocalTraceId() {
-		this.threadLocalTraceId.remove();
+		this.threadLocalContext.get().unsetTraceId();
 	}
 
 	/**
@@ -121,7 +133,7 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 *            The execution order index to register.
 	 */
 	public final void storeThreadLocalEOI(final int eoi) {
-		this.threadLocalEoi.set(eoi);
+		this.threadLocalContext.get().setEoi(eoi);
 	}
 
 	/**
@@ -130,13 +142,13 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 * @return Increments the thread local execution order index and returns it.
 	 */
 	public final int incrementAndRecallThreadLocalEOI() {
-		final Integer curEoi = this.threadLocalEoi.get();
-		if (curEoi == null) {
+		final ControlFlowContext context = this.threadLocalContext.get();
+		if (!context.isEoiRegistered()) {
 			LOGGER.error("eoi has not been registered before");
 			return -1;
 		}
-		final int newEoi = curEoi + 1;
-		this.threadLocalEoi.set(newEoi);
+		final int newEoi = context.getEoi() + 1;
+		context.setEoi(newEoi);
 		return newEoi;
 	}
 
@@ -146,19 +158,19 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 * @return the sessionid. -1 if no curEoi registered.
 	 */
 	public final int recallThreadLocalEOI() {
-		final Integer curEoi = this.threadLocalEoi.get();
-		if (curEoi == null) {
+		final ControlFlowContext context = this.threadLocalContext.get();
+		if (!context.isEoiRegistered()) {
 			LOGGER.error("eoi has not been registered before");
 			return -1;
 		}
-		return curEoi;
+		return context.getEoi();
 	}
 
 	/**
 	 * This method unsets a previously registered traceid.
 	 */
 	public final void unsetThreadLocalEOI() {
-		this.threadLocalEoi.remove();
+		this.threadLocalContext.get().unsetEoi();
 	}
 
 	/**
@@ -169,7 +181,7 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 *            The execution stack size to store.
 	 */
 	public final void storeThreadLocalESS(final int ess) {
-		this.threadLocalEss.set(ess);
+		this.threadLocalContext.get().setEss(ess);
 	}
 
 	/**
@@ -178,12 +190,13 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 * @return The current execution stack size, before the incrementation.
 	 */
 	public final int recallAndIncrementThreadLocalESS() {
-		final Integer curEss = this.threadLocalEss.get();
-		if (curEss == null) {
+		final ControlFlowContext context = this.threadLocalContext.get();
+		if (!context.isEssRegistered()) {
 			LOGGER.error("ess has not been registered before");
 			return -1;
 		}
-		this.threadLocalEss.set(curEss + 1);
+		final int curEss = context.getEss();
+		context.setEss(curEss + 1);
 		return curEss;
 	}
 
@@ -193,18 +206,18 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 * @return the sessionid. -1 if no curEss registered.
 	 */
 	public final int recallThreadLocalESS() {
-		final Integer ess = this.threadLocalEss.get();
-		if (ess == null) {
+		final ControlFlowContext context = this.threadLocalContext.get();
+		if (!context.isEssRegistered()) {
 			LOGGER.error("ess has not been registered before");
 			return -1;
 		}
-		return ess;
+		return context.getEss();
 	}
 
 	/**
 	 * This method unsets a previously registered curEss.
 	 */
 	public final void unsetThreadLocalESS() {
-		this.threadLocalEss.remove();
+		this.threadLocalContext.get().unsetEss();
 	}
 }
@@ -17,7 +17,8 @@
 package kieker.monitoring.core.registry;
 
 import java.security.SecureRandom;
-import java.util.Stack;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.WeakHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -39,6 +40,9 @@ public enum TraceRegistry { // Singleton (Effective Java #3)
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(TraceRegistry.class); // NOPMD (enum logger)
 
+	/** number of independently locked parent trace stripes; must be a power of two. */
+	private static final int PARENT_TRACE_STRIPES = 64;
+
 	private final AtomicInteger nextTraceId = new AtomicInteger(0);
 	private final long unique = MonitoringController.getInstance().isDebug() ? 0 : ((long) new SecureRandom().nextInt()) << 32; // NOCS
 	/** the hostname is final after the instantiation of the monitoring controller. */
@@ -47,11 +51,14 @@ public enum TraceRegistry { // Singleton (Effective Java #3)
 	/** the current trace; null if new trace. */
 	private final ThreadLocal<TraceMetadata> traceStorage = new ThreadLocal<>();
 
-	/** used to store the stack of enclosing traces; null if no sub trace created yet. */
-	private final ThreadLocal<Stack<TraceMetadata>> enclosingTraceStack = new ThreadLocal<>();
+	/** used to store the stack of enclosing traces; null if no sub trace created yet. Only accessed by the owning thread. */
+	private final ThreadLocal<Deque<TraceMetadata>> enclosingTraceStack = new ThreadLocal<>();
+
+	/** store the parent Trace, striped by thread to avoid a global lock. */
+	private final ParentTraceStripe[] parentTraceStripes = TraceRegistry.createParentTraceStripes();
 
-	/** store the parent Trace. */
-	private final WeakHashMap<Thread, TracePoint> parentTrace = new WeakHashMap<>();
+	/** number of registered split points; allows to skip the stripe lock when no split point is pending. */
+	private final AtomicInteger pendingParentTraces = new AtomicInteger(0);
 
 	private final long getNewId() {
 		return this.unique | this.nextTraceId.getAndIncrement();
@@ -76,9 +83,9 @@ public enum TraceRegistry { // Singleton (Effective Java #3)
 	public final ApplicationTraceMetadata registerTrace() {
 		final TraceMetadata enclosingTrace = this.getTrace();
 		if (enclosingTrace != null) { // we create a subtrace
-			Stack<TraceMetadata> localTraceStack = this.enclosingTraceStack.get();
+			Deque<TraceMetadata> localTraceStack = this.enclosingTraceStack.get();
 			if (localTraceStack == null) {
-				localTraceStack = new Stack<>();
+				localTraceStack = new ArrayDeque<>();
 				this.enclosingTraceStack.set(localTraceStack);
 			}
 			localTraceStack.push(enclosingTrace);
@@ -115,7 +122,7 @@ public enum TraceRegistry { // Singleton (Effective Java #3)
 	 * Future calls of getTrace() will either return null or the enclosing trace object.
 	 */
 	public final void unregisterTrace() {
-		final Stack<TraceMetadata> localTraceStack = this.enclosingTraceStack.get();
+		final Deque<TraceMetadata> localTraceStack = this.enclosingTraceStack.get();
 		if (localTraceStack != null) { // we might have an enclosing trace and and are able to restore it
 			if (!localTraceStack.isEmpty()) { // we actually found something
 				this.traceStorage.set(localTraceStack.pop());
@@ -128,9 +135,54 @@ public enum TraceRegistry { // Singleton (Effective Java #3)
 		}
 	}
 
+	private static ParentTraceStripe[] createParentTraceStripes() {
+		final ParentTraceStripe[] stripes = new ParentTraceStripe[PARENT_TRACE_STRIPES];
+		for (int i = 0; i < PARENT_TRACE_STRIPES; i++) {
+			stripes[i] = new ParentTraceStripe();
+		}
+		return stripes;
+	}
+
+	private final ParentTraceStripe getParentTraceStripe(final Thread t) {
+		return this.parentTraceStripes[System.identityHashCode(t) & (PARENT_TRACE_STRIPES - 1)];
+	}
+
 	private final TracePoint getAndRemoveParentTraceId(final Thread t) {
-		synchronized (this) {
-			return this.parentTrace.remove(t);
+		if (this.pendingParentTraces.get() == 0) { // fast path: no split point has been registered
+			return null;
+		}
+		final ParentTraceStripe stripe = this.getParentTraceStripe(t);
+		final TracePoint tp;
+		synchronized (stripe) {
+			tp = stripe.parentTrace.remove(t);
+			if (tp != null) {
+				stripe.pending--;
+			}
+		}
+		if (tp != null) {
+			this.pendingParentTraces.decrementAndGet();
+		} else {
+			// the counter may include split points of terminated threads, which the weak maps have dropped
+			this.expungeParentTraces();
+		}
+		return tp;
+	}
+
+	/**
+	 * Remove split points of terminated threads from the pending counter, so that the fast path of registerTrace
+	 * becomes available again.
+	 */
+	private final void expungeParentTraces() {
+		for (final ParentTraceStripe stripe : this.parentTraceStripes) {
+			synchronized (stripe) {
+				if (stripe.pending > 0) {
+					final int expunged = stripe.pending - stripe.parentTrace.size(); // size() expunges stale entries
+					if (expunged > 0) {
+						stripe.pending -= expunged;
+						this.pendingParentTraces.addAndGet(-expunged);
+					}
+				}
+			}
 		}
 	}
 
@@ -146,8 +198,35 @@ public enum TraceRegistry { // Singleton (Effective Java #3)
 	 *            the parent order id
 	 */
 	public final void setParentTraceId(final Thread t, final long traceId, final int orderId) {
-		synchronized (this) {
-			this.parentTrace.put(t, new TracePoint(traceId, orderId));
+		final ParentTraceStripe stripe = this.getParentTraceStripe(t);
+		// count first, so the split point is never hidden by the fast path of registerTrace
+		this.pendingParentTraces.incrementAndGet();
+		final TracePoint previous;
+		synchronized (stripe) {
+			previous = stripe.parentTrace.put(t, new TracePoint(traceId, orderId));
+			if (previous == null) {
+				stripe.pending++;
+			}
+		}
+		if (previous != null) { // replaced a pending split point
+			this.pendingParentTraces.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Split points of the threads sharing one stripe. Entries of terminated threads are
+	 * removed by the weak map; the number of split points counted by the stripe allows to
+	 * detect these entries and to remove them from the pending counter.
+	 *
+	 * @author Kieker Project
+	 */
+	private static final class ParentTraceStripe {
+		public final WeakHashMap<Thread, TracePoint> parentTrace = new WeakHashMap<>(); // NOCS (public no setters or getters)
+		/** number of split points counted for this stripe, guarded by the stripe. */
+		public int pending; // NOCS (public no setters or getters)
+
+		public ParentTraceStripe() {
+			// default constructor
 		}
 	}
 
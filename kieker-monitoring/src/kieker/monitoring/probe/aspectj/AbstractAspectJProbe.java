@@ -20,6 +20,7 @@ import java.lang.reflect.Modifier;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import org.aspectj.lang.JoinPoint.StaticPart;
 import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
@@ -37,6 +38,7 @@ import kieker.monitoring.probe.IMonitoringProbe;
 public abstract class AbstractAspectJProbe implements IMonitoringProbe { // NOPMD
 
 	private final ConcurrentMap<Signature, String> signatureCache = new ConcurrentHashMap<>();
+	private final ConcurrentMap<StaticPart, CachedProbeSignature> staticPartCache = new ConcurrentHashMap<>();
 
 	// Pointcuts should not be final!
 
@@ -128,6 +130,26 @@ public abstract class AbstractAspectJProbe implements IMonitoringProbe { // NOPM
 		return signatureString;
 	}
 
+	/**
+	 * Returns the cached signature of a join point. The cache entry also holds the activation state of the
+	 * probe, which makes repeated lookups of the long signature string in the probe controller unnecessary.
+	 *
+	 * @param staticPart
+	 *            static part of an AspectJ join point
+	 * @return cached signature and activation state of the join point
+	 *
+	 * @since 2.0.0
+	 */
+	protected CachedProbeSignature getCachedSignature(final StaticPart staticPart) {
+		final CachedProbeSignature cachedSignature = this.staticPartCache.get(staticPart);
+		if (cachedSignature != null) {
+			return cachedSignature;
+		}
+		final CachedProbeSignature newSignature = new CachedProbeSignature(this.signatureToLongString(staticPart.getSignature()));
+		final CachedProbeSignature existingSignature = this.staticPartCache.putIfAbsent(staticPart, newSignature);
+		return (existingSignature != null) ? existingSignature : newSignature; // NOCS (inline cond)
+	}
+
 	private final StringBuilder addTypeList(final StringBuilder sb, final Class<?>[] clazzes) {
 		if (null != clazzes) {
 			boolean first = true;
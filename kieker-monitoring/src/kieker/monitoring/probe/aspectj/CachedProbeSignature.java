@@ -0,0 +1,93 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.probe.aspectj;
+
+import kieker.monitoring.core.aggregation.OperationExecutionAccumulator;
+import kieker.monitoring.core.controller.IAggregationController;
+import kieker.monitoring.core.controller.IProbeController;
+
+/**
+ * Signature string of a join point together with the cached activation state of its probe.
+ * The activation state is tagged with the pattern version of the probe controller it has
+ * been computed for and is recomputed as soon as the pattern version changes. In aggregation
+ * mode, the entry additionally holds the accumulator of the operation.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public final class CachedProbeSignature {
+
+	private static final long INVALID_STATE = -1L;
+
+	private final String signature;
+
+	/** pattern version shifted left by one, the lowest bit holds the activation flag. */
+	private volatile long state = INVALID_STATE; // NOPMD (volatile)
+
+	private volatile OperationExecutionAccumulator accumulator; // NOPMD (volatile)
+
+	/**
+	 * Create a new cache entry.
+	 *
+	 * @param signature
+	 *            the signature string of the join point
+	 */
+	public CachedProbeSignature(final String signature) {
+		this.signature = signature.intern();
+	}
+
+	public String getSignature() {
+		return this.signature;
+	}
+
+	/**
+	 * Check whether the probe for this signature is active. The probe controller is only
+	 * queried when its pattern version differs from the cached one.
+	 *
+	 * @param probeController
+	 *            the probe controller deciding about the activation
+	 * @return true if the probe is active
+	 */
+	public boolean isProbeActivated(final IProbeController probeController) {
+		final long version = probeController.getProbePatternVersion();
+		final long currentState = this.state;
+		if ((currentState != INVALID_STATE) && ((currentState >>> 1) == version)) {
+			return (currentState & 1L) != 0;
+		}
+		final boolean activated = probeController.isProbeActivated(this.signature);
+		this.state = (version << 1) | (activated ? 1L : 0L);
+		return activated;
+	}
+
+	/**
+	 * Return the accumulator of this signature. The aggregation controller is only queried on first access.
+	 *
+	 * @param aggregationController
+	 *            the aggregation controller providing the accumulator
+	 * @return the accumulator or null if aggregation is disabled
+	 */
+	public OperationExecutionAccumulator getAccumulator(final IAggregationController aggregationController) {
+		OperationExecutionAccumulator currentAccumulator = this.accumulator;
+		if (currentAccumulator == null) {
+			// the controller always returns the same accumulator for a signature, hence racing threads do no harm
+			currentAccumulator = aggregationController.getOperationExecutionAccumulator(this.signature);
+			this.accumulator = currentAccumulator;
+		}
+		return currentAccumulator;
+	}
+}
@@ -30,6 +30,7 @@ import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.core.controller.MonitoringController;
 import kieker.monitoring.core.registry.TraceRegistry;
 import kieker.monitoring.probe.aspectj.AbstractAspectJProbe;
+import kieker.monitoring.probe.aspectj.CachedProbeSignature;
 import kieker.monitoring.timer.ITimeSource;
 
 /**
@@ -55,10 +56,11 @@ public abstract class AbstractAspect extends AbstractAspectJProbe { // NOPMD
 		if (!CTRLINST.isMonitoringEnabled()) {
 			return thisJoinPoint.proceed();
 		}
-		final String operationSignature = this.signatureToLongString(thisJoinPoint.getSignature());
-		if (!CTRLINST.isProbeActivated(operationSignature)) {
+		final CachedProbeSignature cachedSignature = this.getCachedSignature(thisJoinPoint.getStaticPart());
+		if (!cachedSignature.isProbeActivated(CTRLINST)) {
 			return thisJoinPoint.proceed();
 		}
+		final String operationSignature = cachedSignature.getSignature();
 		// common fields
 		TraceMetadata trace = TRACEREGISTRY.getTrace();
 		final boolean newTrace = trace == null;
@@ -94,10 +96,11 @@ public abstract class AbstractAspect extends AbstractAspectJProbe { // NOPMD
 			return thisJoinPoint.proceed();
 		}
 		final Signature sig = thisJoinPoint.getSignature();
-		final String operationSignature = this.signatureToLongString(sig);
-		if (!CTRLINST.isProbeActivated(operationSignature)) {
+		final CachedProbeSignature cachedSignature = this.getCachedSignature(thisJoinPoint.getStaticPart());
+		if (!cachedSignature.isProbeActivated(CTRLINST)) {
 			return thisJoinPoint.proceed();
 		}
+		final String operationSignature = cachedSignature.getSignature();
 		// common fields
 		TraceMetadata trace = TRACEREGISTRY.getTrace();
 		final boolean newTrace = trace == null;
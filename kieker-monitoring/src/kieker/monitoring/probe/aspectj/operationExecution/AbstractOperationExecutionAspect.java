@@ -16,9 +16,7 @@
 
 package kieker.monitoring.probe.aspectj.operationExecution;
 
-import java.util.Stack;
-
-import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.JoinPoint.StaticPart;
 import org.aspectj.lang.annotation.After;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
@@ -27,11 +25,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import kieker.common.record.controlflow.OperationExecutionRecord;
+import kieker.monitoring.core.aggregation.OperationExecutionAccumulator;
 import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.core.controller.MonitoringController;
+import kieker.monitoring.core.registry.ControlFlowContext;
 import kieker.monitoring.core.registry.ControlFlowRegistry;
 import kieker.monitoring.core.registry.SessionRegistry;
 import kieker.monitoring.probe.aspectj.AbstractAspectJProbe;
+import kieker.monitoring.probe.aspectj.CachedProbeSignature;
 import kieker.monitoring.timer.ITimeSource;
 
 /**
@@ -46,16 +47,10 @@ public abstract class AbstractOperationExecutionAspect extends AbstractAspectJPr
 	private static final IMonitoringController CTRLINST = MonitoringController.getInstance();
 	private static final ITimeSource TIME = CTRLINST.getTimeSource();
 	private static final String VMNAME = CTRLINST.getHostname();
+	private static final boolean AGGREGATION = CTRLINST.isAggregationEnabled();
 	private static final ControlFlowRegistry CFREGISTRY = ControlFlowRegistry.INSTANCE;
 	private static final SessionRegistry SESSIONREGISTRY = SessionRegistry.INSTANCE;
 
-	private final ThreadLocal<Stack<OperationStartData>> stack = new ThreadLocal<Stack<OperationStartData>>() {
-		@Override
-		protected Stack<OperationStartData> initialValue() {
-			return new Stack<>();
-		}
-	};
-
 	/**
 	 * The pointcut for the monitored operations. Inheriting classes should extend
 	 * the pointcut in order to find the correct executions of the methods (e.g. all
@@ -65,68 +60,50 @@ public abstract class AbstractOperationExecutionAspect extends AbstractAspectJPr
 	public abstract void monitoredOperation();
 
 	@Before("monitoredOperation() && notWithinKieker()")
-	public void beforeOperation(final JoinPoint thisJoinPoint) throws Throwable { // NOCS
+	public void beforeOperation(final StaticPart jpStaticPart) throws Throwable { // NOCS
 		if (!CTRLINST.isMonitoringEnabled()) {
 			return;
 		}
-		final String operationSignature = this.signatureToLongString(thisJoinPoint.getSignature());
-		if (!CTRLINST.isProbeActivated(operationSignature)) {
+		if (!this.getCachedSignature(jpStaticPart).isProbeActivated(CTRLINST)) {
 			return;
 		}
-		// common fields
-		final boolean entrypoint;
-		final String hostname = VMNAME;
-		final String sessionId = SESSIONREGISTRY.recallThreadLocalSessionId();
-		final int eoi; // this is executionOrderIndex-th execution in this trace
-		final int ess; // this is the height in the dynamic call tree of this execution
-		long traceId = CFREGISTRY.recallThreadLocalTraceId(); // traceId, -1 if entry point
-		if (traceId == -1) {
-			entrypoint = true;
-			traceId = CFREGISTRY.getAndStoreUniqueThreadLocalTraceId();
-			CFREGISTRY.storeThreadLocalEOI(0);
-			CFREGISTRY.storeThreadLocalESS(1); // next operation is ess + 1
-			eoi = 0;
-			ess = 0;
-		} else {
-			entrypoint = false;
-			eoi = CFREGISTRY.incrementAndRecallThreadLocalEOI(); // ess > 1
-			ess = CFREGISTRY.recallAndIncrementThreadLocalESS(); // ess >= 0
-			if ((eoi == -1) || (ess == -1)) {
-				LOGGER.error("eoi and/or ess have invalid values: eoi == {} ess == {}", eoi, ess);
-				CTRLINST.terminateMonitoring();
-			}
+		// all control flow state is kept in the thread's context, the start data is stored in a frame of that context
+		final ControlFlowContext context = CFREGISTRY.getThreadLocalContext();
+		if (!context.pushFrame(SESSIONREGISTRY.recallThreadLocalSessionId())) {
+			LOGGER.error("eoi and/or ess have invalid values: eoi == {} ess == {}", context.getFrameEoi(), context.getFrameEss());
+			CTRLINST.terminateMonitoring();
 		}
 		// measure before
-		final long tin = TIME.getTime();
-
-		final OperationStartData data = new OperationStartData(entrypoint, sessionId, traceId, tin, hostname, eoi, ess);
-		stack.get().push(data);
+		context.setFrameTin(TIME.getTime());
 	}
 
 	@After("monitoredOperation() && notWithinKieker()")
-	public void afterOperation(final JoinPoint thisJoinPoint) {
+	public void afterOperation(final StaticPart jpStaticPart) {
 		if (!CTRLINST.isMonitoringEnabled()) {
 			return;
 		}
 
-		final String operationSignature = this.signatureToLongString(thisJoinPoint.getSignature());
-		if (!CTRLINST.isProbeActivated(operationSignature)) {
+		final CachedProbeSignature cachedSignature = this.getCachedSignature(jpStaticPart);
+		if (!cachedSignature.isProbeActivated(CTRLINST)) {
 			return;
 		}
+		final String operationSignature = cachedSignature.getSignature();
 
-		final OperationStartData data = stack.get().pop();
+		final ControlFlowContext context = CFREGISTRY.getThreadLocalContext();
 
 		final long tout = TIME.getTime();
-		CTRLINST.newMonitoringRecord(
-				new OperationExecutionRecord(operationSignature, data.getSessionId(),
-						data.getTraceId(), data.getTin(), tout, data.getHostname(), data.getEoi(), data.getEss()));
-		// cleanup
-		if (data.isEntrypoint()) {
-			CFREGISTRY.unsetThreadLocalTraceId();
-			CFREGISTRY.unsetThreadLocalEOI();
-			CFREGISTRY.unsetThreadLocalESS();
+		if (AGGREGATION) {
+			// only update the accumulator of the operation, the aggregates are written periodically
+			final OperationExecutionAccumulator accumulator = cachedSignature.getAccumulator(CTRLINST);
+			if (accumulator != null) {
+				accumulator.record(tout - context.getFrameTin());
+			}
 		} else {
-			CFREGISTRY.storeThreadLocalESS(data.getEss()); // next operation is ess
+			CTRLINST.newMonitoringRecord(
+					new OperationExecutionRecord(operationSignature, context.getFrameSessionId(),
+							context.getFrameTraceId(), context.getFrameTin(), tout, VMNAME, context.getFrameEoi(), context.getFrameEss()));
 		}
+		// cleanup
+		context.popFrame();
 	}
 }
@@ -24,6 +24,7 @@ import org.slf4j.LoggerFactory;
 import kieker.common.record.controlflow.OperationExecutionRecord;
 import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.core.controller.MonitoringController;
+import kieker.monitoring.core.registry.ControlFlowContext;
 import kieker.monitoring.core.registry.ControlFlowRegistry;
 import kieker.monitoring.core.registry.SessionRegistry;
 import kieker.monitoring.probe.IMonitoringProbe;
@@ -73,26 +74,10 @@ public class OperationExecutionMethodInvocationInterceptor implements MethodInte
 			return invocation.proceed();
 		}
 
-		final String sessionId = SESSION_REGISTRY.recallThreadLocalSessionId();
-		final int eoi; // this is executionOrderIndex-th execution in this trace
-		final int ess; // this is the height in the dynamic call tree of this execution
-		final boolean entrypoint;
-		long traceId = CF_REGISTRY.recallThreadLocalTraceId(); // traceId, -1 if entry point
-		if (traceId == -1) {
-			entrypoint = true;
-			traceId = CF_REGISTRY.getAndStoreUniqueThreadLocalTraceId();
-			CF_REGISTRY.storeThreadLocalEOI(0);
-			CF_REGISTRY.storeThreadLocalESS(1); // next operation is ess + 1
-			eoi = 0;
-			ess = 0;
-		} else {
-			entrypoint = false;
-			eoi = CF_REGISTRY.incrementAndRecallThreadLocalEOI(); // ess > 1
-			ess = CF_REGISTRY.recallAndIncrementThreadLocalESS(); // ess >= 0
-			if ((eoi == -1) || (ess == -1)) {
-				LOGGER.error("eoi and/or ess have invalid values: eoi == {} ess == {}", eoi, ess);
-				this.monitoringCtrl.terminateMonitoring();
-			}
+		final ControlFlowContext context = CF_REGISTRY.getThreadLocalContext();
+		if (!context.pushFrame(SESSION_REGISTRY.recallThreadLocalSessionId())) {
+			LOGGER.error("eoi and/or ess have invalid values: eoi == {} ess == {}", context.getFrameEoi(), context.getFrameEss());
+			this.monitoringCtrl.terminateMonitoring();
 		}
 		final long tin = this.timeSource.getTime();
 		final Object retval;
@@ -101,15 +86,10 @@ public class OperationExecutionMethodInvocationInterceptor implements MethodInte
 		} finally {
 			final long tout = this.timeSource.getTime();
 			this.monitoringCtrl.newMonitoringRecord(
-					new OperationExecutionRecord(signature, sessionId, traceId, tin, tout, this.hostname, eoi, ess));
+					new OperationExecutionRecord(signature, context.getFrameSessionId(), context.getFrameTraceId(), tin, tout, this.hostname,
+							context.getFrameEoi(), context.getFrameEss()));
 			// cleanup
-			if (entrypoint) {
-				CF_REGISTRY.unsetThreadLocalTraceId();
-				CF_REGISTRY.unsetThreadLocalEOI();
-				CF_REGISTRY.unsetThreadLocalESS();
-			} else {
-				CF_REGISTRY.storeThreadLocalESS(ess); // next operation is ess
-			}
+			context.popFrame();
 		}
 		return retval;
 	}
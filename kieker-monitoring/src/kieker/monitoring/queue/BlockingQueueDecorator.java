@@ -107,11 +107,13 @@ public class BlockingQueueDecorator<E> extends AbstractQueue<E> implements Block
 	@Override
 	public int drainTo(final Collection<? super E> c, final int maxElements) {
 		int count = 0;
-		E e = this.poll();
-		while ((e != null) && (count < maxElements)) {
+		while (count < maxElements) {
+			final E e = this.poll();
+			if (e == null) {
+				break;
+			}
 			c.add(e);
 			count++;
-			e = this.poll();
 		}
 		return count;
 	}
@@ -0,0 +1,230 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.queue;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import kieker.monitoring.queue.waitstrategy.WaitStrategy;
+
+/**
+ * A bounded, pre-allocated multi-producer single-consumer ring buffer. Producers claim a slot
+ * by incrementing a shared sequence and publish their element by advancing the sequence of the
+ * slot. Hence, producers do not contend on a lock and the consumer never writes to fields read
+ * on the fast path of the producers except for the slot sequences it releases.
+ * <br>
+ * The consumer can drain all published elements in one batch with {@link #drainTo(Collection, int)}.
+ * Waiting on a full or empty ring buffer is delegated to a {@link WaitStrategy}.
+ * <br>
+ * <i>IMPORTANT: This queue only works correctly if at most one consumer accesses the queue.</i>
+ *
+ * @param <E>
+ *            the type of the elements in the ring buffer
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class RingBufferQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+	private final Object[] buffer;
+	/**
+	 * Sequence per slot. A slot with index i is free for the producer claiming sequence s when its sequence is s,
+	 * and it contains a published element for the consumer at s when its sequence is s + 1.
+	 */
+	private final AtomicLongArray sequences;
+	private final int mask;
+	private final int capacity;
+	private final WaitStrategy waitStrategy;
+
+	/** Next sequence to be claimed by a producer. */
+	private final AtomicLong producerSequence = new AtomicLong(0);
+	/** Next sequence to be read by the consumer; only written by the consumer. */
+	private volatile long consumerSequence; // NOPMD (volatile)
+
+	/**
+	 * Create a new ring buffer.
+	 *
+	 * @param requestedCapacity
+	 *            minimal capacity of the ring buffer, it is rounded up to the next power of two
+	 * @param waitStrategy
+	 *            strategy used while the ring buffer is full or empty
+	 */
+	public RingBufferQueue(final int requestedCapacity, final WaitStrategy waitStrategy) {
+		if (requestedCapacity < 1) {
+			throw new IllegalArgumentException("The capacity of the ring buffer must be positive, but is " + requestedCapacity);
+		}
+		this.capacity = RingBufferQueue.nextPowerOfTwo(requestedCapacity);
+		this.mask = this.capacity - 1;
+		this.buffer = new Object[this.capacity];
+		this.sequences = new AtomicLongArray(this.capacity);
+		for (int i = 0; i < this.capacity; i++) {
+			this.sequences.set(i, i);
+		}
+		this.waitStrategy = waitStrategy;
+	}
+
+	private static int nextPowerOfTwo(final int value) {
+		final int highestBit = Integer.highestOneBit(value);
+		if (highestBit == value) {
+			return value;
+		}
+		if (highestBit == (1 << 30)) {
+			throw new IllegalArgumentException("The capacity of the ring buffer is too large: " + value);
+		}
+		return highestBit << 1;
+	}
+
+	@Override
+	public boolean offer(final E e) {
+		if (e == null) {
+			throw new NullPointerException("The ring buffer does not accept null elements.");
+		}
+		long sequence = this.producerSequence.get();
+		while (true) {
+			final int index = (int) sequence & this.mask;
+			final long difference = this.sequences.get(index) - sequence;
+			if (difference == 0) {
+				if (this.producerSequence.compareAndSet(sequence, sequence + 1)) {
+					this.buffer[index] = e;
+					this.sequences.lazySet(index, sequence + 1); // publish
+					this.waitStrategy.signalElement();
+					return true;
+				}
+				sequence = this.producerSequence.get();
+			} else if (difference < 0) {
+				return false; // the slot has not yet been released by the consumer
+			} else {
+				sequence = this.producerSequence.get(); // another producer claimed the slot
+			}
+		}
+	}
+
+	@Override
+	public void put(final E e) throws InterruptedException {
+		int attempt = 0;
+		while (!this.offer(e)) {
+			this.waitStrategy.waitForCapacity(attempt++);
+		}
+	}
+
+	@Override
+	public boolean offer(final E e, final long timeout, final TimeUnit unit) throws InterruptedException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E poll() {
+		final long sequence = this.consumerSequence;
+		final int index = (int) sequence & this.mask;
+		if (this.sequences.get(index) != (sequence + 1)) {
+			return null; // nothing published yet
+		}
+		final E e = (E) this.buffer[index];
+		this.buffer[index] = null;
+		this.sequences.lazySet(index, sequence + this.capacity); // release the slot for the next round
+		this.consumerSequence = sequence + 1;
+		return e;
+	}
+
+	@Override
+	public E take() throws InterruptedException {
+		int attempt = 0;
+		E e = this.poll();
+		while (e == null) {
+			this.waitStrategy.waitForElement(attempt++);
+			e = this.poll();
+		}
+		return e;
+	}
+
+	@Override
+	public E poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int remainingCapacity() {
+		return this.capacity - this.size();
+	}
+
+	@Override
+	public int drainTo(final Collection<? super E> c) {
+		return this.drainTo(c, Integer.MAX_VALUE);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public int drainTo(final Collection<? super E> c, final int maxElements) {
+		long sequence = this.consumerSequence;
+		int count = 0;
+		while (count < maxElements) {
+			final int index = (int) sequence & this.mask;
+			if (this.sequences.get(index) != (sequence + 1)) {
+				break;
+			}
+			c.add((E) this.buffer[index]);
+			this.buffer[index] = null;
+			this.sequences.lazySet(index, sequence + this.capacity);
+			sequence++;
+			count++;
+		}
+		this.consumerSequence = sequence;
+		return count;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E peek() {
+		final long sequence = this.consumerSequence;
+		final int index = (int) sequence & this.mask;
+		if (this.sequences.get(index) != (sequence + 1)) {
+			return null;
+		}
+		return (E) this.buffer[index];
+	}
+
+	@Override
+	public int size() {
+		final long size = this.producerSequence.get() - this.consumerSequence;
+		if (size < 0) {
+			return 0;
+		}
+		return (int) Math.min(size, this.capacity);
+	}
+
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		// the ring buffer is a hand-over structure between threads, iterating it is not supported
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getName() + " [capacity=" + this.capacity + ", waitStrategy=" + this.waitStrategy.getClass().getName() + "]";
+	}
+}
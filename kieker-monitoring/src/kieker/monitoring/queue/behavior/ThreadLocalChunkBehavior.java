@@ -0,0 +1,49 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.queue.behavior;
+
+import kieker.common.record.IMonitoringRecord;
+import kieker.monitoring.writer.collector.ThreadLocalChunkCollector;
+
+/**
+ * Insert behavior that bypasses the writer controller's queue and serializes each record into a chunk owned by the
+ * calling thread. Only complete chunks are passed to the writer thread of the {@link ThreadLocalChunkCollector}.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class ThreadLocalChunkBehavior implements InsertBehavior<IMonitoringRecord> {
+
+	private final ThreadLocalChunkCollector collector;
+
+	public ThreadLocalChunkBehavior(final ThreadLocalChunkCollector collector) {
+		this.collector = collector;
+	}
+
+	@Override
+	public boolean insert(final IMonitoringRecord element) {
+		return this.collector.insert(element);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder()
+				.append(this.getClass());
+		return builder.toString();
+	}
+}
@@ -0,0 +1,53 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.queue.waitstrategy;
+
+/**
+ * Spins without giving up the CPU. This results in the lowest latency, but occupies one core
+ * for the writer thread and for each waiting producer.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+
+	public BusySpinWaitStrategy() {
+		super();
+	}
+
+	@Override
+	public void waitForCapacity(final int attempt) throws InterruptedException {
+		BusySpinWaitStrategy.checkInterrupted();
+	}
+
+	@Override
+	public void waitForElement(final int attempt) throws InterruptedException {
+		BusySpinWaitStrategy.checkInterrupted();
+	}
+
+	@Override
+	public void signalElement() {
+		// Nothing
+	}
+
+	private static void checkInterrupted() throws InterruptedException {
+		if (Thread.currentThread().isInterrupted()) {
+			throw new InterruptedException("Interrupted while waiting on the ring buffer.");
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.queue.waitstrategy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spins and yields shortly and parks afterwards. The consumer is unparked by producers when
+ * they publish an element. Parking is always limited by a timeout, so a missed signal only
+ * delays and never blocks the consumer. Producers waiting for capacity are not signaled and
+ * only park for the timeout.
+ * <br>
+ * <i>IMPORTANT: This wait strategy only works correctly if at most one consumer accesses the queue.</i>
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class ParkWaitStrategy implements WaitStrategy {
+
+	private static final int SPIN_ATTEMPTS = 100;
+	private static final int YIELD_ATTEMPTS = 200;
+	private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+	private final AtomicReference<Thread> consumer = new AtomicReference<>(null);
+
+	public ParkWaitStrategy() {
+		super();
+	}
+
+	@Override
+	public void waitForCapacity(final int attempt) throws InterruptedException {
+		ParkWaitStrategy.backoff(attempt);
+	}
+
+	@Override
+	public void waitForElement(final int attempt) throws InterruptedException {
+		if (attempt < YIELD_ATTEMPTS) {
+			ParkWaitStrategy.backoff(attempt);
+		} else {
+			this.consumer.set(Thread.currentThread());
+			try {
+				ParkWaitStrategy.backoff(attempt);
+			} finally {
+				this.consumer.lazySet(null);
+			}
+		}
+	}
+
+	@Override
+	public void signalElement() {
+		final Thread waitingConsumer = this.consumer.get();
+		if (waitingConsumer != null) {
+			LockSupport.unpark(waitingConsumer);
+		}
+	}
+
+	private static void backoff(final int attempt) throws InterruptedException {
+		if (attempt >= YIELD_ATTEMPTS) {
+			LockSupport.parkNanos(PARK_NANOS);
+		} else if (attempt >= SPIN_ATTEMPTS) {
+			Thread.yield();
+		} // else spin
+		if (Thread.currentThread().isInterrupted()) {
+			throw new InterruptedException("Interrupted while waiting on the ring buffer.");
+		}
+	}
+}
@@ -0,0 +1,61 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.queue.waitstrategy;
+
+/**
+ * Strategy applied by producers and the consumer of a {@link kieker.monitoring.queue.RingBufferQueue}
+ * while they cannot make progress, i.e., while the ring buffer is full or empty, respectively.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public interface WaitStrategy { // NOCS //NOPMD (name without prefix "I" for reasons of readability)
+
+	/**
+	 * Called by a producer each time it finds the ring buffer full.
+	 *
+	 * @param attempt
+	 *            number of consecutive unsuccessful attempts, starting with 0
+	 *
+	 * @throws InterruptedException
+	 *             when the producer has been interrupted while waiting
+	 *
+	 * @since 2.0.0
+	 */
+	void waitForCapacity(int attempt) throws InterruptedException;
+
+	/**
+	 * Called by the consumer each time it finds the ring buffer empty.
+	 *
+	 * @param attempt
+	 *            number of consecutive unsuccessful attempts, starting with 0
+	 *
+	 * @throws InterruptedException
+	 *             when the consumer has been interrupted while waiting
+	 *
+	 * @since 2.0.0
+	 */
+	void waitForElement(int attempt) throws InterruptedException;
+
+	/**
+	 * Called by a producer after it has published an element.
+	 *
+	 * @since 2.0.0
+	 */
+	void signalElement();
+}
@@ -16,6 +16,7 @@
 
 package kieker.monitoring.writer;
 
+import java.util.List;
 import java.util.Set;
 
 import kieker.common.configuration.Configuration;
@@ -47,6 +48,28 @@ public abstract class AbstractMonitoringWriter {
 	 */
 	public abstract void writeMonitoringRecord(IMonitoringRecord record);
 
+	/**
+	 * This event fires when Kieker has received a batch of new records. The {@link MonitoringWriterThread} drains all
+	 * records available in the writer queue at once and passes them to this method. The default implementation calls
+	 * {@link #writeMonitoringRecord(IMonitoringRecord)} for each record. Writers which can serialize a whole batch
+	 * before writing to their channel should override this method.
+	 *
+	 * <p>
+	 * The given list is reused by the caller and must not be kept after this method returns.
+	 * </p>
+	 *
+	 * @param records
+	 *            the received records in queue order
+	 *
+	 * @since 2.0.0
+	 */
+	public void writeMonitoringRecords(final List<IMonitoringRecord> records) {
+		final int size = records.size();
+		for (int i = 0; i < size; i++) {
+			this.writeMonitoringRecord(records.get(i));
+		}
+	}
+
 	/**
 	 * This event fires when Kieker has been notified to terminate.
 	 * It is executed by the {@link MonitoringWriterThread} just after finishing the writer queue.
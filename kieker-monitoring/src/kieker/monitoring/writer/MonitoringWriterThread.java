@@ -16,6 +16,8 @@
 
 package kieker.monitoring.writer;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 
 import org.slf4j.Logger;
@@ -35,12 +37,32 @@ public class MonitoringWriterThread extends Thread {
 
 	private static final IMonitoringRecord END_OF_MONITORING_RECORD = new EmptyRecord();
 
+	/** Default maximal number of records passed to the writer at once. */
+	public static final int DEFAULT_BATCH_SIZE = 256;
+
 	private final BlockingQueue<IMonitoringRecord> writerQueue;
 	private final AbstractMonitoringWriter writer;
+	private final int batchSize;
 
 	// private int numWrittenRecords;
 
 	public MonitoringWriterThread(final AbstractMonitoringWriter writer, final BlockingQueue<IMonitoringRecord> writerQueue) {
+		this(writer, writerQueue, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Create a writer thread which drains up to the given number of records from the queue at once.
+	 *
+	 * @param writer
+	 *            writer receiving the records
+	 * @param writerQueue
+	 *            queue to read from
+	 * @param batchSize
+	 *            maximal number of records passed to the writer at once, values below 1 are treated as 1
+	 *
+	 * @since 2.0.0
+	 */
+	public MonitoringWriterThread(final AbstractMonitoringWriter writer, final BlockingQueue<IMonitoringRecord> writerQueue, final int batchSize) {
 		if (writer == null) {
 			throw new NullPointerException("The given writer may not be null.");
 		}
@@ -49,6 +71,7 @@ public class MonitoringWriterThread extends Thread {
 		}
 		this.writer = writer;
 		this.writerQueue = writerQueue;
+		this.batchSize = Math.max(1, batchSize);
 		// All Kieker threads must be daemon threads. Otherwise the monitored application can never terminate.
 		this.setDaemon(true);
 	}
@@ -60,10 +83,14 @@ public class MonitoringWriterThread extends Thread {
 		this.writer.onStarting();
 
 		try {
-			IMonitoringRecord record = this.writerQueue.take();
-			while (record != END_OF_MONITORING_RECORD) { // NOPMD (compare references by == not by equals())
-				this.writer.writeMonitoringRecord(record);
-				record = this.writerQueue.take();
+			final List<IMonitoringRecord> batch = new ArrayList<>(this.batchSize);
+			boolean running = true;
+			while (running) {
+				// block for the first record only, then take whatever else is already available
+				batch.add(this.writerQueue.take());
+				this.writerQueue.drainTo(batch, this.batchSize - 1);
+				running = this.writeBatch(batch);
+				batch.clear();
 			}
 		} catch (final InterruptedException e) {
 			LOGGER.debug("{} was interrupted.", this.getClass().getName(), e);
@@ -75,6 +102,30 @@ public class MonitoringWriterThread extends Thread {
 		LOGGER.debug("{} has finished.", this.getClass().getName());
 	}
 
+	/**
+	 * Pass the batch to the writer. Records behind the end-of-monitoring token are not written.
+	 *
+	 * @return false if the batch contained the end-of-monitoring token, true otherwise
+	 */
+	private boolean writeBatch(final List<IMonitoringRecord> batch) {
+		final int size = batch.size();
+		for (int i = 0; i < size; i++) {
+			if (batch.get(i) == END_OF_MONITORING_RECORD) { // NOPMD (compare references by == not by equals())
+				if (i > 0) {
+					this.writer.writeMonitoringRecords(batch.subList(0, i));
+				}
+				return false;
+			}
+		}
+
+		if (size == 1) {
+			this.writer.writeMonitoringRecord(batch.get(0));
+		} else {
+			this.writer.writeMonitoringRecords(batch);
+		}
+		return true;
+	}
+
 	/**
 	 * Initiates the termination of this thread.
 	 */
@@ -0,0 +1,373 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.writer.collector;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.util.classpath.InstantiationFactory;
+import kieker.monitoring.writer.raw.IRawDataWriter;
+import kieker.monitoring.writer.serializer.BinaryChunkBuilder;
+
+/**
+ * Collector which lets each application thread serialize its records into its own pre-allocated off-heap chunk
+ * in the Kieker binary container format. Only complete chunks are passed to the writer thread, which hands them to
+ * the configured {@link IRawDataWriter} without serializing them again. Compared to the writer queue of the
+ * {@link kieker.monitoring.core.controller.WriterController}, application threads do not share a queue per record
+ * but only per chunk.
+ *
+ * <p>
+ * A chunk is published when it is full, or by the writer thread when its first record is older than the
+ * configured maximal chunk age. Java provides no hook for terminating threads. Therefore, the writer thread
+ * publishes the remaining chunk of a terminated thread on its next check, and the remaining chunks of all threads
+ * on termination of the collector.
+ * </p>
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class ThreadLocalChunkCollector {
+
+	private static final String PREFIX = ThreadLocalChunkCollector.class.getName() + ".";
+
+	/** The name of the configuration property for the raw data writer class name. */
+	public static final String CONFIG_WRITER_CLASSNAME = PREFIX + "writer"; // NOCS (afterPREFIX)
+
+	/** The name of the configuration property for the size of a chunk in bytes. */
+	public static final String CONFIG_CHUNK_SIZE = PREFIX + "chunkSize"; // NOCS (afterPREFIX)
+
+	/** The name of the configuration property for the maximal age of a chunk in milliseconds. */
+	public static final String CONFIG_MAX_CHUNK_AGE = PREFIX + "maxChunkAge"; // NOCS (afterPREFIX)
+
+	/** The name of the configuration property for the number of published chunks which may wait for the writer. */
+	public static final String CONFIG_QUEUE_SIZE = PREFIX + "queueSize"; // NOCS (afterPREFIX)
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ThreadLocalChunkCollector.class);
+
+	private static final int DEFAULT_CHUNK_SIZE = 65536;
+	private static final int DEFAULT_MAX_CHUNK_AGE = 500;
+	private static final int DEFAULT_QUEUE_SIZE = 64;
+
+	/** interval in which a blocked publisher re-checks whether the collector has been terminated. */
+	private static final long PUBLISH_RETRY_INTERVAL_MS = 10;
+
+	private static final BinaryChunkBuilder END_OF_CHUNKS = new BinaryChunkBuilder(16);
+
+	private final IRawDataWriter writer;
+	private final int chunkSize;
+	private final long maxChunkAgeNs;
+
+	private final BlockingQueue<BinaryChunkBuilder> publishedChunks;
+	private final Queue<BinaryChunkBuilder> freeChunks = new ConcurrentLinkedQueue<>();
+	private final Queue<ChunkHolder> chunkHolders = new ConcurrentLinkedQueue<>();
+
+	private final ThreadLocal<ChunkHolder> threadLocalChunkHolder = new ThreadLocal<ChunkHolder>() {
+		@Override
+		protected ChunkHolder initialValue() {
+			final ChunkHolder holder = new ChunkHolder(Thread.currentThread());
+			ThreadLocalChunkCollector.this.chunkHolders.add(holder);
+			return holder;
+		}
+	};
+
+	private final Thread writerThread;
+
+	private volatile boolean terminated;
+
+	/**
+	 * Create a thread-local chunk collector.
+	 *
+	 * @param configuration
+	 *            kieker configuration with all parameters
+	 */
+	public ThreadLocalChunkCollector(final Configuration configuration) {
+		this.chunkSize = configuration.getIntProperty(CONFIG_CHUNK_SIZE, DEFAULT_CHUNK_SIZE);
+		this.maxChunkAgeNs = TimeUnit.MILLISECONDS.toNanos(configuration.getIntProperty(CONFIG_MAX_CHUNK_AGE, DEFAULT_MAX_CHUNK_AGE));
+		this.publishedChunks = new ArrayBlockingQueue<>(configuration.getIntProperty(CONFIG_QUEUE_SIZE, DEFAULT_QUEUE_SIZE));
+
+		final String writerName = configuration.getStringProperty(CONFIG_WRITER_CLASSNAME);
+		this.writer = InstantiationFactory.getInstance(configuration).createAndInitialize(IRawDataWriter.class, writerName, configuration);
+
+		this.writerThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				ThreadLocalChunkCollector.this.writeChunks();
+			}
+		}, ThreadLocalChunkCollector.class.getSimpleName());
+		// All Kieker threads must be daemon threads. Otherwise the monitored application can never terminate.
+		this.writerThread.setDaemon(true);
+	}
+
+	/**
+	 * Start the writer thread.
+	 */
+	public void start() {
+		this.writerThread.start();
+	}
+
+	/**
+	 * Initiates the termination of the writer thread. All chunks of all threads are written before it terminates.
+	 */
+	public void terminate() {
+		this.terminated = true;
+		try {
+			this.publishedChunks.put(END_OF_CHUNKS);
+		} catch (final InterruptedException e) {
+			LOGGER.warn("An exception occurred", e);
+		}
+	}
+
+	/**
+	 * Wait for the writer thread to terminate.
+	 *
+	 * @param timeoutInMs
+	 *            timeout in milliseconds
+	 * @throws InterruptedException
+	 *             when interrupted while waiting
+	 */
+	public void waitForTermination(final long timeoutInMs) throws InterruptedException {
+		this.writerThread.join(timeoutInMs);
+	}
+
+	/**
+	 * Serialize the record into the chunk of the calling thread.
+	 *
+	 * @param record
+	 *            the record
+	 * @return false if the record is too large for a chunk or the collector has been terminated, true otherwise
+	 */
+	public boolean insert(final IMonitoringRecord record) {
+		final ChunkHolder holder = this.threadLocalChunkHolder.get();
+		holder.lock.lock();
+		try {
+			if (holder.closed) {
+				return false;
+			}
+			if (holder.chunk == null) {
+				holder.chunk = this.obtainChunk();
+			}
+			if (holder.chunk.isEmpty()) {
+				holder.chunkStartTime = System.nanoTime();
+			}
+			if (holder.chunk.append(record)) {
+				return true;
+			}
+			if (holder.chunk.isEmpty()) {
+				LOGGER.error("Record of type {} does not fit into a chunk of {} bytes.", record.getClass().getName(), this.chunkSize);
+				return false;
+			}
+
+			final BinaryChunkBuilder fullChunk = holder.chunk;
+			holder.chunk = this.obtainChunk();
+			holder.chunkStartTime = System.nanoTime();
+			if (!this.publish(fullChunk)) {
+				return false;
+			}
+			if (holder.chunk.append(record)) {
+				return true;
+			}
+			LOGGER.error("Record of type {} does not fit into a chunk of {} bytes.", record.getClass().getName(), this.chunkSize);
+			return false;
+		} finally {
+			holder.lock.unlock();
+		}
+	}
+
+	private BinaryChunkBuilder obtainChunk() {
+		final BinaryChunkBuilder chunk = this.freeChunks.poll();
+		if (chunk == null) {
+			return new BinaryChunkBuilder(this.chunkSize);
+		} else {
+			return chunk;
+		}
+	}
+
+	private boolean publish(final BinaryChunkBuilder chunk) {
+		try {
+			// block while the writer is behind, but give up when the collector terminates
+			while (!this.publishedChunks.offer(chunk, PUBLISH_RETRY_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+				if (!this.writerThread.isAlive() && this.terminated) {
+					LOGGER.error("Chunk with {} records could not be written, as the collector has been terminated.", chunk.getNumberOfRecords());
+					return false;
+				}
+			}
+			return true;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOGGER.error("Chunk with {} records dropped due to interrupt.", chunk.getNumberOfRecords());
+			return false;
+		}
+	}
+
+	/**
+	 * Main loop of the writer thread.
+	 */
+	private void writeChunks() {
+		this.writer.onInitialization();
+
+		final long checkIntervalNs = Math.max(1, this.maxChunkAgeNs / 2);
+		long nextCheckTime = System.nanoTime() + checkIntervalNs;
+		try {
+			while (true) {
+				final BinaryChunkBuilder chunk = this.publishedChunks.poll(checkIntervalNs, TimeUnit.NANOSECONDS);
+				if (chunk == END_OF_CHUNKS) { // NOPMD (compare references by == not by equals())
+					break;
+				}
+				if (chunk != null) {
+					this.writeChunk(chunk);
+				}
+				final long currentTime = System.nanoTime();
+				if (currentTime >= nextCheckTime) {
+					this.publishExpiredChunks(currentTime);
+					nextCheckTime = currentTime + checkIntervalNs;
+				}
+			}
+		} catch (final InterruptedException e) {
+			LOGGER.debug("{} was interrupted.", this.getClass().getName(), e);
+		}
+
+		this.writeRemainingChunks();
+		this.writer.onTermination();
+	}
+
+	/**
+	 * Publish chunks which are older than the maximal chunk age and chunks of terminated threads. Chunks are
+	 * published via the queue to keep the order of the chunks of each thread. Holders currently used by their
+	 * thread are skipped, as the thread may be waiting for the writer thread.
+	 */
+	private void publishExpiredChunks(final long currentTime) {
+		final Iterator<ChunkHolder> iterator = this.chunkHolders.iterator();
+		while (iterator.hasNext()) {
+			final ChunkHolder holder = iterator.next();
+			if (holder.lock.tryLock()) {
+				try {
+					final boolean threadTerminated = holder.isThreadTerminated();
+					final BinaryChunkBuilder chunk = holder.chunk;
+					if ((chunk != null) && !chunk.isEmpty() && (threadTerminated || ((currentTime - holder.chunkStartTime) >= this.maxChunkAgeNs))) {
+						if (this.publishedChunks.offer(chunk)) {
+							holder.chunk = null;
+						} else {
+							continue; // the queue is full, retry with the next check
+						}
+					}
+					if (threadTerminated) {
+						if (holder.chunk != null) {
+							this.freeChunks.offer(holder.chunk);
+							holder.chunk = null;
+						}
+						holder.closed = true;
+						iterator.remove();
+					}
+				} finally {
+					holder.lock.unlock();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Write the remaining chunks of all threads after termination.
+	 */
+	private void writeRemainingChunks() {
+		for (final ChunkHolder holder : this.chunkHolders) {
+			// threads blocked in publish need the writer to drain the queue before they release their holder
+			while (!holder.lock.tryLock()) {
+				this.writeQueuedChunks();
+				Thread.yield();
+			}
+			try {
+				// earlier chunks of this thread must be written first
+				this.writeQueuedChunks();
+				if ((holder.chunk != null) && !holder.chunk.isEmpty()) {
+					this.writeChunk(holder.chunk);
+				}
+				holder.chunk = null;
+				holder.closed = true;
+			} finally {
+				holder.lock.unlock();
+			}
+		}
+		this.chunkHolders.clear();
+		this.writeQueuedChunks();
+	}
+
+	private void writeQueuedChunks() {
+		BinaryChunkBuilder chunk = this.publishedChunks.poll();
+		while (chunk != null) {
+			if (chunk != END_OF_CHUNKS) { // NOPMD (compare references by == not by equals())
+				this.writeChunk(chunk);
+			}
+			chunk = this.publishedChunks.poll();
+		}
+	}
+
+	/**
+	 * Chunks are sealed by the writer thread, i.e., after they have been removed from their holder.
+	 */
+	private void writeChunk(final BinaryChunkBuilder chunk) {
+		final int size = chunk.seal();
+		this.writer.writeData(chunk.getBuffer(), 0, size);
+		chunk.reset();
+		this.freeChunks.offer(chunk);
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder(128)
+				.append(this.getClass().getName())
+				.append("\n\tChunk size: ").append(this.chunkSize)
+				.append("\n\tMaximal chunk age in ns: ").append(this.maxChunkAgeNs)
+				.append("\n\tWriter: ").append(this.writer.getClass().getName())
+				.toString();
+	}
+
+	/**
+	 * Chunk of a single thread. The lock is only contended when the writer thread publishes an expired chunk.
+	 *
+	 * @author Kieker Project
+	 *
+	 * @since 2.0.0
+	 */
+	private static class ChunkHolder {
+		private final ReentrantLock lock = new ReentrantLock();
+		private final WeakReference<Thread> thread;
+		private BinaryChunkBuilder chunk;
+		private long chunkStartTime;
+		private boolean closed;
+
+		public ChunkHolder(final Thread thread) {
+			this.thread = new WeakReference<>(thread);
+		}
+
+		public boolean isThreadTerminated() {
+			final Thread owner = this.thread.get();
+			return (owner == null) || !owner.isAlive();
+		}
+	}
+}
@@ -31,7 +31,7 @@ import kieker.common.util.filesystem.FSUtil;
  *
  * @since 1.14
  */
-public class BZip2CompressionFilter implements ICompressionFilter {
+public class BZip2CompressionFilter implements IBlockCompressionFilter {
 
 	/**
 	 * Initialize GZipCompression with parameter to adhere Kieker configuration system.
@@ -48,6 +48,11 @@ public class BZip2CompressionFilter implements ICompressionFilter {
 		return new BZip2CompressorOutputStream(outputStream);
 	}
 
+	@Override
+	public OutputStream chainBlockOutputStream(final OutputStream outputStream, final Path fileName, final int blockSize) throws IOException {
+		return new BZip2CompressorOutputStream(outputStream);
+	}
+
 	@Override
 	public String getExtension() {
 		return FSUtil.GZIP_FILE_EXTENSION;
@@ -24,13 +24,13 @@ import kieker.common.configuration.Configuration;
 import kieker.common.util.filesystem.FSUtil;
 
 /**
- * Gzip compression filter for the writer pool.
+ * Gzip compression filter for the writer pool. Concatenated gzip members are read as one stream.
  *
  * @author Reiner Jung
  *
  * @since 1.14
  */
-public class GZipCompressionFilter implements ICompressionFilter {
+public class GZipCompressionFilter implements IBlockCompressionFilter {
 
 	/**
 	 * Initialize GZipCompression with parameter to adhere Kieker configuration system.
@@ -47,6 +47,11 @@ public class GZipCompressionFilter implements ICompressionFilter {
 		return new GZIPOutputStream(outputStream);
 	}
 
+	@Override
+	public OutputStream chainBlockOutputStream(final OutputStream outputStream, final Path fileName, final int blockSize) throws IOException {
+		return new GZIPOutputStream(outputStream);
+	}
+
 	@Override
 	public String getExtension() {
 		return FSUtil.GZIP_FILE_EXTENSION;
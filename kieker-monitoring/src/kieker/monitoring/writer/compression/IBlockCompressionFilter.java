@@ -0,0 +1,50 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.writer.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * Compression filter which can compress a stream in independent blocks. The compressed blocks are concatenated
+ * and must form a valid stream of the compression format, i.e., the format must support concatenated streams.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public interface IBlockCompressionFilter extends ICompressionFilter {
+
+	/**
+	 * Create an output stream compressing a single block.
+	 *
+	 * @param outputStream
+	 *            output stream receiving the compressed block
+	 * @param fileName
+	 *            file name of the log file the block belongs to
+	 * @param blockSize
+	 *            maximal number of bytes written to the block, can be used to limit the resources of the compressor
+	 *
+	 * @return the compression output stream
+	 *
+	 * @throws IOException
+	 *             on stream errors
+	 */
+	OutputStream chainBlockOutputStream(OutputStream outputStream, Path fileName, int blockSize) throws IOException;
+
+}
@@ -54,4 +54,14 @@ public interface ICompressionFilter {
 	 */
 	String getExtension();
 
+	/**
+	 * Release all resources of the filter. Called when the writer terminates. Filters without resources do not need
+	 * to override this method.
+	 *
+	 * @since 2.0.0
+	 */
+	default void close() {
+		// nothing to release
+	}
+
 }
@@ -28,7 +28,7 @@ import kieker.common.configuration.Configuration;
  *
  * @since 1.14
  */
-public class NoneCompressionFilter implements ICompressionFilter {
+public class NoneCompressionFilter implements IBlockCompressionFilter {
 
 	/**
 	 * Initialize pass through "compression" with parameter to adhere Kieker configuration system.
@@ -46,6 +46,11 @@ public class NoneCompressionFilter implements ICompressionFilter {
 
 	}
 
+	@Override
+	public OutputStream chainBlockOutputStream(final OutputStream outputStream, final Path fileName, final int blockSize) throws IOException {
+		return outputStream;
+	}
+
 	@Override
 	public String getExtension() {
 		return null;
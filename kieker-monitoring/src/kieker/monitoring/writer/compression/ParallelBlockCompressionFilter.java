@@ -0,0 +1,144 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.writer.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.util.classpath.InstantiationFactory;
+
+/**
+ * Compression filter which cuts the serialized stream into blocks and compresses them on a small pool of worker
+ * threads, taking the compression off the writer thread. The compressed blocks are written in their original
+ * order. As the compression formats support concatenated streams, the result is a valid compressed log file,
+ * which can be read with the same decompression filter as a file compressed with the wrapped filter.
+ *
+ * <p>
+ * Supported are compression filters implementing {@link IBlockCompressionFilter}, i.e., gzip, XZ and BZip2.
+ * A flush of the stream completes the current block, therefore, flushing after every record produces small
+ * blocks with a poor compression ratio.
+ * </p>
+ *
+ * <p>
+ * The worker threads and the block buffers are shared by all log files written with the filter. The threads are
+ * started with the first log file and stopped by {@link #close()}.
+ * </p>
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class ParallelBlockCompressionFilter implements ICompressionFilter {
+
+	/** The prefix for properties used in this filter. */
+	public static final String PREFIX = ParallelBlockCompressionFilter.class.getName() + ".";
+
+	/** The name of the configuration property for the compression filter used for every block. */
+	public static final String CONFIG_COMPRESSION_FILTER = PREFIX + "compression"; // NOCS (afterPREFIX)
+	/** The name of the configuration property for the block size in bytes. */
+	public static final String CONFIG_BLOCK_SIZE = PREFIX + "blockSize"; // NOCS (afterPREFIX)
+	/** The name of the configuration property for the number of compression threads. */
+	public static final String CONFIG_THREADS = PREFIX + "threads"; // NOCS (afterPREFIX)
+
+	/** default block size 1 MiB. */
+	public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+	/** default number of compression threads. */
+	public static final int DEFAULT_THREADS = 2;
+
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+	private final IBlockCompressionFilter blockCompressionFilter;
+	private final int blockSize;
+	private final int threads;
+	private final BlockingQueue<byte[]> blockPool;
+	private ExecutorService executor;
+
+	/**
+	 * Initialize the parallel block compression with parameter to adhere Kieker configuration system.
+	 *
+	 * @param configuration
+	 *            Kieker configuration object
+	 */
+	public ParallelBlockCompressionFilter(final Configuration configuration) {
+		final String compressionFilterClassName = configuration.getStringProperty(CONFIG_COMPRESSION_FILTER,
+				GZipCompressionFilter.class.getName());
+		final ICompressionFilter compressionFilter = InstantiationFactory.getInstance(configuration)
+				.createAndInitialize(ICompressionFilter.class, compressionFilterClassName, configuration);
+		if (!(compressionFilter instanceof IBlockCompressionFilter)) {
+			throw new IllegalArgumentException("Compression filter " + compressionFilterClassName
+					+ " cannot compress independent blocks.");
+		}
+		this.blockCompressionFilter = (IBlockCompressionFilter) compressionFilter;
+		this.blockSize = configuration.getIntProperty(CONFIG_BLOCK_SIZE, DEFAULT_BLOCK_SIZE);
+		this.threads = configuration.getIntProperty(CONFIG_THREADS, DEFAULT_THREADS);
+		if (this.blockSize <= 0) {
+			throw new IllegalArgumentException("Block size must be positive, but is " + this.blockSize);
+		}
+		if (this.threads <= 0) {
+			throw new IllegalArgumentException("Number of compression threads must be positive, but is " + this.threads);
+		}
+		// blocks in progress plus the block currently filled by the writer
+		this.blockPool = new ArrayBlockingQueue<>(ParallelBlockCompressionOutputStream.maxPendingBlocks(this.threads) + 1);
+	}
+
+	@Override
+	public OutputStream chainOutputStream(final OutputStream outputStream, final Path fileName) throws IOException {
+		return new ParallelBlockCompressionOutputStream(outputStream, fileName, this.blockCompressionFilter, this.blockSize, this.threads,
+				this.getExecutor(), this.blockPool);
+	}
+
+	@Override
+	public String getExtension() {
+		return this.blockCompressionFilter.getExtension();
+	}
+
+	/**
+	 * Stop the compression threads. All streams created by this filter must have been closed before.
+	 */
+	@Override
+	public synchronized void close() {
+		if (this.executor != null) {
+			this.executor.shutdown();
+			this.executor = null; // NOPMD (a later stream starts new threads)
+		}
+		this.blockPool.clear();
+	}
+
+	private synchronized ExecutorService getExecutor() {
+		if (this.executor == null) {
+			this.executor = Executors.newFixedThreadPool(this.threads, new ThreadFactory() {
+
+				@Override
+				public Thread newThread(final Runnable runnable) {
+					final Thread thread = new Thread(runnable, "kieker-block-compression-" + THREAD_COUNTER.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return this.executor;
+	}
+
+}
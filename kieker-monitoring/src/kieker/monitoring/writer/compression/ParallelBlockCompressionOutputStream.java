@@ -0,0 +1,201 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.writer.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Output stream collecting the written data in blocks, which are compressed by a pool of worker threads. The
+ * compressed blocks are written to the underlying stream in the order of the blocks. At most two blocks per
+ * thread are in progress; when the limit is reached, writing blocks until the oldest block is compressed. Block
+ * buffers are taken from a pool and returned to it once their block is compressed.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+class ParallelBlockCompressionOutputStream extends OutputStream {
+
+	private final OutputStream outputStream;
+	private final Path fileName;
+	private final IBlockCompressionFilter blockCompressionFilter;
+	private final int blockSize;
+	private final int maxPendingBlocks;
+	private final ExecutorService executor;
+	private final BlockingQueue<byte[]> blockPool;
+	private final Deque<Future<ByteArrayOutputStream>> pendingBlocks = new ArrayDeque<>();
+
+	private byte[] block;
+	private int count;
+	private boolean blockWritten;
+	private boolean closed;
+
+	/**
+	 * Create a parallel block compression stream.
+	 *
+	 * @param outputStream
+	 *            stream receiving the compressed blocks
+	 * @param fileName
+	 *            file name of the log file
+	 * @param blockCompressionFilter
+	 *            compression filter used for every block
+	 * @param blockSize
+	 *            size of a block in bytes
+	 * @param threads
+	 *            number of compression threads
+	 * @param executor
+	 *            executor running the compression threads
+	 * @param blockPool
+	 *            pool of unused block buffers
+	 */
+	ParallelBlockCompressionOutputStream(final OutputStream outputStream, final Path fileName,
+			final IBlockCompressionFilter blockCompressionFilter, final int blockSize, final int threads, final ExecutorService executor,
+			final BlockingQueue<byte[]> blockPool) {
+		this.outputStream = outputStream;
+		this.fileName = fileName;
+		this.blockCompressionFilter = blockCompressionFilter;
+		this.blockSize = blockSize;
+		this.maxPendingBlocks = ParallelBlockCompressionOutputStream.maxPendingBlocks(threads);
+		this.executor = executor;
+		this.blockPool = blockPool;
+		this.block = this.obtainBlock();
+	}
+
+	/**
+	 * Compute the number of blocks a stream may have in progress.
+	 *
+	 * @param threads
+	 *            number of compression threads
+	 * @return maximal number of blocks in progress
+	 */
+	static int maxPendingBlocks(final int threads) {
+		return 2 * threads;
+	}
+
+	@Override
+	public void write(final int value) throws IOException {
+		if (this.count == this.blockSize) {
+			this.submitBlock();
+		}
+		this.block[this.count++] = (byte) value;
+	}
+
+	@Override
+	public void write(final byte[] data, final int offset, final int length) throws IOException {
+		int position = offset;
+		int remaining = length;
+		while (remaining > 0) {
+			if (this.count == this.blockSize) {
+				this.submitBlock();
+			}
+			final int chunk = Math.min(remaining, this.blockSize - this.count);
+			System.arraycopy(data, position, this.block, this.count, chunk);
+			this.count += chunk;
+			position += chunk;
+			remaining -= chunk;
+		}
+	}
+
+	/**
+	 * Completes the current block and writes all compressed blocks to the underlying stream.
+	 */
+	@Override
+	public void flush() throws IOException {
+		if (this.count > 0) {
+			this.submitBlock();
+		}
+		while (!this.pendingBlocks.isEmpty()) {
+			this.writeOldestBlock();
+		}
+		this.outputStream.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (this.closed) {
+			return;
+		}
+		this.closed = true;
+		try {
+			if (!this.blockWritten && (this.count == 0)) {
+				this.submitBlock(); // an empty log file is still a valid compressed stream
+			}
+			this.flush();
+		} finally {
+			this.blockPool.offer(this.block);
+			this.outputStream.close();
+		}
+	}
+
+	private void submitBlock() throws IOException {
+		final byte[] data = this.block;
+		final int length = this.count;
+		this.pendingBlocks.addLast(this.executor.submit(new Callable<ByteArrayOutputStream>() {
+
+			@Override
+			public ByteArrayOutputStream call() throws IOException {
+				try {
+					return ParallelBlockCompressionOutputStream.this.compress(data, length);
+				} finally {
+					ParallelBlockCompressionOutputStream.this.blockPool.offer(data);
+				}
+			}
+		}));
+		this.blockWritten = true;
+		this.block = this.obtainBlock();
+		this.count = 0;
+
+		while (!this.pendingBlocks.isEmpty() && (this.pendingBlocks.peekFirst().isDone() || this.pendingBlocks.size() > this.maxPendingBlocks)) {
+			this.writeOldestBlock();
+		}
+	}
+
+	private byte[] obtainBlock() {
+		final byte[] pooledBlock = this.blockPool.poll();
+		return (pooledBlock != null) ? pooledBlock : new byte[this.blockSize]; // NOCS (inline conditional)
+	}
+
+	private ByteArrayOutputStream compress(final byte[] data, final int length) throws IOException {
+		final ByteArrayOutputStream compressedBlock = new ByteArrayOutputStream(Math.max(length / 2, 32));
+		try (OutputStream compressionStream = this.blockCompressionFilter.chainBlockOutputStream(compressedBlock, this.fileName, this.blockSize)) {
+			compressionStream.write(data, 0, length);
+		}
+		return compressedBlock;
+	}
+
+	private void writeOldestBlock() throws IOException {
+		try {
+			this.pendingBlocks.removeFirst().get().writeTo(this.outputStream);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for block compression.");
+		} catch (final ExecutionException e) {
+			throw new IOException("Block compression failed.", e.getCause());
+		}
+	}
+}
@@ -34,7 +34,7 @@ import kieker.common.util.filesystem.FSUtil;
  *
  * @since 1.14
  */
-public class XZCompressionFilter implements ICompressionFilter {
+public class XZCompressionFilter implements IBlockCompressionFilter {
 
 	/**
 	 * Initialize XZCompression with parameter to adhere Kieker configuration system.
@@ -52,6 +52,18 @@ public class XZCompressionFilter implements ICompressionFilter {
 		return new XZOutputStream(outputStream, filterOptions);
 	}
 
+	/**
+	 * Create a compression stream for a single block. A dictionary larger than the block does not improve the
+	 * compression, therefore, the dictionary is limited to the block size, which reduces the memory footprint of
+	 * the encoder considerably.
+	 */
+	@Override
+	public OutputStream chainBlockOutputStream(final OutputStream outputStream, final Path fileName, final int blockSize) throws IOException {
+		final LZMA2Options filterOptions = new LZMA2Options(LZMA2Options.PRESET_MAX);
+		filterOptions.setDictSize(Math.max(LZMA2Options.DICT_SIZE_MIN, Math.min(filterOptions.getDictSize(), blockSize)));
+		return new XZOutputStream(outputStream, filterOptions);
+	}
+
 	@Override
 	public String getExtension() {
 		return FSUtil.XZ_FILE_EXTENSION;
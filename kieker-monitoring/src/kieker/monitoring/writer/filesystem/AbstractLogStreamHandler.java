@@ -20,7 +20,9 @@ import java.io.OutputStream;
 import java.nio.channels.Channels;
 import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import kieker.common.record.IMonitoringRecord;
 import kieker.common.record.io.IValueSerializer;
@@ -52,6 +54,9 @@ public abstract class AbstractLogStreamHandler {
 
 	protected String extension;
 
+	/** true while a batch is serialized, per record flushes are deferred to the end of the batch. */
+	protected boolean batchInProgress;
+
 	/**
 	 * Create an abstract log stream handler.
 	 *
@@ -91,6 +96,52 @@ public abstract class AbstractLogStreamHandler {
 		this.numOfEntries = 0;
 	}
 
+	/**
+	 * Initialize a new stream writing to a new file.
+	 *
+	 * @param logFile
+	 *            path of the log file, the file must not exist
+	 *
+	 * @throws IOException
+	 *             when the creation of the file or channel fails
+	 *
+	 * @since 2.0.0
+	 */
+	public void initialize(final Path logFile) throws IOException {
+		this.initialize(Files.newOutputStream(logFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE),
+				logFile.getFileName());
+	}
+
+	/**
+	 * Close the current log file and continue with the next file of the given pool.
+	 *
+	 * @param logFilePoolHandler
+	 *            pool providing the next log file
+	 *
+	 * @throws IOException
+	 *             on io error
+	 *
+	 * @since 2.0.0
+	 */
+	public void rollOver(final ILogFilePoolHandler logFilePoolHandler) throws IOException {
+		this.close();
+		this.initialize(logFilePoolHandler.requestFile());
+	}
+
+	/**
+	 * Check whether the given record fits into the current log file. Handlers without size limit always
+	 * return true.
+	 *
+	 * @param record
+	 *            record to be written
+	 * @return true if the record can be written to the current log file
+	 *
+	 * @since 2.0.0
+	 */
+	public boolean hasSpace(final IMonitoringRecord record) { // NOPMD (record used by subclasses)
+		return true;
+	}
+
 	/**
 	 * Return the number of written entries.
 	 *
@@ -134,6 +185,31 @@ public abstract class AbstractLogStreamHandler {
 		}
 	}
 
+	/**
+	 * Start serializing a batch of records. Until {@link #finishBatch()} is called, the handler does
+	 * not flush the log file after each record.
+	 *
+	 * @since 2.0.0
+	 */
+	public void startBatch() {
+		this.batchInProgress = true;
+	}
+
+	/**
+	 * Finish serializing a batch of records and flush the log file once if flushing is enabled.
+	 *
+	 * @throws IOException
+	 *             on io error
+	 *
+	 * @since 2.0.0
+	 */
+	public void finishBatch() throws IOException {
+		this.batchInProgress = false;
+		if (this.flushLogFile) {
+			this.serializedStream.flush();
+		}
+	}
+
 	/**
 	 * Serialize a record.
 	 *
@@ -115,7 +115,7 @@ public class BinaryLogStreamHandler extends AbstractLogStreamHandler {
 				WriterUtil.close(this.outputChannel, LOGGER);
 			}
 
-			if (this.flushLogFile) {
+			if (this.flushLogFile && !this.batchInProgress) {
 				this.serializedStream.flush();
 			}
 		}
@@ -20,7 +20,8 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -100,6 +101,7 @@ public class FileWriter extends AbstractMonitoringWriter implements IRegistryLis
 	private final IMapFileHandler mapFileHandler;
 	private final ILogFilePoolHandler logFilePoolHandler;
 	private final AbstractLogStreamHandler logStreamHandler;
+	private final ICompressionFilter compressionFilter;
 	private final long maxBytesInFile;
 	private final WriterRegistry writerRegistry;
 	private final String logFolderName; // this is only here to convey the log file name to the toString method.
@@ -156,7 +158,7 @@ public class FileWriter extends AbstractMonitoringWriter implements IRegistryLis
 		/** get compression filter main data. */
 		final String compressionFilterClassName = configuration.getStringProperty(FileWriter.CONFIG_COMPRESSION_FILTER,
 				NoneCompressionFilter.class.getName());
-		final ICompressionFilter compressionFilter = InstantiationFactory.getInstance(configuration)
+		this.compressionFilter = InstantiationFactory.getInstance(configuration)
 				.createAndInitialize(ICompressionFilter.class, compressionFilterClassName, configuration);
 
 		/** get map file handler. */
@@ -171,23 +173,39 @@ public class FileWriter extends AbstractMonitoringWriter implements IRegistryLis
 				TextLogStreamHandler.class.getName());
 		final Class<?>[] logHandlerSignature = { Boolean.class, Integer.class, Charset.class, ICompressionFilter.class,
 			WriterRegistry.class };
-		this.logStreamHandler = InstantiationFactory.getInstance(configuration).create(AbstractLogStreamHandler.class,
-				logHandlerClassName, logHandlerSignature, flushLogFile, bufferSize, charset, compressionFilter,
+		this.logStreamHandler = FileWriter.createHandler(AbstractLogStreamHandler.class, logHandlerClassName,
+				configuration, logHandlerSignature, flushLogFile, bufferSize, charset, this.compressionFilter,
 				this.writerRegistry);
 
 		/** get log file handler. */
 		final String logFilePoolHandlerClassName = configuration
 				.getStringProperty(FileWriter.CONFIG_LOG_POOL_FILE_HANDLER, RotatingLogFilePoolHandler.class.getName());
 		final Class<?>[] logFilePoolHandlerSignature = { Path.class, String.class, Integer.class, };
-		this.logFilePoolHandler = InstantiationFactory.getInstance(configuration).create(ILogFilePoolHandler.class,
-				logFilePoolHandlerClassName, logFilePoolHandlerSignature, logFolder,
-				this.logStreamHandler.getFileExtension(), maxAmountOfFiles);
+		this.logFilePoolHandler = FileWriter.createHandler(ILogFilePoolHandler.class, logFilePoolHandlerClassName,
+				configuration, logFilePoolHandlerSignature, logFolder, this.logStreamHandler.getFileExtension(),
+				maxAmountOfFiles);
 
-		final Path outputFile = this.logFilePoolHandler.requestFile();
+		this.logStreamHandler.initialize(this.logFilePoolHandler.requestFile());
+	}
 
-		this.logStreamHandler.initialize(
-				Files.newOutputStream(outputFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE),
-				outputFile.getFileName());
+	/**
+	 * Create a handler using the given constructor signature. Handlers which accept the writer configuration as
+	 * additional last constructor parameter are created with that constructor.
+	 */
+	private static <C> C createHandler(final Class<C> handlerType, final String className,
+			final Configuration configuration, final Class<?>[] signature, final Object... parameters) {
+		final Class<?>[] configurableSignature = Arrays.copyOf(signature, signature.length + 1);
+		configurableSignature[signature.length] = Configuration.class;
+		try {
+			Class.forName(className).getConstructor(configurableSignature);
+		} catch (final ClassNotFoundException | NoSuchMethodException e) { // NOPMD (use the default signature)
+			return InstantiationFactory.getInstance(configuration).create(handlerType, className, signature,
+					parameters);
+		}
+		final Object[] configurableParameters = Arrays.copyOf(parameters, parameters.length + 1);
+		configurableParameters[parameters.length] = configuration;
+		return InstantiationFactory.getInstance(configuration).create(handlerType, className, configurableSignature,
+				configurableParameters);
 	}
 
 	@Override
@@ -206,6 +224,8 @@ public class FileWriter extends AbstractMonitoringWriter implements IRegistryLis
 			this.createNewLogFile();
 		} else if (this.logStreamHandler.getNumOfBytes() >= this.maxBytesInFile) {
 			this.createNewLogFile();
+		} else if (!this.logStreamHandler.hasSpace(record)) {
+			this.createNewLogFile();
 		}
 
 		final String recordClassName = record.getClass().getName();
@@ -218,15 +238,24 @@ public class FileWriter extends AbstractMonitoringWriter implements IRegistryLis
 		}
 	}
 
+	@Override
+	public void writeMonitoringRecords(final List<IMonitoringRecord> records) {
+		this.logStreamHandler.startBatch();
+		final int size = records.size();
+		for (int i = 0; i < size; i++) {
+			this.writeMonitoringRecord(records.get(i));
+		}
+		try {
+			this.logStreamHandler.finishBatch();
+		} catch (final IOException e) {
+			FileWriter.LOGGER.error("Flushing the log file failed.", e);
+		}
+	}
+
 	private void createNewLogFile() {
 		try {
 			// request new file.
-			this.logStreamHandler.close();
-			final Path outputFile = this.logFilePoolHandler.requestFile();
-
-			this.logStreamHandler.initialize(
-					Files.newOutputStream(outputFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE),
-					outputFile.getFileName());
+			this.logStreamHandler.rollOver(this.logFilePoolHandler);
 		} catch (final IOException ex) {
 			FileWriter.LOGGER.error("Switching files in logger failed.", ex);
 		}
@@ -236,9 +265,12 @@ public class FileWriter extends AbstractMonitoringWriter implements IRegistryLis
 	public void onTerminating() {
 		try {
 			this.logStreamHandler.close();
+			this.logFilePoolHandler.close();
 			this.mapFileHandler.close();
 		} catch (final IOException ex) {
 			FileWriter.LOGGER.error("Closing logger failed.", ex);
+		} finally {
+			this.compressionFilter.close();
 		}
 	}
 
@@ -25,6 +25,7 @@ import java.nio.file.Path;
  * - Path location
  * - String file extension prefixed by a dot
  * - Integer with the max amount of files
+ * - optionally the Kieker configuration of the writer
  *
  * @author Reiner Jung
  *
@@ -41,4 +42,14 @@ public interface ILogFilePoolHandler {
 	 */
 	Path requestFile();
 
+	/**
+	 * Release all resources of the handler. Called when the writer terminates. Handlers without resources do not
+	 * need to override this method.
+	 *
+	 * @since 2.0.0
+	 */
+	default void close() {
+		// nothing to release
+	}
+
 }
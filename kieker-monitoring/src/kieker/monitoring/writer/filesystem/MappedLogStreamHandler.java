@@ -0,0 +1,245 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.writer.filesystem;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.BinaryValueSerializer;
+import kieker.common.registry.writer.WriterRegistry;
+import kieker.common.util.filesystem.FSUtil;
+import kieker.common.util.thread.DaemonThreadFactory;
+import kieker.monitoring.writer.compression.ICompressionFilter;
+import kieker.monitoring.writer.compression.NoneCompressionFilter;
+
+/**
+ * Binary log stream handler which writes records directly into a memory mapped log file (segment). The format
+ * of the log file is identical to the {@link BinaryLogStreamHandler}. The handler maps the whole file, which
+ * should be pre-allocated by the {@link PreallocatedLogFilePoolHandler}. Files which are empty are extended to the
+ * configured segment size.
+ *
+ * <p>
+ * When rolling over to the next segment, the previous segment is forced to disk, truncated to its actual size
+ * and closed in the background. As records are visible to other processes as soon as they are written to the
+ * mapping, the flush option of the writer is ignored. Instead, the segment is forced to disk in the background
+ * according to the force interval. Compression is not supported.
+ * </p>
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class MappedLogStreamHandler extends AbstractLogStreamHandler {
+
+	public static final String PREFIX = MappedLogStreamHandler.class.getName() + ".";
+
+	/**
+	 * The name of the configuration determining the interval in milliseconds in which the current segment is forced to
+	 * disk. With 0 or less, segments are only forced when they are closed.
+	 */
+	public static final String CONFIG_FORCE_INTERVAL = PREFIX + "forceInterval"; // NOCS (afterPREFIX)
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MappedLogStreamHandler.class);
+
+	/** type id and logging timestamp. */
+	private static final int RECORD_HEADER_SIZE = 4 + 8;
+
+	/** number of records after which the force interval is checked. */
+	private static final int FORCE_CHECK_MASK = 1023;
+
+	private final long segmentSize;
+	private final long forceIntervalNs;
+	private final ExecutorService segmentExecutor;
+
+	private FileChannel channel;
+	private MappedByteBuffer segment;
+
+	private long nextForceTime;
+	private Future<?> pendingForce;
+
+	/**
+	 * Create a mapped log stream handler.
+	 *
+	 * @param flushLogFile
+	 *            ignored, see class description
+	 * @param bufferSize
+	 *            ignored, the segment is used as buffer
+	 * @param charset
+	 *            charset, presently not used in binary serialization
+	 * @param compressionFilter
+	 *            compression filter, only the {@link NoneCompressionFilter} is supported
+	 * @param writerRegistry
+	 *            writer registry
+	 * @param configuration
+	 *            writer configuration
+	 */
+	public MappedLogStreamHandler(final Boolean flushLogFile, final Integer bufferSize, final Charset charset, // NOPMD charset not used in binary
+			final ICompressionFilter compressionFilter, final WriterRegistry writerRegistry, final Configuration configuration) {
+		super(flushLogFile, bufferSize, charset, compressionFilter, writerRegistry);
+		if (!(compressionFilter instanceof NoneCompressionFilter)) {
+			LOGGER.warn("Compression is not supported by {} and is ignored.", MappedLogStreamHandler.class.getSimpleName());
+		}
+		this.extension = FSUtil.BINARY_FILE_EXTENSION;
+		this.segmentSize = PreallocatedLogFilePoolHandler.getSegmentSize(configuration);
+		this.forceIntervalNs = TimeUnit.MILLISECONDS.toNanos(configuration.getIntProperty(CONFIG_FORCE_INTERVAL, 0));
+		this.segmentExecutor = Executors.newSingleThreadExecutor(new DaemonThreadFactory());
+	}
+
+	/**
+	 * Not supported, as the handler requires a file to map.
+	 */
+	@Override
+	public void initialize(final OutputStream serializedOutputStream, final Path fileName) throws IOException {
+		throw new UnsupportedOperationException("The mapped log stream handler requires a file.");
+	}
+
+	@Override
+	public void initialize(final Path logFile) throws IOException {
+		this.channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		long size = this.channel.size();
+		if (size == 0) {
+			size = this.segmentSize;
+		}
+		if (size > Integer.MAX_VALUE) {
+			size = Integer.MAX_VALUE;
+		}
+		this.segment = this.channel.map(MapMode.READ_WRITE, 0, size);
+		this.serializer = BinaryValueSerializer.create(this.segment, this.writerRegistry);
+		this.numOfEntries = 0;
+		this.numOfBytes = 0;
+		this.nextForceTime = System.nanoTime() + this.forceIntervalNs;
+	}
+
+	/**
+	 * Map the next segment and close the previous segment in the background.
+	 */
+	@Override
+	public void rollOver(final ILogFilePoolHandler logFilePoolHandler) throws IOException {
+		final FileChannel previousChannel = this.channel;
+		final MappedByteBuffer previousSegment = this.segment;
+		final int previousSize = previousSegment.position();
+
+		this.initialize(logFilePoolHandler.requestFile());
+
+		this.segmentExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				MappedLogStreamHandler.closeSegment(previousChannel, previousSegment, previousSize);
+			}
+		});
+	}
+
+	@Override
+	public boolean hasSpace(final IMonitoringRecord record) {
+		return (RECORD_HEADER_SIZE + record.getSize()) <= this.segment.remaining();
+	}
+
+	@Override
+	public void serialize(final IMonitoringRecord record, final int id) throws IOException {
+		if (!this.hasSpace(record)) {
+			throw new IOException("Record of type " + record.getClass().getName() + " does not fit into a segment.");
+		}
+
+		this.segment.putInt(id);
+		this.segment.putLong(record.getLoggingTimestamp());
+		record.serialize(this.serializer);
+
+		this.numOfEntries++;
+		this.numOfBytes = this.segment.position();
+
+		if (((this.numOfEntries & FORCE_CHECK_MASK) == 0) && !this.batchInProgress) {
+			this.forceIfDue();
+		}
+	}
+
+	@Override
+	public void finishBatch() throws IOException {
+		this.batchInProgress = false;
+		this.forceIfDue();
+	}
+
+	/**
+	 * Force the current segment to disk in the background, if the force interval has expired and no
+	 * force is pending.
+	 */
+	private void forceIfDue() {
+		if (this.forceIntervalNs <= 0) {
+			return;
+		}
+		final long currentTime = System.nanoTime();
+		if ((currentTime >= this.nextForceTime) && ((this.pendingForce == null) || this.pendingForce.isDone())) {
+			final MappedByteBuffer currentSegment = this.segment;
+			this.pendingForce = this.segmentExecutor.submit(new Runnable() {
+				@Override
+				public void run() {
+					currentSegment.force();
+				}
+			});
+			this.nextForceTime = currentTime + this.forceIntervalNs;
+		}
+	}
+
+	/**
+	 * Close the current segment and wait until all previous segments have been closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.segmentExecutor.shutdown();
+		try {
+			if (!this.segmentExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS)) {
+				LOGGER.warn("Closing previous segments did not finish.");
+			}
+		} catch (final InterruptedException e) {
+			LOGGER.warn("Waiting for previous segments to be closed was interrupted.", e);
+		}
+		MappedLogStreamHandler.closeSegment(this.channel, this.segment, this.segment.position());
+	}
+
+	/**
+	 * Force the segment to disk and truncate the file to the size actually used. The segment must not be accessed
+	 * afterwards.
+	 */
+	private static void closeSegment(final FileChannel segmentChannel, final MappedByteBuffer mappedSegment, final int size) {
+		try {
+			mappedSegment.force();
+			segmentChannel.truncate(size);
+			segmentChannel.close();
+		} catch (final IOException e) {
+			LOGGER.error("Closing segment failed.", e);
+		}
+	}
+
+	@Override
+	public String getFileExtension() {
+		return this.extension;
+	}
+}
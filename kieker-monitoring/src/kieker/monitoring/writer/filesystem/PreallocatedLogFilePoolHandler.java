@@ -0,0 +1,190 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.writer.filesystem;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.util.filesystem.FSUtil;
+import kieker.common.util.thread.DaemonThreadFactory;
+
+/**
+ * Rotating log file pool handler which creates each log file as a segment of fixed size ahead of time.
+ * While the writer fills one segment, the next segment is created and allocated in the background. The
+ * segments are meant to be used with the {@link MappedLogStreamHandler}, which maps them into memory and
+ * truncates them to their actual size when they are closed. Like the {@link RotatingLogFilePoolHandler},
+ * there is a maximum limit on files.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class PreallocatedLogFilePoolHandler implements ILogFilePoolHandler {
+
+	public static final String PREFIX = PreallocatedLogFilePoolHandler.class.getName() + ".";
+
+	/** The name of the configuration determining the size of a segment in MiB. */
+	public static final String CONFIG_SEGMENT_SIZE = PREFIX + "segmentSize"; // NOCS (afterPREFIX)
+
+	/** Default size of a segment in MiB. */
+	public static final int DEFAULT_SEGMENT_SIZE = 64;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PreallocatedLogFilePoolHandler.class);
+
+	private static final String TIME_ZONE = "UTC";
+	private static final Locale LOCALE = Locale.US;
+
+	private final List<Path> logFiles = new ArrayList<>();
+
+	private final SimpleDateFormat dateFormatter;
+
+	private final Path location;
+	private int counter; // only used by the preparing thread
+	private final String fileExtensionWithDot;
+	private final int maxAmountOfFiles;
+	private final long segmentSize;
+
+	private final ExecutorService preparingExecutor;
+	private Future<Path> nextFile;
+
+	/**
+	 * Create a new pool handler and start preparing the first segment.
+	 *
+	 * @param location
+	 *            log folder
+	 * @param extension
+	 *            file extension prefixed by a dot
+	 * @param maxAmountOfFiles
+	 *            maximal number of files kept in the log folder
+	 * @param configuration
+	 *            writer configuration
+	 */
+	public PreallocatedLogFilePoolHandler(final Path location, final String extension, final Integer maxAmountOfFiles,
+			final Configuration configuration) {
+		this.dateFormatter = new SimpleDateFormat("yyyyMMdd'-'HHmmssSSS", LOCALE);
+		this.dateFormatter.setTimeZone(TimeZone.getTimeZone(TIME_ZONE));
+
+		this.maxAmountOfFiles = maxAmountOfFiles;
+		this.location = location;
+		this.fileExtensionWithDot = extension;
+		this.segmentSize = PreallocatedLogFilePoolHandler.getSegmentSize(configuration);
+
+		this.preparingExecutor = Executors.newSingleThreadExecutor(new DaemonThreadFactory());
+		this.nextFile = this.prepareNextFile();
+	}
+
+	/**
+	 * Determine the configured segment size.
+	 *
+	 * @param configuration
+	 *            writer configuration
+	 * @return segment size in bytes
+	 */
+	public static long getSegmentSize(final Configuration configuration) {
+		final int segmentSizeInMiB = configuration.getIntProperty(CONFIG_SEGMENT_SIZE, DEFAULT_SEGMENT_SIZE);
+		return ((segmentSizeInMiB <= 0) ? DEFAULT_SEGMENT_SIZE : segmentSizeInMiB) * 1024L * 1024L; // NOCS
+	}
+
+	@Override
+	public Path requestFile() {
+		final Path logFile = this.awaitFile(this.nextFile);
+		this.nextFile = this.prepareNextFile();
+
+		this.logFiles.add(logFile);
+		if (this.logFiles.size() > this.maxAmountOfFiles) {
+			final Path oldestFile = this.logFiles.remove(0);
+			try {
+				Files.delete(oldestFile);
+			} catch (final IOException e) {
+				LOGGER.warn("Cannot delete oldest file.", e);
+			}
+		}
+
+		return logFile;
+	}
+
+	/**
+	 * Stops preparing segments and removes the segment prepared last, as it has not been handed out.
+	 */
+	@Override
+	public void close() {
+		final Path unusedFile = this.awaitFile(this.nextFile);
+		this.preparingExecutor.shutdown();
+		try {
+			Files.deleteIfExists(unusedFile);
+		} catch (final IOException e) {
+			LOGGER.warn("Cannot delete unused segment {}.", unusedFile, e);
+		}
+	}
+
+	private Future<Path> prepareNextFile() {
+		return this.preparingExecutor.submit(new Callable<Path>() {
+			@Override
+			public Path call() {
+				return PreallocatedLogFilePoolHandler.this.createSegment();
+			}
+		});
+	}
+
+	private Path awaitFile(final Future<Path> file) {
+		try {
+			return file.get();
+		} catch (final InterruptedException | ExecutionException e) {
+			throw new IllegalStateException("Preparing the next log file failed.", e);
+		}
+	}
+
+	/**
+	 * Create the next segment. If the segment cannot be allocated, the path is returned anyway and the
+	 * stream handler creates the file on demand.
+	 */
+	private Path createSegment() {
+		this.counter++;
+
+		final String fileName = String.format(LOCALE, "%s-%s-%s-%03d%s",
+				FSUtil.FILE_PREFIX, this.dateFormatter.format(new Date()), TIME_ZONE, this.counter, this.fileExtensionWithDot);
+		final Path logFile = this.location.resolve(fileName);
+
+		try {
+			Files.createFile(logFile);
+			try (RandomAccessFile file = new RandomAccessFile(logFile.toFile(), "rw")) {
+				file.setLength(this.segmentSize);
+			}
+		} catch (final IOException e) {
+			LOGGER.error("Cannot allocate segment {}.", logFile, e);
+		}
+
+		return logFile;
+	}
+}
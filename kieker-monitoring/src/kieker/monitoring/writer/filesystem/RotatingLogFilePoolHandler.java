@@ -86,5 +86,4 @@ public class RotatingLogFilePoolHandler implements ILogFilePoolHandler {
 
 		return logFile;
 	}
-
 }
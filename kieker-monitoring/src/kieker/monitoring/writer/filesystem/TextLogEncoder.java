@@ -0,0 +1,357 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.writer.filesystem;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+import kieker.common.record.io.IValueSerializer;
+
+/**
+ * Encodes records in the Kieker DAT format directly into a reusable byte buffer. Numbers are formatted and
+ * strings are encoded without intermediate strings. When the buffer is full, it is handed to the drain, which
+ * writes it out. The output is byte-identical to encoding the output of the {@link kieker.common.record.io.TextValueSerializer}
+ * with the given charset.
+ *
+ * <p>
+ * The encoder only supports charsets which encode the ASCII characters as single bytes, see {@link #isSupported(Charset)}.
+ * Other characters are encoded with a reusable {@link CharsetEncoder}. Float and double values are still formatted
+ * via {@link Float#toString(float)} and {@link Double#toString(double)} to retain their exact representation.
+ * </p>
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public final class TextLogEncoder implements IValueSerializer {
+
+	/** minimal buffer size, ensures that the charset encoder can always make progress. */
+	public static final int MIN_BUFFER_SIZE = 64;
+
+	private static final int ASCII_LIMIT = 0x80;
+	private static final int CHAR_CHUNK_SIZE = 256;
+	/** characters of Long.MIN_VALUE incl. sign. */
+	private static final int MAX_LONG_DIGITS = 20;
+
+	private static final byte SEPARATOR = ';';
+	private static final byte RECORD_START = '$';
+	private static final byte[] TRUE = { 't', 'r', 'u', 'e' };
+	private static final byte[] FALSE = { 'f', 'a', 'l', 's', 'e' };
+	private static final byte[] LONG_MIN_VALUE = { '-', '9', '2', '2', '3', '3', '7', '2', '0', '3', '6', '8', '5', '4', '7', '7', '5', '8', '0', '8' };
+
+	private final ByteBuffer buffer;
+	private final IBufferDrain drain;
+	private final byte[] lineSeparator;
+	private final CharsetEncoder charsetEncoder;
+	private final CharBuffer charChunk = CharBuffer.allocate(CHAR_CHUNK_SIZE);
+	private final byte[] digits = new byte[MAX_LONG_DIGITS];
+
+	/**
+	 * Create a text log encoder.
+	 *
+	 * @param bufferSize
+	 *            size of the byte buffer, at least {@link #MIN_BUFFER_SIZE} bytes are used
+	 * @param charset
+	 *            charset used to encode strings, must be supported by the encoder
+	 * @param drain
+	 *            drain called when the buffer is full
+	 */
+	public TextLogEncoder(final int bufferSize, final Charset charset, final IBufferDrain drain) {
+		if (!TextLogEncoder.isSupported(charset)) {
+			throw new IllegalArgumentException("Charset " + charset.name() + " does not encode ASCII characters as single bytes.");
+		}
+		this.buffer = ByteBuffer.allocate(Math.max(bufferSize, MIN_BUFFER_SIZE));
+		this.drain = drain;
+		this.lineSeparator = System.lineSeparator().getBytes(charset);
+		this.charsetEncoder = charset.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	/**
+	 * Check whether the charset can be used by the encoder, i.e., it is stateless and encodes every ASCII
+	 * character as the byte with the same value. This holds, e.g., for UTF-8, ISO-8859-1 and US-ASCII, but not
+	 * for UTF-16.
+	 *
+	 * @param charset
+	 *            the charset
+	 * @return true if the charset is supported
+	 */
+	public static boolean isSupported(final Charset charset) {
+		if (!charset.canEncode()) {
+			return false;
+		}
+		final char[] ascii = new char[ASCII_LIMIT];
+		for (int i = 0; i < ASCII_LIMIT; i++) {
+			ascii[i] = (char) i;
+		}
+		final byte[] encoded = new String(ascii).getBytes(charset);
+		if (encoded.length != ASCII_LIMIT) {
+			return false;
+		}
+		for (int i = 0; i < ASCII_LIMIT; i++) {
+			if (encoded[i] != i) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the buffer of the encoder, contains the encoded data between the start of the buffer and its position
+	 */
+	public ByteBuffer getBuffer() {
+		return this.buffer;
+	}
+
+	/**
+	 * Start a new record with the record header consisting of type id and logging timestamp.
+	 *
+	 * @param id
+	 *            type id of the record
+	 * @param loggingTimestamp
+	 *            logging timestamp of the record
+	 */
+	public void startRecord(final int id, final long loggingTimestamp) {
+		this.write(RECORD_START);
+		this.putDecimal(id);
+		this.write(SEPARATOR);
+		this.putDecimal(loggingTimestamp);
+	}
+
+	/**
+	 * Terminate a record with the line separator.
+	 */
+	public void endRecord() {
+		this.write(this.lineSeparator, 0, this.lineSeparator.length);
+	}
+
+	@Override
+	public void putBoolean(final boolean value) {
+		this.write(SEPARATOR);
+		if (value) {
+			this.write(TRUE, 0, TRUE.length);
+		} else {
+			this.write(FALSE, 0, FALSE.length);
+		}
+	}
+
+	@Override
+	public void putByte(final byte value) {
+		this.write(SEPARATOR);
+		this.putDecimal(value);
+	}
+
+	@Override
+	public void putChar(final char value) {
+		this.write(SEPARATOR);
+		if (value < ASCII_LIMIT) {
+			this.write((byte) value);
+		} else {
+			this.charsetEncoder.reset();
+			this.charChunk.clear();
+			this.charChunk.put(value);
+			this.charChunk.flip();
+			this.encodeChars(this.charChunk, true);
+			this.flushCharsetEncoder();
+		}
+	}
+
+	@Override
+	public void putShort(final short value) { // NOPMD
+		this.write(SEPARATOR);
+		this.putDecimal(value);
+	}
+
+	@Override
+	public void putInt(final int value) {
+		this.write(SEPARATOR);
+		this.putDecimal(value);
+	}
+
+	@Override
+	public void putLong(final long value) {
+		this.write(SEPARATOR);
+		this.putDecimal(value);
+	}
+
+	@Override
+	public void putFloat(final float value) {
+		this.write(SEPARATOR);
+		this.putAscii(Float.toString(value));
+	}
+
+	@Override
+	public void putDouble(final double value) {
+		this.write(SEPARATOR);
+		this.putAscii(Double.toString(value));
+	}
+
+	@Override
+	public void putBytes(final byte[] value) {
+		this.write(SEPARATOR);
+		this.putAscii(String.valueOf(value));
+	}
+
+	@Override
+	public void putString(final String value) {
+		this.write(SEPARATOR);
+		if (value != null) {
+			this.putChars(value);
+		}
+	}
+
+	@Override
+	public <T extends Enum<T>> void putEnumeration(final T value) {
+		this.write(SEPARATOR);
+		this.putDecimal(value.ordinal());
+	}
+
+	private void write(final byte value) {
+		if (!this.buffer.hasRemaining()) {
+			this.drain.drain(this.buffer);
+		}
+		this.buffer.put(value);
+	}
+
+	private void write(final byte[] value, final int offset, final int length) {
+		int start = offset;
+		int remaining = length;
+		while (remaining > this.buffer.remaining()) {
+			final int chunk = this.buffer.remaining();
+			this.buffer.put(value, start, chunk);
+			start += chunk;
+			remaining -= chunk;
+			this.drain.drain(this.buffer);
+		}
+		this.buffer.put(value, start, remaining);
+	}
+
+	/**
+	 * Format a number like {@link Long#toString(long)}.
+	 */
+	private void putDecimal(final long value) {
+		if (value == Long.MIN_VALUE) { // cannot be negated
+			this.write(LONG_MIN_VALUE, 0, LONG_MIN_VALUE.length);
+			return;
+		}
+		long remainder = value < 0 ? -value : value; // NOCS
+		int start = MAX_LONG_DIGITS;
+		do {
+			this.digits[--start] = (byte) ('0' + (remainder % 10));
+			remainder /= 10;
+		} while (remainder != 0);
+		if (value < 0) {
+			this.digits[--start] = '-';
+		}
+		this.write(this.digits, start, MAX_LONG_DIGITS - start);
+	}
+
+	/**
+	 * Put a string only containing ASCII characters.
+	 */
+	private void putAscii(final String value) {
+		for (int i = 0; i < value.length(); i++) {
+			this.write((byte) value.charAt(i));
+		}
+	}
+
+	/**
+	 * Put the characters of a string. Leading ASCII characters are copied to the backing array of the buffer, the
+	 * remainder of the string is passed to the charset encoder when it contains other characters.
+	 */
+	private void putChars(final String value) {
+		final int length = value.length();
+		final byte[] bytes = this.buffer.array();
+		int position = this.buffer.position();
+		int limit = this.buffer.limit();
+		int index = 0;
+		while (index < length) {
+			final char character = value.charAt(index);
+			if (character >= ASCII_LIMIT) {
+				break;
+			}
+			if (position == limit) {
+				this.buffer.position(position);
+				this.drain.drain(this.buffer);
+				position = this.buffer.position();
+				limit = this.buffer.limit();
+			}
+			bytes[position++] = (byte) character;
+			index++;
+		}
+		this.buffer.position(position);
+
+		if (index < length) {
+			this.encodeRemainder(value, index);
+		}
+	}
+
+	private void encodeRemainder(final String value, final int offset) {
+		final int length = value.length();
+		int index = offset;
+		this.charsetEncoder.reset();
+		this.charChunk.clear();
+		while (index < length) {
+			final int chunk = Math.min(this.charChunk.remaining(), length - index);
+			value.getChars(index, index + chunk, this.charChunk.array(), this.charChunk.position());
+			this.charChunk.position(this.charChunk.position() + chunk);
+			index += chunk;
+			this.charChunk.flip();
+			this.encodeChars(this.charChunk, index == length);
+			this.charChunk.compact(); // keeps a high surrogate split from its low surrogate
+		}
+		this.flushCharsetEncoder();
+	}
+
+	private void encodeChars(final CharBuffer chars, final boolean endOfInput) {
+		CoderResult result = this.charsetEncoder.encode(chars, this.buffer, endOfInput);
+		while (result.isOverflow()) {
+			this.drain.drain(this.buffer);
+			result = this.charsetEncoder.encode(chars, this.buffer, endOfInput);
+		}
+	}
+
+	private void flushCharsetEncoder() {
+		while (this.charsetEncoder.flush(this.buffer).isOverflow()) {
+			this.drain.drain(this.buffer);
+		}
+	}
+
+	/**
+	 * Drain for the encoded data.
+	 *
+	 * @author Kieker Project
+	 *
+	 * @since 2.0.0
+	 */
+	public interface IBufferDrain {
+
+		/**
+		 * Write out the encoded data of the buffer. The buffer contains the data between its start and position.
+		 * After the call the buffer must be cleared.
+		 *
+		 * @param buffer
+		 *            the buffer
+		 */
+		void drain(ByteBuffer buffer);
+	}
+}
@@ -16,6 +16,7 @@
 package kieker.monitoring.writer.filesystem;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 
@@ -33,6 +34,13 @@ import kieker.monitoring.writer.compression.ICompressionFilter;
  * Create log files following the Kieker DAT format of semicolon separated values.
  * The handler supports compression.
  *
+ * <p>
+ * For charsets encoding ASCII characters as single bytes, e.g., UTF-8, records are encoded by a
+ * {@link TextLogEncoder} into a reusable byte buffer, which is written when it is full, when the
+ * log file is flushed or closed. Other charsets use a {@link TextValueSerializer} and encode
+ * every record separately.
+ * </p>
+ *
  * @author Reiner Jung
  *
  * @since 1.14
@@ -45,6 +53,7 @@ public class TextLogStreamHandler extends AbstractLogStreamHandler {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(TextLogStreamHandler.class);
 
+	private final TextLogEncoder encoder;
 	private final CharBuffer buffer;
 
 	/**
@@ -65,13 +74,92 @@ public class TextLogStreamHandler extends AbstractLogStreamHandler {
 			final WriterRegistry writerRegistry) { // NOPMD writerRegistry is API and not used for text serialization
 		super(flushLogFile, bufferSize, charset, compressionFilter, writerRegistry);
 
-		this.buffer = CharBuffer.allocate(bufferSize);
-		this.serializer = TextValueSerializer.create(this.buffer);
+		if (TextLogEncoder.isSupported(charset)) {
+			this.encoder = new TextLogEncoder(bufferSize, charset, new TextLogEncoder.IBufferDrain() {
+
+				@Override
+				public void drain(final ByteBuffer encodedBuffer) {
+					TextLogStreamHandler.this.writeBuffer(encodedBuffer);
+				}
+			});
+			this.buffer = null;
+			this.serializer = this.encoder;
+		} else {
+			this.encoder = null;
+			this.buffer = CharBuffer.allocate(bufferSize);
+			this.serializer = TextValueSerializer.create(this.buffer);
+		}
 		this.extension = FSUtil.DAT_FILE_EXTENSION;
 	}
 
 	@Override
 	public void serialize(final IMonitoringRecord record, final int id) throws IOException {
+		if (this.encoder == null) {
+			this.serializeAndEncode(record, id);
+			return;
+		}
+
+		this.encoder.startRecord(id, record.getLoggingTimestamp());
+		record.serialize(this.encoder);
+		this.encoder.endRecord();
+		this.numOfEntries++;
+
+		if (this.flushLogFile && !this.batchInProgress) {
+			this.writeBuffer(this.encoder.getBuffer());
+			this.serializedStream.flush();
+		}
+	}
+
+	@Override
+	public void finishBatch() throws IOException {
+		if ((this.encoder != null) && this.flushLogFile) {
+			this.writeBuffer(this.encoder.getBuffer());
+		}
+		super.finishBatch();
+	}
+
+	/**
+	 * Return the number of bytes written to the channel or pending in the buffer of the encoder.
+	 *
+	 * @return number of bytes
+	 */
+	@Override
+	public long getNumOfBytes() {
+		if (this.encoder != null) {
+			return this.numOfBytes + this.encoder.getBuffer().position();
+		}
+		return this.numOfBytes;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (this.encoder != null) {
+			this.writeBuffer(this.encoder.getBuffer());
+			this.serializedStream.flush();
+		}
+		super.close();
+	}
+
+	/**
+	 * Write the encoded data of the buffer to the channel and clear the buffer.
+	 *
+	 * @param encodedBuffer
+	 *            buffer of the encoder
+	 */
+	private void writeBuffer(final ByteBuffer encodedBuffer) {
+		encodedBuffer.flip();
+		try {
+			while (encodedBuffer.hasRemaining()) {
+				this.numOfBytes += this.outputChannel.write(encodedBuffer);
+			}
+		} catch (final IOException e) {
+			LOGGER.error("Caught exception while writing to the channel.", e);
+			WriterUtil.close(this.outputChannel, LOGGER);
+		}
+		encodedBuffer.clear();
+	}
+
+	private void serializeAndEncode(final IMonitoringRecord record, final int id) throws IOException {
 		final String header = String.format("$%d;%d", id, record.getLoggingTimestamp());
 
 		this.buffer.put(header);
@@ -89,7 +177,7 @@ public class TextLogStreamHandler extends AbstractLogStreamHandler {
 			this.numOfEntries++;
 
 			this.buffer.clear();
-			if (this.flushLogFile) {
+			if (this.flushLogFile && !this.batchInProgress) {
 				this.serializedStream.flush();
 			}
 		} catch (final IOException e) {
@@ -0,0 +1,182 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.writer.serializer;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.BinaryValueSerializer;
+import kieker.common.record.io.IValueSerializer;
+
+/**
+ * Builds a chunk in the Kieker binary container format record by record. The resulting chunk is identical to
+ * the output of {@link BinarySerializer#serializeRecords(java.util.Collection, ByteBuffer)} for the same records,
+ * but the records are serialized when they are appended instead of when the chunk is written. The chunk is kept
+ * in a pre-allocated direct buffer and can be reused after {@link #reset()}.
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public final class BinaryChunkBuilder {
+
+	/** container identifier and format identifier. */
+	private static final int HEADER_SIZE = 8;
+	/** type name id and logging timestamp of each record. */
+	private static final int RECORD_HEADER_SIZE = 4 + 8;
+	/** maximal size of the variable length encoded number of strings and of the record data size. */
+	private static final int TRAILER_SIZE = 5 + 4;
+	/** maximal size of a variable length encoded string length. */
+	private static final int STRING_LENGTH_SIZE = 5;
+
+	private final ByteBuffer buffer;
+	private final SerializerStringRegistry stringRegistry;
+	private final IValueSerializer valueSerializer;
+
+	/** upper bound of the size of the encoded string registry. */
+	private int stringDataSize;
+	private int numberOfRecords;
+	private boolean sealed;
+
+	/**
+	 * Create a new chunk builder.
+	 *
+	 * @param capacity
+	 *            size of the chunk in bytes
+	 */
+	public BinaryChunkBuilder(final int capacity) {
+		this.buffer = ByteBuffer.allocateDirect(capacity);
+		this.stringRegistry = new SerializerStringRegistry();
+		this.valueSerializer = BinaryValueSerializer.create(this.buffer, this.stringRegistry);
+		this.reset();
+	}
+
+	/**
+	 * Serialize the record into the chunk.
+	 *
+	 * @param record
+	 *            record to append
+	 * @return true if the record has been added, false if the chunk has not enough space left for the record
+	 */
+	public boolean append(final IMonitoringRecord record) {
+		if (this.sealed) {
+			throw new IllegalStateException("Chunk has already been sealed.");
+		}
+		final int recordPosition = this.buffer.position();
+		if ((recordPosition + RECORD_HEADER_SIZE + record.getSize() + this.stringDataSize + TRAILER_SIZE) > this.buffer.capacity()) {
+			return false;
+		}
+
+		final int numberOfStrings = this.stringRegistry.getValues().size();
+
+		this.buffer.putInt(this.stringRegistry.getId(record.getClass().getName()));
+		this.buffer.putLong(record.getLoggingTimestamp());
+		record.serialize(this.valueSerializer);
+
+		final int newStringDataSize = this.stringDataSize + this.computeStringDataSize(numberOfStrings);
+		if ((this.buffer.position() + newStringDataSize + TRAILER_SIZE) > this.buffer.capacity()) {
+			// the strings of the record do not fit, drop the record
+			this.buffer.position(recordPosition);
+			this.stringRegistry.truncate(numberOfStrings);
+			return false;
+		}
+
+		this.stringDataSize = newStringDataSize;
+		this.numberOfRecords++;
+		return true;
+	}
+
+	private int computeStringDataSize(final int firstNewString) {
+		final List<String> values = this.stringRegistry.getValues();
+		int size = 0;
+		for (int i = firstNewString; i < values.size(); i++) {
+			size += STRING_LENGTH_SIZE + BinaryChunkBuilder.utf8Length(values.get(i));
+		}
+		return size;
+	}
+
+	private static int utf8Length(final String value) {
+		int length = 0;
+		for (int i = 0; i < value.length(); i++) {
+			final char ch = value.charAt(i);
+			if (ch < 0x80) {
+				length++;
+			} else if (ch < 0x800) {
+				length += 2;
+			} else if (Character.isHighSurrogate(ch)) {
+				length += 4;
+				i++; // NOPMD (skip low surrogate)
+			} else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * Append the string registry and the trailer to the chunk. Afterwards, no more records can be appended
+	 * until the chunk is reset.
+	 *
+	 * @return the size of the chunk in bytes, the chunk starts at offset 0 of {@link #getBuffer()}
+	 */
+	public int seal() {
+		if (!this.sealed) {
+			final int recordDataSize = this.buffer.position() - HEADER_SIZE;
+			BinarySerializer.encodeStringRegistry(this.stringRegistry, this.buffer);
+			this.buffer.putInt(recordDataSize);
+			this.sealed = true;
+		}
+		return this.buffer.position();
+	}
+
+	/**
+	 * Discard the content of the chunk and start a new one.
+	 */
+	public void reset() {
+		this.buffer.clear();
+		this.buffer.putInt(AbstractContainerFormatSerializer.CONTAINER_IDENTIFIER);
+		this.buffer.putInt(BinarySerializer.FORMAT_IDENTIFIER);
+		this.stringRegistry.truncate(0);
+		this.stringDataSize = 0;
+		this.numberOfRecords = 0;
+		this.sealed = false;
+	}
+
+	public boolean isEmpty() {
+		return this.numberOfRecords == 0;
+	}
+
+	public int getNumberOfRecords() {
+		return this.numberOfRecords;
+	}
+
+	public boolean isSealed() {
+		return this.sealed;
+	}
+
+	/**
+	 * @return the buffer holding the chunk, only valid after {@link #seal()}
+	 */
+	public ByteBuffer getBuffer() {
+		return this.buffer;
+	}
+}
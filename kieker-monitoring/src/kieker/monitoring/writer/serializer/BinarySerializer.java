@@ -70,7 +70,7 @@ public class BinarySerializer extends AbstractContainerFormatSerializer {
 		final int recordDataSize = this.encodeRecords(records, buffer, stringRegistry);
 
 		// Encode the string registry
-		final int stringDataSize = this.encodeStringRegistry(stringRegistry, buffer);
+		final int stringDataSize = BinarySerializer.encodeStringRegistry(stringRegistry, buffer);
 
 		// Append both lengths to the chunk
 		buffer.putInt(recordDataSize);
@@ -98,7 +98,16 @@ public class BinarySerializer extends AbstractContainerFormatSerializer {
 		return (offsetAfter - offsetBefore);
 	}
 
-	private int encodeStringRegistry(final SerializerStringRegistry registry, final ByteBuffer buffer) {
+	/**
+	 * Encode the strings of the given registry in the order of their IDs.
+	 *
+	 * @param registry
+	 *            per-chunk string registry
+	 * @param buffer
+	 *            buffer to write to
+	 * @return the number of bytes written
+	 */
+	static int encodeStringRegistry(final SerializerStringRegistry registry, final ByteBuffer buffer) {
 		final List<String> allStrings = registry.getValues();
 
 		final int offsetBefore = buffer.position();
@@ -66,6 +66,19 @@ class SerializerStringRegistry implements IWriterRegistry<String> {
 		return this.values;
 	}
 
+	/**
+	 * Removes all values with an ID greater or equal to the given size. This allows to drop the strings of
+	 * a record which did not fit into a chunk, and to reuse the registry for the next chunk.
+	 *
+	 * @param size
+	 *            the number of values to keep
+	 */
+	void truncate(final int size) {
+		for (int id = this.values.size() - 1; id >= size; id--) {
+			this.valueToIdMap.remove(this.values.remove(id));
+		}
+	}
+
 	@Override
 	public void register(final String value) {
 		final int newId = this.values.size();
@@ -21,6 +21,7 @@ import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -113,6 +114,30 @@ public class DualSocketTcpWriter extends AbstractMonitoringWriter implements IRe
 
 	@Override
 	public void writeMonitoringRecord(final IMonitoringRecord monitoringRecord) {
+		this.serializeRecord(monitoringRecord);
+
+		if (this.flush) {
+			WriterUtil.flushBuffer(this.recordBuffer, this.monitoringRecordChannel, LOGGER);
+		}
+	}
+
+	/**
+	 * Serializes the whole batch into the record buffer and flushes at most once at the end of the batch,
+	 * instead of once per record. Buffer overflows are still flushed as they occur.
+	 */
+	@Override
+	public void writeMonitoringRecords(final List<IMonitoringRecord> records) {
+		final int size = records.size();
+		for (int i = 0; i < size; i++) {
+			this.serializeRecord(records.get(i));
+		}
+
+		if (this.flush) {
+			WriterUtil.flushBuffer(this.recordBuffer, this.monitoringRecordChannel, LOGGER);
+		}
+	}
+
+	private void serializeRecord(final IMonitoringRecord monitoringRecord) {
 		final ByteBuffer buffer = this.recordBuffer;
 		final int requiredBufferSize = 4 + 8 + monitoringRecord.getSize();
 		if (requiredBufferSize > buffer.remaining()) {
@@ -124,10 +149,6 @@ public class DualSocketTcpWriter extends AbstractMonitoringWriter implements IRe
 		this.serializer.putString(recordClassName);
 		this.serializer.putLong(monitoringRecord.getLoggingTimestamp());
 		monitoringRecord.serialize(this.serializer);
-
-		if (this.flush) {
-			WriterUtil.flushBuffer(buffer, this.monitoringRecordChannel, LOGGER);
-		}
 	}
 
 	@Override
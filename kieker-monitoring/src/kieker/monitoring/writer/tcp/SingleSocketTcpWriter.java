@@ -24,6 +24,7 @@ import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
@@ -173,12 +174,32 @@ public class SingleSocketTcpWriter extends AbstractMonitoringWriter implements I
 
 	@Override
 	public void writeMonitoringRecord(final IMonitoringRecord monitoringRecord) {
-		final ByteBuffer recordBuffer = this.buffer;
-		if ((4 + 8 + monitoringRecord.getSize()) > recordBuffer.remaining()) {
-			// Always flush the registryBuffer before flushing the recordBuffer. Otherwise
-			// the monitoring records could arrive before their string records
-			WriterUtil.flushBuffer(this.registryBuffer, this.socketChannel, LOGGER);
-			WriterUtil.flushBuffer(recordBuffer, this.socketChannel, LOGGER);
+		this.serializeRecord(monitoringRecord);
+
+		if (this.flush) {
+			this.flushBuffers();
+		}
+	}
+
+	/**
+	 * Serializes the whole batch into the buffer and flushes at most once at the end of the batch,
+	 * instead of once per record. Buffer overflows are still flushed as they occur.
+	 */
+	@Override
+	public void writeMonitoringRecords(final List<IMonitoringRecord> records) {
+		final int size = records.size();
+		for (int i = 0; i < size; i++) {
+			this.serializeRecord(records.get(i));
+		}
+
+		if (this.flush) {
+			this.flushBuffers();
+		}
+	}
+
+	private void serializeRecord(final IMonitoringRecord monitoringRecord) {
+		if ((4 + 8 + monitoringRecord.getSize()) > this.buffer.remaining()) {
+			this.flushBuffers();
 		}
 
 		final String recordClassName = monitoringRecord.getClass().getName();
@@ -186,13 +207,13 @@ public class SingleSocketTcpWriter extends AbstractMonitoringWriter implements I
 		this.serializer.putString(recordClassName);
 		this.serializer.putLong(monitoringRecord.getLoggingTimestamp());
 		monitoringRecord.serialize(this.serializer);
+	}
 
-		if (this.flush) {
-			// Always flush the registryBuffer before flushing the recordBuffer. Otherwise
-			// the monitoring records could arrive before their string records
-			WriterUtil.flushBuffer(this.registryBuffer, this.socketChannel, LOGGER);
-			WriterUtil.flushBuffer(recordBuffer, this.socketChannel, LOGGER);
-		}
+	private void flushBuffers() {
+		// Always flush the registryBuffer before flushing the recordBuffer. Otherwise
+		// the monitoring records could arrive before their string records
+		WriterUtil.flushBuffer(this.registryBuffer, this.socketChannel, LOGGER);
+		WriterUtil.flushBuffer(this.buffer, this.socketChannel, LOGGER);
 	}
 
 	@Override
@@ -216,10 +237,7 @@ public class SingleSocketTcpWriter extends AbstractMonitoringWriter implements I
 
 	@Override
 	public void onTerminating() {
-		// Always flush the registryBuffer before flushing the recordBuffer. Otherwise
-		// the monitoring records could arrive before their string records
-		WriterUtil.flushBuffer(this.registryBuffer, this.socketChannel, LOGGER);
-		WriterUtil.flushBuffer(this.buffer, this.socketChannel, LOGGER);
+		this.flushBuffers();
 		WriterUtil.close(this.socketChannel, LOGGER);
 	}
 }
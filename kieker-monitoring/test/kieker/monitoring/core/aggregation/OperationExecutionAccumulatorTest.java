@@ -0,0 +1,144 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.core.aggregation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.common.record.controlflow.OperationExecutionAggregationRecord;
+
+/**
+ * Test the operation execution accumulator and its histogram.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class OperationExecutionAccumulatorTest {
+
+	private static final String OPERATION_SIGNATURE = "public void example.Class.do(String)";
+	private static final String HOSTNAME = "host";
+
+	/** accumulator test. */
+	public OperationExecutionAccumulatorTest() {
+		// nothing to be done on construction of the test
+	}
+
+	/** Each value must lie within its bucket and buckets must be contiguous. */
+	@Test
+	public void testBuckets() {
+		long lowerBound = 0;
+		for (int i = 0; i < OperationExecutionAccumulator.BUCKET_COUNT; i++) {
+			final long upperBound = OperationExecutionAccumulator.bucketUpperBound(i);
+			Assert.assertEquals("lower bound " + i, i, OperationExecutionAccumulator.bucketIndex(lowerBound));
+			Assert.assertEquals("upper bound " + i, i, OperationExecutionAccumulator.bucketIndex(upperBound));
+			lowerBound = upperBound + 1;
+		}
+		Assert.assertEquals("last bucket", Long.MAX_VALUE,
+				OperationExecutionAccumulator.bucketUpperBound(OperationExecutionAccumulator.BUCKET_COUNT - 1));
+	}
+
+	/** Aggregates must be exact for counters and within the bucket error for percentiles. */
+	@Test
+	public void testFlush() {
+		final OperationExecutionAccumulator accumulator = new OperationExecutionAccumulator();
+		for (long i = 1; i <= 1000; i++) {
+			accumulator.record(i * 1000);
+		}
+
+		final OperationExecutionAggregationRecord record = accumulator.flush(OPERATION_SIGNATURE, HOSTNAME, 10, 20);
+		Assert.assertEquals("signature", OPERATION_SIGNATURE, record.getOperationSignature());
+		Assert.assertEquals("hostname", HOSTNAME, record.getHostname());
+		Assert.assertEquals("timestamp", 10, record.getTimestamp());
+		Assert.assertEquals("duration", 20, record.getDuration());
+		Assert.assertEquals("count", 1000, record.getCount());
+		Assert.assertEquals("total", 500500000L, record.getTotalResponseTime());
+		Assert.assertEquals("min", 1000, record.getMinResponseTime());
+		Assert.assertEquals("max", 1000000, record.getMaxResponseTime());
+		this.assertPercentile("median", 500000, record.getMedianResponseTime());
+		this.assertPercentile("p90", 900000, record.getP90ResponseTime());
+		this.assertPercentile("p99", 990000, record.getP99ResponseTime());
+		this.assertPercentile("p999", 999000, record.getP999ResponseTime());
+	}
+
+	/** A flush must reset the accumulator. */
+	@Test
+	public void testReset() {
+		final OperationExecutionAccumulator accumulator = new OperationExecutionAccumulator();
+		accumulator.record(5000);
+		accumulator.record(-1);
+		Assert.assertEquals("first interval", 2, accumulator.flush(OPERATION_SIGNATURE, HOSTNAME, 0, 1).getCount());
+		Assert.assertNull("empty interval", accumulator.flush(OPERATION_SIGNATURE, HOSTNAME, 1, 1));
+
+		accumulator.record(7);
+		final OperationExecutionAggregationRecord record = accumulator.flush(OPERATION_SIGNATURE, HOSTNAME, 2, 1);
+		Assert.assertEquals("count", 1, record.getCount());
+		Assert.assertEquals("min", 7, record.getMinResponseTime());
+		Assert.assertEquals("max", 7, record.getMaxResponseTime());
+		Assert.assertEquals("median", 7, record.getMedianResponseTime());
+	}
+
+	/** Concurrent flushes must neither lose executions nor split them between intervals. */
+	@Test
+	public void testConcurrentFlush() throws InterruptedException {
+		final OperationExecutionAccumulator accumulator = new OperationExecutionAccumulator();
+		final int threadCount = 4;
+		final int executions = 100000;
+		final long responseTime = 1000;
+		final Thread[] threads = new Thread[threadCount];
+		for (int t = 0; t < threadCount; t++) {
+			threads[t] = new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					for (int i = 0; i < executions; i++) {
+						accumulator.record(responseTime);
+					}
+				}
+			});
+			threads[t].start();
+		}
+
+		long calls = 0;
+		boolean running = true;
+		while (running) {
+			running = false;
+			for (final Thread thread : threads) {
+				running |= thread.isAlive();
+			}
+			final OperationExecutionAggregationRecord record = accumulator.flush(OPERATION_SIGNATURE, HOSTNAME, 0, 1);
+			if (record != null) {
+				Assert.assertEquals("total", record.getCount() * responseTime, record.getTotalResponseTime());
+				Assert.assertEquals("min", responseTime, record.getMinResponseTime());
+				Assert.assertEquals("max", responseTime, record.getMaxResponseTime());
+				calls += record.getCount();
+			}
+		}
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+		final OperationExecutionAggregationRecord record = accumulator.flush(OPERATION_SIGNATURE, HOSTNAME, 0, 1);
+		if (record != null) {
+			calls += record.getCount();
+		}
+		Assert.assertEquals("calls", (long) threadCount * executions, calls);
+	}
+
+	private void assertPercentile(final String message, final long expected, final long actual) {
+		Assert.assertTrue(message + " " + actual, (actual >= expected) && (actual <= (expected + (expected / 8))));
+	}
+}
@@ -28,6 +28,7 @@ import org.junit.Test;
 import kieker.common.configuration.Configuration;
 import kieker.monitoring.core.configuration.ConfigurationConstants;
 import kieker.monitoring.core.configuration.ConfigurationFactory;
+import kieker.monitoring.probe.aspectj.CachedProbeSignature;
 
 /**
  * Test probe controller.
@@ -105,6 +106,27 @@ public class ProbeControllerTest {
 		Assert.assertTrue("Probe should be actived for " + OTHER_OPERATION_SIGNATURE, this.controller.isProbeActivated(OTHER_OPERATION_SIGNATURE));
 	}
 
+	/**
+	 * Test method for {@link kieker.monitoring.core.controller.ProbeController#getProbePatternVersion()}.
+	 */
+	@Test
+	public void testProbePatternVersion() {
+		final CachedProbeSignature cachedSignature = new CachedProbeSignature(OPERATION_SIGNATURE);
+
+		this.controller.activateProbe(OPERATION_SIGNATURE);
+		final long version = this.controller.getProbePatternVersion();
+		Assert.assertTrue("Probe should be actived for " + OPERATION_SIGNATURE, cachedSignature.isProbeActivated(this.controller));
+
+		this.controller.deactivateProbe(OPERATION_SIGNATURE);
+		Assert.assertNotEquals("Pattern version must change", version, this.controller.getProbePatternVersion());
+		Assert.assertFalse("Cached probe should be deactived for " + OPERATION_SIGNATURE, cachedSignature.isProbeActivated(this.controller));
+
+		final List<String> patternList = new ArrayList<>();
+		patternList.add("+" + OPERATION_SIGNATURE);
+		this.controller.setProbePatternList(patternList, false);
+		Assert.assertTrue("Cached probe should be actived for " + OPERATION_SIGNATURE, cachedSignature.isProbeActivated(this.controller));
+	}
+
 	/**
 	 * Test method for {@link kieker.monitoring.core.controller.ProbeController#getProbePatternList()}.
 	 */
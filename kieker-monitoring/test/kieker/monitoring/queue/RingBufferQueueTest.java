@@ -0,0 +1,114 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+package kieker.monitoring.queue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.monitoring.queue.waitstrategy.ParkWaitStrategy;
+import kieker.monitoring.queue.waitstrategy.YieldWaitStrategy;
+
+/**
+ * Test the multi-producer single-consumer ring buffer.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class RingBufferQueueTest {
+
+	private static final int PRODUCERS = 4;
+	private static final int ELEMENTS_PER_PRODUCER = 10000;
+
+	/** test constructor. */
+	public RingBufferQueueTest() {
+		// nothing to be done here
+	}
+
+	/** The capacity is rounded up to the next power of two and offer fails when the buffer is full. */
+	@Test
+	public void testCapacity() {
+		final RingBufferQueue<Integer> queue = new RingBufferQueue<>(3, new YieldWaitStrategy());
+		Assert.assertEquals("Wrong capacity", 4, queue.getCapacity());
+		for (int i = 0; i < 4; i++) {
+			Assert.assertTrue("Offer must succeed", queue.offer(i));
+		}
+		Assert.assertFalse("Offer on a full ring buffer must fail", queue.offer(4));
+		Assert.assertEquals("Wrong size", 4, queue.size());
+
+		Assert.assertEquals("Wrong element", Integer.valueOf(0), queue.poll());
+		Assert.assertTrue("Offer must succeed after poll", queue.offer(4));
+
+		final List<Integer> batch = new ArrayList<>();
+		Assert.assertEquals("Wrong number of drained elements", 4, queue.drainTo(batch));
+		Assert.assertEquals("Wrong order", Arrays.asList(1, 2, 3, 4), batch);
+		Assert.assertNull("Ring buffer must be empty", queue.poll());
+	}
+
+	/**
+	 * Several producers insert concurrently while one consumer drains batches. All elements must arrive
+	 * and the order of the elements of each producer must be preserved.
+	 *
+	 * @throws InterruptedException
+	 *             on thread issues
+	 */
+	@Test
+	public void testConcurrentProducers() throws InterruptedException {
+		final RingBufferQueue<int[]> queue = new RingBufferQueue<>(64, new ParkWaitStrategy());
+		final Thread[] producers = new Thread[PRODUCERS];
+		for (int p = 0; p < PRODUCERS; p++) {
+			final int producer = p;
+			producers[p] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int i = 0; i < ELEMENTS_PER_PRODUCER; i++) {
+							queue.put(new int[] { producer, i });
+						}
+					} catch (final InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			});
+			producers[p].start();
+		}
+
+		final int[] lastValues = new int[PRODUCERS];
+		Arrays.fill(lastValues, -1);
+		final List<int[]> batch = new ArrayList<>();
+		int received = 0;
+		while (received < (PRODUCERS * ELEMENTS_PER_PRODUCER)) {
+			batch.clear();
+			if (queue.drainTo(batch, 16) == 0) {
+				batch.add(queue.take());
+			}
+			for (final int[] element : batch) {
+				Assert.assertEquals("Wrong order for producer " + element[0], lastValues[element[0]] + 1, element[1]);
+				lastValues[element[0]] = element[1];
+				received++;
+			}
+		}
+
+		for (final Thread producer : producers) {
+			producer.join();
+		}
+		Assert.assertTrue("Ring buffer must be empty", queue.isEmpty());
+	}
+}
@@ -17,6 +17,8 @@
 package kieker.monitoring.writer;
 
 import java.lang.Thread.State;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
@@ -79,6 +81,30 @@ public class MonitoringWriterThreadTest {
 		Assert.assertThat(thread.getState(), CoreMatchers.is(State.TERMINATED));
 	}
 
+	@Test
+	public void testBatchDraining() throws Exception {
+		final BatchCollectingWriter writer = new BatchCollectingWriter(new Configuration());
+		final BlockingQueue<IMonitoringRecord> writerQueue = new LinkedBlockingQueue<>();
+
+		final List<IMonitoringRecord> records = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			final IMonitoringRecord record = new EmptyRecord();
+			records.add(record);
+			writerQueue.add(record);
+		}
+
+		final MonitoringWriterThread thread = new MonitoringWriterThread(writer, writerQueue, 4);
+		thread.terminate(); // records after the end-of-monitoring token are not written
+		writerQueue.add(new EmptyRecord());
+
+		thread.start();
+		thread.join(THREAD_STATE_CHANGE_TIMEOUT_IN_MS);
+
+		Assert.assertThat(thread.getState(), CoreMatchers.is(State.TERMINATED));
+		Assert.assertEquals(records, writer.getRecords());
+		Assert.assertEquals(3, writer.getNumberOfBatches()); // 4 + 4 + 2 records
+	}
+
 	@Test
 	public void testBlocking() throws Exception {
 		final Configuration configuration = new Configuration();
@@ -95,4 +121,46 @@ public class MonitoringWriterThreadTest {
 
 		Assert.assertThat(thread.getState(), CoreMatchers.is(State.TERMINATED));
 	}
+
+	/**
+	 * Writer which collects all records and counts the number of received batches.
+	 */
+	private static class BatchCollectingWriter extends AbstractMonitoringWriter {
+
+		private final List<IMonitoringRecord> records = new ArrayList<>();
+		private int numberOfBatches;
+
+		public BatchCollectingWriter(final Configuration configuration) {
+			super(configuration);
+		}
+
+		@Override
+		public void onStarting() {
+			// nothing to do
+		}
+
+		@Override
+		public void writeMonitoringRecord(final IMonitoringRecord record) {
+			this.records.add(record);
+		}
+
+		@Override
+		public void writeMonitoringRecords(final List<IMonitoringRecord> batch) {
+			this.numberOfBatches++;
+			super.writeMonitoringRecords(batch);
+		}
+
+		@Override
+		public void onTerminating() {
+			// nothing to do
+		}
+
+		public List<IMonitoringRecord> getRecords() {
+			return this.records;
+		}
+
+		public int getNumberOfBatches() {
+			return this.numberOfBatches;
+		}
+	}
 }
@@ -0,0 +1,174 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.writer.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tukaani.xz.XZInputStream;
+
+import kieker.common.configuration.Configuration;
+import kieker.monitoring.core.configuration.ConfigurationFactory;
+
+/**
+ * Test for the {@link ParallelBlockCompressionFilter}.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class ParallelBlockCompressionFilterTest {
+
+	private static final int BLOCK_SIZE = 1000;
+
+	public ParallelBlockCompressionFilterTest() {
+		// nothing to do
+	}
+
+	@Test
+	public void testGZipBlocksFormValidStream() throws IOException {
+		final byte[] data = this.createData();
+		final byte[] compressed = this.compress(GZipCompressionFilter.class, data);
+
+		Assert.assertArrayEquals("Decompressed data differs", data, this.readFully(new GZIPInputStream(new ByteArrayInputStream(compressed))));
+	}
+
+	@Test
+	public void testXZBlocksFormValidStream() throws IOException {
+		final byte[] data = this.createData();
+		final byte[] compressed = this.compress(XZCompressionFilter.class, data);
+
+		Assert.assertArrayEquals("Decompressed data differs", data, this.readFully(new XZInputStream(new ByteArrayInputStream(compressed))));
+	}
+
+	@Test
+	public void testBZip2BlocksFormValidStream() throws IOException {
+		final byte[] data = this.createData();
+		final byte[] compressed = this.compress(BZip2CompressionFilter.class, data);
+
+		Assert.assertArrayEquals("Decompressed data differs", data,
+				this.readFully(new BZip2CompressorInputStream(new ByteArrayInputStream(compressed), true)));
+		// each block is a separate bzip2 stream, a single stream reader stops after the first block
+		Assert.assertTrue("Multiple streams expected",
+				this.readFully(new BZip2CompressorInputStream(new ByteArrayInputStream(compressed), false)).length <= BLOCK_SIZE);
+	}
+
+	@Test
+	public void testEmptyStream() throws IOException {
+		final byte[] compressed = this.compress(GZipCompressionFilter.class, new byte[0]);
+
+		Assert.assertEquals("Empty data", 0, this.readFully(new GZIPInputStream(new ByteArrayInputStream(compressed))).length);
+	}
+
+	@Test
+	public void testFilesShareCompressionThreads() throws IOException {
+		final byte[] data = this.createData();
+		final ParallelBlockCompressionFilter filter = this.createFilter(GZipCompressionFilter.class);
+		try {
+			// a rotating writer creates one stream after the other with the same filter
+			for (int i = 0; i < 3; i++) {
+				final byte[] compressed = this.compress(filter, data);
+				Assert.assertArrayEquals("Decompressed data of file " + i + " differs", data,
+						this.readFully(new GZIPInputStream(new ByteArrayInputStream(compressed))));
+			}
+		} finally {
+			filter.close();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRejectNonBlockFilter() {
+		final Configuration configuration = ConfigurationFactory.createDefaultConfiguration();
+		configuration.setProperty(ParallelBlockCompressionFilter.CONFIG_COMPRESSION_FILTER, ZipCompressionFilter.class.getName());
+		new ParallelBlockCompressionFilter(configuration); // NOPMD constructor must fail
+	}
+
+	@Test
+	public void testGetExtension() {
+		final Configuration configuration = ConfigurationFactory.createDefaultConfiguration();
+		configuration.setProperty(ParallelBlockCompressionFilter.CONFIG_COMPRESSION_FILTER, XZCompressionFilter.class.getName());
+		Assert.assertEquals("Wrong extension returned", ".xz", new ParallelBlockCompressionFilter(configuration).getExtension());
+	}
+
+	private byte[] createData() {
+		final StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			builder.append("$0;").append(i).append(";public void kieker.Example.operation").append(i % 17).append("();host\n");
+		}
+		return builder.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private byte[] compress(final Class<? extends ICompressionFilter> blockFilter, final byte[] data) throws IOException {
+		final ParallelBlockCompressionFilter filter = this.createFilter(blockFilter);
+		try {
+			return this.compress(filter, data);
+		} finally {
+			filter.close();
+		}
+	}
+
+	private ParallelBlockCompressionFilter createFilter(final Class<? extends ICompressionFilter> blockFilter) {
+		final Configuration configuration = ConfigurationFactory.createDefaultConfiguration();
+		configuration.setProperty(ParallelBlockCompressionFilter.CONFIG_COMPRESSION_FILTER, blockFilter.getName());
+		configuration.setProperty(ParallelBlockCompressionFilter.CONFIG_BLOCK_SIZE, BLOCK_SIZE);
+		configuration.setProperty(ParallelBlockCompressionFilter.CONFIG_THREADS, 3);
+		return new ParallelBlockCompressionFilter(configuration);
+	}
+
+	private byte[] compress(final ParallelBlockCompressionFilter filter, final byte[] data) throws IOException {
+		final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		final OutputStream stream = filter.chainOutputStream(compressed, Paths.get("test.dat"));
+		// mix single bytes, writes smaller and larger than a block, and a flush completing a partial block
+		int position = 0;
+		int step = 1;
+		while (position < data.length) {
+			final int length = Math.min(step, data.length - position);
+			if (length == 1) {
+				stream.write(data[position]);
+			} else {
+				stream.write(data, position, length);
+			}
+			position += length;
+			step = (step * 7) % 2500 + 1;
+			if (step % 5 == 0) {
+				stream.flush();
+			}
+		}
+		stream.close();
+		return compressed.toByteArray();
+	}
+
+	private byte[] readFully(final InputStream inputStream) throws IOException {
+		final ByteArrayOutputStream result = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[4096];
+		int length;
+		while ((length = inputStream.read(buffer)) != -1) { // NOPMD assignment in operand
+			result.write(buffer, 0, length);
+		}
+		inputStream.close();
+		return result.toByteArray();
+	}
+}
@@ -0,0 +1,114 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.writer.filesystem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.record.controlflow.OperationExecutionRecord;
+import kieker.common.util.filesystem.FileExtensionFilter;
+import kieker.monitoring.core.configuration.ConfigurationConstants;
+import kieker.monitoring.writer.compression.NoneCompressionFilter;
+
+/**
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class MappedLogStreamHandlerTest {
+
+	private static final int NUMBER_OF_RECORDS = 5;
+
+	@Rule
+	public final TemporaryFolder tmpFolder = new TemporaryFolder(); // NOCS recommends that this is private. JUnit test wants this public.
+
+	public MappedLogStreamHandlerTest() {
+		super();
+	}
+
+	/**
+	 * The mapped segments must contain the same data as the files of the binary log stream handler and must be
+	 * truncated to their actual size.
+	 */
+	@Test
+	public void shouldWriteSameFilesAsBinaryLogStreamHandler() throws IOException {
+		final File[] binaryFiles = this.writeRecords(BinaryLogStreamHandler.class, RotatingLogFilePoolHandler.class);
+		final File[] mappedFiles = this.writeRecords(MappedLogStreamHandler.class, PreallocatedLogFilePoolHandler.class);
+
+		// two records per file, the unused pre-allocated segment is removed
+		Assert.assertEquals(3, mappedFiles.length);
+		Assert.assertEquals(binaryFiles.length, mappedFiles.length);
+		for (int i = 0; i < mappedFiles.length; i++) {
+			Assert.assertArrayEquals(Files.readAllBytes(binaryFiles[i].toPath()), Files.readAllBytes(mappedFiles[i].toPath()));
+		}
+	}
+
+	/**
+	 * Segments which are not pre-allocated are created by the handler.
+	 */
+	@Test
+	public void shouldWriteSegmentsNotPreallocated() throws IOException {
+		final File[] mappedFiles = this.writeRecords(MappedLogStreamHandler.class, RotatingLogFilePoolHandler.class);
+
+		final ByteArrayOutputStream data = new ByteArrayOutputStream();
+		for (final File file : mappedFiles) {
+			data.write(Files.readAllBytes(file.toPath()));
+		}
+		Assert.assertEquals(NUMBER_OF_RECORDS * (4 + 8 + OperationExecutionRecord.SIZE), data.size());
+	}
+
+	private File[] writeRecords(final Class<?> logStreamHandler, final Class<?> logFilePoolHandler) throws IOException {
+		final Path writerPath = this.tmpFolder.newFolder().toPath();
+
+		final Configuration configuration = new Configuration();
+		configuration.setProperty(ConfigurationConstants.HOST_NAME, "testHostName");
+		configuration.setProperty(ConfigurationConstants.CONTROLLER_NAME, "testControllerName");
+		configuration.setProperty(FileWriter.CONFIG_CHARSET_NAME, "UTF-8");
+		configuration.setProperty(FileWriter.CONFIG_MAXENTRIESINFILE, "2");
+		configuration.setProperty(FileWriter.CONFIG_MAXLOGFILES, String.valueOf(Integer.MAX_VALUE));
+		configuration.setProperty(FileWriter.CONFIG_MAXLOGSIZE, String.valueOf(Integer.MAX_VALUE));
+		configuration.setProperty(FileWriter.CONFIG_PATH, writerPath.toString());
+		configuration.setProperty(FileWriter.CONFIG_LOG_STREAM_HANDLER, logStreamHandler.getName());
+		configuration.setProperty(FileWriter.CONFIG_LOG_POOL_FILE_HANDLER, logFilePoolHandler.getName());
+		configuration.setProperty(FileWriter.CONFIG_COMPRESSION_FILTER, NoneCompressionFilter.class.getName());
+		configuration.setProperty(FileWriter.CONFIG_BUFFERSIZE, "32768");
+		configuration.setProperty(PreallocatedLogFilePoolHandler.CONFIG_SEGMENT_SIZE, "1");
+
+		final FileWriter writer = new FileWriter(configuration);
+		writer.onStarting();
+		for (int i = 0; i < NUMBER_OF_RECORDS; i++) {
+			writer.writeMonitoringRecord(new OperationExecutionRecord("op" + i + "()", "SESS-ID", 1, i, i + 1, "host", i, 0));
+		}
+		writer.onTerminating();
+
+		final File kiekerPath = Files.list(writerPath).findFirst().get().toFile();
+		final File[] recordFiles = kiekerPath.listFiles(FileExtensionFilter.BIN);
+		Assert.assertNotNull(recordFiles);
+		Arrays.sort(recordFiles);
+		return recordFiles;
+	}
+}
@@ -0,0 +1,125 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.writer.filesystem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.controlflow.OperationExecutionRecord;
+import kieker.common.record.flow.trace.operation.AfterOperationEvent;
+import kieker.common.record.flow.trace.operation.BeforeOperationEvent;
+import kieker.common.record.io.TextValueSerializer;
+import kieker.common.record.system.CPUUtilizationRecord;
+import kieker.common.registry.writer.WriterRegistry;
+import kieker.monitoring.writer.compression.NoneCompressionFilter;
+
+/**
+ * Checks that the {@link TextLogEncoder} based {@link TextLogStreamHandler} writes the same bytes as encoding
+ * the output of the {@link TextValueSerializer}.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class TextLogEncoderTest {
+
+	private final List<IMonitoringRecord> records = new ArrayList<>();
+
+	public TextLogEncoderTest() {
+		final StringBuilder longSignature = new StringBuilder();
+		for (int i = 0; i < 300; i++) {
+			longSignature.append(i % 2 == 0 ? 'a' : 'ä'); // NOCS
+		}
+		longSignature.append("😀;end"); // surrogate pair crossing the encoder chunk boundary
+
+		this.records.add(new OperationExecutionRecord("public void foo.Bar.op()", "sessionId", 4711, 1000, 2000, "localhost", 0, 1));
+		this.records.add(new OperationExecutionRecord("op", null, Long.MIN_VALUE, Long.MAX_VALUE, -1, "host;name", -5, Integer.MIN_VALUE));
+		this.records.add(new BeforeOperationEvent(1234567890123L, 42, 0, "public void ümläut.Op()", "ümläut"));
+		this.records.add(new AfterOperationEvent(1234567890124L, 42, 1, longSignature.toString(), "unpaired \ud83d"));
+		this.records.add(new CPUUtilizationRecord(1L, "host", "cpu0", 0.25, 1e-10, Double.NaN, -0.0, Double.MAX_VALUE, 1.0, 3.5e20));
+		this.records.get(0).setLoggingTimestamp(99);
+	}
+
+	@Test
+	public void testUtf8() throws IOException {
+		this.assertSameBytes(StandardCharsets.UTF_8, 8192);
+	}
+
+	@Test
+	public void testUtf8TinyBuffer() throws IOException {
+		this.assertSameBytes(StandardCharsets.UTF_8, 10);
+	}
+
+	@Test
+	public void testIso88591() throws IOException {
+		this.assertSameBytes(StandardCharsets.ISO_8859_1, 100);
+	}
+
+	@Test
+	public void testAscii() throws IOException {
+		this.assertSameBytes(StandardCharsets.US_ASCII, 8192);
+	}
+
+	/** UTF-16 is not supported by the encoder and uses the per record encoding. */
+	@Test
+	public void testUtf16() throws IOException {
+		Assert.assertFalse("UTF-16 is not ASCII compatible", TextLogEncoder.isSupported(StandardCharsets.UTF_16));
+		this.assertSameBytes(StandardCharsets.UTF_16, 8192);
+	}
+
+	private void assertSameBytes(final Charset charset, final int bufferSize) throws IOException {
+		final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		for (int i = 0; i < this.records.size(); i++) {
+			final ByteBuffer encoded = this.encodeRecord(this.records.get(i), i, charset);
+			expected.write(encoded.array(), encoded.arrayOffset(), encoded.limit());
+		}
+
+		final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		final TextLogStreamHandler handler = new TextLogStreamHandler(false, bufferSize, charset, new NoneCompressionFilter(null),
+				new WriterRegistry(null));
+		handler.initialize(actual, Paths.get("test-filename"));
+		for (int i = 0; i < this.records.size(); i++) {
+			handler.serialize(this.records.get(i), i);
+		}
+		handler.close();
+
+		Assert.assertArrayEquals("Different bytes for " + charset.name(), expected.toByteArray(), actual.toByteArray());
+		Assert.assertEquals("Number of entries", this.records.size(), handler.getNumOfEntries());
+		Assert.assertEquals("Number of bytes", expected.size(), handler.getNumOfBytes());
+	}
+
+	/** Encoding used before the introduction of the text log encoder. */
+	private ByteBuffer encodeRecord(final IMonitoringRecord record, final int id, final Charset charset) {
+		final CharBuffer buffer = CharBuffer.allocate(102400);
+		buffer.put(String.format("$%d;%d", id, record.getLoggingTimestamp()));
+		record.serialize(TextValueSerializer.create(buffer));
+		buffer.put(System.lineSeparator());
+		buffer.flip();
+		return charset.encode(buffer);
+	}
+}
@@ -0,0 +1,96 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.writer.serializer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.controlflow.OperationExecutionRecord;
+
+/**
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class BinaryChunkBuilderTest {
+
+	/** test constructor. */
+	public BinaryChunkBuilderTest() {
+		// nothing to be done here
+	}
+
+	@Test
+	public void testSameChunkAsBinarySerializer() {
+		final BinaryChunkBuilder builder = new BinaryChunkBuilder(4096);
+		final List<IMonitoringRecord> records = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			final IMonitoringRecord record = new OperationExecutionRecord("op" + (i % 3) + "()", "SESS-ID", i, i, i + 1, "host", i, 1);
+			records.add(record);
+			Assert.assertTrue(builder.append(record));
+		}
+
+		Assert.assertArrayEquals(BinaryChunkBuilderTest.serialize(records), BinaryChunkBuilderTest.toArray(builder));
+	}
+
+	@Test
+	public void testFullChunk() {
+		final BinaryChunkBuilder builder = new BinaryChunkBuilder(256);
+		final List<IMonitoringRecord> records = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			final IMonitoringRecord record = new OperationExecutionRecord("operation" + i + "()", "SESS-ID", i, i, i + 1, "host", i, 1);
+			if (!builder.append(record)) {
+				break;
+			}
+			records.add(record);
+		}
+
+		Assert.assertFalse(records.isEmpty());
+		Assert.assertTrue(records.size() < 100);
+		Assert.assertEquals(records.size(), builder.getNumberOfRecords());
+		// the rejected record must not leave any data or strings in the chunk
+		Assert.assertArrayEquals(BinaryChunkBuilderTest.serialize(records), BinaryChunkBuilderTest.toArray(builder));
+
+		builder.reset();
+		Assert.assertTrue(builder.isEmpty());
+		Assert.assertTrue(builder.append(records.get(0)));
+		Assert.assertArrayEquals(BinaryChunkBuilderTest.serialize(records.subList(0, 1)), BinaryChunkBuilderTest.toArray(builder));
+	}
+
+	private static byte[] serialize(final List<IMonitoringRecord> records) {
+		final ByteBuffer buffer = ByteBuffer.allocate(4096);
+		final int size = new BinarySerializer(new Configuration()).serializeRecords(records, buffer);
+		final byte[] data = new byte[size];
+		buffer.flip();
+		buffer.get(data);
+		return data;
+	}
+
+	private static byte[] toArray(final BinaryChunkBuilder builder) {
+		final int size = builder.seal();
+		final ByteBuffer buffer = builder.getBuffer().duplicate();
+		buffer.flip();
+		final byte[] data = new byte[size];
+		buffer.get(data);
+		return data;
+	}
+}
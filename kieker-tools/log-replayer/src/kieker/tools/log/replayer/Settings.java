@@ -21,6 +21,7 @@ import com.beust.jcommander.Parameter;
 import com.beust.jcommander.converters.FileConverter;
 import com.beust.jcommander.converters.IntegerConverter;
 
+import kieker.analysis.generic.source.file.DirectoryReaderStage.RecordOrder;
 import kieker.tools.common.DateConverter;
 
 /**
@@ -47,8 +48,16 @@ public class Settings { // NOCS, NOPMD does not need a constructor
 	private boolean noDelay;
 
 	@Parameter(names = { "-d",
-		"--delay" }, required = false, description = "Delay factor. Default is 1 = realtime, 2 = twice the speed/half of the delay.")
-	private Long delayFactor;
+		"--delay" }, required = false, description = "Speed factor. Default is 1 = realtime, 2 = twice the speed/half of the delay, 0.5 = half the speed.")
+	private Double delayFactor;
+
+	@Parameter(names = { "-m",
+		"--max-rate" }, required = false, description = "Maximal number of records sent per second. Combined with --no-delay records are sent at this rate.")
+	private Double maxRate;
+
+	@Parameter(names = { "-f",
+		"--fan-out" }, required = false, description = "Number of connections to the host, each receiving every record. Default is 1.")
+	private Integer fanOut;
 
 	@Parameter(names = { "-c",
 		"--count" }, required = false, description = "Show count of events sent. Display count every n-th event.")
@@ -58,6 +67,18 @@ public class Settings { // NOCS, NOPMD does not need a constructor
 		"--verbose" }, required = false, description = "Be verbose")
 	private boolean verbose;
 
+	@Parameter(names = { "--memory-mapped" }, required = false,
+			description = "Read uncompressed binary log files via memory mapping instead of streams.")
+	private boolean memoryMapped;
+
+	@Parameter(names = { "--read-parallelism" }, required = false,
+			description = "Number of log files decoded in parallel. Default is 1 = read the files sequentially.")
+	private Integer readParallelism;
+
+	@Parameter(names = { "--record-order" }, required = false,
+			description = "Order of the records of log files decoded in parallel: FILE (default) or LOGGING_TIMESTAMP.")
+	private RecordOrder recordOrder;
+
 	@Parameter(names = { "-r",
 		"--time-rewrite" }, required = false, description = "Set event timestamps relative to present time.")
 	private boolean timeRelative; // NOPMD pmd thinks this is not used, but this is not the case.
@@ -88,10 +109,18 @@ public class Settings { // NOCS, NOPMD does not need a constructor
 		return this.noDelay;
 	}
 
-	public final Long getDelayFactor() {
+	public final Double getDelayFactor() {
 		return this.delayFactor;
 	}
 
+	public final Double getMaxRate() {
+		return this.maxRate;
+	}
+
+	public final Integer getFanOut() {
+		return this.fanOut;
+	}
+
 	public final Long getShowRecordCount() {
 		return this.showRecordCount;
 	}
@@ -112,4 +141,16 @@ public class Settings { // NOCS, NOPMD does not need a constructor
 		return this.verbose;
 	}
 
+	public boolean isMemoryMapped() {
+		return this.memoryMapped;
+	}
+
+	public Integer getReadParallelism() {
+		return this.readParallelism;
+	}
+
+	public RecordOrder getRecordOrder() {
+		return this.recordOrder;
+	}
+
 }
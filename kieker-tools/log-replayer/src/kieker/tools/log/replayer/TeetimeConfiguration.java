@@ -15,6 +15,9 @@
  ***************************************************************************/
 package kieker.tools.log.replayer;
 
+import java.util.concurrent.TimeUnit;
+
+import kieker.analysis.generic.source.file.DirectoryReaderStage.RecordOrder;
 import kieker.analysis.generic.time.TimestampFilter;
 import kieker.common.record.IMonitoringRecord;
 import kieker.tools.log.replayer.stages.DataSendStage;
@@ -41,7 +44,10 @@ public class TeetimeConfiguration extends Configuration {
 	 *            configuration parameter object
 	 */
 	public TeetimeConfiguration(final Settings parameter) {
-		final LogsReaderCompositeStage reader = new LogsReaderCompositeStage(parameter.getDataLocation(), parameter.isVerbose(), 8192);
+		final int readParallelism = parameter.getReadParallelism() != null ? parameter.getReadParallelism() : 1; // NOCS
+		final RecordOrder recordOrder = parameter.getRecordOrder() != null ? parameter.getRecordOrder() : RecordOrder.FILE; // NOCS
+		final LogsReaderCompositeStage reader = new LogsReaderCompositeStage(parameter.getDataLocation(), parameter.isVerbose(), 8192,
+				parameter.isMemoryMapped(), readParallelism, recordOrder);
 		OutputPort<IMonitoringRecord> outputPort = reader.getOutputPort();
 
 		if ((parameter.getIgnoreBeforeDate() != null) || (parameter.getIgnoreAfterDate() != null)) {
@@ -58,14 +64,22 @@ public class TeetimeConfiguration extends Configuration {
 			outputPort = rewriteTime.getOutputPort();
 		}
 
-		if (!parameter.isNoDelay()) {
-			final ReplayControlStage delayStage = new ReplayControlStage(1000 * 1000, parameter.getDelayFactor(),
+		if (!parameter.isNoDelay() || (parameter.getMaxRate() != null)) {
+			final double speedFactor;
+			if (parameter.isNoDelay()) {
+				speedFactor = 0;
+			} else {
+				speedFactor = parameter.getDelayFactor() != null ? parameter.getDelayFactor() : 1; // NOCS
+			}
+			final double maxRate = parameter.getMaxRate() != null ? parameter.getMaxRate() : 0; // NOCS
+			final ReplayControlStage delayStage = new ReplayControlStage(TimeUnit.NANOSECONDS, speedFactor, maxRate,
 					parameter.getShowRecordCount());
 			this.connectPorts(outputPort, delayStage.getInputPort());
 			outputPort = delayStage.getOutputPort();
 		}
 
-		this.consumer = new DataSendStage(parameter.getHostname(), parameter.getOutputPort());
+		final int fanOut = parameter.getFanOut() != null ? parameter.getFanOut() : 1; // NOCS
+		this.consumer = new DataSendStage(parameter.getHostname(), parameter.getOutputPort(), fanOut);
 		this.connectPorts(outputPort, this.consumer.getInputPort());
 	}
 
@@ -29,7 +29,8 @@ import kieker.monitoring.writer.tcp.SingleSocketTcpWriter;
 import teetime.framework.AbstractConsumerStage;
 
 /**
- * Send data via TCP.
+ * Send data via TCP. The stage can fan out every record to several monitoring controllers, each with its own
+ * writer thread and connection, to multiply the generated load.
  *
  * @author Reiner Jung
  * @since 1.16
@@ -41,7 +42,7 @@ public class DataSendStage extends AbstractConsumerStage<IMonitoringRecord> {
 
 	private static final String WRITER_NAME = SingleSocketTcpWriter.class.getCanonicalName();
 
-	private final IMonitoringController ctrl;
+	private final IMonitoringController[] controllers;
 
 	private long count;
 
@@ -54,24 +55,46 @@ public class DataSendStage extends AbstractConsumerStage<IMonitoringRecord> {
 	 *            port where the data is send to
 	 */
 	public DataSendStage(final String hostname, final int port) {
-		final Configuration configuration = ConfigurationFactory.createDefaultConfiguration();
-		configuration.setProperty(ConfigurationConstants.CONTROLLER_NAME, "Kieker Logreplayer");
-		configuration.setProperty(ConfigurationConstants.WRITER_CLASSNAME, DataSendStage.WRITER_NAME);
+		this(hostname, port, 1);
+	}
+
+	/**
+	 * Configure and setup the Kieker writers.
+	 *
+	 * @param hostname
+	 *            host where the data is send to
+	 * @param port
+	 *            port where the data is send to
+	 * @param fanOut
+	 *            number of connections, each receiving every record
+	 */
+	public DataSendStage(final String hostname, final int port, final int fanOut) {
+		this.controllers = new IMonitoringController[Math.max(1, fanOut)];
+		for (int i = 0; i < this.controllers.length; i++) {
+			final Configuration configuration = ConfigurationFactory.createDefaultConfiguration();
+			configuration.setProperty(ConfigurationConstants.CONTROLLER_NAME, i == 0 ? "Kieker Logreplayer" : "Kieker Logreplayer " + i); // NOCS
+			configuration.setProperty(ConfigurationConstants.WRITER_CLASSNAME, DataSendStage.WRITER_NAME);
+			// the logging timestamp is set once by this stage, as the record is shared by all writers
+			configuration.setProperty(ConfigurationConstants.AUTO_SET_LOGGINGTSTAMP, "false");
 
-		configuration.setProperty(SingleSocketTcpWriter.CONFIG_FLUSH, "true");
-		configuration.setProperty(SingleSocketTcpWriter.CONFIG_BUFFERSIZE, "25000");
-		configuration.setProperty(SingleSocketTcpWriter.CONFIG_HOSTNAME, hostname);
-		configuration.setProperty(SingleSocketTcpWriter.CONFIG_PORT, port);
+			configuration.setProperty(SingleSocketTcpWriter.CONFIG_FLUSH, "true");
+			configuration.setProperty(SingleSocketTcpWriter.CONFIG_BUFFERSIZE, "25000");
+			configuration.setProperty(SingleSocketTcpWriter.CONFIG_HOSTNAME, hostname);
+			configuration.setProperty(SingleSocketTcpWriter.CONFIG_PORT, port);
 
-		DataSendStage.LOGGER.debug("Configuration complete.");
+			this.controllers[i] = MonitoringController.createInstance(configuration);
+		}
 
-		this.ctrl = MonitoringController.createInstance(configuration);
+		DataSendStage.LOGGER.debug("Configuration complete.");
 	}
 
 	@Override
 	protected void execute(final IMonitoringRecord record) {
 		this.count++;
-		this.ctrl.newMonitoringRecord(record);
+		record.setLoggingTimestamp(this.controllers[0].getTimeSource().getTime());
+		for (final IMonitoringController controller : this.controllers) {
+			controller.newMonitoringRecord(record);
+		}
 		if (this.count % 1000 == 0) {
 			DataSendStage.LOGGER.info("Saved {} records", this.count);
 		}
@@ -81,7 +104,15 @@ public class DataSendStage extends AbstractConsumerStage<IMonitoringRecord> {
 		return this.count;
 	}
 
+	/**
+	 * @return true if at least one writer is still connected
+	 */
 	public boolean isOutputConnected() {
-		return !this.ctrl.isMonitoringTerminated();
+		for (final IMonitoringController controller : this.controllers) {
+			if (!controller.isMonitoringTerminated()) {
+				return true;
+			}
+		}
+		return false;
 	}
 }
@@ -15,13 +15,17 @@
  ***************************************************************************/
 package kieker.tools.log.replayer.stages;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
 import kieker.common.record.IMonitoringRecord;
 
 import teetime.framework.AbstractConsumerStage;
 import teetime.framework.OutputPort;
 
 /**
- * This stage controls the flow of event.
+ * This stage controls the flow of event. Records are sent on an absolute timeline computed by a {@link ReplayPacer}.
+ * The stage parks until the deadline of a record; records already due within the same tick are sent immediately.
  *
  * @author Reiner Jung
  * @since 1.16
@@ -29,51 +33,65 @@ import teetime.framework.OutputPort;
  */
 public class ReplayControlStage extends AbstractConsumerStage<IMonitoringRecord> {
 
-	private long last;
-	private final long unitAdjustment;
+	/** records due within this time are sent without parking. */
+	private static final long TICK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
 	private final OutputPort<IMonitoringRecord> outputPort = this.createOutputPort(IMonitoringRecord.class);
-	private final Long delayFactor;
+	private final ReplayPacer pacer;
 	private final Long showRecordCount;
-	private int count;
 
 	/**
 	 * Create a delay stage.
 	 *
-	 * @param unitAdjustment
-	 *            divisor for time values.
-	 * @param delayFactor
-	 *            delay factor
+	 * @param timestampUnit
+	 *            time unit of the logging timestamps
+	 * @param speedFactor
+	 *            replay speed, 1 is real time, 2 twice and 0.5 half the speed; values &lt;= 0 ignore the timeline
+	 * @param maxRate
+	 *            maximal number of records per second; values &lt;= 0 do not limit the rate
 	 * @param showRecordCount
-	 *            show record count
+	 *            show record count and rates every n-th record, null to disable
 	 */
-	public ReplayControlStage(final long unitAdjustment, final Long delayFactor, final Long showRecordCount) {
-		this.unitAdjustment = unitAdjustment;
-		this.delayFactor = delayFactor == null ? 1 : delayFactor; // NOCS
+	public ReplayControlStage(final TimeUnit timestampUnit, final double speedFactor, final double maxRate, final Long showRecordCount) {
+		this.pacer = new ReplayPacer(timestampUnit, speedFactor, maxRate);
 		this.showRecordCount = showRecordCount;
 	}
 
 	@Override
 	protected void execute(final IMonitoringRecord event) {
-		if (this.showRecordCount != null) {
-			this.count++;
-			if (this.count % this.showRecordCount == 0) {
-				this.logger.info("Read {} records.", this.count);
+		final long deadline = this.pacer.schedule(event.getLoggingTimestamp(), System.nanoTime());
+		long remaining = deadline - System.nanoTime();
+		while (remaining > TICK_NANOS) {
+			LockSupport.parkNanos(this, remaining);
+			if (Thread.interrupted()) {
+				this.logger.info("ReplayControlStage got interrupted.");
+				this.workCompleted();
+				return;
 			}
+			remaining = deadline - System.nanoTime();
 		}
-		if (this.last == 0) {
-			this.last = event.getLoggingTimestamp();
+		this.outputPort.send(event);
+
+		if ((this.showRecordCount != null) && ((this.pacer.getCount() % this.showRecordCount) == 0)) {
+			this.logRates();
 		}
-		final long now = event.getLoggingTimestamp();
-		try {
-			final long delay = (now - this.last) / this.unitAdjustment / this.delayFactor;
-			if (delay > 0) {
-				Thread.sleep(delay);
-			}
-			this.last = now;
-			this.outputPort.send(event);
-		} catch (final InterruptedException e) {
-			this.logger.info("ReplayControlStage got interrupted.");
-			this.workCompleted();
+	}
+
+	@Override
+	protected void onTerminating() {
+		this.logRates();
+		super.onTerminating();
+	}
+
+	private void logRates() {
+		if (this.pacer.getCount() < 2) {
+			// rates are only defined between two records
+			this.logger.info("Read {} records.", this.pacer.getCount());
+		} else {
+			final long now = System.nanoTime();
+			this.logger.info("Read {} records. Achieved {} records/s, target {} records/s, behind schedule {} ms.", this.pacer.getCount(),
+					String.format("%.1f", this.pacer.getAchievedRate(now)), String.format("%.1f", this.pacer.getTargetRate()),
+					TimeUnit.NANOSECONDS.toMillis(this.pacer.getLag(now)));
 		}
 	}
 
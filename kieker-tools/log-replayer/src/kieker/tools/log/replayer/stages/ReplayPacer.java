@@ -0,0 +1,148 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+package kieker.tools.log.replayer.stages;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes the send deadlines of replayed records on an absolute timeline. The deadline of a record is derived
+ * from the distance of its logging timestamp to the first replayed record, scaled by the speed factor.
+ * Optionally, the deadlines are additionally limited to a maximal record rate. As deadlines do not depend on
+ * the actual send time of the previous record, delays in sending do not accumulate. In rate limited mode, records
+ * are spaced at least 1/maxRate seconds apart, hence pauses in the timeline do not allow bursts above the rate.
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class ReplayPacer {
+
+	private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	/** nanoseconds of replay time per logging timestamp unit, 0 if the timeline is ignored. */
+	private final double nanosPerTimestampUnit;
+	/** nanoseconds between two records in rate limited mode, 0 if the rate is not limited. */
+	private final double nanosPerRecord;
+
+	private boolean started;
+	private long baseTimestamp;
+	private long baseNanos;
+	private long lastDeadline;
+	/** unrounded deadline of the previous record in rate limited mode. */
+	private double previousRateDeadline;
+	private long count;
+
+	/**
+	 * Create a pacer.
+	 *
+	 * @param timestampUnit
+	 *            time unit of the logging timestamps
+	 * @param speedFactor
+	 *            replay speed, 1 is real time, 2 twice and 0.5 half the speed; values &lt;= 0 or infinity ignore the
+	 *            timeline
+	 * @param maxRate
+	 *            maximal number of records per second; values &lt;= 0 do not limit the rate
+	 */
+	public ReplayPacer(final TimeUnit timestampUnit, final double speedFactor, final double maxRate) {
+		if ((speedFactor > 0) && !Double.isInfinite(speedFactor)) {
+			this.nanosPerTimestampUnit = timestampUnit.toNanos(1) / speedFactor;
+		} else {
+			this.nanosPerTimestampUnit = 0;
+		}
+		if (maxRate > 0) {
+			this.nanosPerRecord = NANOS_PER_SECOND / maxRate;
+		} else {
+			this.nanosPerRecord = 0;
+		}
+	}
+
+	/**
+	 * Compute the deadline of the next record. The first record defines the start of the timeline and is due
+	 * immediately.
+	 *
+	 * @param loggingTimestamp
+	 *            logging timestamp of the record
+	 * @param now
+	 *            current value of {@link System#nanoTime()}
+	 * @return the {@link System#nanoTime()} value at which the record is due
+	 */
+	public long schedule(final long loggingTimestamp, final long now) {
+		if (!this.started) {
+			this.started = true;
+			this.baseTimestamp = loggingTimestamp;
+			this.baseNanos = now;
+			this.lastDeadline = now;
+		}
+		long deadline = this.baseNanos;
+		if (this.nanosPerTimestampUnit > 0) {
+			deadline += (long) ((loggingTimestamp - this.baseTimestamp) * this.nanosPerTimestampUnit);
+		}
+		if (this.nanosPerRecord > 0) {
+			if (this.count > 0) {
+				this.previousRateDeadline = Math.max(deadline, this.previousRateDeadline + this.nanosPerRecord);
+			} else {
+				this.previousRateDeadline = deadline;
+			}
+			deadline = (long) this.previousRateDeadline;
+		}
+		this.count++;
+		this.lastDeadline = Math.max(this.lastDeadline, deadline);
+		return deadline;
+	}
+
+	/**
+	 * @return number of scheduled records
+	 */
+	public long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * @param now
+	 *            current value of {@link System#nanoTime()}
+	 * @return records per second achieved since the first record, 0 if less than two records have been scheduled
+	 */
+	public double getAchievedRate(final long now) {
+		return ReplayPacer.rate(this.count - 1, now - this.baseNanos);
+	}
+
+	/**
+	 * @return records per second of the schedule, i.e., the rate achieved if all records are sent on time, 0 if less
+	 *         than two records have been scheduled
+	 */
+	public double getTargetRate() {
+		return ReplayPacer.rate(this.count - 1, this.lastDeadline - this.baseNanos);
+	}
+
+	/**
+	 * @param now
+	 *            current value of {@link System#nanoTime()}
+	 * @return nanoseconds the replay is behind its schedule, 0 if it is on time
+	 */
+	public long getLag(final long now) {
+		return Math.max(0, now - this.lastDeadline);
+	}
+
+	/** n records sent at their deadlines span n - 1 intervals. */
+	private static double rate(final long intervals, final long nanos) {
+		if (intervals <= 0) {
+			return 0;
+		}
+		if (nanos <= 0) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return (intervals * NANOS_PER_SECOND) / nanos;
+	}
+}
@@ -0,0 +1,83 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+package kieker.tools.log.replayer.stages;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ReplayPacerTest { // NOCS, NOPMD test class
+
+	private static final long START = 1000L;
+
+	@Test
+	public void testRealTime() {
+		final ReplayPacer pacer = new ReplayPacer(TimeUnit.NANOSECONDS, 1, 0);
+		Assertions.assertEquals(START, pacer.schedule(5000L, START));
+		Assertions.assertEquals(START + 250L, pacer.schedule(5250L, START + 1000L));
+		Assertions.assertEquals(START + 100_000L, pacer.schedule(105_000L, START + 1000L));
+	}
+
+	@Test
+	public void testFractionalSpeedFactor() {
+		final ReplayPacer pacer = new ReplayPacer(TimeUnit.MICROSECONDS, 1.5, 0);
+		pacer.schedule(0, START);
+		// 3 ms of log time are replayed in 2 ms
+		Assertions.assertEquals(START + 2_000_000L, pacer.schedule(3000L, START));
+	}
+
+	@Test
+	public void testNoDrift() {
+		final ReplayPacer pacer = new ReplayPacer(TimeUnit.NANOSECONDS, 3, 0);
+		long deadline = 0;
+		for (long timestamp = 0; timestamp <= 3_000_000L; timestamp++) {
+			// sending is always late, which must not shift later deadlines
+			deadline = pacer.schedule(timestamp, deadline + 500);
+		}
+		Assertions.assertEquals(500 + 1_000_000L, deadline);
+	}
+
+	@Test
+	public void testMaxRate() {
+		final ReplayPacer pacer = new ReplayPacer(TimeUnit.NANOSECONDS, 0, 1000);
+		Assertions.assertEquals(START, pacer.schedule(0, START));
+		Assertions.assertEquals(START + 1_000_000L, pacer.schedule(0, START));
+		Assertions.assertEquals(START + 2_000_000L, pacer.schedule(0, START));
+		Assertions.assertEquals(1000.0, pacer.getTargetRate(), 0.001);
+	}
+
+	@Test
+	public void testRatesWithoutInterval() {
+		final ReplayPacer pacer = new ReplayPacer(TimeUnit.NANOSECONDS, 1, 1000);
+		Assertions.assertEquals(0.0, pacer.getTargetRate());
+		Assertions.assertEquals(0.0, pacer.getAchievedRate(START));
+		pacer.schedule(0, START);
+		Assertions.assertEquals(0.0, pacer.getTargetRate());
+		Assertions.assertEquals(0.0, pacer.getAchievedRate(START + 1000L));
+	}
+
+	@Test
+	public void testMaxRateWithTimeline() {
+		final ReplayPacer pacer = new ReplayPacer(TimeUnit.MILLISECONDS, 1, 10);
+		pacer.schedule(0, START);
+		// timeline is slower than the rate limit
+		Assertions.assertEquals(START + 1_000_000_000L, pacer.schedule(1000, START));
+		// after the pause records are still spaced by the rate limit
+		Assertions.assertEquals(START + 1_100_000_000L, pacer.schedule(1000, START));
+	}
+
+}
@@ -16,11 +16,11 @@
 
 package kieker.tools.opad;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.AbstractList;
 import java.util.List;
 
 import kieker.tools.opad.model.NamedDoubleTimeSeriesPoint;
+import kieker.tools.opad.timeseries.DoubleRingBuffer;
 
 /**
  * 
@@ -33,17 +33,34 @@ public class AggregationVariableSet {
 	private long firstTimestampInCurrentInterval;
 	private long lastTimestampInCurrentInterval;
 	private long firstIntervalStart;
-	private List<NamedDoubleTimeSeriesPoint> aggregationList;
+	/** measurements of the current interval, guarded by the aggregation filter. */
+	private final DoubleRingBuffer aggregationBuffer;
+	/** name of the aggregated measurements, used for the points of {@link #getAggregationList()}. */
+	private final String name;
 
 	/**
 	 * Creates an instance of this class.
 	 * Initializes the variables needed for the aggregation.
 	 */
 	public AggregationVariableSet() {
+		this(null);
+	}
+
+	/**
+	 * Creates an instance of this class.
+	 * Initializes the variables needed for the aggregation.
+	 *
+	 * @param name
+	 *            name of the aggregated measurements
+	 *
+	 * @since 2.0.0
+	 */
+	public AggregationVariableSet(final String name) {
 		this.firstTimestampInCurrentInterval = -1;
 		this.lastTimestampInCurrentInterval = -1;
 		this.firstIntervalStart = -1;
-		this.aggregationList = Collections.synchronizedList(new ArrayList<NamedDoubleTimeSeriesPoint>());
+		this.aggregationBuffer = new DoubleRingBuffer(-1);
+		this.name = name;
 	}
 
 	public long getFirstTimestampInCurrentInterval() {
@@ -70,12 +87,74 @@ public class AggregationVariableSet {
 		this.firstIntervalStart = firstIntervalStart;
 	}
 
+	public DoubleRingBuffer getAggregationBuffer() {
+		return this.aggregationBuffer;
+	}
+
+	/**
+	 * Returns a view on the measurements of the current interval. Adding points to the list appends their time and
+	 * value to the aggregation buffer. The view is not thread-safe.
+	 *
+	 * @return list view on the aggregation buffer
+	 *
+	 * @deprecated since 2.0.0, use {@link #getAggregationBuffer()} instead
+	 */
+	@Deprecated
 	public List<NamedDoubleTimeSeriesPoint> getAggregationList() {
-		return this.aggregationList;
+		return new AggregationListView();
 	}
 
+	/**
+	 * Replaces the measurements of the current interval by the points of the given list. Later changes of the list are
+	 * not reflected in the aggregation buffer.
+	 *
+	 * @param aggregationList
+	 *            measurements of the current interval
+	 *
+	 * @deprecated since 2.0.0, use {@link #getAggregationBuffer()} instead
+	 */
+	@Deprecated
 	public void setAggregationList(final List<NamedDoubleTimeSeriesPoint> aggregationList) {
-		this.aggregationList = aggregationList;
+		this.aggregationBuffer.clear();
+		for (final NamedDoubleTimeSeriesPoint point : aggregationList) {
+			this.aggregationBuffer.add(point.getTime(), point.getDoubleValue());
+		}
+	}
+
+	/**
+	 * List view on the aggregation buffer.
+	 */
+	private class AggregationListView extends AbstractList<NamedDoubleTimeSeriesPoint> {
+
+		public AggregationListView() {
+			// nothing to initialize
+		}
+
+		@Override
+		public NamedDoubleTimeSeriesPoint get(final int index) {
+			final DoubleRingBuffer buffer = AggregationVariableSet.this.aggregationBuffer;
+			return new NamedDoubleTimeSeriesPoint(buffer.getTime(index), buffer.getValue(index), AggregationVariableSet.this.name);
+		}
+
+		@Override
+		public void add(final int index, final NamedDoubleTimeSeriesPoint point) {
+			if (index != this.size()) {
+				throw new UnsupportedOperationException("Points can only be appended");
+			}
+			AggregationVariableSet.this.aggregationBuffer.add(point.getTime(), point.getDoubleValue());
+			this.modCount++;
+		}
+
+		@Override
+		public void clear() {
+			AggregationVariableSet.this.aggregationBuffer.clear();
+			this.modCount++;
+		}
+
+		@Override
+		public int size() {
+			return AggregationVariableSet.this.aggregationBuffer.size();
+		}
 	}
 
 }
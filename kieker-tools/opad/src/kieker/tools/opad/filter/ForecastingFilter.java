@@ -35,14 +35,17 @@ import kieker.common.configuration.Configuration;
 import kieker.tools.opad.model.ForecastMeasurementPair;
 import kieker.tools.opad.model.IForecastMeasurementPair;
 import kieker.tools.opad.model.NamedDoubleTimeSeriesPoint;
+import kieker.tools.opad.timeseries.DoubleTimeSeries;
 import kieker.tools.opad.timeseries.ForecastMethod;
 import kieker.tools.opad.timeseries.ITimeSeries;
-import kieker.tools.opad.timeseries.TimeSeries;
 import kieker.tools.opad.timeseries.forecast.IForecastResult;
 import kieker.tools.opad.timeseries.forecast.IForecaster;
+import kieker.tools.opad.timeseries.forecast.IIncrementalForecaster;
 
 /**
- * Computes a forecast for every incoming measurement from different applications.
+ * Computes a forecast for every incoming measurement from different applications. Incremental forecasters are
+ * created once per application and updated with every measurement, all other forecasters are recreated from the
+ * current window for every measurement.
  *
  * @since 1.10
  * @author Tom Frotscher, Thomas Duellmann, Tobias Rudolph
@@ -57,6 +60,8 @@ import kieker.tools.opad.timeseries.forecast.IForecaster;
 			@Property(name = ForecastingFilter.CONFIG_PROPERTY_NAME_DELTA_UNIT, defaultValue = "MILLISECONDS"),
 			@Property(name = ForecastingFilter.CONFIG_PROPERTY_NAME_FC_METHOD, defaultValue = "MEAN", updateable = true),
 			@Property(name = ForecastingFilter.CONFIG_PROPERTY_NAME_TS_WINDOW_CAPACITY, defaultValue = "60"),
+			@Property(name = ForecastingFilter.CONFIG_PROPERTY_NAME_TS_WINDOW_FREQUENCY, defaultValue = "0",
+					description = "Frequency of the time series windows, 0 to use the window capacity"),
 			@Property(name = ForecastingFilter.CONFIG_PROPERTY_NAME_FC_CONFIDENCE, defaultValue = "0")
 		})
 public class ForecastingFilter extends AbstractUpdateableFilterPlugin {
@@ -71,14 +76,17 @@ public class ForecastingFilter extends AbstractUpdateableFilterPlugin {
 	public static final String CONFIG_PROPERTY_NAME_DELTA_UNIT = "deltaunit";
 	public static final String CONFIG_PROPERTY_NAME_FC_METHOD = "fcmethod";
 	public static final String CONFIG_PROPERTY_NAME_TS_WINDOW_CAPACITY = "tswcapacity";
+	public static final String CONFIG_PROPERTY_NAME_TS_WINDOW_FREQUENCY = "tswfrequency";
 	public static final String CONFIG_PROPERTY_NAME_FC_CONFIDENCE = "confidence";
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(ForecastingFilter.class.getCanonicalName());
 
-	private final ConcurrentHashMap<String, ITimeSeries<Double>> applicationForecastingWindow;
+	private final ConcurrentHashMap<String, DoubleTimeSeries> applicationForecastingWindow;
 	private final ConcurrentHashMap<String, ForecastMeasurementPair> previousFCPair;
+	private final ConcurrentHashMap<String, IIncrementalForecaster> incrementalForecasters;
 
 	private AtomicInteger timeSeriesWindowCapacity;
+	private AtomicInteger timeSeriesWindowFrequency;
 	private AtomicInteger forecastConfidence;
 	private final AtomicReference<ForecastMethod> forecastMethod = new AtomicReference<>();
 	private AtomicLong deltat;
@@ -96,6 +104,7 @@ public class ForecastingFilter extends AbstractUpdateableFilterPlugin {
 		super(configuration, projectContext);
 		this.applicationForecastingWindow = new ConcurrentHashMap<>();
 		this.previousFCPair = new ConcurrentHashMap<>();
+		this.incrementalForecasters = new ConcurrentHashMap<>();
 		this.setFieldsByConfiguration(configuration, false);
 	}
 
@@ -106,6 +115,7 @@ public class ForecastingFilter extends AbstractUpdateableFilterPlugin {
 		configuration.setProperty(CONFIG_PROPERTY_NAME_DELTA_UNIT, this.tunit.name());
 		configuration.setProperty(CONFIG_PROPERTY_NAME_FC_METHOD, this.forecastMethod.get().name());
 		configuration.setProperty(CONFIG_PROPERTY_NAME_TS_WINDOW_CAPACITY, Integer.toString(this.timeSeriesWindowCapacity.get()));
+		configuration.setProperty(CONFIG_PROPERTY_NAME_TS_WINDOW_FREQUENCY, Integer.toString(this.timeSeriesWindowFrequency.get()));
 		configuration.setProperty(CONFIG_PROPERTY_NAME_FC_CONFIDENCE, Integer.toString(this.forecastConfidence.get()));
 		return configuration;
 	}
@@ -132,9 +142,16 @@ public class ForecastingFilter extends AbstractUpdateableFilterPlugin {
 			this.timeSeriesWindowCapacity = new AtomicInteger(config.getIntProperty(CONFIG_PROPERTY_NAME_TS_WINDOW_CAPACITY));
 		}
 
+		if (!update || this.isPropertyUpdateable(CONFIG_PROPERTY_NAME_TS_WINDOW_FREQUENCY)) {
+			this.timeSeriesWindowFrequency = new AtomicInteger(config.getIntProperty(CONFIG_PROPERTY_NAME_TS_WINDOW_FREQUENCY));
+		}
+
 		if (!update || this.isPropertyUpdateable(CONFIG_PROPERTY_NAME_FC_CONFIDENCE)) {
 			this.forecastConfidence = new AtomicInteger(config.getIntProperty(CONFIG_PROPERTY_NAME_FC_CONFIDENCE));
 		}
+
+		// incremental forecasters are recreated from the windows with the new configuration
+		this.incrementalForecasters.clear();
 	}
 
 	/**
@@ -149,8 +166,12 @@ public class ForecastingFilter extends AbstractUpdateableFilterPlugin {
 			this.processInput(input, input.getTime(), input.getName());
 		} else {
 			// Initialization of the forecasting variables for a new application
+			// the frequency defaults to the window capacity, as in previous releases
+			final int capacity = this.timeSeriesWindowCapacity.get();
+			final int frequency = this.timeSeriesWindowFrequency.get() > 0 ? this.timeSeriesWindowFrequency.get() : capacity; // NOCS (inline conditional)
 			this.applicationForecastingWindow.put(input.getName(),
-					new TimeSeries<Double>(input.getTime(), super.recordsTimeUnitFromProjectContext, this.deltat.get(), this.timeSeriesWindowCapacity.get()));
+					new DoubleTimeSeries(input.getTime(), super.recordsTimeUnitFromProjectContext, this.deltat.get(), super.recordsTimeUnitFromProjectContext,
+							frequency, capacity));
 			this.processInput(input, input.getTime(), input.getName());
 		}
 	}
@@ -166,10 +187,10 @@ public class ForecastingFilter extends AbstractUpdateableFilterPlugin {
 	 *            Name of the application of the measurement
 	 */
 	public void processInput(final NamedDoubleTimeSeriesPoint input, final long timestamp, final String name) {
-		final ITimeSeries<Double> currentWindow = this.applicationForecastingWindow.get(name);
-		currentWindow.append(input.getValue());
+		final DoubleTimeSeries currentWindow = this.applicationForecastingWindow.get(name);
+		currentWindow.appendValue(input.getDoubleValue());
 
-		final IForecaster<Double> forecaster = this.forecastMethod.get().getForecaster(currentWindow, this.forecastConfidence.get());
+		final IForecaster<Double> forecaster = this.getForecaster(currentWindow, input.getDoubleValue(), name);
 
 		final IForecastResult result = forecaster.forecast(1);
 		super.deliver(OUTPUT_PORT_NAME_FORECAST, result);
@@ -231,6 +252,24 @@ public class ForecastingFilter extends AbstractUpdateableFilterPlugin {
 
 	}
 
+	/**
+	 * Returns the forecaster for the current window. An existing incremental forecaster is updated with the new value
+	 * instead of creating a new forecaster for the whole window.
+	 */
+	private IForecaster<Double> getForecaster(final ITimeSeries<Double> currentWindow, final double value, final String name) {
+		final IIncrementalForecaster incrementalForecaster = this.incrementalForecasters.get(name);
+		if (incrementalForecaster != null) {
+			incrementalForecaster.update(value);
+			return incrementalForecaster;
+		}
+
+		final IForecaster<Double> forecaster = this.forecastMethod.get().getForecaster(currentWindow, this.forecastConfidence.get());
+		if (forecaster instanceof IIncrementalForecaster) {
+			this.incrementalForecasters.put(name, (IIncrementalForecaster) forecaster);
+		}
+		return forecaster;
+	}
+
 	/**
 	 * Checks if the current application is already known to this filter.
 	 *
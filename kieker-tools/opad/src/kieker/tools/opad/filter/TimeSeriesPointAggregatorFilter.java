@@ -149,7 +149,7 @@ public class TimeSeriesPointAggregatorFilter extends AbstractFilterPlugin {
 	@InputPort(eventTypes = { NamedDoubleTimeSeriesPoint.class }, name = TimeSeriesPointAggregatorFilter.INPUT_PORT_NAME_TSPOINT)
 	public void inputTSPoint(final NamedDoubleTimeSeriesPoint input) {
 		final String name = input.getName();
-		this.aggregationVariables.putIfAbsent(name, new AggregationVariableSet());
+		this.aggregationVariables.putIfAbsent(name, new AggregationVariableSet(name));
 
 		if (this.aggregationTimescopeGlobal) {
 			this.processInputGlobalScope(input);
@@ -173,7 +173,7 @@ public class TimeSeriesPointAggregatorFilter extends AbstractFilterPlugin {
 		// check if interval is omitted
 		if (endOfTimestampsInterval > variables.getLastTimestampInCurrentInterval()) {
 			if (variables.getFirstTimestampInCurrentInterval() >= 0) { // don't do this for the first record (only used for initialization of variables)
-				this.calculateAndDeliverAggregationValue(variables);
+				this.calculateAndDeliverAggregationValue(variables, appname);
 				long numIntervalsElapsed = 1; // refined below
 				numIntervalsElapsed = (endOfTimestampsInterval - variables.getLastTimestampInCurrentInterval()) / this.aggregationSpan;
 				if (numIntervalsElapsed > 1) {
@@ -187,9 +187,9 @@ public class TimeSeriesPointAggregatorFilter extends AbstractFilterPlugin {
 			}
 			variables.setFirstTimestampInCurrentInterval(startOfTimestampsInterval);
 			variables.setLastTimestampInCurrentInterval(endOfTimestampsInterval);
-			variables.getAggregationList().clear();
+			variables.getAggregationBuffer().clear();
 		}
-		variables.getAggregationList().add(input);
+		variables.getAggregationBuffer().add(input.getTime(), input.getDoubleValue());
 	}
 
 	private synchronized void processInputGlobalScope(final NamedDoubleTimeSeriesPoint input) { // NOPMD (AvoidSynchronizedAtMethodLevel)
@@ -231,7 +231,7 @@ public class TimeSeriesPointAggregatorFilter extends AbstractFilterPlugin {
 
 		// Ignore input if the timestamp is before the current window
 		if (inputTimestamp >= inputVariables.getFirstTimestampInCurrentInterval()) {
-			inputVariables.getAggregationList().add(input);
+			inputVariables.getAggregationBuffer().add(inputTimestamp, input.getDoubleValue());
 		}
 
 		for (final List<NamedDoubleTimeSeriesPoint> tsPointList : orderedTsPoints.values()) {
@@ -247,17 +247,12 @@ public class TimeSeriesPointAggregatorFilter extends AbstractFilterPlugin {
 		final long firstTimestampInCurrentInterval = variables.getFirstTimestampInCurrentInterval();
 		final long lastTimestampInCurrentInterval = variables.getLastTimestampInCurrentInterval();
 		synchronized (this) {
-			final int listSize = variables.getAggregationList().size();
-			if (listSize <= 0) {
+			if (variables.getAggregationBuffer().isEmpty()) {
 				tsPoint = new NamedDoubleTimeSeriesPoint(lastTimestampInCurrentInterval, Double.NaN, name);
 			} else {
-				final double[] a = new double[listSize];
-				for (int i = 0; i < listSize; i++) {
-					a[i] = variables.getAggregationList().get(i).getValue();
-				}
-				aggregationValue = this.aggregationMethod.getAggregationValue(a);
+				aggregationValue = this.aggregationMethod.getAggregationValue(variables.getAggregationBuffer().toValueArray());
 				tsPoint = new NamedDoubleTimeSeriesPoint(lastTimestampInCurrentInterval, aggregationValue, name);
-				variables.getAggregationList().clear();
+				variables.getAggregationBuffer().clear();
 			}
 			variables.setFirstTimestampInCurrentInterval(firstTimestampInCurrentInterval + this.aggregationSpan);
 			variables.setLastTimestampInCurrentInterval(lastTimestampInCurrentInterval + this.aggregationSpan);
@@ -274,20 +269,15 @@ public class TimeSeriesPointAggregatorFilter extends AbstractFilterPlugin {
 		tsPointList.add(newTsPoint);
 	}
 
-	private void calculateAndDeliverAggregationValue(final AggregationVariableSet variables) {
+	private void calculateAndDeliverAggregationValue(final AggregationVariableSet variables, final String name) {
 		final double aggregationValue;
 		final NamedDoubleTimeSeriesPoint tsPoint;
 		synchronized (this) {
-			final int listSize = variables.getAggregationList().size();
-			final double[] a = new double[listSize];
-			for (int i = 0; i < listSize; i++) {
-				a[i] = variables.getAggregationList().get(i).getValue();
-			}
-			aggregationValue = this.aggregationMethod.getAggregationValue(a);
+			aggregationValue = this.aggregationMethod.getAggregationValue(variables.getAggregationBuffer().toValueArray());
 			tsPoint = new NamedDoubleTimeSeriesPoint(variables.getLastTimestampInCurrentInterval(),
 					aggregationValue,
-					variables.getAggregationList().get(0).getName()); // use name of first element (any will do)
-			variables.getAggregationList().clear();
+					name);
+			variables.getAggregationBuffer().clear();
 
 		}
 		super.deliver(OUTPUT_PORT_NAME_AGGREGATED_TSPOINT, tsPoint);
@@ -0,0 +1,183 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.tools.opad.timeseries;
+
+import java.util.Arrays;
+
+/**
+ * Ring buffer of time stamps and double values stored in primitive arrays. Appending and evicting values takes
+ * constant time and does not allocate. A bounded buffer evicts its oldest entry when it is full, an unbounded buffer
+ * grows instead.
+ *
+ * <p>
+ * The buffer is not thread-safe. Index 0 always refers to the oldest entry.
+ * </p>
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class DoubleRingBuffer {
+
+	private static final int INITIAL_UNBOUNDED_CAPACITY = 16;
+
+	private final boolean unbounded;
+	private long[] times;
+	private double[] values;
+	/** index of the oldest entry. */
+	private int head;
+	private int size;
+
+	/**
+	 * Create a buffer with the given capacity. A capacity of less or equal zero means that the capacity is infinite.
+	 *
+	 * @param capacity
+	 *            maximal number of entries
+	 */
+	public DoubleRingBuffer(final int capacity) {
+		this.unbounded = capacity <= 0;
+		final int length = this.unbounded ? INITIAL_UNBOUNDED_CAPACITY : capacity; // NOCS (inline conditional)
+		this.times = new long[length];
+		this.values = new double[length];
+	}
+
+	/**
+	 * Append an entry. If the buffer is bounded and full, the oldest entry is evicted.
+	 *
+	 * @param time
+	 *            time stamp of the value
+	 * @param value
+	 *            the value
+	 * @return true if an entry has been evicted
+	 */
+	public boolean add(final long time, final double value) {
+		final boolean evicted;
+		if (this.size == this.values.length) {
+			if (this.unbounded) {
+				this.grow();
+				evicted = false;
+			} else {
+				this.head = this.next(this.head);
+				this.size--;
+				evicted = true;
+			}
+		} else {
+			evicted = false;
+		}
+		final int index = this.index(this.size);
+		this.times[index] = time;
+		this.values[index] = value;
+		this.size++;
+		return evicted;
+	}
+
+	/**
+	 * Remove the oldest entry.
+	 *
+	 * @return the value of the removed entry
+	 */
+	public double remove() {
+		if (this.size == 0) {
+			throw new IllegalStateException("The buffer is empty");
+		}
+		final double value = this.values[this.head];
+		this.head = this.next(this.head);
+		this.size--;
+		return value;
+	}
+
+	/**
+	 * Remove all entries.
+	 */
+	public void clear() {
+		this.head = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * @param index
+	 *            index of the entry, 0 is the oldest entry
+	 * @return time stamp of the entry
+	 */
+	public long getTime(final int index) {
+		return this.times[this.checkedIndex(index)];
+	}
+
+	/**
+	 * @param index
+	 *            index of the entry, 0 is the oldest entry
+	 * @return value of the entry
+	 */
+	public double getValue(final int index) {
+		return this.values[this.checkedIndex(index)];
+	}
+
+	/**
+	 * Copy all values in order into a new array.
+	 *
+	 * @return values, the oldest first
+	 */
+	public double[] toValueArray() {
+		final double[] result = new double[this.size];
+		final int firstPart = Math.min(this.size, this.values.length - this.head);
+		System.arraycopy(this.values, this.head, result, 0, firstPart);
+		System.arraycopy(this.values, 0, result, firstPart, this.size - firstPart);
+		return result;
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * @return the capacity of the buffer, {@link ITimeSeries#INFINITE_CAPACITY} for unbounded buffers
+	 */
+	public int getCapacity() {
+		return this.unbounded ? ITimeSeries.INFINITE_CAPACITY : this.values.length; // NOCS (inline conditional)
+	}
+
+	private int checkedIndex(final int index) {
+		if ((index < 0) || (index >= this.size)) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		}
+		return this.index(index);
+	}
+
+	private int index(final int offset) {
+		final int index = this.head + offset;
+		return index < this.values.length ? index : index - this.values.length; // NOCS (inline conditional)
+	}
+
+	private int next(final int index) {
+		return (index + 1) == this.values.length ? 0 : index + 1; // NOCS (inline conditional)
+	}
+
+	private void grow() {
+		final int length = this.values.length * 2;
+		final long[] newTimes = new long[length];
+		final double[] newValues = this.toValueArray();
+		for (int i = 0; i < this.size; i++) {
+			newTimes[i] = this.times[this.index(i)];
+		}
+		this.times = newTimes;
+		this.values = Arrays.copyOf(newValues, length);
+		this.head = 0;
+	}
+}
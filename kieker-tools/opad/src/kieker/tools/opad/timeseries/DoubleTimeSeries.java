@@ -0,0 +1,257 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.tools.opad.timeseries;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A time series of double values which keeps its time stamps and values in a primitive {@link DoubleRingBuffer}.
+ * In contrast to {@link TimeSeries}, appending a value to a bounded time series takes constant time and no point
+ * objects are created for the stored values.
+ *
+ * <p>
+ * {@link #getValues()} returns a view on the buffer instead of a copy, which reflects later appends. The time series
+ * is not thread-safe and is intended to be used by a single filter, e.g., as forecasting window.
+ * </p>
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class DoubleTimeSeries implements ITimeSeries<Double> {
+
+	private final long initialStartTime;
+	private final TimeUnit timeSeriesTimeUnit;
+	private final long deltaTime;
+	private final TimeUnit deltaTimeUnit;
+	private final int frequency;
+	private final long timeSeriesStepSize;
+	private final DoubleRingBuffer buffer;
+	private final List<Double> valuesView = new ValuesView();
+	private long nextTime;
+
+	/**
+	 * @param startTime
+	 *            start time of Timeseries
+	 * @param timeSeriesTimeUnit
+	 *            time unit of the startTime
+	 * @param deltaTime
+	 *            time of timeseries
+	 * @param deltaTimeUnit
+	 *            Time unit
+	 * @param frequency
+	 *            frequency of events
+	 * @param capacity
+	 *            length of timeseries, {@link ITimeSeries#INFINITE_CAPACITY} for an unbounded time series
+	 */
+	public DoubleTimeSeries(final long startTime, final TimeUnit timeSeriesTimeUnit, final long deltaTime, final TimeUnit deltaTimeUnit,
+			final int frequency, final int capacity) {
+		this.initialStartTime = startTime;
+		this.timeSeriesTimeUnit = timeSeriesTimeUnit;
+		this.deltaTime = deltaTime;
+		this.deltaTimeUnit = deltaTimeUnit;
+		this.frequency = frequency;
+		this.timeSeriesStepSize = timeSeriesTimeUnit.convert(deltaTime, deltaTimeUnit);
+		this.buffer = new DoubleRingBuffer(capacity);
+		this.nextTime = startTime;
+	}
+
+	/**
+	 * @param startTime
+	 *            start time of Timeseries
+	 * @param timeSeriesTimeUnit
+	 *            time unit of the startTime
+	 * @param deltaTime
+	 *            time of timeseries
+	 * @param deltaTimeUnit
+	 *            Time unit
+	 * @param capacity
+	 *            length of timeseries, {@link ITimeSeries#INFINITE_CAPACITY} for an unbounded time series
+	 */
+	public DoubleTimeSeries(final long startTime, final TimeUnit timeSeriesTimeUnit, final long deltaTime, final TimeUnit deltaTimeUnit,
+			final int capacity) {
+		// frequency = 24 best practice
+		this(startTime, timeSeriesTimeUnit, deltaTime, deltaTimeUnit, 24, capacity);
+	}
+
+	@Override
+	public long getStartTime() {
+		if (this.buffer.isEmpty()) {
+			return this.initialStartTime;
+		} else {
+			return this.buffer.getTime(0);
+		}
+	}
+
+	@Override
+	public TimeUnit getTimeSeriesTimeUnit() {
+		return this.timeSeriesTimeUnit;
+	}
+
+	@Override
+	public long getDeltaTime() {
+		return this.deltaTime;
+	}
+
+	@Override
+	public TimeUnit getDeltaTimeUnit() {
+		return this.deltaTimeUnit;
+	}
+
+	/**
+	 * Returns the step size between each item in the timeseries. The {@link TimeUnit} of the stepSize is equal to the {@link #timeSeriesTimeUnit}.
+	 *
+	 * @return step size
+	 */
+	public long getStepSize() {
+		return this.timeSeriesStepSize;
+	}
+
+	/**
+	 * Append a value without creating a point object.
+	 *
+	 * @param value
+	 *            value which should be appended
+	 * @return the time of the appended value
+	 */
+	public long appendValue(final double value) {
+		final long time = this.nextTime;
+		this.buffer.add(time, value);
+		this.nextTime += this.timeSeriesStepSize;
+		return time;
+	}
+
+	/**
+	 * @param value
+	 *            value which should be appended, null is stored as NaN
+	 *
+	 * @return tspoint
+	 */
+	@Override
+	public ITimeSeriesPoint<Double> append(final Double value) {
+		return new TimeSeriesPoint<>(this.appendValue(value == null ? Double.NaN : value), value); // NOCS (inline conditional)
+	}
+
+	@Override
+	public List<ITimeSeriesPoint<Double>> appendAll(final Double[] values) {
+		final List<ITimeSeriesPoint<Double>> retVals = new ArrayList<>(values.length);
+		for (final Double value : values) {
+			retVals.add(this.append(value));
+		}
+		return retVals;
+	}
+
+	/**
+	 * @param index
+	 *            index of the value, 0 is the oldest value in the time series
+	 * @return the value
+	 */
+	public double getValue(final int index) {
+		return this.buffer.getValue(index);
+	}
+
+	/**
+	 * @param index
+	 *            index of the value, 0 is the oldest value in the time series
+	 * @return the time of the value
+	 */
+	public long getTime(final int index) {
+		return this.buffer.getTime(index);
+	}
+
+	/**
+	 * @return a copy of all values, the oldest first
+	 */
+	public double[] toValueArray() {
+		return this.buffer.toValueArray();
+	}
+
+	@Override
+	public List<ITimeSeriesPoint<Double>> getPoints() {
+		final int size = this.buffer.size();
+		final List<ITimeSeriesPoint<Double>> points = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			points.add(new TimeSeriesPoint<>(this.buffer.getTime(i), this.buffer.getValue(i)));
+		}
+		return points;
+	}
+
+	/**
+	 * @return a read-only view on the values of this time series, the oldest first
+	 */
+	@Override
+	public List<Double> getValues() {
+		return this.valuesView;
+	}
+
+	@Override
+	public int getCapacity() {
+		return this.buffer.getCapacity();
+	}
+
+	@Override
+	public int size() {
+		return this.buffer.size();
+	}
+
+	@Override
+	public long getEndTime() {
+		if (this.buffer.isEmpty()) {
+			throw new IllegalStateException("The TimeSeries is empty, so no end time can be returned.");
+		} else {
+			return this.buffer.getTime(this.buffer.size() - 1);
+		}
+	}
+
+	@Override
+	public int getFrequency() {
+		return this.frequency;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder buf = new StringBuilder(); // NOPMD (size unknown)
+		buf.append("Time Series with delta: " + this.deltaTime + " " + this.deltaTimeUnit + " starting at: " + this.getStartTime() + " " + this.timeSeriesTimeUnit);
+		for (final ITimeSeriesPoint<Double> curPoint : this.getPoints()) {
+			buf.append(curPoint);
+		}
+		return buf.toString();
+	}
+
+	/**
+	 * Read-only list view on the values of the ring buffer.
+	 */
+	private class ValuesView extends AbstractList<Double> implements RandomAccess {
+
+		public ValuesView() {
+			// nothing to initialize
+		}
+
+		@Override
+		public Double get(final int index) {
+			return DoubleTimeSeries.this.buffer.getValue(index);
+		}
+
+		@Override
+		public int size() {
+			return DoubleTimeSeries.this.buffer.size();
+		}
+	}
+}
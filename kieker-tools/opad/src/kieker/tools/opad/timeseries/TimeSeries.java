@@ -16,11 +16,16 @@
 
 package kieker.tools.opad.timeseries;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
+ * A time series of arbitrary values. For double values, {@link DoubleTimeSeries} stores the values without creating
+ * point objects.
+ *
  * @author Andre van Hoorn, Tobias Rudolph, Andreas Eberlein
  *
  * @since 1.10
@@ -37,7 +42,8 @@ public class TimeSeries<T> implements ITimeSeries<T> {
 	private final TimeUnit deltaTimeUnit;
 	private final int frequency;
 	private final int capacity;
-	private final TimeSeriesPointsBuffer<ITimeSeriesPoint<T>> points;
+	/** points of the time series, guarded by itself. */
+	private final Deque<ITimeSeriesPoint<T>> points;
 	private final long timeSeriesStepSize;
 
 	/**
@@ -64,10 +70,10 @@ public class TimeSeries<T> implements ITimeSeries<T> {
 		this.capacity = capacity;
 		this.timeSeriesStepSize = timeSeriesTimeUnit.convert(this.deltaTime, this.deltaTimeUnit);
 
-		if (ITimeSeries.INFINITE_CAPACITY == capacity) {
-			this.points = new TimeSeriesPointsBuffer<>();
+		if (capacity > 0) {
+			this.points = new ArrayDeque<>(capacity);
 		} else {
-			this.points = new TimeSeriesPointsBuffer<>(this.capacity);
+			this.points = new ArrayDeque<>();
 		}
 
 		this.nextTime = this.startTime;
@@ -174,10 +180,13 @@ public class TimeSeries<T> implements ITimeSeries<T> {
 	public ITimeSeriesPoint<T> append(final T value) {
 		final ITimeSeriesPoint<T> point;
 
-		synchronized (value) {
+		synchronized (this.points) {
 			point = new TimeSeriesPoint<>(this.nextTime, value);
-			this.points.add(point);
-			this.startTime = this.points.peek().getTime(); // we have a bounded buffer so the first element might be gone
+			if ((this.capacity > 0) && (this.points.size() == this.capacity)) {
+				this.points.removeFirst();
+			}
+			this.points.addLast(point);
+			this.startTime = this.points.peekFirst().getTime(); // we have a bounded buffer so the first element might be gone
 			this.nextTime = this.nextTime + this.timeSeriesStepSize;
 		}
 		return point;
@@ -185,7 +194,9 @@ public class TimeSeries<T> implements ITimeSeries<T> {
 
 	@Override
 	public List<ITimeSeriesPoint<T>> getPoints() {
-		return new ArrayList<>(this.points);
+		synchronized (this.points) {
+			return new ArrayList<>(this.points);
+		}
 	}
 
 	@Override
@@ -205,15 +216,19 @@ public class TimeSeries<T> implements ITimeSeries<T> {
 
 	@Override
 	public int size() {
-		return this.points.getSize();
+		synchronized (this.points) {
+			return this.points.size();
+		}
 	}
 
 	@Override
 	public long getEndTime() {
-		if (this.getPoints().isEmpty()) {
-			throw new IllegalStateException("The TimeSeries is empty, so no end time can be returned.");
-		} else {
-			return this.getStartTime() + (this.timeSeriesStepSize * (this.getPoints().size() - 1));
+		synchronized (this.points) {
+			if (this.points.isEmpty()) {
+				throw new IllegalStateException("The TimeSeries is empty, so no end time can be returned.");
+			} else {
+				return this.points.peekLast().getTime();
+			}
 		}
 	}
 
@@ -29,7 +29,10 @@ import org.slf4j.LoggerFactory;
  *
  * @param <T>
  *            The type of the buffer.
+ *
+ * @deprecated 2.0.0 adding to a bounded buffer takes linear time, use {@link DoubleRingBuffer} instead
  */
+@Deprecated
 public class TimeSeriesPointsBuffer<T> extends ConcurrentLinkedQueue<T> implements ITimeSeriesPointsBuffer<T> {
 
 	private static final long serialVersionUID = -7988633509408488397L;
@@ -0,0 +1,205 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.tools.opad.timeseries.forecast;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.distribution.NormalDistribution;
+
+import kieker.tools.opad.timeseries.DoubleTimeSeries;
+import kieker.tools.opad.timeseries.ForecastMethod;
+import kieker.tools.opad.timeseries.ITimeSeries;
+
+/**
+ * Base class of the Java-based incremental forecasters. It tracks the one-step forecast errors of the model,
+ * which are used for the prediction intervals and the mean absolute scaled error (MASE) of the forecast.
+ *
+ * <p>
+ * Subclasses must call {@link #updateAll(ITimeSeries)} at the end of their constructor to fit the model to
+ * the given history.
+ * </p>
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public abstract class AbstractIncrementalForecaster extends AbstractForecaster<Double> implements IIncrementalForecaster {
+
+	private static final NormalDistribution STANDARD_NORMAL = new NormalDistribution();
+
+	private final ForecastMethod strategy;
+
+	/** sum of squared one-step forecast errors. */
+	private double sumSquaredErrors;
+	/** sum of absolute one-step forecast errors. */
+	private double sumAbsoluteErrors;
+	private long numErrors;
+
+	/** last values used to compute the in-sample error of the (seasonal) naive forecast for the MASE. */
+	private final double[] lastValues;
+	private long numValues;
+	private double sumAbsoluteNaiveErrors;
+
+	/**
+	 * Create an incremental forecaster.
+	 *
+	 * @param historyTimeseries
+	 *            time series, which is extended by the caller and passed to the forecaster via {@link #update(double)}
+	 * @param confidenceLevel
+	 *            confidence level of the prediction interval in percent, 0 for no interval
+	 * @param strategy
+	 *            forecast method reported in the results
+	 * @param scaleLag
+	 *            lag of the naive forecast used to scale the MASE, e.g., the season length for seasonal models
+	 */
+	protected AbstractIncrementalForecaster(final ITimeSeries<Double> historyTimeseries, final int confidenceLevel, final ForecastMethod strategy,
+			final int scaleLag) {
+		super(historyTimeseries, confidenceLevel);
+		this.strategy = strategy;
+		this.lastValues = new double[Math.max(1, scaleLag)];
+	}
+
+	/**
+	 * Update the model with all values of the given time series.
+	 *
+	 * @param history
+	 *            time series
+	 */
+	protected final void updateAll(final ITimeSeries<Double> history) {
+		if (history instanceof DoubleTimeSeries) {
+			final DoubleTimeSeries doubleHistory = (DoubleTimeSeries) history;
+			final int size = doubleHistory.size();
+			for (int i = 0; i < size; i++) {
+				this.update(doubleHistory.getValue(i));
+			}
+		} else {
+			for (final Double value : history.getValues()) {
+				if (value != null) {
+					this.update(value);
+				}
+			}
+		}
+	}
+
+	@Override
+	public final void update(final double value) {
+		if (Double.isNaN(value)) {
+			return;
+		}
+		if (this.isModelInitialized()) {
+			final double error = value - this.pointForecast(1);
+			this.sumSquaredErrors += error * error;
+			this.sumAbsoluteErrors += Math.abs(error);
+			this.numErrors++;
+		}
+
+		final int lagIndex = (int) (this.numValues % this.lastValues.length);
+		if (this.numValues >= this.lastValues.length) {
+			this.sumAbsoluteNaiveErrors += Math.abs(value - this.lastValues[lagIndex]);
+		}
+		this.lastValues[lagIndex] = value;
+		this.numValues++;
+
+		this.updateModel(value);
+	}
+
+	@Override
+	public IForecastResult forecast(final int numForecastSteps) {
+		final ITimeSeries<Double> tsForecast = this.prepareForecastTS();
+		final ITimeSeries<Double> tsLower = this.prepareForecastTS();
+		final ITimeSeries<Double> tsUpper = this.prepareForecastTS();
+
+		final Double[] forecastValues = new Double[numForecastSteps];
+		final Double[] lowerValues = new Double[numForecastSteps];
+		final Double[] upperValues = new Double[numForecastSteps];
+		if (this.isModelInitialized()) {
+			final double z = this.getConfidenceLevel() > 0 ? STANDARD_NORMAL.inverseCumulativeProbability(0.5 + (this.getConfidenceLevel() / 200.0)) // NOCS
+					: 0;
+			final double variance = this.numErrors > 0 ? this.sumSquaredErrors / this.numErrors : Double.NaN; // NOCS
+			for (int step = 1; step <= numForecastSteps; step++) {
+				final double forecast = this.pointForecast(step);
+				forecastValues[step - 1] = forecast;
+				if (z > 0) {
+					final double width = z * Math.sqrt(variance * this.forecastVarianceFactor(step));
+					lowerValues[step - 1] = forecast - width;
+					upperValues[step - 1] = forecast + width;
+				} else {
+					lowerValues[step - 1] = forecast;
+					upperValues[step - 1] = forecast;
+				}
+			}
+		} else {
+			Arrays.fill(forecastValues, Double.NaN);
+			Arrays.fill(lowerValues, Double.NaN);
+			Arrays.fill(upperValues, Double.NaN);
+		}
+		tsForecast.appendAll(forecastValues);
+		tsLower.appendAll(lowerValues);
+		tsUpper.appendAll(upperValues);
+
+		return new ForecastResult(tsForecast, this.getTsOriginal(), this.getConfidenceLevel(), this.getMeanAbsoluteScaledError(),
+				tsLower, tsUpper, this.strategy);
+	}
+
+	/**
+	 * @return in-sample mean absolute scaled error of the one-step forecasts, NaN if not enough values are known
+	 */
+	public double getMeanAbsoluteScaledError() {
+		final long numNaiveErrors = this.numValues - this.lastValues.length;
+		if ((this.numErrors == 0) || (numNaiveErrors <= 0)) {
+			return Double.NaN;
+		}
+		return (this.sumAbsoluteErrors / this.numErrors) / (this.sumAbsoluteNaiveErrors / numNaiveErrors);
+	}
+
+	/**
+	 * @return the forecast method of this forecaster
+	 */
+	public ForecastMethod getForecastMethod() {
+		return this.strategy;
+	}
+
+	/**
+	 * @return true if the model has seen enough values to compute forecasts
+	 */
+	protected abstract boolean isModelInitialized();
+
+	/**
+	 * Update the model with the next value.
+	 *
+	 * @param value
+	 *            next value, never NaN
+	 */
+	protected abstract void updateModel(double value);
+
+	/**
+	 * Compute the point forecast for the given step based on the current model.
+	 *
+	 * @param step
+	 *            forecast step, 1 is the next value
+	 * @return the forecast
+	 */
+	protected abstract double pointForecast(int step);
+
+	/**
+	 * Ratio of the variance of the forecast error of the given step and the variance of the one-step error.
+	 *
+	 * @param step
+	 *            forecast step, 1 is the next value
+	 * @return the variance factor, 1 for the first step
+	 */
+	protected abstract double forecastVarianceFactor(int step);
+}
@@ -0,0 +1,38 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.tools.opad.timeseries.forecast;
+
+/**
+ * A forecaster which keeps a model of the time series and updates it with every new value. The cost of an
+ * update does not depend on the length of the time series.
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public interface IIncrementalForecaster extends IForecaster<Double> {
+
+	/**
+	 * Update the model with the next value of the time series. The value must also be appended to the
+	 * original time series of the forecaster, see {@link #getTsOriginal()}.
+	 *
+	 * @param value
+	 *            next value, NaN values are ignored
+	 *
+	 * @since 2.0.0
+	 */
+	public void update(final double value);
+}
@@ -0,0 +1,284 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.tools.opad.timeseries.forecast.arima;
+
+import kieker.tools.opad.timeseries.ForecastMethod;
+import kieker.tools.opad.timeseries.ITimeSeries;
+import kieker.tools.opad.timeseries.forecast.AbstractIncrementalForecaster;
+
+/**
+ * A Java-based incremental time series forecaster based on an ARIMA(p,d,q) model. The series is differenced d times
+ * and the ARMA(p,q) coefficients of the differenced series are estimated with recursive extended least squares, using
+ * the a-posteriori residuals as estimates of the past innovations. An intercept is only estimated for d = 0.
+ *
+ * <p>
+ * In contrast to {@link ARIMAForecaster}, the model order is fixed and the coefficients are not estimated with maximum
+ * likelihood. Old values are discounted with an exponential forgetting factor, which allows the model to follow
+ * slowly changing series.
+ * </p>
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class ARIMAForecasterJava extends AbstractIncrementalForecaster {
+
+	/** default forgetting factor of the least squares estimation. */
+	public static final double DEFAULT_FORGETTING_FACTOR = 0.995;
+
+	private static final double INITIAL_COVARIANCE = 1000.0;
+
+	private final int p;
+	private final int d;
+	private final int q;
+	private final double forgettingFactor;
+
+	/** last value of the i-th difference of the series, index 0 is the series itself. */
+	private final double[] lastDifferences;
+	private long numValues;
+
+	/** coefficients: intercept (only for d = 0), p AR coefficients, q MA coefficients. */
+	private final double[] coefficients;
+	private final double[][] covariance;
+	private final boolean intercept;
+	/** last p values of the differenced series, index 0 is the most recent one. */
+	private final double[] lastValues;
+	/** last q residuals, index 0 is the most recent one. */
+	private final double[] lastResiduals;
+	private long numDifferencedValues;
+
+	/** regressors of the current update, kept to avoid allocation. */
+	private final double[] regressors;
+	private final double[] gain;
+
+	/**
+	 * Create an ARIMA(1,0,1) forecaster.
+	 *
+	 * @param historyTimeseries
+	 *            Time Series
+	 */
+	public ARIMAForecasterJava(final ITimeSeries<Double> historyTimeseries) {
+		this(historyTimeseries, 0);
+	}
+
+	/**
+	 * Create an ARIMA(1,0,1) forecaster.
+	 *
+	 * @param historyTimeseries
+	 *            Time Series
+	 * @param confidenceLevel
+	 *            value of confidence level (0-100)
+	 */
+	public ARIMAForecasterJava(final ITimeSeries<Double> historyTimeseries, final int confidenceLevel) {
+		this(historyTimeseries, confidenceLevel, 1, 0, 1, DEFAULT_FORGETTING_FACTOR);
+	}
+
+	/**
+	 * @param historyTimeseries
+	 *            Time Series
+	 * @param confidenceLevel
+	 *            value of confidence level (0-100)
+	 * @param p
+	 *            order of the autoregressive part
+	 * @param d
+	 *            degree of differencing
+	 * @param q
+	 *            order of the moving average part
+	 * @param forgettingFactor
+	 *            weight of the previous estimation in each update, 0 &lt; forgettingFactor &lt;= 1
+	 */
+	public ARIMAForecasterJava(final ITimeSeries<Double> historyTimeseries, final int confidenceLevel, // NOPMD (short parameter names are common for ARIMA)
+			final int p, final int d, final int q, final double forgettingFactor) {
+		super(historyTimeseries, confidenceLevel, ForecastMethod.ARIMAJAVA, 1);
+		if ((p < 0) || (d < 0) || (q < 0)) {
+			throw new IllegalArgumentException("Model orders must not be negative, but are (" + p + "," + d + "," + q + ")");
+		}
+		if ((forgettingFactor <= 0) || (forgettingFactor > 1)) {
+			throw new IllegalArgumentException("Forgetting factor must be in (0, 1], but is " + forgettingFactor);
+		}
+		this.p = p;
+		this.d = d;
+		this.q = q;
+		this.forgettingFactor = forgettingFactor;
+		this.lastDifferences = new double[d];
+		this.intercept = d == 0;
+		final int numCoefficients = (this.intercept ? 1 : 0) + p + q; // NOCS (inline conditional)
+		this.coefficients = new double[numCoefficients];
+		this.covariance = new double[numCoefficients][numCoefficients];
+		for (int i = 0; i < numCoefficients; i++) {
+			this.covariance[i][i] = INITIAL_COVARIANCE;
+		}
+		this.lastValues = new double[p];
+		this.lastResiduals = new double[q];
+		this.regressors = new double[numCoefficients];
+		this.gain = new double[numCoefficients];
+		this.updateAll(historyTimeseries);
+	}
+
+	@Override
+	protected boolean isModelInitialized() {
+		return this.numDifferencedValues > this.coefficients.length;
+	}
+
+	@Override
+	protected void updateModel(final double value) {
+		double differenced = value;
+		for (int i = 0; i < this.d; i++) {
+			final double previous = this.lastDifferences[i];
+			this.lastDifferences[i] = differenced;
+			if (this.numValues <= i) {
+				this.numValues++;
+				return;
+			}
+			differenced -= previous;
+		}
+		this.numValues++;
+
+		final double residual = this.estimate(differenced);
+
+		ARIMAForecasterJava.shift(this.lastValues, differenced);
+		ARIMAForecasterJava.shift(this.lastResiduals, residual);
+		this.numDifferencedValues++;
+	}
+
+	/**
+	 * Update the coefficients with one step of recursive least squares.
+	 *
+	 * @return the a-posteriori residual
+	 */
+	private double estimate(final double value) {
+		final int n = this.coefficients.length;
+		if (n == 0) {
+			return value;
+		}
+		this.fillRegressors();
+
+		// gain = P x / (lambda + x' P x)
+		double denominator = this.forgettingFactor;
+		for (int i = 0; i < n; i++) {
+			double sum = 0;
+			for (int j = 0; j < n; j++) {
+				sum += this.covariance[i][j] * this.regressors[j];
+			}
+			this.gain[i] = sum;
+			denominator += this.regressors[i] * sum;
+		}
+		for (int i = 0; i < n; i++) {
+			this.gain[i] /= denominator;
+		}
+
+		final double error = value - this.dot(this.coefficients);
+		for (int i = 0; i < n; i++) {
+			this.coefficients[i] += this.gain[i] * error;
+		}
+
+		// P = (P - gain x' P) / lambda, P is symmetric, therefore x' P = (P x)' = denominator * gain'
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				this.covariance[i][j] = (this.covariance[i][j] - (denominator * this.gain[i] * this.gain[j])) / this.forgettingFactor;
+			}
+		}
+
+		return value - this.dot(this.coefficients);
+	}
+
+	private void fillRegressors() {
+		int index = 0;
+		if (this.intercept) {
+			this.regressors[index++] = 1;
+		}
+		System.arraycopy(this.lastValues, 0, this.regressors, index, this.p);
+		System.arraycopy(this.lastResiduals, 0, this.regressors, index + this.p, this.q);
+	}
+
+	private double dot(final double[] vector) {
+		double sum = 0;
+		for (int i = 0; i < vector.length; i++) {
+			sum += vector[i] * this.regressors[i];
+		}
+		return sum;
+	}
+
+	private static void shift(final double[] values, final double value) {
+		if (values.length > 0) {
+			System.arraycopy(values, 0, values, 1, values.length - 1);
+			values[0] = value;
+		}
+	}
+
+	@Override
+	protected double pointForecast(final int step) {
+		final int offset = this.intercept ? 1 : 0; // NOCS (inline conditional)
+		final double[] values = new double[this.p + step];
+		for (int i = 0; i < this.p; i++) {
+			values[this.p - 1 - i] = this.lastValues[i];
+		}
+		final double[] levels = this.lastDifferences.clone();
+
+		double forecast = 0;
+		for (int h = 0; h < step; h++) {
+			double differenced = this.intercept ? this.coefficients[0] : 0; // NOCS (inline conditional)
+			for (int i = 0; i < this.p; i++) {
+				differenced += this.coefficients[offset + i] * values[(this.p + h) - 1 - i];
+			}
+			for (int j = h; j < this.q; j++) { // future innovations are 0
+				differenced += this.coefficients[offset + this.p + j] * this.lastResiduals[j - h];
+			}
+			values[this.p + h] = differenced;
+
+			forecast = differenced;
+			for (int i = this.d - 1; i >= 0; i--) {
+				forecast += levels[i];
+				levels[i] = forecast;
+			}
+		}
+		return forecast;
+	}
+
+	@Override
+	protected double forecastVarianceFactor(final int step) {
+		final int offset = this.intercept ? 1 : 0; // NOCS (inline conditional)
+
+		// AR polynomial including the differencing: phi(B) (1 - B)^d = 1 - sum_i ar[i] B^i
+		double[] polynomial = new double[this.p + 1];
+		polynomial[0] = 1;
+		for (int i = 0; i < this.p; i++) {
+			polynomial[i + 1] = -this.coefficients[offset + i];
+		}
+		for (int k = 0; k < this.d; k++) {
+			final double[] product = new double[polynomial.length + 1];
+			for (int i = 0; i < polynomial.length; i++) {
+				product[i] += polynomial[i];
+				product[i + 1] -= polynomial[i];
+			}
+			polynomial = product;
+		}
+
+		// psi weights of the MA(infinity) representation
+		final double[] psi = new double[step];
+		psi[0] = 1;
+		double factor = 1;
+		for (int j = 1; j < step; j++) {
+			double weight = j <= this.q ? this.coefficients[(offset + this.p + j) - 1] : 0; // NOCS (inline conditional)
+			for (int i = 1; i <= Math.min(j, polynomial.length - 1); i++) {
+				weight -= polynomial[i] * psi[j - i];
+			}
+			psi[j] = weight;
+			factor += weight * weight;
+		}
+		return factor;
+	}
+}
@@ -0,0 +1,123 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.tools.opad.timeseries.forecast.croston;
+
+import kieker.tools.opad.timeseries.ForecastMethod;
+import kieker.tools.opad.timeseries.ITimeSeries;
+import kieker.tools.opad.timeseries.forecast.AbstractIncrementalForecaster;
+
+/**
+ * A Java-based incremental implementation of Croston's method for intermittent demand forecasting. The non-zero
+ * values and the intervals between them are smoothed separately with simple exponential smoothing, and the forecast
+ * is the ratio of both. Like {@link CrostonForecaster}, no confidence intervals are computed, and the forecast is 0
+ * as long as no non-zero value has been observed.
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class CrostonForecasterJava extends AbstractIncrementalForecaster {
+
+	/** default smoothing parameter, same as in R's {@code croston}. */
+	public static final double DEFAULT_ALPHA = 0.1;
+
+	private final double alpha;
+	/** smoothed non-zero values. */
+	private double demand;
+	/** smoothed intervals between non-zero values. */
+	private double interval;
+	/** periods since the last non-zero value. */
+	private long periods;
+	private boolean demandObserved;
+	private boolean initialized;
+
+	/**
+	 * @param historyTimeseries
+	 *            Time Series
+	 */
+	public CrostonForecasterJava(final ITimeSeries<Double> historyTimeseries) {
+		this(historyTimeseries, 0);
+	}
+
+	/**
+	 * @param historyTimeseries
+	 *            Time Series
+	 * @param confidenceLevel
+	 *            value of confidence level, ignored
+	 */
+	public CrostonForecasterJava(final ITimeSeries<Double> historyTimeseries, final int confidenceLevel) {
+		this(historyTimeseries, confidenceLevel, DEFAULT_ALPHA);
+	}
+
+	/**
+	 * @param historyTimeseries
+	 *            Time Series
+	 * @param confidenceLevel
+	 *            value of confidence level, ignored
+	 * @param alpha
+	 *            smoothing parameter of values and intervals, 0 &lt; alpha &lt;= 1
+	 */
+	public CrostonForecasterJava(final ITimeSeries<Double> historyTimeseries, final int confidenceLevel, final double alpha) {
+		super(historyTimeseries, confidenceLevel, ForecastMethod.CROSTONJAVA, 1);
+		if ((alpha <= 0) || (alpha > 1)) {
+			throw new IllegalArgumentException("Smoothing parameter alpha must be in (0, 1], but is " + alpha);
+		}
+		this.alpha = alpha;
+		this.updateAll(historyTimeseries);
+	}
+
+	@Override
+	protected boolean isModelInitialized() {
+		return this.initialized;
+	}
+
+	@Override
+	protected void updateModel(final double value) {
+		this.initialized = true;
+		this.periods++;
+		if (value != 0) {
+			if (this.demandObserved) {
+				this.demand += this.alpha * (value - this.demand);
+				this.interval += this.alpha * (this.periods - this.interval);
+			} else {
+				this.demand = value;
+				this.interval = this.periods;
+				this.demandObserved = true;
+			}
+			this.periods = 0;
+		}
+	}
+
+	@Override
+	protected double pointForecast(final int step) {
+		if (this.demandObserved) {
+			return this.demand / this.interval;
+		} else {
+			return 0;
+		}
+	}
+
+	@Override
+	protected double forecastVarianceFactor(final int step) {
+		return 1;
+	}
+
+	@Override
+	protected boolean supportsConfidence() {
+		// Does not support confidence;
+		return false;
+	}
+}
@@ -0,0 +1,191 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.tools.opad.timeseries.forecast.ets;
+
+import kieker.tools.opad.timeseries.ForecastMethod;
+import kieker.tools.opad.timeseries.ITimeSeries;
+import kieker.tools.opad.timeseries.forecast.AbstractIncrementalForecaster;
+
+/**
+ * A Java-based incremental time series forecaster which computes a forecast based on additive Holt-Winters
+ * exponential smoothing, i.e., ETS(A,A,A) in error correction form. A seasonal component is only used if the
+ * frequency of the time series is between 2 and 24, like in R's {@code ets}. Otherwise, the forecaster uses Holt's
+ * linear trend method, i.e., ETS(A,A,N).
+ *
+ * <p>
+ * In contrast to {@link ETSForecaster}, the model type and the smoothing parameters are fixed and not selected
+ * based on the history. The model is initialized with the first two values (non-seasonal) or the first season
+ * (seasonal).
+ * </p>
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class ETSForecasterJava extends AbstractIncrementalForecaster {
+
+	/** default smoothing parameter of the level. */
+	public static final double DEFAULT_ALPHA = 0.3;
+	/** default smoothing parameter of the trend. */
+	public static final double DEFAULT_BETA = 0.1;
+	/** default smoothing parameter of the seasonal component. */
+	public static final double DEFAULT_GAMMA = 0.1;
+
+	private static final int MIN_SEASON_LENGTH = 2;
+	private static final int MAX_SEASON_LENGTH = 24;
+
+	private final double alpha;
+	private final double beta;
+	private final double gamma;
+
+	private double level;
+	private double trend;
+	/** seasonal components, null for non-seasonal models; also collects the first season during initialization. */
+	private final double[] season;
+	private long numValues;
+	private boolean initialized;
+
+	/**
+	 * @param historyTimeseries
+	 *            Time Series
+	 */
+	public ETSForecasterJava(final ITimeSeries<Double> historyTimeseries) {
+		this(historyTimeseries, 0);
+	}
+
+	/**
+	 * @param historyTimeseries
+	 *            Time Series
+	 * @param confidenceLevel
+	 *            value of confidence level (0-100)
+	 */
+	public ETSForecasterJava(final ITimeSeries<Double> historyTimeseries, final int confidenceLevel) {
+		this(historyTimeseries, confidenceLevel, DEFAULT_ALPHA, DEFAULT_BETA, DEFAULT_GAMMA);
+	}
+
+	/**
+	 * @param historyTimeseries
+	 *            Time Series
+	 * @param confidenceLevel
+	 *            value of confidence level (0-100)
+	 * @param alpha
+	 *            smoothing parameter of the level, 0 &lt; alpha &lt;= 1
+	 * @param beta
+	 *            smoothing parameter of the trend, 0 &lt;= beta &lt;= alpha
+	 * @param gamma
+	 *            smoothing parameter of the seasonal component, 0 &lt;= gamma &lt;= 1 - alpha
+	 */
+	public ETSForecasterJava(final ITimeSeries<Double> historyTimeseries, final int confidenceLevel, final double alpha, final double beta,
+			final double gamma) {
+		super(historyTimeseries, confidenceLevel, ForecastMethod.ETSJAVA, ETSForecasterJava.seasonLength(historyTimeseries));
+		if ((alpha <= 0) || (alpha > 1)) {
+			throw new IllegalArgumentException("Smoothing parameter alpha must be in (0, 1], but is " + alpha);
+		}
+		if ((beta < 0) || (beta > alpha)) {
+			throw new IllegalArgumentException("Smoothing parameter beta must be in [0, alpha], but is " + beta);
+		}
+		if ((gamma < 0) || (gamma > (1 - alpha))) {
+			throw new IllegalArgumentException("Smoothing parameter gamma must be in [0, 1 - alpha], but is " + gamma);
+		}
+		this.alpha = alpha;
+		this.beta = beta;
+		this.gamma = gamma;
+		final int seasonLength = ETSForecasterJava.seasonLength(historyTimeseries);
+		this.season = seasonLength > 1 ? new double[seasonLength] : null; // NOCS (inline conditional)
+		this.updateAll(historyTimeseries);
+	}
+
+	private static int seasonLength(final ITimeSeries<Double> timeSeries) {
+		final int frequency = timeSeries.getFrequency();
+		if ((frequency >= MIN_SEASON_LENGTH) && (frequency <= MAX_SEASON_LENGTH)) {
+			return frequency;
+		} else {
+			return 1;
+		}
+	}
+
+	@Override
+	protected boolean isModelInitialized() {
+		return this.initialized;
+	}
+
+	@Override
+	protected void updateModel(final double value) {
+		if (this.initialized) {
+			if (this.season == null) {
+				final double error = value - (this.level + this.trend);
+				this.level += this.trend + (this.alpha * error);
+				this.trend += this.beta * error;
+			} else {
+				final int index = (int) (this.numValues % this.season.length);
+				final double error = value - (this.level + this.trend + this.season[index]);
+				this.level += this.trend + (this.alpha * error);
+				this.trend += this.beta * error;
+				this.season[index] += this.gamma * error;
+			}
+		} else if (this.season == null) {
+			if (this.numValues == 0) {
+				this.level = value;
+			} else {
+				this.trend = value - this.level;
+				this.level = value;
+				this.initialized = true;
+			}
+		} else {
+			this.season[(int) this.numValues] = value;
+			if ((this.numValues + 1) == this.season.length) {
+				this.initializeSeason();
+			}
+		}
+		this.numValues++;
+	}
+
+	private void initializeSeason() {
+		double sum = 0;
+		for (final double value : this.season) {
+			sum += value;
+		}
+		this.level = sum / this.season.length;
+		this.trend = 0;
+		for (int i = 0; i < this.season.length; i++) {
+			this.season[i] -= this.level;
+		}
+		this.initialized = true;
+	}
+
+	@Override
+	protected double pointForecast(final int step) {
+		final double forecast = this.level + (step * this.trend);
+		if (this.season == null) {
+			return forecast;
+		} else {
+			return forecast + this.season[(int) ((this.numValues + step - 1) % this.season.length)];
+		}
+	}
+
+	@Override
+	protected double forecastVarianceFactor(final int step) {
+		double factor = 1;
+		for (int j = 1; j < step; j++) {
+			double c = this.alpha + (this.beta * j);
+			if ((this.season != null) && ((j % this.season.length) == 0)) {
+				c += this.gamma;
+			}
+			factor += c * c;
+		}
+		return factor;
+	}
+}
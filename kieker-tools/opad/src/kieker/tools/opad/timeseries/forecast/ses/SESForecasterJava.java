@@ -0,0 +1,98 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.tools.opad.timeseries.forecast.ses;
+
+import kieker.tools.opad.timeseries.ForecastMethod;
+import kieker.tools.opad.timeseries.ITimeSeries;
+import kieker.tools.opad.timeseries.forecast.AbstractIncrementalForecaster;
+
+/**
+ * A Java-based incremental time series forecaster which computes a forecast based on simple exponential smoothing.
+ * In contrast to {@link SESRForecaster}, the smoothing parameter is fixed and not estimated from the history.
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class SESForecasterJava extends AbstractIncrementalForecaster {
+
+	/** default smoothing parameter of the level. */
+	public static final double DEFAULT_ALPHA = 0.3;
+
+	private final double alpha;
+	private double level;
+	private boolean initialized;
+
+	/**
+	 * @param historyTimeseries
+	 *            Time Series
+	 */
+	public SESForecasterJava(final ITimeSeries<Double> historyTimeseries) {
+		this(historyTimeseries, 0);
+	}
+
+	/**
+	 * @param historyTimeseries
+	 *            Time Series
+	 * @param confidenceLevel
+	 *            value of confidence level (0-100)
+	 */
+	public SESForecasterJava(final ITimeSeries<Double> historyTimeseries, final int confidenceLevel) {
+		this(historyTimeseries, confidenceLevel, DEFAULT_ALPHA);
+	}
+
+	/**
+	 * @param historyTimeseries
+	 *            Time Series
+	 * @param confidenceLevel
+	 *            value of confidence level (0-100)
+	 * @param alpha
+	 *            smoothing parameter of the level, 0 &lt; alpha &lt;= 1
+	 */
+	public SESForecasterJava(final ITimeSeries<Double> historyTimeseries, final int confidenceLevel, final double alpha) {
+		super(historyTimeseries, confidenceLevel, ForecastMethod.SESJAVA, 1);
+		if ((alpha <= 0) || (alpha > 1)) {
+			throw new IllegalArgumentException("Smoothing parameter alpha must be in (0, 1], but is " + alpha);
+		}
+		this.alpha = alpha;
+		this.updateAll(historyTimeseries);
+	}
+
+	@Override
+	protected boolean isModelInitialized() {
+		return this.initialized;
+	}
+
+	@Override
+	protected void updateModel(final double value) {
+		if (this.initialized) {
+			this.level += this.alpha * (value - this.level);
+		} else {
+			this.level = value;
+			this.initialized = true;
+		}
+	}
+
+	@Override
+	protected double pointForecast(final int step) {
+		return this.level;
+	}
+
+	@Override
+	protected double forecastVarianceFactor(final int step) {
+		return 1 + ((step - 1) * this.alpha * this.alpha);
+	}
+}
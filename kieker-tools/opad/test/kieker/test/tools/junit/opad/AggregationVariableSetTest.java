@@ -0,0 +1,81 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.tools.junit.opad;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.tools.opad.AggregationVariableSet;
+import kieker.tools.opad.model.NamedDoubleTimeSeriesPoint;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Checks the deprecated list accessors of {@link AggregationVariableSet}, which are backed by the aggregation buffer.
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class AggregationVariableSetTest extends AbstractKiekerTest {
+
+	private static final String OP_SIGNATURE_A = "a.A.opA";
+
+	private static final double EPSILON = 1e-8;
+
+	/**
+	 * Creates an instance of this class.
+	 */
+	public AggregationVariableSetTest() {
+		// empty default constructor
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testAggregationListView() {
+		final AggregationVariableSet variables = new AggregationVariableSet(OP_SIGNATURE_A);
+		variables.getAggregationBuffer().add(664L, 1000.0);
+		final List<NamedDoubleTimeSeriesPoint> aggregationList = variables.getAggregationList();
+		aggregationList.add(new NamedDoubleTimeSeriesPoint(665L, 2000.0, OP_SIGNATURE_A));
+
+		Assert.assertEquals(2, variables.getAggregationBuffer().size());
+		Assert.assertEquals(2, aggregationList.size());
+		Assert.assertEquals(665L, aggregationList.get(1).getTime());
+		Assert.assertEquals(2000.0, aggregationList.get(1).getDoubleValue(), EPSILON);
+		Assert.assertEquals(OP_SIGNATURE_A, aggregationList.get(0).getName());
+
+		aggregationList.clear();
+		Assert.assertTrue(variables.getAggregationBuffer().isEmpty());
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testSetAggregationList() {
+		final AggregationVariableSet variables = new AggregationVariableSet(OP_SIGNATURE_A);
+		variables.getAggregationBuffer().add(600L, 1.0);
+		final List<NamedDoubleTimeSeriesPoint> points = new ArrayList<>();
+		points.add(new NamedDoubleTimeSeriesPoint(664L, 1000.0, OP_SIGNATURE_A));
+		points.add(new NamedDoubleTimeSeriesPoint(665L, 2000.0, OP_SIGNATURE_A));
+		variables.setAggregationList(points);
+
+		Assert.assertEquals(2, variables.getAggregationBuffer().size());
+		Assert.assertEquals(664L, variables.getAggregationBuffer().getTime(0));
+		Assert.assertEquals(2000.0, variables.getAggregationBuffer().getValue(1), EPSILON);
+	}
+}
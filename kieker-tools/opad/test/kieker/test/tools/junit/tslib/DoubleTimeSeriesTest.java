@@ -0,0 +1,127 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.tools.junit.tslib;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.tools.opad.timeseries.DoubleRingBuffer;
+import kieker.tools.opad.timeseries.DoubleTimeSeries;
+import kieker.tools.opad.timeseries.ITimeSeries;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests the primitive ring buffer based time series.
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class DoubleTimeSeriesTest extends AbstractKiekerTest {
+
+	private static final double DELTA = 1e-12;
+
+	/**
+	 * Creates a new instance of this class.
+	 */
+	public DoubleTimeSeriesTest() {
+		// Default constructor
+	}
+
+	/**
+	 * A bounded time series keeps the last values and moves its start time accordingly.
+	 */
+	@Test
+	public void testBoundedAppend() {
+		final DoubleTimeSeries ts = new DoubleTimeSeries(100, TimeUnit.MILLISECONDS, 10, TimeUnit.MILLISECONDS, 3);
+		Assert.assertEquals(100, ts.getStartTime());
+
+		for (int i = 0; i < 7; i++) {
+			ts.appendValue(i);
+		}
+
+		Assert.assertEquals(3, ts.size());
+		Assert.assertEquals(3, ts.getCapacity());
+		Assert.assertEquals(140, ts.getStartTime());
+		Assert.assertEquals(160, ts.getEndTime());
+		Assert.assertArrayEquals(new double[] { 4, 5, 6 }, ts.toValueArray(), DELTA);
+		Assert.assertEquals(150, ts.getPoints().get(1).getTime());
+		Assert.assertEquals(5.0, ts.getPoints().get(1).getValue(), DELTA);
+	}
+
+	/**
+	 * The value list is a view which reflects later appends.
+	 */
+	@Test
+	public void testValuesView() {
+		final DoubleTimeSeries ts = new DoubleTimeSeries(0, TimeUnit.SECONDS, 1, TimeUnit.SECONDS, 2);
+		final List<Double> values = ts.getValues();
+		Assert.assertTrue(values.isEmpty());
+
+		ts.append(1.0);
+		ts.append(2.0);
+		ts.append(3.0);
+
+		Assert.assertEquals(2, values.size());
+		Assert.assertEquals(2.0, values.get(0), DELTA);
+		Assert.assertEquals(3.0, values.get(1), DELTA);
+	}
+
+	/**
+	 * An unbounded buffer grows and keeps the order of its entries, also if the entries wrap around.
+	 */
+	@Test
+	public void testUnboundedBufferGrows() {
+		final DoubleRingBuffer buffer = new DoubleRingBuffer(ITimeSeries.INFINITE_CAPACITY);
+		for (int i = 0; i < 10; i++) {
+			buffer.add(i, i);
+		}
+		for (int i = 0; i < 10; i++) {
+			Assert.assertEquals(i, buffer.remove(), DELTA);
+			buffer.add(10 + i, 10 + i);
+		}
+		for (int i = 20; i < 100; i++) {
+			Assert.assertFalse(buffer.add(i, i));
+		}
+
+		Assert.assertEquals(ITimeSeries.INFINITE_CAPACITY, buffer.getCapacity());
+		Assert.assertEquals(90, buffer.size());
+		for (int i = 0; i < 90; i++) {
+			Assert.assertEquals(10 + i, buffer.getTime(i));
+			Assert.assertEquals(10 + i, buffer.getValue(i), DELTA);
+		}
+	}
+
+	/**
+	 * A bounded buffer reports the eviction of its oldest entry.
+	 */
+	@Test
+	public void testBoundedBufferEvicts() {
+		final DoubleRingBuffer buffer = new DoubleRingBuffer(2);
+
+		Assert.assertFalse(buffer.add(1, 1.0));
+		Assert.assertFalse(buffer.add(2, 2.0));
+		Assert.assertTrue(buffer.add(3, 3.0));
+		Assert.assertArrayEquals(new double[] { 2.0, 3.0 }, buffer.toValueArray(), DELTA);
+
+		buffer.clear();
+		Assert.assertTrue(buffer.isEmpty());
+	}
+}
@@ -0,0 +1,109 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.tools.junit.tslib.forecast;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.tools.opad.timeseries.TimeSeries;
+import kieker.tools.opad.timeseries.forecast.IForecastResult;
+import kieker.tools.opad.timeseries.forecast.arima.ARIMAForecasterJava;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests the Java-based ARIMA forecaster.
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class ARIMAForecasterJavaTest extends AbstractKiekerTest {
+
+	private static final double DELTA = 1e-9;
+
+	private static final Double[] SERIES = { 12.0, 15.0, 14.0, 18.0, 21.0, 19.0, 24.0, 26.0, 25.0, 30.0, 32.0, 31.0 };
+	/** {@code forecast(Arima(SERIES, order = c(0, 1, 0)), h = 3)$mean} in R. */
+	private static final double[] R_ARIMA_010_FORECAST = { 31.0, 31.0, 31.0 };
+	/** {@code forecast(Arima(SERIES, order = c(0, 2, 0)), h = 3)$mean} in R. */
+	private static final double[] R_ARIMA_020_FORECAST = { 30.0, 29.0, 28.0 };
+
+	/**
+	 * Creates a new instance of this class.
+	 */
+	public ARIMAForecasterJavaTest() {
+		// Default constructor
+	}
+
+	/**
+	 * ARIMA(0,2,0) extrapolates the last two values linearly.
+	 */
+	@Test
+	public void testDoubleDifferencing() {
+		final TimeSeries<Double> ts = ARIMAForecasterJavaTest.createTimeSeries();
+		ts.appendAll(new Double[] { 1.0, 4.0, 7.0, 10.0, 13.0 });
+
+		final IForecastResult result = new ARIMAForecasterJava(ts, 95, 0, 2, 0, 1.0).forecast(3);
+
+		Assert.assertEquals(16.0, result.getForecast().getValues().get(0), DELTA);
+		Assert.assertEquals(19.0, result.getForecast().getValues().get(1), DELTA);
+		Assert.assertEquals(22.0, result.getForecast().getValues().get(2), DELTA);
+	}
+
+	/**
+	 * Models without estimated coefficients must forecast the same values as R.
+	 */
+	@Test
+	public void testForecastRReferenceValues() {
+		final TimeSeries<Double> ts = ARIMAForecasterJavaTest.createTimeSeries();
+		ts.appendAll(SERIES);
+
+		final IForecastResult randomWalk = new ARIMAForecasterJava(ts, 95, 0, 1, 0, 1.0).forecast(R_ARIMA_010_FORECAST.length);
+		final IForecastResult linearTrend = new ARIMAForecasterJava(ts, 95, 0, 2, 0, 1.0).forecast(R_ARIMA_020_FORECAST.length);
+
+		for (int step = 0; step < R_ARIMA_010_FORECAST.length; step++) {
+			Assert.assertEquals(R_ARIMA_010_FORECAST[step], randomWalk.getForecast().getValues().get(step), DELTA);
+			Assert.assertEquals(R_ARIMA_020_FORECAST[step], linearTrend.getForecast().getValues().get(step), DELTA);
+		}
+	}
+
+	/**
+	 * The coefficients of an AR(1) process must be estimated from a long series.
+	 */
+	@Test
+	public void testAutoregressiveEstimation() {
+		final Random random = new Random(42); // NOPMD (deterministic test data)
+		final TimeSeries<Double> ts = ARIMAForecasterJavaTest.createTimeSeries();
+		double value = 2.0;
+		for (int i = 0; i < 5000; i++) {
+			value = 1.0 + (0.5 * value) + random.nextGaussian();
+			ts.append(value);
+		}
+
+		final IForecastResult result = new ARIMAForecasterJava(ts, 0, 1, 0, 0, 1.0).forecast(20);
+
+		Assert.assertEquals(1.0 + (0.5 * value), result.getForecast().getValues().get(0), 0.1);
+		// converges to the process mean 1 / (1 - 0.5)
+		Assert.assertEquals(2.0, result.getForecast().getValues().get(19), 0.1);
+	}
+
+	private static TimeSeries<Double> createTimeSeries() {
+		return new TimeSeries<>(0, TimeUnit.MILLISECONDS, 1000, 1);
+	}
+}
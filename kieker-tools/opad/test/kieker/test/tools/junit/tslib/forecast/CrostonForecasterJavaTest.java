@@ -0,0 +1,98 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.tools.junit.tslib.forecast;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.tools.opad.timeseries.TimeSeries;
+import kieker.tools.opad.timeseries.forecast.IForecastResult;
+import kieker.tools.opad.timeseries.forecast.croston.CrostonForecasterJava;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests the Java-based Croston forecaster.
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class CrostonForecasterJavaTest extends AbstractKiekerTest {
+
+	private static final double DELTA = 1e-9;
+
+	private static final Double[] SERIES = { 0.0, 2.0, 0.0, 0.0, 4.0, 0.0, 1.0, 0.0, 0.0, 0.0, 3.0, 0.0, 0.0, 5.0, 0.0 };
+	/** {@code croston(SERIES, h = 3, alpha = 0.1)$mean} in R. */
+	private static final double[] R_CROSTON_FORECAST = { 1.0433082579, 1.0433082579, 1.0433082579 };
+
+	/**
+	 * Creates a new instance of this class.
+	 */
+	public CrostonForecasterJavaTest() {
+		// Default constructor
+	}
+
+	/**
+	 * Test the forecast against the values of R's {@code croston} with alpha = 0.1.
+	 */
+	@Test
+	public void testForecastReferenceValues() {
+		final TimeSeries<Double> ts = new TimeSeries<>(0, TimeUnit.MILLISECONDS, 1000, 1);
+		ts.appendAll(new Double[] { 0.0, 0.0, 3.0, 0.0, 5.0, 0.0, 0.0, 0.0, 2.0, 0.0 });
+
+		final IForecastResult result = new CrostonForecasterJava(ts, 95).forecast(2);
+
+		// demands 3, 5, 2 smoothed to 3.08; intervals 3, 2, 4 smoothed to 3.01
+		Assert.assertEquals(3.08 / 3.01, result.getForecast().getValues().get(0), DELTA);
+		Assert.assertEquals(3.08 / 3.01, result.getForecast().getValues().get(1), DELTA);
+		Assert.assertEquals(0, result.getConfidenceLevel());
+		Assert.assertEquals(result.getForecast().getValues().get(0), result.getUpper().getValues().get(0), DELTA);
+	}
+
+	/**
+	 * Test the forecast of a longer series against R's {@code croston}.
+	 */
+	@Test
+	public void testForecastRReferenceSeries() {
+		final TimeSeries<Double> ts = new TimeSeries<>(0, TimeUnit.MILLISECONDS, 1000, 1);
+		ts.appendAll(SERIES);
+
+		final IForecastResult result = new CrostonForecasterJava(ts).forecast(R_CROSTON_FORECAST.length);
+
+		for (int step = 0; step < R_CROSTON_FORECAST.length; step++) {
+			Assert.assertEquals(R_CROSTON_FORECAST[step], result.getForecast().getValues().get(step), DELTA);
+		}
+	}
+
+	/**
+	 * The forecast is 0 as long as no demand has been observed.
+	 */
+	@Test
+	public void testNoDemand() {
+		final TimeSeries<Double> ts = new TimeSeries<>(0, TimeUnit.MILLISECONDS, 1000, 1);
+		ts.appendAll(new Double[] { 0.0, 0.0 });
+		final CrostonForecasterJava forecaster = new CrostonForecasterJava(ts);
+
+		Assert.assertEquals(0.0, forecaster.forecast(1).getForecast().getValues().get(0), DELTA);
+
+		ts.append(4.0);
+		forecaster.update(4.0);
+		Assert.assertEquals(4.0 / 3, forecaster.forecast(1).getForecast().getValues().get(0), DELTA);
+	}
+}
@@ -0,0 +1,106 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.tools.junit.tslib.forecast;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.tools.opad.timeseries.ForecastMethod;
+import kieker.tools.opad.timeseries.TimeSeries;
+import kieker.tools.opad.timeseries.forecast.IForecastResult;
+import kieker.tools.opad.timeseries.forecast.ets.ETSForecasterJava;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests the Java-based Holt-Winters forecaster.
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class ETSForecasterJavaTest extends AbstractKiekerTest {
+
+	private static final double DELTA = 1e-9;
+
+	private static final Double[] SERIES = { 12.0, 15.0, 14.0, 18.0, 21.0, 19.0, 24.0, 26.0, 25.0, 30.0, 32.0, 31.0 };
+	/** {@code forecast(HoltWinters(SERIES, alpha = 0.5, beta = 0.2, gamma = FALSE), h = 3)$mean} in R. */
+	private static final double[] R_HOLT_FORECAST = { 34.2032485504, 36.0390079328, 37.8747673152 };
+
+	/**
+	 * Creates a new instance of this class.
+	 */
+	public ETSForecasterJavaTest() {
+		// Default constructor
+	}
+
+	/**
+	 * A linear series must be extrapolated exactly by the trend model.
+	 */
+	@Test
+	public void testLinearTrend() {
+		final TimeSeries<Double> ts = new TimeSeries<>(0, TimeUnit.MILLISECONDS, 1000, 1);
+		for (int i = 0; i < 20; i++) {
+			ts.append(10.0 + (2.0 * i));
+		}
+
+		final IForecastResult result = new ETSForecasterJava(ts, 95).forecast(3);
+
+		Assert.assertEquals(ForecastMethod.ETSJAVA, result.getFcStrategy());
+		Assert.assertEquals(50.0, result.getForecast().getValues().get(0), DELTA);
+		Assert.assertEquals(52.0, result.getForecast().getValues().get(1), DELTA);
+		Assert.assertEquals(54.0, result.getForecast().getValues().get(2), DELTA);
+		// all one-step errors are 0
+		Assert.assertEquals(50.0, result.getUpper().getValues().get(0), DELTA);
+	}
+
+	/**
+	 * Holt's method with fixed parameters must forecast the same values as R. R's {@code HoltWinters} is also
+	 * initialized with the first two values. Its trend parameter refers to the change of the level, therefore beta is
+	 * alpha times R's beta in the error correction form.
+	 */
+	@Test
+	public void testForecastRReferenceValues() {
+		final TimeSeries<Double> ts = new TimeSeries<>(0, TimeUnit.MILLISECONDS, 1000, 1);
+		ts.appendAll(SERIES);
+
+		final IForecastResult result = new ETSForecasterJava(ts, 95, 0.5, 0.5 * 0.2, 0).forecast(R_HOLT_FORECAST.length);
+
+		for (int step = 0; step < R_HOLT_FORECAST.length; step++) {
+			Assert.assertEquals(R_HOLT_FORECAST[step], result.getForecast().getValues().get(step), DELTA);
+		}
+	}
+
+	/**
+	 * A purely seasonal series must be forecast exactly by the seasonal model.
+	 */
+	@Test
+	public void testSeason() {
+		final double[] season = { 1.0, 3.0, 5.0, 3.0 };
+		final TimeSeries<Double> ts = new TimeSeries<>(0, TimeUnit.MILLISECONDS, 1000, season.length);
+		for (int i = 0; i < (3 * season.length) + 1; i++) {
+			ts.append(10.0 + season[i % season.length]);
+		}
+
+		final IForecastResult result = new ETSForecasterJava(ts).forecast(season.length);
+
+		for (int step = 0; step < season.length; step++) {
+			Assert.assertEquals(10.0 + season[(step + 1) % season.length], result.getForecast().getValues().get(step), DELTA);
+		}
+	}
+}
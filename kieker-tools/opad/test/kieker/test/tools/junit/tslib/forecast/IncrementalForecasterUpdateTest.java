@@ -0,0 +1,104 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.tools.junit.tslib.forecast;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import kieker.tools.opad.timeseries.ITimeSeries;
+import kieker.tools.opad.timeseries.TimeSeries;
+import kieker.tools.opad.timeseries.forecast.IForecastResult;
+import kieker.tools.opad.timeseries.forecast.IIncrementalForecaster;
+import kieker.tools.opad.timeseries.forecast.arima.ARIMAForecasterJava;
+import kieker.tools.opad.timeseries.forecast.croston.CrostonForecasterJava;
+import kieker.tools.opad.timeseries.forecast.ets.ETSForecasterJava;
+import kieker.tools.opad.timeseries.forecast.ses.SESForecasterJava;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests that updating an incremental forecaster yields the same forecast as creating it from the extended time series.
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+@RunWith(Parameterized.class)
+public class IncrementalForecasterUpdateTest extends AbstractKiekerTest {
+
+	private static final double DELTA = 1e-9;
+	private static final int FORECAST_STEPS = 4;
+
+	/** values appended one by one, the missing value must be skipped. */
+	private static final double[] VALUES = { 4.0, 8.0, 0.0, 3.0, 9.0, Double.NaN, 5.0, 7.0, 0.0, 2.0, 8.0, 6.0, 4.0, 5.0, 9.0 };
+
+	private final int frequency;
+	private final Function<ITimeSeries<Double>, IIncrementalForecaster> factory;
+
+	/**
+	 * Creates a new instance of this class.
+	 *
+	 * @param name
+	 *            name of the forecaster, only used in the test report
+	 * @param frequency
+	 *            frequency of the time series
+	 * @param factory
+	 *            creates the forecaster from a time series
+	 */
+	public IncrementalForecasterUpdateTest(final String name, final int frequency, final Function<ITimeSeries<Double>, IIncrementalForecaster> factory) {
+		this.frequency = frequency;
+		this.factory = factory;
+	}
+
+	@Parameters(name = "{0}")
+	public static Collection<Object[]> forecasters() {
+		return Arrays.asList(new Object[][] {
+			{ "SES", 1, (Function<ITimeSeries<Double>, IIncrementalForecaster>) ts -> new SESForecasterJava(ts, 95) },
+			{ "ETS(A,A,N)", 1, (Function<ITimeSeries<Double>, IIncrementalForecaster>) ts -> new ETSForecasterJava(ts, 80) },
+			{ "ETS(A,A,A)", 3, (Function<ITimeSeries<Double>, IIncrementalForecaster>) ts -> new ETSForecasterJava(ts, 80) },
+			{ "Croston", 1, (Function<ITimeSeries<Double>, IIncrementalForecaster>) ts -> new CrostonForecasterJava(ts, 95) },
+			{ "ARIMA(1,1,1)", 1, (Function<ITimeSeries<Double>, IIncrementalForecaster>) ts -> new ARIMAForecasterJava(ts, 95, 1, 1, 1, 0.99) },
+		});
+	}
+
+	@Test
+	public void testUpdateMatchesHistory() {
+		final TimeSeries<Double> ts = new TimeSeries<>(0, TimeUnit.MILLISECONDS, 1000, this.frequency);
+		ts.append(VALUES[0]);
+		final IIncrementalForecaster forecaster = this.factory.apply(ts);
+		for (int i = 1; i < VALUES.length; i++) {
+			ts.append(VALUES[i]);
+			forecaster.update(VALUES[i]);
+		}
+
+		final IForecastResult expected = this.factory.apply(ts).forecast(FORECAST_STEPS);
+		final IForecastResult actual = forecaster.forecast(FORECAST_STEPS);
+		for (int step = 0; step < FORECAST_STEPS; step++) {
+			Assert.assertEquals(expected.getForecast().getValues().get(step), actual.getForecast().getValues().get(step), DELTA);
+			Assert.assertEquals(expected.getLower().getValues().get(step), actual.getLower().getValues().get(step), DELTA);
+			Assert.assertEquals(expected.getUpper().getValues().get(step), actual.getUpper().getValues().get(step), DELTA);
+		}
+		Assert.assertEquals(expected.getMeanAbsoluteScaledError(), actual.getMeanAbsoluteScaledError(), DELTA);
+	}
+}
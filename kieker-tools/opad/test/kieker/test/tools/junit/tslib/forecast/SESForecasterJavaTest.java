@@ -0,0 +1,83 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.tools.junit.tslib.forecast;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.tools.opad.timeseries.ForecastMethod;
+import kieker.tools.opad.timeseries.TimeSeries;
+import kieker.tools.opad.timeseries.forecast.IForecastResult;
+import kieker.tools.opad.timeseries.forecast.ses.SESForecasterJava;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests the Java-based simple exponential smoothing forecaster.
+ *
+ * @author Kieker Project
+ * @since 2.0.0
+ */
+public class SESForecasterJavaTest extends AbstractKiekerTest {
+
+	private static final double DELTA = 1e-9;
+	private static final int CONFIDENCE_LEVEL = 95;
+
+	/**
+	 * Creates a new instance of this class.
+	 */
+	public SESForecasterJavaTest() {
+		// Default constructor
+	}
+
+	/**
+	 * Test forecast, prediction interval and MASE against values computed by hand.
+	 */
+	@Test
+	public void testForecastReferenceValues() {
+		final TimeSeries<Double> ts = SESForecasterJavaTest.createTimeSeries(1.0, 2.0, 3.0, 4.0);
+
+		final IForecastResult result = new SESForecasterJava(ts, CONFIDENCE_LEVEL, 0.5).forecast(2);
+
+		// levels 1, 1.5, 2.25, 3.125 with one-step errors 1, 1.5 and 1.75
+		Assert.assertEquals(ForecastMethod.SESJAVA, result.getFcStrategy());
+		Assert.assertEquals(3.125, result.getForecast().getValues().get(0), DELTA);
+		Assert.assertEquals(3.125, result.getForecast().getValues().get(1), DELTA);
+		Assert.assertEquals(3.125 + 2.8430739705250754, result.getUpper().getValues().get(0), 1e-6);
+		Assert.assertEquals(3.125 - 2.8430739705250754, result.getLower().getValues().get(0), 1e-6);
+		Assert.assertEquals(3.125 + 3.178653331577151, result.getUpper().getValues().get(1), 1e-6);
+		Assert.assertEquals((4.25 / 3) / 1.0, result.getMeanAbsoluteScaledError(), DELTA);
+	}
+
+	/**
+	 * Without any values no forecast can be computed.
+	 */
+	@Test
+	public void testEmptyHistory() {
+		final IForecastResult result = new SESForecasterJava(SESForecasterJavaTest.createTimeSeries()).forecast(1);
+
+		Assert.assertTrue(Double.isNaN(result.getForecast().getValues().get(0)));
+	}
+
+	private static TimeSeries<Double> createTimeSeries(final Double... values) {
+		final TimeSeries<Double> ts = new TimeSeries<>(0, TimeUnit.MILLISECONDS, 1000, 1);
+		ts.appendAll(values);
+		return ts;
+	}
+}
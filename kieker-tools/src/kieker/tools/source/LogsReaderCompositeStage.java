@@ -17,10 +17,12 @@ package kieker.tools.source;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import kieker.analysis.generic.source.ISourceCompositeStage;
 import kieker.analysis.generic.source.file.DirectoryReaderStage;
+import kieker.analysis.generic.source.file.DirectoryReaderStage.RecordOrder;
 import kieker.analysis.generic.source.file.DirectoryScannerStage;
 import kieker.common.configuration.Configuration;
 import kieker.common.record.IMonitoringRecord;
@@ -41,6 +43,9 @@ public class LogsReaderCompositeStage extends CompositeStage implements ISourceC
 	public static final String LOG_DIRECTORIES = PREFIX + "logDirectories";
 	public static final String DATA_BUFFER_SIZE = PREFIX + "bufferSize";
 	public static final String VERBOSE = PREFIX + "verbose";
+	public static final String MEMORY_MAPPED = PREFIX + "memoryMapped";
+	public static final String PARALLELISM = PREFIX + "parallelism";
+	public static final String RECORD_ORDER = PREFIX + "recordOrder";
 
 	private static final int DEFAULT_BUFFER_SIZE = 8192;
 
@@ -63,9 +68,12 @@ public class LogsReaderCompositeStage extends CompositeStage implements ISourceC
 
 		final int dataBufferSize = configuration.getIntProperty(DATA_BUFFER_SIZE, DEFAULT_BUFFER_SIZE);
 		final boolean verbose = configuration.getBooleanProperty(VERBOSE, false);
+		final boolean memoryMapped = configuration.getBooleanProperty(MEMORY_MAPPED, false);
+		final int parallelism = configuration.getIntProperty(PARALLELISM, 1);
+		final RecordOrder recordOrder = RecordOrder.valueOf(configuration.getStringProperty(RECORD_ORDER, RecordOrder.FILE.name()));
 
 		this.directoryScannerStage = new DirectoryScannerStage(directories);
-		this.directoryReaderStage = new DirectoryReaderStage(verbose, dataBufferSize);
+		this.directoryReaderStage = new DirectoryReaderStage(verbose, dataBufferSize, memoryMapped, parallelism, recordOrder);
 
 		this.connectPorts(this.directoryScannerStage.getOutputPort(), this.directoryReaderStage.getInputPort());
 	}
@@ -81,8 +89,51 @@ public class LogsReaderCompositeStage extends CompositeStage implements ISourceC
 	 *            buffer size of the data file reader (null == use default setting)
 	 */
 	public LogsReaderCompositeStage(final List<File> directories, final boolean verbose, final Integer dataBufferSize) {
+		this(directories, verbose, dataBufferSize, false);
+	}
+
+	/**
+	 * Creates a composite stage to scan and read a set of Kieker log directories.
+	 *
+	 * @param directories
+	 *            list of directories to read
+	 * @param verbose
+	 *            report on every read log file
+	 * @param dataBufferSize
+	 *            buffer size of the data file reader (null == use default setting)
+	 * @param memoryMapped
+	 *            read uncompressed binary log files via memory mapping instead of streams
+	 *
+	 * @since 2.0.0
+	 */
+	public LogsReaderCompositeStage(final List<File> directories, final boolean verbose, final Integer dataBufferSize, final boolean memoryMapped) {
+		this(directories, verbose, dataBufferSize, memoryMapped, 1, RecordOrder.FILE);
+	}
+
+	/**
+	 * Creates a composite stage to scan and read a set of Kieker log directories decoding multiple log files in
+	 * parallel.
+	 *
+	 * @param directories
+	 *            list of directories to read
+	 * @param verbose
+	 *            report on every read log file
+	 * @param dataBufferSize
+	 *            buffer size of the data file reader (null == use default setting)
+	 * @param memoryMapped
+	 *            read uncompressed binary log files via memory mapping instead of streams
+	 * @param parallelism
+	 *            number of log files decoded at once, 1 reads the files sequentially
+	 * @param recordOrder
+	 *            order in which the records of parallel decoded files are emitted
+	 *
+	 * @since 2.0.0
+	 */
+	public LogsReaderCompositeStage(final List<File> directories, final boolean verbose, final Integer dataBufferSize, final boolean memoryMapped,
+			final int parallelism, final RecordOrder recordOrder) {
 		this.directoryScannerStage = new DirectoryScannerStage(directories);
-		this.directoryReaderStage = new DirectoryReaderStage(verbose, dataBufferSize == null ? DEFAULT_BUFFER_SIZE : dataBufferSize); // NOCS inline conditional
+		this.directoryReaderStage = new DirectoryReaderStage(verbose, dataBufferSize == null ? DEFAULT_BUFFER_SIZE : dataBufferSize, // NOCS inline conditional
+				memoryMapped, parallelism, recordOrder);
 
 		this.connectPorts(this.directoryScannerStage.getOutputPort(), this.directoryReaderStage.getInputPort());
 	}
@@ -98,13 +149,49 @@ public class LogsReaderCompositeStage extends CompositeStage implements ISourceC
 	 *            buffer size of the data file reader (null == use default setting)
 	 */
 	public LogsReaderCompositeStage(final File directory, final boolean verbose, final Integer dataBufferSize) {
-		final List<File> directories = new ArrayList<>();
-		directories.add(directory);
+		this(directory, verbose, dataBufferSize, false);
+	}
 
-		this.directoryScannerStage = new DirectoryScannerStage(directories);
-		this.directoryReaderStage = new DirectoryReaderStage(verbose, dataBufferSize == null ? DEFAULT_BUFFER_SIZE : dataBufferSize); // NOCS inline conditional
+	/**
+	 * Creates a composite stage to scan and read a set of Kieker log directories.
+	 *
+	 * @param directory
+	 *            list of directories to read
+	 * @param verbose
+	 *            report on every read log file
+	 * @param dataBufferSize
+	 *            buffer size of the data file reader (null == use default setting)
+	 * @param memoryMapped
+	 *            read uncompressed binary log files via memory mapping instead of streams
+	 *
+	 * @since 2.0.0
+	 */
+	public LogsReaderCompositeStage(final File directory, final boolean verbose, final Integer dataBufferSize, final boolean memoryMapped) {
+		this(Collections.singletonList(directory), verbose, dataBufferSize, memoryMapped);
+	}
 
-		this.connectPorts(this.directoryScannerStage.getOutputPort(), this.directoryReaderStage.getInputPort());
+	/**
+	 * Creates a composite stage to scan and read a set of Kieker log directories decoding multiple log files in
+	 * parallel.
+	 *
+	 * @param directory
+	 *            list of directories to read
+	 * @param verbose
+	 *            report on every read log file
+	 * @param dataBufferSize
+	 *            buffer size of the data file reader (null == use default setting)
+	 * @param memoryMapped
+	 *            read uncompressed binary log files via memory mapping instead of streams
+	 * @param parallelism
+	 *            number of log files decoded at once, 1 reads the files sequentially
+	 * @param recordOrder
+	 *            order in which the records of parallel decoded files are emitted
+	 *
+	 * @since 2.0.0
+	 */
+	public LogsReaderCompositeStage(final File directory, final boolean verbose, final Integer dataBufferSize, final boolean memoryMapped,
+			final int parallelism, final RecordOrder recordOrder) {
+		this(Collections.singletonList(directory), verbose, dataBufferSize, memoryMapped, parallelism, recordOrder);
 	}
 
 	@Override
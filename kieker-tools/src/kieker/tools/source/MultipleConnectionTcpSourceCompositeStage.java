@@ -39,6 +39,8 @@ import teetime.framework.OutputPort;
  * <dd>capacity of the receiving buffer</dd>
  * <dt>recordRewriter</dt>
  * <dd>the record rewriter used to rewrite trace ids</dd>
+ * <dt>readerThreads</dt>
+ * <dd>number of threads reading and decoding the connections</dd>
  * </dl>
  * All names are prefixed with kieker.tools.source.MultipleConnectionTcpSourceCompositeStage.
  *
@@ -56,6 +58,8 @@ public class MultipleConnectionTcpSourceCompositeStage extends CompositeStage im
 
 	private static final String REWRITER = MultipleConnectionTcpSourceCompositeStage.PREFIX + ".recordRewriter";
 
+	private static final String READER_THREADS = MultipleConnectionTcpSourceCompositeStage.PREFIX + ".readerThreads";
+
 	private final MultipleConnectionTcpSourceStage reader;
 
 	/**
@@ -73,10 +77,12 @@ public class MultipleConnectionTcpSourceCompositeStage extends CompositeStage im
 				MultipleConnectionTcpSourceCompositeStage.DEFAULT_CAPACITY);
 		final String rewriterClassName = configuration.getStringProperty(MultipleConnectionTcpSourceCompositeStage.REWRITER,
 				NoneTraceMetadataRewriter.class.getName());
+		final int readerThreads = configuration.getIntProperty(MultipleConnectionTcpSourceCompositeStage.READER_THREADS,
+				MultipleConnectionTcpSourceStage.DEFAULT_READER_THREADS);
 		final Class<?>[] classes = null;
 		final ITraceMetadataRewriter rewriter = InstantiationFactory.getInstance(configuration).create(ITraceMetadataRewriter.class,
 				rewriterClassName, classes);
-		this.reader = new MultipleConnectionTcpSourceStage(inputPort, capacity, rewriter);
+		this.reader = new MultipleConnectionTcpSourceStage(inputPort, capacity, rewriter, readerThreads);
 	}
 
 	/**
@@ -19,6 +19,8 @@ import java.util.Comparator;
 import java.util.Hashtable;
 import java.util.Map;
 import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
@@ -33,6 +35,8 @@ import kieker.analysis.plugin.annotation.RepositoryPort;
 import kieker.common.configuration.Configuration;
 import kieker.tools.trace.analysis.filter.AbstractTraceAnalysisFilter;
 import kieker.tools.trace.analysis.filter.AbstractTraceProcessingFilter;
+import kieker.tools.trace.analysis.filter.traceReconstruction.TraceReconstructionShard.Batch;
+import kieker.tools.trace.analysis.filter.traceReconstruction.TraceReconstructionShard.CompletedTrace;
 import kieker.tools.trace.analysis.systemModel.Execution;
 import kieker.tools.trace.analysis.systemModel.ExecutionTrace;
 import kieker.tools.trace.analysis.systemModel.InvalidExecutionTrace;
@@ -60,7 +64,8 @@ import kieker.tools.util.LoggingTimestampConverter;
 	@Property(name = TraceReconstructionFilter.CONFIG_PROPERTY_NAME_TIMEUNIT, defaultValue = TraceReconstructionFilter.CONFIG_PROPERTY_VALUE_TIMEUNIT),
 	@Property(name = TraceReconstructionFilter.CONFIG_PROPERTY_NAME_MAX_TRACE_DURATION,
 			defaultValue = TraceReconstructionFilter.CONFIG_PROPERTY_VALUE_MAX_TRACE_DURATION),
-	@Property(name = TraceReconstructionFilter.CONFIG_PROPERTY_NAME_IGNORE_INVALID_TRACES, defaultValue = "true")
+	@Property(name = TraceReconstructionFilter.CONFIG_PROPERTY_NAME_IGNORE_INVALID_TRACES, defaultValue = "true"),
+	@Property(name = TraceReconstructionFilter.CONFIG_PROPERTY_NAME_NUMBER_OF_SHARDS, defaultValue = "1")
 })
 public class TraceReconstructionFilter extends AbstractTraceProcessingFilter {
 
@@ -79,29 +84,20 @@ public class TraceReconstructionFilter extends AbstractTraceProcessingFilter {
 	public static final String CONFIG_PROPERTY_NAME_MAX_TRACE_DURATION = "maxTraceDuration";
 	/** This is the name of the property determining whether to ignore invalid traces or not. */
 	public static final String CONFIG_PROPERTY_NAME_IGNORE_INVALID_TRACES = "ignoreInvalidTraces";
+	/**
+	 * This is the name of the property determining the number of threads reconstructing traces in parallel. Only used
+	 * if invalid traces are ignored. The traces are delivered in the sequential order as long as the execution with the
+	 * smallest eoi of each trace carries its smallest tin.
+	 */
+	public static final String CONFIG_PROPERTY_NAME_NUMBER_OF_SHARDS = "numberOfShards";
 	/** This is the default used time unit. */
 	public static final String CONFIG_PROPERTY_VALUE_TIMEUNIT = "NANOSECONDS"; // TimeUnit.NANOSECONDS.name()
 	/** This is the default value for the maximal duration of a trace. */
 	public static final String CONFIG_PROPERTY_VALUE_MAX_TRACE_DURATION = "9223372036854775807"; // Long.toString(Long.MAX_VALUE)
 
-	private final TimeUnit timeunit;
+	/** Order traces by tins. */
+	static final Comparator<ExecutionTrace> TRACE_TIN_COMPARATOR = new Comparator<ExecutionTrace>() {
 
-	/** TraceId x trace. */
-	private final Map<Long, ExecutionTrace> pendingTraces = new Hashtable<>(); // NOPMD (UseConcurrentHashMap)
-	/** We need to keep track of invalid trace's IDs. */
-	private final Set<Long> invalidTraces = new TreeSet<>();
-	private volatile long minTin = -1;
-	private volatile long maxTout = -1;
-	private volatile boolean terminated;
-	private final boolean ignoreInvalidTraces; // false
-	private final long maxTraceDuration;
-
-	private boolean traceProcessingErrorOccured; // false
-
-	/** Pending traces sorted by tin timestamps. */
-	private final NavigableSet<ExecutionTrace> timeoutMap = new TreeSet<>(new Comparator<ExecutionTrace>() {
-
-		/** Order traces by tins */
 		@Override
 		public int compare(final ExecutionTrace t1, final ExecutionTrace t2) {
 			if (t1 == t2) { // NOPMD (no equals)
@@ -117,7 +113,56 @@ public class TraceReconstructionFilter extends AbstractTraceProcessingFilter {
 			}
 			return t1.getTraceId() < t2.getTraceId() ? -1 : 1; // NOCS
 		}
-	});
+	};
+
+	/** Order traces completed by the shards by their timeout step, traces of the same step like the timeout queue. */
+	private static final Comparator<CompletedTrace> COMPLETED_TRACE_COMPARATOR = new Comparator<CompletedTrace>() {
+
+		@Override
+		public int compare(final CompletedTrace t1, final CompletedTrace t2) {
+			if (t1.getStep() != t2.getStep()) {
+				return t1.getStep() < t2.getStep() ? -1 : 1; // NOCS
+			}
+			return TRACE_TIN_COMPARATOR.compare(t1.getExecutionTrace(), t2.getExecutionTrace());
+		}
+	};
+
+	/** Number of executions after which the filter passes the collected executions to the shards. */
+	private static final int BATCH_STEPS = 1024;
+	/** Number of batches a shard may lag behind the filter. */
+	private static final int BATCH_CAPACITY = 16;
+	/** Number of watermarks kept for the shards; covers all steps the shards may lag behind, must be a power of two. */
+	private static final int WATERMARK_CAPACITY = Integer.highestOneBit((BATCH_CAPACITY + 2) * BATCH_STEPS) << 1;
+
+	private final TimeUnit timeunit;
+
+	/** TraceId x trace. */
+	private final Map<Long, ExecutionTrace> pendingTraces = new Hashtable<>(); // NOPMD (UseConcurrentHashMap)
+	/** We need to keep track of invalid trace's IDs. */
+	private final Set<Long> invalidTraces = new TreeSet<>();
+	private volatile long minTin = -1;
+	private volatile long maxTout = -1;
+	private volatile boolean terminated;
+	private final boolean ignoreInvalidTraces; // false
+	private final long maxTraceDuration;
+
+	private boolean traceProcessingErrorOccured; // false
+
+	/** Pending traces sorted by tin timestamps. */
+	private final NavigableSet<ExecutionTrace> timeoutMap = new TreeSet<>(TRACE_TIN_COMPARATOR);
+
+	/** Shards of the sharded reconstruction, null if traces are reconstructed by the filter itself. */
+	private final TraceReconstructionShard[] shards;
+	private Thread[] shardThreads;
+	/** Executions collected for each shard since the last batch. */
+	private Batch[] batches;
+	/** Maximal tout of every step, shared with the shards. */
+	private long[] watermarks;
+	/** Number of executions passed to the shards. */
+	private long step;
+	private boolean shardsTerminated;
+	/** Traces completed by the shards which have not been delivered, sorted in the order of delivery. */
+	private final Queue<CompletedTrace> completedTraces = new PriorityQueue<>(COMPLETED_TRACE_COMPARATOR);
 
 	/**
 	 * Creates a new instance of this class using the given parameters.
@@ -148,6 +193,24 @@ public class TraceReconstructionFilter extends AbstractTraceProcessingFilter {
 		if (this.maxTraceDuration < 0) {
 			throw new IllegalArgumentException("value maxTraceDurationMillis must not be negative (found: " + this.maxTraceDuration + ")");
 		}
+
+		final int numberOfShards = configuration.getIntProperty(CONFIG_PROPERTY_NAME_NUMBER_OF_SHARDS, 1);
+		if ((numberOfShards > 1) && !this.ignoreInvalidTraces) {
+			// the shards run ahead of the delivery, they cannot stop at the first invalid trace
+			this.logger.warn("Sharded trace reconstruction requires {} to be 'true'. Reconstructing traces sequentially.",
+					CONFIG_PROPERTY_NAME_IGNORE_INVALID_TRACES);
+			this.shards = null;
+		} else if (numberOfShards > 1) {
+			this.watermarks = new long[WATERMARK_CAPACITY];
+			this.shards = new TraceReconstructionShard[numberOfShards];
+			this.batches = new Batch[numberOfShards];
+			for (int i = 0; i < numberOfShards; i++) {
+				this.shards[i] = new TraceReconstructionShard(i, this.maxTraceDuration, this.watermarks, BATCH_CAPACITY);
+				this.batches[i] = new Batch();
+			}
+		} else {
+			this.shards = null;
+		}
 	}
 
 	/**
@@ -182,7 +245,15 @@ public class TraceReconstructionFilter extends AbstractTraceProcessingFilter {
 	 */
 	@Override
 	public boolean init() {
-		return true; // no need to do anything here
+		if (this.shards != null) {
+			this.shardThreads = new Thread[this.shards.length];
+			for (int i = 0; i < this.shards.length; i++) {
+				this.shardThreads[i] = new Thread(this.shards[i], this.getName() + "-shard-" + i);
+				this.shardThreads[i].setDaemon(true);
+				this.shardThreads[i].start();
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -204,6 +275,11 @@ public class TraceReconstructionFilter extends AbstractTraceProcessingFilter {
 			this.minTin = ((this.minTin < 0) || (execution.getTin() < this.minTin)) ? execution.getTin() : this.minTin; // NOCS
 			this.maxTout = execution.getTout() > this.maxTout ? execution.getTout() : this.maxTout; // NOCS
 
+			if (this.shards != null) {
+				this.passToShard(execution);
+				return;
+			}
+
 			ExecutionTrace executionTrace = this.pendingTraces.get(traceId);
 			if (executionTrace != null) { // trace (artifacts) exists already;
 				if (!this.timeoutMap.remove(executionTrace)) { // remove from timeoutMap. Will be re-added below
@@ -230,6 +306,82 @@ public class TraceReconstructionFilter extends AbstractTraceProcessingFilter {
 		}
 	}
 
+	/**
+	 * Pass an execution to the shard responsible for its trace. The shards keep the pending traces and their timeout
+	 * queues; the filter only numbers the executions and records the maximal tout of each step, which the shards use
+	 * to time out their traces like the sequential reconstruction.
+	 *
+	 * @param execution
+	 *            The next execution.
+	 */
+	private void passToShard(final Execution execution) {
+		this.step++;
+		this.watermarks[(int) this.step & (WATERMARK_CAPACITY - 1)] = this.maxTout;
+		this.batches[this.getShardIndex(execution.getTraceId())].add(execution, this.step);
+		if ((this.step % BATCH_STEPS) == 0) {
+			try {
+				this.passBatches(false);
+				this.deliverCompletedTraces();
+			} catch (final ExecutionEventProcessingException ex) {
+				this.terminated = true; // a failed shard cannot process further executions
+				this.logger.error("ExecutionEventProcessingException occured while delivering completed traces.", ex);
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				this.logger.error("Interrupted while passing executions to trace reconstruction shards.", ex);
+			}
+		}
+	}
+
+	/**
+	 * Pass the collected executions to the shards. Every shard receives a batch, even if it is empty, so that it times
+	 * out its traces up to the current step.
+	 *
+	 * @param last
+	 *            the filter terminates and the shards must complete all pending traces
+	 * @throws InterruptedException
+	 *             when interrupted while waiting for the shards
+	 */
+	private void passBatches(final boolean last) throws InterruptedException {
+		for (int i = 0; i < this.shards.length; i++) {
+			final Batch batch = this.batches[i];
+			batch.close(this.step, last);
+			this.batches[i] = new Batch();
+			this.shards[i].addBatch(batch);
+		}
+	}
+
+	/**
+	 * Deliver the traces completed by the shards in the order of the sequential reconstruction, i.e., by the step
+	 * they timed out in and within a step like the timeout queue. A trace is delivered once all shards have processed
+	 * its step, so no shard can complete a trace which must be delivered before.
+	 *
+	 * @throws ExecutionEventProcessingException
+	 *             if a shard failed
+	 */
+	private void deliverCompletedTraces() throws ExecutionEventProcessingException {
+		long processedStep = TraceReconstructionShard.TERMINATION_STEP;
+		for (final TraceReconstructionShard shard : this.shards) {
+			if (shard.getFailure() != null) {
+				throw new ExecutionEventProcessingException("Trace reconstruction shard failed.", shard.getFailure());
+			}
+			processedStep = Math.min(processedStep, shard.getProcessedStep());
+		}
+		for (final TraceReconstructionShard shard : this.shards) {
+			final Queue<CompletedTrace> shardTraces = shard.getCompletedTraces();
+			CompletedTrace completedTrace;
+			while ((completedTrace = shardTraces.poll()) != null) { // NOPMD (assignment in operand)
+				this.completedTraces.add(completedTrace);
+			}
+		}
+		while (!this.completedTraces.isEmpty() && (this.completedTraces.peek().getStep() <= processedStep)) {
+			this.processExecutionTrace(this.completedTraces.poll().getExecutionTrace());
+		}
+	}
+
+	private int getShardIndex(final long traceId) {
+		return (int) Math.floorMod(traceId, (long) this.shards.length);
+	}
+
 	/**
 	 * Transforms the execution trace is delivers the trace to the output ports
 	 * of this filter (message trace and execution trace output ports, or invalid
@@ -325,6 +477,10 @@ public class TraceReconstructionFilter extends AbstractTraceProcessingFilter {
 	@Override
 	public void terminate(final boolean error) {
 		synchronized (this) {
+			if (this.shards != null) {
+				this.terminateShards(error);
+				return;
+			}
 			try {
 				this.terminated = true;
 				if (!error || (this.traceProcessingErrorOccured && !this.ignoreInvalidTraces)) {
@@ -340,9 +496,47 @@ public class TraceReconstructionFilter extends AbstractTraceProcessingFilter {
 		}
 	}
 
+	private void terminateShards(final boolean error) {
+		this.terminated = true;
+		if (this.shardsTerminated) {
+			return;
+		}
+		this.shardsTerminated = true;
+		try {
+			if (!error) {
+				this.passBatches(true);
+				for (final Thread thread : this.shardThreads) {
+					thread.join();
+				}
+				this.deliverCompletedTraces();
+			} else {
+				this.logger.info("Terminate called with error an flag set or a trace processing"
+						+ " occurred; won't process timeoutqueue any more.");
+			}
+		} catch (final ExecutionEventProcessingException ex) {
+			this.traceProcessingErrorOccured = true;
+			this.logger.error("Error processing timeout queue", ex);
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			this.logger.error("Interrupted while waiting for trace reconstruction shards.", ex);
+		} finally {
+			for (final Thread thread : this.shardThreads) {
+				thread.interrupt();
+			}
+		}
+	}
+
 	@Override
 	public void printStatusMessage() {
 		synchronized (this) {
+			if (this.shards != null) {
+				// the counts only include delivered traces, deliver all traces the shards have completed so far
+				try {
+					this.deliverCompletedTraces();
+				} catch (final ExecutionEventProcessingException ex) {
+					this.logger.error("ExecutionEventProcessingException occured while delivering completed traces.", ex);
+				}
+			}
 			super.printStatusMessage();
 			if ((this.getSuccessCount() > 0) || (this.getErrorCount() > 0)) {
 				final String minTinStr = new StringBuilder().append(this.minTin).append(" (")
@@ -371,6 +565,7 @@ public class TraceReconstructionFilter extends AbstractTraceProcessingFilter {
 		configuration.setProperty(CONFIG_PROPERTY_NAME_TIMEUNIT, this.timeunit.name());
 		configuration.setProperty(CONFIG_PROPERTY_NAME_MAX_TRACE_DURATION, Long.toString(this.maxTraceDuration));
 		configuration.setProperty(CONFIG_PROPERTY_NAME_IGNORE_INVALID_TRACES, Boolean.toString(this.ignoreInvalidTraces));
+		configuration.setProperty(CONFIG_PROPERTY_NAME_NUMBER_OF_SHARDS, Integer.toString(this.shards == null ? 1 : this.shards.length)); // NOCS
 
 		return configuration;
 	}
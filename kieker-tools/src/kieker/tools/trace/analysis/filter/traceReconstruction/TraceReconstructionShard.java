@@ -0,0 +1,314 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.tools.trace.analysis.filter.traceReconstruction;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import kieker.tools.trace.analysis.systemModel.Execution;
+import kieker.tools.trace.analysis.systemModel.ExecutionTrace;
+import kieker.tools.trace.analysis.systemModel.repository.SystemModelRepository;
+
+/**
+ * One shard of the sharded trace reconstruction. A shard owns the pending traces of a subset of the trace ids
+ * together with their timeout queue, and builds the traces and their message traces on its own thread.
+ *
+ * <p>
+ * The {@link TraceReconstructionFilter} numbers the executions by steps and records the maximal tout of every step
+ * in a shared watermark log. A shard processes the executions of its traces in step order and times out its traces
+ * with the watermark of each step, exactly like the sequential reconstruction. Every completed trace is tagged with
+ * the step it timed out in, so the filter can merge the completions of all shards in a deterministic order.
+ * </p>
+ *
+ * <p>
+ * The sequential timeout queue is ordered by the tin of the execution with the smallest eoi, but times out traces by
+ * their smallest tin. If both differ, a pending trace of one shard may hold back timed out traces of other shards in
+ * the sequential reconstruction, which a shard cannot observe. In this case traces may be split and delivered
+ * differently than by the sequential reconstruction.
+ * </p>
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ * @deprecated 2.0.0 part of the old trace reconstruction, which has been ported to teetime
+ */
+@Deprecated
+final class TraceReconstructionShard implements Runnable {
+
+	/** step tag of the traces completed on termination. */
+	static final long TERMINATION_STEP = Long.MAX_VALUE;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TraceReconstructionShard.class);
+
+	private final int index;
+	private final long maxTraceDuration;
+	private final long[] watermarks;
+	private final int watermarkMask;
+	private final BlockingQueue<Batch> batches;
+	private final Queue<CompletedTrace> completedTraces = new ConcurrentLinkedQueue<>();
+
+	/** TraceId x trace. */
+	private final Map<Long, ExecutionTrace> pendingTraces = new HashMap<>();
+	/** Pending traces sorted by tin timestamps. */
+	private final NavigableSet<ExecutionTrace> timeoutMap = new TreeSet<>(TraceReconstructionFilter.TRACE_TIN_COMPARATOR);
+
+	/** last step the traces of this shard have been timed out with. */
+	private long advancedStep;
+	/** all traces timed out up to this step have been passed to the completed traces. */
+	private volatile long processedStep;
+	private volatile RuntimeException failure;
+
+	/**
+	 * Create a shard.
+	 *
+	 * @param index
+	 *            index of the shard
+	 * @param maxTraceDuration
+	 *            the timeout duration of a pending trace
+	 * @param watermarks
+	 *            maximal tout of every step, indexed by step modulo its length, which must be a power of two
+	 * @param batchCapacity
+	 *            number of batches which may be queued
+	 */
+	TraceReconstructionShard(final int index, final long maxTraceDuration, final long[] watermarks, final int batchCapacity) {
+		this.index = index;
+		this.maxTraceDuration = maxTraceDuration;
+		this.watermarks = watermarks;
+		this.watermarkMask = watermarks.length - 1;
+		this.batches = new ArrayBlockingQueue<>(batchCapacity);
+	}
+
+	/**
+	 * Pass a batch of executions to the shard. Blocks when the shard is too far behind.
+	 *
+	 * @param batch
+	 *            the batch
+	 * @throws InterruptedException
+	 *             when interrupted while waiting for the shard
+	 */
+	public void addBatch(final Batch batch) throws InterruptedException {
+		this.batches.put(batch);
+	}
+
+	/**
+	 * @return the traces completed by the shard, each tagged with the step it timed out in
+	 */
+	public Queue<CompletedTrace> getCompletedTraces() {
+		return this.completedTraces;
+	}
+
+	/**
+	 * @return step up to which all completed traces have been passed to {@link #getCompletedTraces()}
+	 */
+	public long getProcessedStep() {
+		return this.processedStep;
+	}
+
+	/**
+	 * @return the exception which stopped the shard or null
+	 */
+	public RuntimeException getFailure() {
+		return this.failure;
+	}
+
+	@Override
+	public void run() {
+		try {
+			Batch batch;
+			do {
+				batch = this.batches.take();
+				if (this.failure == null) {
+					this.process(batch);
+				} // else keep consuming batches, so the filter never blocks on a failed shard
+			} while (!batch.isLast());
+		} catch (final InterruptedException e) {
+			LOGGER.debug("Trace reconstruction shard {} has been stopped.", this.index);
+		}
+	}
+
+	private void process(final Batch batch) {
+		try {
+			for (int i = 0; i < batch.size; i++) {
+				final long step = batch.steps[i];
+				this.advance(step - 1);
+				this.addToTrace(batch.executions[i]);
+				this.advance(step);
+			}
+			this.advance(batch.endStep);
+			if (batch.isLast()) {
+				while (!this.timeoutMap.isEmpty()) {
+					final ExecutionTrace polledTrace = this.timeoutMap.pollFirst();
+					this.pendingTraces.remove(polledTrace.getTraceId());
+					this.complete(polledTrace, TERMINATION_STEP);
+				}
+				this.processedStep = TERMINATION_STEP;
+			} else {
+				this.processedStep = batch.endStep;
+			}
+		} catch (final RuntimeException ex) { // NOPMD NOCS (the filter reports the failure)
+			this.failure = ex;
+		}
+	}
+
+	private void addToTrace(final Execution execution) {
+		final long traceId = execution.getTraceId();
+		ExecutionTrace executionTrace = this.pendingTraces.get(traceId);
+		if (executionTrace != null) { // trace (artifacts) exists already;
+			if (!this.timeoutMap.remove(executionTrace)) { // remove from timeoutMap. Will be re-added below
+				LOGGER.error("Missing entry for trace in timeoutMap: {} PendingTraces and timeoutMap are now longer consistent!",
+						executionTrace);
+			}
+		} else { // create and add new trace
+			executionTrace = new ExecutionTrace(traceId, execution.getSessionId());
+			this.pendingTraces.put(traceId, executionTrace);
+		}
+		try {
+			executionTrace.add(execution);
+		} catch (final InvalidTraceException ex) { // this would be a bug!
+			LOGGER.error("Attempt to add record to wrong trace", ex);
+		}
+		if (!this.timeoutMap.add(executionTrace)) { // (re-)add trace to timeoutMap
+			LOGGER.error("Equal entry existed in timeoutMap already: {}", executionTrace);
+		}
+	}
+
+	/**
+	 * Time out the pending traces with the watermark of the given step, like the timeout queue of the sequential
+	 * reconstruction.
+	 */
+	private void advance(final long step) {
+		if (step <= this.advancedStep) {
+			return;
+		}
+		final long maxTout = this.getWatermark(step);
+		while (!this.timeoutMap.isEmpty() && ((maxTout - this.timeoutMap.first().getMinTin()) > this.maxTraceDuration)) {
+			final ExecutionTrace polledTrace = this.timeoutMap.pollFirst();
+			this.pendingTraces.remove(polledTrace.getTraceId());
+			this.complete(polledTrace, this.findTimeoutStep(polledTrace.getMinTin(), step));
+		}
+		this.advancedStep = step;
+	}
+
+	/**
+	 * Find the first step after the last advanced step whose watermark times out a trace. The watermarks grow
+	 * monotonically, therefore, a binary search suffices.
+	 */
+	private long findTimeoutStep(final long minTin, final long step) {
+		long low = this.advancedStep + 1;
+		long high = step;
+		while (low < high) {
+			final long middle = (low + high) >>> 1;
+			if ((this.getWatermark(middle) - minTin) > this.maxTraceDuration) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		return low;
+	}
+
+	private long getWatermark(final long step) {
+		return this.watermarks[(int) step & this.watermarkMask];
+	}
+
+	private void complete(final ExecutionTrace executionTrace, final long step) {
+		try {
+			// the message trace is cached by the trace, the filter only delivers it
+			executionTrace.toMessageTrace(SystemModelRepository.ROOT_EXECUTION);
+		} catch (final InvalidTraceException ex) { // NOPMD (the filter handles invalid traces)
+			// the filter reports the trace as invalid
+		}
+		this.completedTraces.add(new CompletedTrace(executionTrace, step));
+	}
+
+	/**
+	 * Executions passed to a shard at once. The executions are numbered by their steps in the filter.
+	 */
+	static final class Batch {
+
+		private static final int INITIAL_CAPACITY = 16;
+
+		private Execution[] executions = new Execution[INITIAL_CAPACITY];
+		private long[] steps = new long[INITIAL_CAPACITY];
+		private int size;
+		private long endStep;
+		private boolean last;
+
+		Batch() {
+			// nothing to be done
+		}
+
+		void add(final Execution execution, final long step) {
+			if (this.size == this.executions.length) {
+				this.executions = Arrays.copyOf(this.executions, this.size * 2);
+				this.steps = Arrays.copyOf(this.steps, this.size * 2);
+			}
+			this.executions[this.size] = execution;
+			this.steps[this.size] = step;
+			this.size++;
+		}
+
+		/**
+		 * Close the batch.
+		 *
+		 * @param step
+		 *            last step covered by the batch, the shard times out its traces up to this step
+		 * @param lastBatch
+		 *            the filter terminates and all pending traces must be completed
+		 */
+		void close(final long step, final boolean lastBatch) {
+			this.endStep = step;
+			this.last = lastBatch;
+		}
+
+		boolean isLast() {
+			return this.last;
+		}
+	}
+
+	/**
+	 * A trace completed by a shard, tagged with the step it timed out in.
+	 */
+	static final class CompletedTrace {
+
+		private final ExecutionTrace executionTrace;
+		private final long step;
+
+		CompletedTrace(final ExecutionTrace executionTrace, final long step) {
+			this.executionTrace = executionTrace;
+			this.step = step;
+		}
+
+		ExecutionTrace getExecutionTrace() {
+			return this.executionTrace;
+		}
+
+		long getStep() {
+			return this.step;
+		}
+	}
+}
@@ -0,0 +1,214 @@
+/***************************************************************************
+ * Copyright 2022 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.tools.junit.trace.analysis.filter.traceReconstruction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.analysis.AnalysisController;
+import kieker.analysis.exception.AnalysisConfigurationException;
+import kieker.analysis.plugin.filter.forward.ListCollectionFilter;
+import kieker.analysis.plugin.reader.list.ListReader;
+import kieker.common.configuration.Configuration;
+import kieker.tools.trace.analysis.filter.AbstractTraceAnalysisFilter;
+import kieker.tools.trace.analysis.filter.traceReconstruction.TraceReconstructionFilter;
+import kieker.tools.trace.analysis.systemModel.Execution;
+import kieker.tools.trace.analysis.systemModel.ExecutionTrace;
+import kieker.tools.trace.analysis.systemModel.InvalidExecutionTrace;
+import kieker.tools.trace.analysis.systemModel.MessageTrace;
+import kieker.tools.trace.analysis.systemModel.repository.SystemModelRepository;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+import kieker.test.tools.util.bookstore.ExecutionFactory;
+
+/**
+ * Tests whether the sharded mode of the {@link TraceReconstructionFilter} produces the same traces in the same
+ * order as the sequential mode.
+ *
+ * @author Kieker Project
+ *
+ * @since 2.0.0
+ */
+public class TestShardedTraceReconstructionFilter extends AbstractKiekerTest {
+
+	private static final String SESSION_ID = "Y2zm6CRc";
+	private static final int NUMBER_OF_TRACES = 2500;
+	private static final int NUMBER_OF_SHARDS = 4;
+	private static final long MILLIS = 1000 * 1000;
+
+	private final List<Execution> executions = new ArrayList<>();
+	/** a trace fragment which times out and is completed later by an out-of-order root execution. */
+	private final List<Execution> lateRootExecutions = new ArrayList<>();
+
+	/**
+	 * Creates a new instance of this class.
+	 */
+	public TestShardedTraceReconstructionFilter() {
+		final SystemModelRepository systemEntityFactory = new SystemModelRepository(new Configuration(), new AnalysisController());
+		final ExecutionFactory executionFactory = new ExecutionFactory(systemEntityFactory);
+
+		// overlapping bookstore traces, each trace starts one millisecond after its predecessor
+		for (int i = 0; i < NUMBER_OF_TRACES; i++) {
+			final long traceId = 1000 + i;
+			final long start = i * MILLIS;
+			this.executions.add(executionFactory.genExecution("Catalog", "catalog", "getBook", traceId, SESSION_ID,
+					start + (2 * MILLIS), start + (4 * MILLIS), 1, 1));
+			this.executions.add(executionFactory.genExecution("CRM", "crm", "getOrders", traceId, SESSION_ID,
+					start + (5 * MILLIS), start + (8 * MILLIS), 2, 1));
+			this.executions.add(executionFactory.genExecution("Catalog", "catalog", "getBook", traceId, SESSION_ID,
+					start + (6 * MILLIS), start + (7 * MILLIS), 3, 2));
+			this.executions.add(executionFactory.genExecution("Bookstore", "bookstore", "searchBook", traceId, SESSION_ID,
+					start + (1 * MILLIS), start + (10 * MILLIS), 0, 0));
+		}
+
+		// the fragment of trace 1 times out due to trace 2, then the root execution of trace 1 with a smaller tin arrives
+		this.lateRootExecutions.add(executionFactory.genExecution("Catalog", "catalog", "getBook", 1, SESSION_ID,
+				2 * MILLIS, 4 * MILLIS, 1, 1));
+		this.lateRootExecutions.add(executionFactory.genExecution("Bookstore", "bookstore", "searchBook", 2, SESSION_ID,
+				30 * MILLIS, 40 * MILLIS, 0, 0));
+		this.lateRootExecutions.add(executionFactory.genExecution("Catalog", "catalog", "getBook", 2, SESSION_ID,
+				31 * MILLIS, 33 * MILLIS, 1, 1));
+		this.lateRootExecutions.add(executionFactory.genExecution("Bookstore", "bookstore", "searchBook", 1, SESSION_ID,
+				1 * MILLIS, 50 * MILLIS, 0, 0));
+	}
+
+	/**
+	 * Traces complete at termination only.
+	 *
+	 * @throws AnalysisConfigurationException
+	 *             If the internally assembled analysis configuration is somehow invalid.
+	 */
+	@Test
+	public void testShardedReconstructionAtTermination() throws AnalysisConfigurationException {
+		this.assertEqualReconstruction(TraceReconstructionFilter.CONFIG_PROPERTY_VALUE_MAX_TRACE_DURATION);
+	}
+
+	/**
+	 * Traces complete while executions are still passed to the filter.
+	 *
+	 * @throws AnalysisConfigurationException
+	 *             If the internally assembled analysis configuration is somehow invalid.
+	 */
+	@Test
+	public void testShardedReconstructionWithTimeouts() throws AnalysisConfigurationException {
+		this.assertEqualReconstruction(Long.toString(20 * MILLIS));
+	}
+
+	/**
+	 * The root execution of a timed out trace arrives late. Both fragments must be reported as invalid, even though
+	 * the root fragment is valid on its own.
+	 *
+	 * @throws AnalysisConfigurationException
+	 *             If the internally assembled analysis configuration is somehow invalid.
+	 */
+	@Test
+	public void testShardedReconstructionWithLateRootExecution() throws AnalysisConfigurationException {
+		final List<MessageTrace> expectedTraces = new ArrayList<>();
+		final List<MessageTrace> shardedTraces = new ArrayList<>();
+
+		final List<InvalidExecutionTrace> expectedInvalidTraces = this.reconstruct(this.lateRootExecutions, 1, Long.toString(20 * MILLIS), true,
+				expectedTraces);
+		final List<InvalidExecutionTrace> shardedInvalidTraces = this.reconstruct(this.lateRootExecutions, NUMBER_OF_SHARDS,
+				Long.toString(20 * MILLIS), true, shardedTraces);
+
+		Assert.assertEquals("Unexpected number of traces", 1, shardedTraces.size());
+		Assert.assertEquals("Unexpected trace", 2, shardedTraces.get(0).getTraceId());
+		Assert.assertEquals("Unexpected number of invalid traces", 2, shardedInvalidTraces.size());
+		Assert.assertEquals("Sharded reconstruction differs", expectedTraces, shardedTraces);
+		Assert.assertEquals("Sharded reconstruction differs in invalid traces", this.getTraceIds(expectedInvalidTraces),
+				this.getTraceIds(shardedInvalidTraces));
+	}
+
+	/**
+	 * Without ignoring invalid traces the filter reconstructs sequentially and must stop at the first invalid trace.
+	 *
+	 * @throws AnalysisConfigurationException
+	 *             If the internally assembled analysis configuration is somehow invalid.
+	 */
+	@Test
+	public void testShardedReconstructionStopsAtFirstInvalidTrace() throws AnalysisConfigurationException {
+		final List<MessageTrace> expectedTraces = new ArrayList<>();
+		final List<MessageTrace> shardedTraces = new ArrayList<>();
+
+		final List<InvalidExecutionTrace> expectedInvalidTraces = this.reconstruct(this.lateRootExecutions, 1, Long.toString(20 * MILLIS), false,
+				expectedTraces);
+		final List<InvalidExecutionTrace> shardedInvalidTraces = this.reconstruct(this.lateRootExecutions, NUMBER_OF_SHARDS,
+				Long.toString(20 * MILLIS), false, shardedTraces);
+
+		// executions after the first invalid trace are ignored, pending traces are delivered on termination
+		Assert.assertEquals("Unexpected number of invalid traces", 1, shardedInvalidTraces.size());
+		Assert.assertEquals("Unexpected number of traces", 1, shardedTraces.size());
+		Assert.assertEquals("Unexpected trace", 2, shardedTraces.get(0).getTraceId());
+		Assert.assertEquals("Sharded reconstruction differs", expectedTraces, shardedTraces);
+		Assert.assertEquals("Sharded reconstruction differs in invalid traces", this.getTraceIds(expectedInvalidTraces),
+				this.getTraceIds(shardedInvalidTraces));
+	}
+
+	private List<Long> getTraceIds(final List<InvalidExecutionTrace> invalidTraces) {
+		final List<Long> traceIds = new ArrayList<>();
+		for (final InvalidExecutionTrace invalidTrace : invalidTraces) {
+			traceIds.add(invalidTrace.getInvalidExecutionTraceArtifacts().getTraceId());
+		}
+		return traceIds;
+	}
+
+	private void assertEqualReconstruction(final String maxTraceDuration) throws AnalysisConfigurationException {
+		final List<MessageTrace> expectedTraces = new ArrayList<>();
+		final List<MessageTrace> shardedTraces = new ArrayList<>();
+
+		final List<InvalidExecutionTrace> expectedInvalidTraces = this.reconstruct(this.executions, 1, maxTraceDuration, true, expectedTraces);
+		final List<InvalidExecutionTrace> shardedInvalidTraces = this.reconstruct(this.executions, NUMBER_OF_SHARDS, maxTraceDuration, true,
+				shardedTraces);
+
+		Assert.assertEquals("Unexpected number of traces", NUMBER_OF_TRACES, expectedTraces.size());
+		Assert.assertEquals("Sharded reconstruction differs", expectedTraces, shardedTraces);
+		Assert.assertTrue("Received invalid trace from filter", expectedInvalidTraces.isEmpty());
+		Assert.assertTrue("Received invalid trace from sharded filter", shardedInvalidTraces.isEmpty());
+	}
+
+	private List<InvalidExecutionTrace> reconstruct(final List<Execution> inputExecutions, final int numberOfShards, final String maxTraceDuration,
+			final boolean ignoreInvalidTraces, final List<MessageTrace> messageTraces) throws AnalysisConfigurationException {
+		final AnalysisController controller = new AnalysisController();
+
+		final ListReader<Execution> reader = new ListReader<>(new Configuration(), controller);
+		reader.addAllObjects(inputExecutions);
+
+		final Configuration configuration = new Configuration();
+		configuration.setProperty(TraceReconstructionFilter.CONFIG_PROPERTY_NAME_IGNORE_INVALID_TRACES, Boolean.toString(ignoreInvalidTraces));
+		configuration.setProperty(TraceReconstructionFilter.CONFIG_PROPERTY_NAME_MAX_TRACE_DURATION, maxTraceDuration);
+		configuration.setProperty(TraceReconstructionFilter.CONFIG_PROPERTY_NAME_NUMBER_OF_SHARDS, Integer.toString(numberOfShards));
+		final TraceReconstructionFilter filter = new TraceReconstructionFilter(configuration, controller);
+
+		final ListCollectionFilter<MessageTrace> messageTraceSink = new ListCollectionFilter<>(new Configuration(), controller);
+		final ListCollectionFilter<InvalidExecutionTrace> invalidExecutionTraceSink = new ListCollectionFilter<>(new Configuration(), controller);
+		final SystemModelRepository systemEntityFactory = new SystemModelRepository(new Configuration(), controller);
+
+		controller.connect(filter, AbstractTraceAnalysisFilter.REPOSITORY_PORT_NAME_SYSTEM_MODEL, systemEntityFactory);
+		controller.connect(reader, ListReader.OUTPUT_PORT_NAME, filter, TraceReconstructionFilter.INPUT_PORT_NAME_EXECUTIONS);
+		controller.connect(filter, TraceReconstructionFilter.OUTPUT_PORT_NAME_MESSAGE_TRACE, messageTraceSink, ListCollectionFilter.INPUT_PORT_NAME);
+		controller.connect(filter, TraceReconstructionFilter.OUTPUT_PORT_NAME_INVALID_EXECUTION_TRACE, invalidExecutionTraceSink,
+				ListCollectionFilter.INPUT_PORT_NAME);
+
+		controller.run();
+
+		messageTraces.addAll(messageTraceSink.getList());
+		return invalidExecutionTraceSink.getList();
+	}
+}
@@ -919,6 +919,8 @@ public class PerformAnalysis {
 				this.longToString(this.parameters.getMaxTraceDuration()));
 		mtReconstrFilterConfig.setProperty(TraceReconstructionFilter.CONFIG_PROPERTY_NAME_IGNORE_INVALID_TRACES,
 				this.booleanToString(this.parameters.isIgnoreInvalidTraces()));
+		mtReconstrFilterConfig.setProperty(TraceReconstructionFilter.CONFIG_PROPERTY_NAME_NUMBER_OF_SHARDS,
+				Integer.toString(this.parameters.getTraceReconstructionShards()));
 
 		final TraceReconstructionFilter mtReconstrFilter = new TraceReconstructionFilter(mtReconstrFilterConfig, this.analysisController);
 
@@ -43,6 +43,7 @@ import kieker.analysis.generic.IEventMatcher;
 import kieker.analysis.generic.ImplementsEventMatcher;
 import kieker.analysis.generic.sink.EquivalenceClassWriter;
 import kieker.analysis.generic.sink.NullSink;
+import kieker.analysis.generic.source.file.DirectoryReaderStage.RecordOrder;
 import kieker.analysis.generic.time.TimestampFilter;
 import kieker.common.record.controlflow.OperationExecutionRecord;
 import kieker.common.record.flow.IFlowRecord;
@@ -108,7 +109,10 @@ public class TraceAnalysisConfiguration extends Configuration {
 	public TraceAnalysisConfiguration(final TraceAnalysisParameters parameters, final SystemModelRepository systemRepository) {
 		final String pathPrefix = this.computePrefix(parameters);
 
-		final LogsReaderCompositeStage readerStage = new LogsReaderCompositeStage(parameters.getInputDirs(), parameters.isVerbose(), parameters.getReadBufferSize());
+		final int readParallelism = parameters.getReadParallelism() != null ? parameters.getReadParallelism() : 1; // NOCS
+		final RecordOrder recordOrder = parameters.getRecordOrder() != null ? parameters.getRecordOrder() : RecordOrder.FILE; // NOCS
+		final LogsReaderCompositeStage readerStage = new LogsReaderCompositeStage(parameters.getInputDirs(), parameters.isVerbose(), parameters.getReadBufferSize(),
+				parameters.isMemoryMapped(), readParallelism, recordOrder);
 		final ThreadEvent2TraceEventStage threadEvent2TraceEventStage = new ThreadEvent2TraceEventStage();
 		final TimestampFilter timestampFilter = new TimestampFilter(parameters.getIgnoreExecutionsBeforeDate(), parameters.getIgnoreExecutionsAfterDate());
 
@@ -29,6 +29,7 @@ import org.slf4j.Logger;
 
 import com.beust.jcommander.Parameter;
 
+import kieker.analysis.generic.source.file.DirectoryReaderStage.RecordOrder;
 import kieker.analysis.generic.time.TimestampFilter;
 import kieker.tools.common.DateConverter;
 
@@ -129,6 +130,10 @@ public class TraceAnalysisParameters {
 			description = "Threshold (in ms) after which incomplete traces become invalid. Defaults to 600,000 (i.e, 10 minutes).")
 	private Long maxTraceDuration;
 
+	@Parameter(names = { "--trace-reconstruction-shards" },
+			description = "Number of threads reconstructing execution traces in parallel. Requires --ignore-invalid-traces. Defaults to 1.")
+	private Integer traceReconstructionShards;
+
 	// DATE_FORMAT_PATTERN_CMD_USAGE_HELP
 	@Parameter(names = { "--ignore-executions-before-date" },
 			description = "Executions starting before this date (UTC timezone) or monitoring timestamp are ignored.",
@@ -152,6 +157,16 @@ public class TraceAnalysisParameters {
 	@Parameter(names = { "--buffer-size" }, description = "Size of the read buffer, default is 8192 bytes")
 	private Integer readBufferSize;
 
+	@Parameter(names = { "--memory-mapped" }, description = "Read uncompressed binary log files via memory mapping instead of streams")
+	private boolean memoryMapped;
+
+	@Parameter(names = { "--read-parallelism" }, description = "Number of log files decoded in parallel, default is 1 = read the files sequentially")
+	private Integer readParallelism;
+
+	@Parameter(names = { "--record-order" },
+			description = "Order of the records of log files decoded in parallel: FILE (default) or LOGGING_TIMESTAMP")
+	private RecordOrder recordOrder;
+
 	// COLORING_FILE_OPTION_NAME
 	@Parameter(names = { "--traceColoring" },
 			description = "Color traces according to the given color map given as a properties file (key: trace ID, value: color in hex format,"
@@ -294,6 +309,18 @@ public class TraceAnalysisParameters {
 		return this.maxTraceDuration;
 	}
 
+	/**
+	 * Get number of trace reconstruction shards, default is 1.
+	 *
+	 * @return returns the number of threads reconstructing execution traces
+	 */
+	public Integer getTraceReconstructionShards() {
+		if (this.traceReconstructionShards == null) {
+			this.traceReconstructionShards = 1;
+		}
+		return this.traceReconstructionShards;
+	}
+
 	/**
 	 * @return returns the ignore execution before date value, if none is specified created default value.
 	 */
@@ -419,4 +446,16 @@ public class TraceAnalysisParameters {
 	public Integer getReadBufferSize() {
 		return this.readBufferSize;
 	}
+
+	public boolean isMemoryMapped() {
+		return this.memoryMapped;
+	}
+
+	public Integer getReadParallelism() {
+		return this.readParallelism;
+	}
+
+	public RecordOrder getRecordOrder() {
+		return this.recordOrder;
+	}
 }